@@ -0,0 +1,84 @@
+package org.mockserver.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import org.mockserver.codec.BodyDecoderEncoder;
+import org.mockserver.model.Body;
+import org.mockserver.model.BodyWithContentType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.BinaryBody.binary;
+import static org.mockserver.model.JsonBody.json;
+import static org.mockserver.model.StringBody.exact;
+
+/**
+ * Time to encode bodies into buffers and decode request bytes into bodies, for increasing body sizes
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyDecoderEncoderBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int bodySize;
+
+    private final BodyDecoderEncoder bodyDecoderEncoder = new BodyDecoderEncoder();
+    private Body<?> stringBody;
+    private Body<?> jsonBody;
+    private Body<?> binaryBody;
+    private byte[] jsonBytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder json = new StringBuilder("{\"values\": [");
+        while (json.length() < bodySize) {
+            json.append("\"some_value\", ");
+        }
+        json.append("\"last_value\"]}");
+        stringBody = exact(json.toString());
+        jsonBody = json(json.toString());
+        jsonBytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        binaryBody = binary(jsonBytes);
+    }
+
+    @Benchmark
+    public int encodeStringBody() {
+        return encode(stringBody, "text/plain; charset=utf-8");
+    }
+
+    @Benchmark
+    public int encodeJsonBody() {
+        return encode(jsonBody, "application/json");
+    }
+
+    @Benchmark
+    public int encodeBinaryBody() {
+        return encode(binaryBody, "application/octet-stream");
+    }
+
+    private int encode(Body<?> body, String contentTypeHeader) {
+        ByteBuf byteBuf = bodyDecoderEncoder.bodyToByteBuf(body, contentTypeHeader);
+        try {
+            return byteBuf.readableBytes();
+        } finally {
+            byteBuf.release();
+        }
+    }
+
+    @Benchmark
+    public BodyWithContentType<?> decodeJsonBody() {
+        return bodyDecoderEncoder.bytesToBody(jsonBytes, "application/json");
+    }
+
+    @Benchmark
+    public BodyWithContentType<?> decodeBinaryBody() {
+        return bodyDecoderEncoder.bytesToBody(jsonBytes, "application/octet-stream");
+    }
+}
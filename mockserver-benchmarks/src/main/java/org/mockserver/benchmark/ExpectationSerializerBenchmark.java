@@ -0,0 +1,75 @@
+package org.mockserver.benchmark;
+
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.serialization.ExpectationSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.Header.header;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+import static org.mockserver.model.Parameter.param;
+
+/**
+ * Time to serialize expectations to json and deserialize (including schema validation) them back again
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpectationSerializerBenchmark {
+
+    @Param({"1", "100"})
+    public int expectationCount;
+
+    private ExpectationSerializer expectationSerializer;
+    private Expectation[] expectations;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ConfigurationProperties.logLevel("WARN");
+        expectationSerializer = new ExpectationSerializer(new MockServerLogger(ExpectationSerializerBenchmark.class));
+        expectations = new Expectation[expectationCount];
+        for (int i = 0; i < expectationCount; i++) {
+            expectations[i] = new Expectation(
+                request()
+                    .withMethod("POST")
+                    .withPath("/some/path/" + i)
+                    .withQueryStringParameter(param("some_parameter", "some_value"))
+                    .withHeader(header("x-request-id", String.valueOf(i)))
+                    .withBody(json("{\"id\": " + i + ", \"name\": \"some_name\"}"))
+            )
+                .thenRespond(
+                    response()
+                        .withStatusCode(200)
+                        .withHeader(header("content-type", "application/json"))
+                        .withBody("{\"id\": " + i + ", \"status\": \"created\"}")
+                );
+        }
+        json = expectationSerializer.serialize(expectations);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return expectationSerializer.serialize(expectations);
+    }
+
+    @Benchmark
+    public Expectation[] deserialize() {
+        return expectationSerializer.deserializeArray(json, false);
+    }
+
+    @Benchmark
+    public Expectation[] roundTrip() {
+        return expectationSerializer.deserializeArray(expectationSerializer.serialize(expectations), false);
+    }
+}
@@ -0,0 +1,88 @@
+package org.mockserver.benchmark;
+
+import org.mockserver.configuration.Configuration;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.MockServerEventLog;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.RequestDefinition;
+import org.mockserver.scheduler.Scheduler;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.event.Level;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * Time to add a request to a full event log and to retrieve requests matching a request matcher from it
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockServerEventLogBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int maxLogEntries;
+
+    private Scheduler scheduler;
+    private MockServerEventLog mockServerEventLog;
+    private HttpRequest requestMatcher;
+    private int requestCount;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setup() {
+        ConfigurationProperties.logLevel("WARN");
+        Configuration configuration = configuration().maxLogEntries(maxLogEntries);
+        MockServerLogger mockServerLogger = new MockServerLogger(MockServerEventLogBenchmark.class);
+        scheduler = new Scheduler(configuration, mockServerLogger);
+        mockServerEventLog = new MockServerEventLog(configuration, mockServerLogger, scheduler, false);
+        for (int i = 0; i < maxLogEntries; i++) {
+            mockServerEventLog.add(receivedRequest(i));
+        }
+        requestMatcher = request().withPath("/some/path/" + (maxLogEntries / 2));
+    }
+
+    private LogEntry receivedRequest(int i) {
+        HttpRequest httpRequest = request()
+            .withMethod("GET")
+            .withPath("/some/path/" + i)
+            .withHeader("x-request-id", String.valueOf(i));
+        return new LogEntry()
+            .setType(RECEIVED_REQUEST)
+            .setLogLevel(Level.INFO)
+            .setHttpRequest(httpRequest)
+            .setMessageFormat("received request:{}")
+            .setArguments(httpRequest);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        mockServerEventLog.stop();
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public int add() {
+        mockServerEventLog.add(receivedRequest(requestCount++));
+        return mockServerEventLog.size();
+    }
+
+    @Benchmark
+    public List<RequestDefinition> retrieve() throws ExecutionException, InterruptedException {
+        CompletableFuture<List<RequestDefinition>> requests = new CompletableFuture<>();
+        mockServerEventLog.retrieveRequests(requestMatcher, requests::complete);
+        return requests.get();
+    }
+}
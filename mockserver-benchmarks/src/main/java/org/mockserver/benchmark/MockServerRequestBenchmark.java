@@ -0,0 +1,89 @@
+package org.mockserver.benchmark;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.scheduler.Scheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * Round trip time of requests sent over a socket to an in-process MockServer, exercising the full Netty pipeline,
+ * request matching, the event log and response encoding
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MockServerRequestBenchmark {
+
+    private ClientAndServer clientAndServer;
+    private EventLoopGroup clientEventLoopGroup;
+    private NettyHttpClient httpClient;
+    private InetSocketAddress mockServerAddress;
+    private HttpRequest matchedRequest;
+    private HttpRequest unmatchedRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ConfigurationProperties.logLevel("WARN");
+        Configuration configuration = configuration();
+        clientAndServer = ClientAndServer.startClientAndServer(configuration);
+        clientAndServer
+            .when(
+                request()
+                    .withMethod("POST")
+                    .withPath("/some/path")
+            )
+            .respond(
+                response()
+                    .withHeader("content-type", "application/json")
+                    .withBody("{\"status\": \"created\"}")
+            );
+        mockServerAddress = new InetSocketAddress("localhost", clientAndServer.getPort());
+        clientEventLoopGroup = new NioEventLoopGroup(1, new Scheduler.SchedulerThreadFactory("BenchmarkClient"));
+        httpClient = new NettyHttpClient(configuration, new MockServerLogger(MockServerRequestBenchmark.class), clientEventLoopGroup, null, false);
+        matchedRequest = request()
+            .withMethod("POST")
+            .withPath("/some/path")
+            .withHeader("host", "localhost:" + clientAndServer.getPort())
+            .withBody("{\"id\": 1}");
+        unmatchedRequest = request()
+            .withMethod("GET")
+            .withPath("/some/other/path")
+            .withHeader("host", "localhost:" + clientAndServer.getPort());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientEventLoopGroup.shutdownGracefully();
+        clientAndServer.stop();
+    }
+
+    @Benchmark
+    public HttpResponse matchedRequest() throws ExecutionException, InterruptedException {
+        return httpClient.sendRequest(matchedRequest, mockServerAddress).get();
+    }
+
+    @Benchmark
+    public HttpResponse unmatchedRequest() throws ExecutionException, InterruptedException {
+        return httpClient.sendRequest(unmatchedRequest, mockServerAddress).get();
+    }
+}
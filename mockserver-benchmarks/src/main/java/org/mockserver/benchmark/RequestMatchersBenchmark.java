@@ -0,0 +1,108 @@
+package org.mockserver.benchmark;
+
+import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.mock.RequestMatchers;
+import org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.scheduler.Scheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * Time to find the matching expectation for a request, where the request matches the first or last expectation or
+ * doesn't match any expectation, for increasing numbers of expectations
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestMatchersBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int expectationCount;
+
+    private Scheduler scheduler;
+    private RequestMatchers requestMatchers;
+    private HttpRequest firstExpectationRequest;
+    private HttpRequest lastExpectationRequest;
+    private HttpRequest unmatchedRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ConfigurationProperties.logLevel("WARN");
+        // the default maximum would evict the oldest expectations while they are added
+        Configuration configuration = configuration().maxExpectations(expectationCount);
+        MockServerLogger mockServerLogger = new MockServerLogger(RequestMatchersBenchmark.class);
+        scheduler = new Scheduler(configuration, mockServerLogger);
+        requestMatchers = new RequestMatchers(configuration, mockServerLogger, scheduler, new WebSocketClientRegistry(configuration, mockServerLogger));
+        List<Expectation> expectations = new ArrayList<>();
+        for (int i = 0; i < expectationCount; i++) {
+            expectations.add(
+                new Expectation(
+                    request()
+                        .withMethod("POST")
+                        .withPath("/some/path/" + i)
+                        .withHeader("x-request-id", String.valueOf(i))
+                        .withBody("{\"id\": " + i + "}")
+                )
+                    .thenRespond(
+                        response()
+                            .withBody("some_response_body_" + i)
+                    )
+            );
+        }
+        requestMatchers.add(expectations, Cause.API);
+        firstExpectationRequest = requestForExpectation(0);
+        lastExpectationRequest = requestForExpectation(expectationCount - 1);
+        unmatchedRequest = requestForExpectation(expectationCount);
+        if (requestMatchers.firstMatchingExpectation(firstExpectationRequest) == null || requestMatchers.firstMatchingExpectation(lastExpectationRequest) == null) {
+            throw new IllegalStateException("expected first and last expectation to match for " + expectationCount + " expectations");
+        }
+        if (requestMatchers.firstMatchingExpectation(unmatchedRequest) != null) {
+            throw new IllegalStateException("expected no expectation to match unmatched request for " + expectationCount + " expectations");
+        }
+    }
+
+    private HttpRequest requestForExpectation(int i) {
+        return request()
+            .withMethod("POST")
+            .withPath("/some/path/" + i)
+            .withHeader("x-request-id", String.valueOf(i))
+            .withBody("{\"id\": " + i + "}");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public Expectation firstExpectationMatches() {
+        return requestMatchers.firstMatchingExpectation(firstExpectationRequest);
+    }
+
+    @Benchmark
+    public Expectation lastExpectationMatches() {
+        return requestMatchers.firstMatchingExpectation(lastExpectationRequest);
+    }
+
+    @Benchmark
+    public Expectation noExpectationMatches() {
+        return requestMatchers.firstMatchingExpectation(unmatchedRequest);
+    }
+}
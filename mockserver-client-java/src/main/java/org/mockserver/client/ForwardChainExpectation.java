@@ -1,7 +1,6 @@
 package org.mockserver.client;
 
 import com.google.common.annotations.VisibleForTesting;
-import io.netty.channel.nio.NioEventLoopGroup;
 import org.mockserver.client.MockServerEventBus.EventType;
 import org.mockserver.closurecallback.websocketclient.WebSocketClient;
 import org.mockserver.closurecallback.websocketclient.WebSocketException;
@@ -15,6 +14,7 @@ import org.mockserver.mock.action.ExpectationForwardCallback;
 import org.mockserver.mock.action.ExpectationResponseCallback;
 import org.mockserver.model.*;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.uuid.UUIDService;
 
 import java.util.concurrent.Future;
@@ -281,7 +281,7 @@ public class ForwardChainExpectation {
             LocalCallbackRegistry.registerCallback(clientId, expectationCallback);
             LocalCallbackRegistry.registerCallback(clientId, expectationForwardResponseCallback);
             final WebSocketClient<T> webSocketClient = new WebSocketClient<>(
-                new NioEventLoopGroup(configuration.webSocketClientEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(WebSocketClient.class.getSimpleName() + "-eventLoop")),
+                NettyTransport.nettyTransport(configuration.toServerConfiguration()).eventLoopGroup(configuration.webSocketClientEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(WebSocketClient.class.getSimpleName() + "-eventLoop")),
                 clientId,
                 mockServerLogger
             );
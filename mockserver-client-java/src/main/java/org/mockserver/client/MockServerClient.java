@@ -2,7 +2,6 @@ package org.mockserver.client;
 
 import com.google.common.collect.ImmutableList;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import org.mockserver.authentication.AuthenticationException;
@@ -22,6 +21,7 @@ import org.mockserver.model.*;
 import org.mockserver.proxyconfiguration.ProxyConfiguration;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.*;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.mockserver.stop.Stoppable;
 import org.mockserver.verify.Verification;
@@ -44,7 +44,10 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.*;
+import static io.netty.handler.codec.http.HttpResponseStatus.ACCEPTED;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_ACCEPTABLE;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.netty.handler.codec.http.HttpResponseStatus.UNAUTHORIZED;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -228,8 +231,8 @@ public class MockServerClient implements Stoppable {
         this.eventLoopGroup = eventLoopGroup();
     }
 
-    private NioEventLoopGroup eventLoopGroup() {
-        return new NioEventLoopGroup(configuration.clientNioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-eventLoop"));
+    private EventLoopGroup eventLoopGroup() {
+        return NettyTransport.nettyTransport(configuration.toServerConfiguration()).eventLoopGroup(configuration.clientNioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-eventLoop"));
     }
 
     /**
@@ -1194,6 +1197,172 @@ public class MockServerClient implements Stoppable {
         return clientClass.cast(this);
     }
 
+    /**
+     * Register a verification that is updated by MockServer as each request is received, so it can be checked
+     * repeatedly using verifyRegistered(id) without the request log being searched each time, for example:
+     * <pre>
+     * String id = mockServerClient
+     *  .registerVerification(
+     *      request()
+     *          .withPath("/some_path")
+     *          .withBody("some_request_body"),
+     *      VerificationTimes.atLeast(3)
+     *  );
+     * </pre>
+     *
+     * @param requestDefinition the http request that must be matched for this verification to pass
+     * @param times             the number of times this request must be matched
+     * @return the id of the registered verification
+     */
+    public String registerVerification(RequestDefinition requestDefinition, VerificationTimes times) {
+        if (requestDefinition == null) {
+            throw new IllegalArgumentException("registerVerification(RequestDefinition, VerificationTimes) requires a non null RequestDefinition object");
+        }
+        if (times == null) {
+            throw new IllegalArgumentException("registerVerification(RequestDefinition, VerificationTimes) requires a non null VerificationTimes object");
+        }
+        return sendRequest(
+            request()
+                .withMethod("PUT")
+                .withContentType(APPLICATION_JSON_UTF_8)
+                .withPath(calculatePath("registerVerification"))
+                .withBody(verificationSerializer.serialize(verification().withRequest(requestDefinition).withTimes(times)), StandardCharsets.UTF_8),
+            true
+        ).getBodyAsString();
+    }
+
+    /**
+     * Register a verification that a list of requests are received in the order specified, the verification is
+     * updated by MockServer as each request is received, so it can be checked repeatedly using verifyRegistered(id)
+     * without the request log being searched each time
+     *
+     * @param requestDefinitions the http requests that must be matched for this verification to pass
+     * @return the id of the registered verification
+     */
+    public String registerVerification(RequestDefinition... requestDefinitions) {
+        if (requestDefinitions == null || requestDefinitions.length == 0 || requestDefinitions[0] == null) {
+            throw new IllegalArgumentException("registerVerification(RequestDefinition...) requires a non-null non-empty array of RequestDefinition objects");
+        }
+        return sendRequest(
+            request()
+                .withMethod("PUT")
+                .withContentType(APPLICATION_JSON_UTF_8)
+                .withPath(calculatePath("registerVerificationSequence"))
+                .withBody(verificationSequenceSerializer.serialize(new VerificationSequence().withRequests(requestDefinitions)), StandardCharsets.UTF_8),
+            true
+        ).getBodyAsString();
+    }
+
+    /**
+     * Verify a registered verification is currently satisfied
+     *
+     * @param id the id returned when the verification was registered
+     * @throws AssertionError if the verification is not satisfied or no verification has been registered with the id
+     */
+    public MockServerClient verifyRegistered(String id) throws AssertionError {
+        try {
+            HttpResponse response = verifyRegisteredResponse(id);
+            if (response.getStatusCode() == null || response.getStatusCode() != ACCEPTED.code()) {
+                throw new AssertionError(response.getBodyAsString());
+            }
+        } catch (AuthenticationException authenticationException) {
+            throw authenticationException;
+        } catch (Throwable throwable) {
+            throw new AssertionError(throwable.getMessage());
+        }
+        return clientClass.cast(this);
+    }
+
+    /**
+     * Wait for a registered verification to be satisfied, the returned future completes when the verification is
+     * satisfied or completes exceptionally if no verification has been registered with the id or the client is stopped
+     * <p>
+     * The verification is polled until one of these happens, there is no deadline, so callers must apply a timeout,
+     * for example with get(timeout, unit), or use whenVerified(id, timeout, unit)
+     *
+     * @param id the id returned when the verification was registered
+     * @return a future that completes when the verification is satisfied
+     */
+    public CompletableFuture<MockServerClient> whenVerified(String id) {
+        CompletableFuture<MockServerClient> result = new CompletableFuture<>();
+        pollRegisteredVerification(id, null, result);
+        return result;
+    }
+
+    /**
+     * Wait for a registered verification to be satisfied, the returned future completes when the verification is
+     * satisfied or completes exceptionally if it is not satisfied within the timeout, no verification has been
+     * registered with the id or the client is stopped
+     *
+     * @param id      the id returned when the verification was registered
+     * @param timeout the maximum time to wait for the verification to be satisfied
+     * @param unit    the unit of the timeout
+     * @return a future that completes when the verification is satisfied
+     */
+    public CompletableFuture<MockServerClient> whenVerified(String id, long timeout, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("whenVerified(String, long, TimeUnit) requires a non null TimeUnit");
+        }
+        CompletableFuture<MockServerClient> result = new CompletableFuture<>();
+        pollRegisteredVerification(id, System.nanoTime() + unit.toNanos(timeout), result);
+        return result;
+    }
+
+    private void pollRegisteredVerification(String id, Long deadline, CompletableFuture<MockServerClient> result) {
+        eventLoopGroup.schedule(() -> {
+            try {
+                HttpResponse response = verifyRegisteredResponse(id);
+                if (response.getStatusCode() != null && response.getStatusCode() == ACCEPTED.code()) {
+                    result.complete(clientClass.cast(this));
+                } else if (response.getStatusCode() != null && response.getStatusCode() == NOT_ACCEPTABLE.code() && !stopFuture.isDone() && (deadline == null || System.nanoTime() - deadline < 0)) {
+                    pollRegisteredVerification(id, deadline, result);
+                } else {
+                    result.completeExceptionally(new AssertionError(response.getBodyAsString()));
+                }
+            } catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        }, 100, MILLISECONDS);
+    }
+
+    /**
+     * Remove a registered verification, so MockServer stops updating it as each request is received
+     *
+     * @param id the id returned when the verification was registered
+     * @throws AssertionError if no verification has been registered with the id
+     */
+    public MockServerClient unregisterVerification(String id) throws AssertionError {
+        if (isBlank(id)) {
+            throw new IllegalArgumentException("unregisterVerification(String) requires a non blank id");
+        }
+        HttpResponse response = sendRequest(
+            request()
+                .withMethod("PUT")
+                .withContentType(MediaType.PLAIN_TEXT_UTF_8)
+                .withPath(calculatePath("unregisterVerification"))
+                .withBody(id, StandardCharsets.UTF_8),
+            false
+        );
+        if (response.getStatusCode() == null || response.getStatusCode() != OK.code()) {
+            throw new AssertionError(response.getBodyAsString());
+        }
+        return clientClass.cast(this);
+    }
+
+    private HttpResponse verifyRegisteredResponse(String id) {
+        if (isBlank(id)) {
+            throw new IllegalArgumentException("verifyRegistered(String) requires a non blank id");
+        }
+        return sendRequest(
+            request()
+                .withMethod("PUT")
+                .withContentType(MediaType.PLAIN_TEXT_UTF_8)
+                .withPath(calculatePath("verifyRegistered"))
+                .withBody(id, StandardCharsets.UTF_8),
+            false
+        );
+    }
+
     /**
      * Retrieve the recorded requests that match the httpRequest parameter, use null for the parameter to retrieve all requests
      *
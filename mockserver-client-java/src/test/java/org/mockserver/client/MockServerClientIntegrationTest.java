@@ -25,14 +25,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static junit.framework.TestCase.fail;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.hamcrest.core.IsIterableContaining.hasItems;
 import static org.hamcrest.core.IsSame.sameInstance;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.matchers.Times.exactly;
 import static org.mockserver.matchers.Times.once;
@@ -2134,4 +2137,176 @@ public class MockServerClientIntegrationTest {
         }
     }
 
+
+    @Test
+    public void shouldRegisterVerification() {
+        // given
+        echoServerOne.withNextResponse(response().withStatusCode(201).withBody("some_id"));
+
+        // when
+        String id = mockServerClientOne.registerVerification(
+            request()
+                .withPath("/some_path")
+                .withBody(new StringBody("some_request_body")),
+            VerificationTimes.atLeast(2)
+        );
+
+        // then
+        assertThat(id, is("some_id"));
+        assertThat(retrieveRequests(
+            request()
+                .withMethod("PUT")
+                .withPath("/mockserver/registerVerification")
+                .withBody(new StringBody("" +
+                    "{" + NEW_LINE +
+                    "  \"httpRequest\" : {" + NEW_LINE +
+                    "    \"path\" : \"/some_path\"," + NEW_LINE +
+                    "    \"body\" : \"some_request_body\"" + NEW_LINE +
+                    "  }," + NEW_LINE +
+                    "  \"times\" : {" + NEW_LINE +
+                    "    \"atLeast\" : 2" + NEW_LINE +
+                    "  }" + NEW_LINE +
+                    "}"))
+        ).size(), is(1));
+    }
+
+    @Test
+    public void shouldRegisterVerificationSequence() {
+        // given
+        echoServerOne.withNextResponse(response().withStatusCode(201).withBody("some_id"));
+
+        // when
+        String id = mockServerClientOne.registerVerification(
+            request()
+                .withPath("/some_path"),
+            request()
+                .withPath("/some_other_path")
+        );
+
+        // then
+        assertThat(id, is("some_id"));
+        assertThat(retrieveRequests(
+            request()
+                .withMethod("PUT")
+                .withPath("/mockserver/registerVerificationSequence")
+                .withBody(new StringBody("" +
+                    "{" + NEW_LINE +
+                    "  \"httpRequests\" : [ {" + NEW_LINE +
+                    "    \"path\" : \"/some_path\"" + NEW_LINE +
+                    "  }, {" + NEW_LINE +
+                    "    \"path\" : \"/some_other_path\"" + NEW_LINE +
+                    "  } ]" + NEW_LINE +
+                    "}"))
+        ).size(), is(1));
+    }
+
+    @Test
+    public void shouldVerifyRegistered() {
+        // given
+        echoServerOne.withNextResponse(response().withStatusCode(202));
+
+        // when
+        mockServerClientOne.verifyRegistered("some_id");
+
+        // then
+        assertThat(retrieveRequests(
+            request()
+                .withMethod("PUT")
+                .withPath("/mockserver/verifyRegistered")
+                .withBody("some_id")
+        ).size(), is(1));
+    }
+
+    @Test
+    public void shouldVerifyRegisteredFailure() {
+        // given
+        echoServerOne.withNextResponse(response().withStatusCode(406).withBody("Request not found at least 2 times"));
+
+        // then
+        exception.expect(AssertionError.class);
+        exception.expectMessage(containsString("Request not found at least 2 times"));
+
+        // when
+        mockServerClientOne.verifyRegistered("some_id");
+    }
+
+    @Test
+    public void shouldCompleteFutureWhenVerified() throws Exception {
+        // given
+        echoServerOne.withNextResponse(
+            response().withStatusCode(406).withBody("Request not found at least 2 times"),
+            response().withStatusCode(202)
+        );
+
+        // when
+        MockServerClient mockServerClient = mockServerClientOne.whenVerified("some_id").get(10, SECONDS);
+
+        // then
+        assertThat(mockServerClient, sameInstance(mockServerClientOne));
+        assertThat(retrieveRequests(
+            request()
+                .withMethod("PUT")
+                .withPath("/mockserver/verifyRegistered")
+                .withBody("some_id")
+        ).size(), is(2));
+    }
+
+
+    @Test
+    public void shouldCompleteFutureExceptionallyWhenNotVerifiedWithinTimeout() throws Exception {
+        // given
+        echoServerOne.withNextResponse(
+            response().withStatusCode(406).withBody("Request not found at least 2 times"),
+            response().withStatusCode(202)
+        );
+
+        // when
+        CompletableFuture<MockServerClient> result = mockServerClientOne.whenVerified("some_id", 0, SECONDS);
+
+        // then
+        try {
+            result.get(10, SECONDS);
+            fail("expected exception to be thrown");
+        } catch (ExecutionException executionException) {
+            assertThat(executionException.getCause(), instanceOf(AssertionError.class));
+            assertThat(executionException.getCause().getMessage(), is("Request not found at least 2 times"));
+        }
+        assertThat(retrieveRequests(
+            request()
+                .withMethod("PUT")
+                .withPath("/mockserver/verifyRegistered")
+                .withBody("some_id")
+        ).size(), is(1));
+    }
+
+    @Test
+    public void shouldUnregisterVerification() {
+        // given
+        echoServerOne.withNextResponse(response().withStatusCode(200));
+
+        // when
+        mockServerClientOne.unregisterVerification("some_id");
+
+        // then
+        assertThat(retrieveRequests(
+            request()
+                .withMethod("PUT")
+                .withPath("/mockserver/unregisterVerification")
+                .withBody("some_id")
+        ).size(), is(1));
+    }
+
+    @Test
+    public void shouldFailToUnregisterUnknownVerification() {
+        // given
+        echoServerOne.withNextResponse(response().withStatusCode(404).withBody("no registered verification found with id some_id"));
+
+        // then
+        exception.expect(AssertionError.class);
+        exception.expectMessage(containsString("no registered verification found with id some_id"));
+
+        // when
+        mockServerClientOne.unregisterVerification("some_id");
+    }
+
 }
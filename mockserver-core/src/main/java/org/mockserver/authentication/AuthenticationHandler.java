@@ -4,4 +4,10 @@ import org.mockserver.model.HttpRequest;
 
 public interface AuthenticationHandler {
     boolean controlPlaneRequestAuthenticated(HttpRequest request);
+
+    /**
+     * Releases any resources, such as background threads, when MockServer is stopped
+     */
+    default void close() {
+    }
 }
\ No newline at end of file
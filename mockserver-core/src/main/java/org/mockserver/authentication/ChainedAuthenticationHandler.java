@@ -20,4 +20,11 @@ public class ChainedAuthenticationHandler implements AuthenticationHandler {
         return true;
     }
 
+    @Override
+    public void close() {
+        for (AuthenticationHandler authenticationHandler : authenticationHandlers) {
+            authenticationHandler.close();
+        }
+    }
+
 }
@@ -2,7 +2,7 @@ package org.mockserver.authentication.jwt;
 
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.RemoteJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
 import org.mockserver.authentication.AuthenticationException;
 import org.mockserver.authentication.AuthenticationHandler;
 import org.mockserver.file.FilePath;
@@ -18,7 +18,11 @@ import java.net.URL;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import static com.nimbusds.jose.jwk.source.JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT;
+import static com.nimbusds.jose.jwk.source.JWKSourceBuilder.DEFAULT_RATE_LIMIT_MIN_INTERVAL;
+import static com.nimbusds.jose.jwk.source.JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME;
 import static io.netty.handler.codec.http.HttpHeaderNames.AUTHORIZATION;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
@@ -29,12 +33,25 @@ public class JWTAuthenticationHandler implements AuthenticationHandler {
     private JWTValidator jwtValidator;
 
     public JWTAuthenticationHandler(MockServerLogger mockServerLogger, String jwkSource) {
+        this(mockServerLogger, jwkSource, TimeUnit.MINUTES.toMillis(5));
+    }
+
+    /**
+     * @param jwkSourceRefreshIntervalInMillis interval at which a JWK source specified as a URL is refreshed in the background, a JWK set loaded from a file is never refreshed
+     */
+    public JWTAuthenticationHandler(MockServerLogger mockServerLogger, String jwkSource, long jwkSourceRefreshIntervalInMillis) {
         this.mockServerLogger = mockServerLogger;
         try {
             if (URLParser.isFullUrl(jwkSource)) {
-                this.jwtValidator = new JWTValidator(new RemoteJWKSet<>(new URL(jwkSource)));
+                // refresh is scheduled ahead of expiry so requests are only blocked by the initial load
+                // or an unknown key id, the interval can't be shorter than the rate limit for unknown key ids
+                long refreshInterval = Math.max(jwkSourceRefreshIntervalInMillis, DEFAULT_RATE_LIMIT_MIN_INTERVAL);
+                this.jwtValidator = new JWTValidator(mockServerLogger, JWKSourceBuilder.create(new URL(jwkSource))
+                    .cache(refreshInterval + DEFAULT_REFRESH_AHEAD_TIME, DEFAULT_CACHE_REFRESH_TIMEOUT)
+                    .refreshAheadCache(DEFAULT_REFRESH_AHEAD_TIME, true)
+                    .build());
             } else {
-                this.jwtValidator = new JWTValidator(new ImmutableJWKSet<>(JWKSet.load(new File(FilePath.absolutePathFromClassPathOrPath(jwkSource)))));
+                this.jwtValidator = new JWTValidator(mockServerLogger, new ImmutableJWKSet<>(JWKSet.load(new File(FilePath.absolutePathFromClassPathOrPath(jwkSource)))));
             }
         } catch (Throwable throwable) {
             mockServerLogger.logEvent(
@@ -63,6 +80,30 @@ public class JWTAuthenticationHandler implements AuthenticationHandler {
         return this;
     }
 
+    /**
+     * Number of control plane requests authenticated using a previously validated token
+     */
+    public long validatedTokensHitCount() {
+        return jwtValidator != null ? jwtValidator.validatedTokensHitCount() : 0;
+    }
+
+    /**
+     * Number of control plane requests that required their token to be fully validated
+     */
+    public long validatedTokensMissCount() {
+        return jwtValidator != null ? jwtValidator.validatedTokensMissCount() : 0;
+    }
+
+    /**
+     * Stops the background refresh of a JWK source specified as a URL
+     */
+    @Override
+    public void close() {
+        if (jwtValidator != null) {
+            jwtValidator.close();
+        }
+    }
+
     @Override
     public boolean controlPlaneRequestAuthenticated(HttpRequest request) {
         if (jwtValidator == null) {
@@ -89,6 +130,15 @@ public class JWTAuthenticationHandler implements AuthenticationHandler {
                         logAuthorisationFailure(request, "authorization type must be specified for authorization header");
                     } else if ("Bearer".equalsIgnoreCase(headerPrefix)) {
                         jwtValidator.validate(authorizationHeader.substring(idx + 1));
+                        if (MockServerLogger.isEnabled(Level.TRACE)) {
+                            mockServerLogger.logEvent(
+                                new LogEntry()
+                                    .setLogLevel(Level.TRACE)
+                                    .setHttpRequest(request)
+                                    .setMessageFormat("JWT control plane request authenticated, validated tokens hit count:{}miss count:{}")
+                                    .setArguments(jwtValidator.validatedTokensHitCount(), jwtValidator.validatedTokensMissCount())
+                            );
+                        }
                         return true;
                     } else {
                         logAuthorisationFailure(request, "only \"Bearer\" supported for authorization header");
@@ -13,20 +13,39 @@ import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import org.mockserver.authentication.AuthenticationException;
+import org.mockserver.cache.LRUCache;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.slf4j.event.Level;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
+/**
+ * Validates JWTs against a JWK source, audience and claims.
+ * <p>
+ * Successfully validated tokens are cached by their SHA-256 hash until their expiry (i.e. exp claim), so a client
+ * repeating the same token for each control plane request only pays for signature verification once, tokens without
+ * an expiry are validated every time.
+ */
 @SuppressWarnings("UnusedReturnValue")
 public class JWTValidator {
 
+    private static final int MAX_VALIDATED_TOKENS = 1000;
+    private final MockServerLogger mockServerLogger;
     private final JWKSource<SecurityContext> jwkSource;
     private final ConfigurableJWTProcessor<SecurityContext> jwtProcessor;
+    private final LRUCache<String, JWTClaimsSet> validatedTokens;
+    private final LongAdder validatedTokensHitCount = new LongAdder();
+    private final LongAdder validatedTokensMissCount = new LongAdder();
     private String expectedAudience;
     private Map<String, String> matchingClaims;
     private Set<String> requiredClaims;
@@ -61,8 +80,15 @@ public class JWTValidator {
     ));
 
     public JWTValidator(JWKSource<SecurityContext> jwkSource) {
+        this(new MockServerLogger(JWTValidator.class), jwkSource);
+    }
+
+    public JWTValidator(MockServerLogger mockServerLogger, JWKSource<SecurityContext> jwkSource) {
+        this.mockServerLogger = mockServerLogger;
         this.jwkSource = jwkSource;
+        this.validatedTokens = new LRUCache<>(mockServerLogger, MAX_VALIDATED_TOKENS, 0);
         this.jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWS_ALGORITHMS, jwkSource));
         jwtProcessor.setJWSTypeVerifier(new DefaultJOSEObjectTypeVerifier<>(
             null,
             new JOSEObjectType("at+jwt"),
@@ -70,6 +96,7 @@ public class JWTValidator {
             JOSEObjectType.JOSE_JSON,
             JOSEObjectType.JWT
         ));
+        updateClaimsVerifier();
     }
 
     public JWTValidator withExpectedAudience(String expectedAudience) {
@@ -78,6 +105,7 @@ public class JWTValidator {
         } else {
             this.expectedAudience = null;
         }
+        updateClaimsVerifier();
         return this;
     }
 
@@ -87,6 +115,7 @@ public class JWTValidator {
         } else {
             this.matchingClaims = null;
         }
+        updateClaimsVerifier();
         return this;
     }
 
@@ -96,25 +125,85 @@ public class JWTValidator {
         } else {
             this.requiredClaims = null;
         }
+        updateClaimsVerifier();
         return this;
     }
 
+    private void updateClaimsVerifier() {
+        JWTClaimsSet.Builder matchingClaimsBuilder = new JWTClaimsSet.Builder();
+        if (this.matchingClaims != null) {
+            this.matchingClaims.forEach(matchingClaimsBuilder::claim);
+        }
+        jwtProcessor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
+            this.expectedAudience,
+            matchingClaimsBuilder.build(),
+            this.requiredClaims
+        ));
+        validatedTokens.clear();
+    }
+
     public JWTClaimsSet validate(String jwt) {
+        String tokenHash = hash(jwt);
+        JWTClaimsSet claimsSet = validatedTokens.get(tokenHash);
+        if (claimsSet != null && claimsSet.getExpirationTime().getTime() > System.currentTimeMillis()) {
+            validatedTokensHitCount.increment();
+            return claimsSet;
+        }
+        validatedTokensMissCount.increment();
         try {
-            jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWS_ALGORITHMS, jwkSource));
-            JWTClaimsSet.Builder matchingClaimsBuilder = new JWTClaimsSet.Builder();
-            if (this.matchingClaims != null) {
-                this.matchingClaims.forEach(matchingClaimsBuilder::claim);
-            }
-            jwtProcessor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
-                this.expectedAudience,
-                matchingClaimsBuilder.build(),
-                this.requiredClaims
-            ));
-            return jwtProcessor.process(jwt, null);
+            claimsSet = jwtProcessor.process(jwt, null);
         } catch (ParseException | BadJOSEException | JOSEException exception) {
+            validatedTokens.delete(tokenHash);
             throw new AuthenticationException(exception.getMessage(), exception);
         }
+        Date expirationTime = claimsSet.getExpirationTime();
+        if (expirationTime != null) {
+            long ttl = expirationTime.getTime() - System.currentTimeMillis();
+            if (ttl > 0) {
+                validatedTokens.put(tokenHash, claimsSet, ttl);
+            }
+        }
+        return claimsSet;
+    }
+
+    /**
+     * Closes the JWK source, which stops any threads it uses to refresh the JWK set in the background
+     */
+    public void close() {
+        if (jwkSource instanceof Closeable) {
+            try {
+                ((Closeable) jwkSource).close();
+            } catch (IOException ioException) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("exception closing JWK source")
+                        .setThrowable(ioException)
+                );
+            }
+        }
+    }
+
+    /**
+     * Number of validations answered from previously validated tokens
+     */
+    public long validatedTokensHitCount() {
+        return validatedTokensHitCount.sum();
+    }
+
+    /**
+     * Number of validations that required the token to be parsed and its signature and claims verified
+     */
+    public long validatedTokensMissCount() {
+        return validatedTokensMissCount.sum();
+    }
+
+    private static String hash(String jwt) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+            throw new AuthenticationException(noSuchAlgorithmException.getMessage(), noSuchAlgorithmException);
+        }
     }
 
 }
@@ -4,29 +4,53 @@ import com.google.common.annotations.VisibleForTesting;
 import org.mockserver.logging.MockServerLogger;
 
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size bounded cache that evicts the least recently used entry and expires entries that haven't been
+ * read for their time to live.
+ * <p>
+ * Entries are split across up to 16 segments by key hash, each segment is an access ordered map with its own
+ * lock, so get and put are O(1) and only contend with operations on the same segment. Each segment is limited
+ * to its share of the maximum size, with the remainder spread across the first segments so the shares add up
+ * to exactly the maximum size, so for larger caches the least recently used entry is evicted per segment.
+ *
+ * @author jamesdbloom
+ */
 @SuppressWarnings("unused")
 public class LRUCache<K, V> {
 
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_ENTRIES_PER_SEGMENT = 32;
     private static boolean allCachesEnabled = true;
     private static int maxSizeOverride = 0;
     private static final Set<LRUCache<?, ?>> allCaches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
     private final long ttlInMillis;
     private final int maxSize;
-    private final ConcurrentHashMap<K, Entry<V>> map;
-    private final ConcurrentLinkedQueue<K> queue;
+    private final Segment<K, V>[] segments;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
     private final MockServerLogger mockServerLogger;
 
+    @SuppressWarnings("unchecked")
     public LRUCache(final MockServerLogger mockServerLogger, final int maxSize, long ttlInMillis) {
         this.mockServerLogger = mockServerLogger;
         this.maxSize = maxSize;
-        this.map = new ConcurrentHashMap<>(maxSize);
-        this.queue = new ConcurrentLinkedQueue<>();
         this.ttlInMillis = ttlInMillis;
+        int numberOfSegments = 1;
+        while (numberOfSegments < MAX_SEGMENTS && numberOfSegments * 2 * MIN_ENTRIES_PER_SEGMENT <= maxSize) {
+            numberOfSegments *= 2;
+        }
+        this.segments = new Segment[numberOfSegments];
+        for (int i = 0; i < numberOfSegments; i++) {
+            this.segments[i] = new Segment<>();
+        }
         LRUCache.allCaches.add(this);
     }
 
@@ -50,18 +74,20 @@ public class LRUCache<K, V> {
 
     public void put(K key, final V value, long ttl) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                // ensure the queue is in FIFO order
-                queue.remove(key);
-            }
-            while (queue.size() >= maxSize || maxSizeOverride > 0 && queue.size() >= maxSizeOverride) {
-                K oldestKey = queue.poll();
-                if (null != oldestKey) {
-                    map.remove(oldestKey);
+            int segmentIndex = segmentIndex(key);
+            int maxSizePerSegment = maxSizePerSegment(segmentIndex);
+            if (maxSizePerSegment > 0) {
+                Segment<K, V> segment = segments[segmentIndex];
+                synchronized (segment) {
+                    segment.put(key, new Entry<>(ttl, expiryInMillis(ttl), value));
+                    Iterator<Map.Entry<K, Entry<V>>> leastRecentlyUsed = segment.entrySet().iterator();
+                    while (segment.size() > maxSizePerSegment && leastRecentlyUsed.hasNext()) {
+                        leastRecentlyUsed.next();
+                        leastRecentlyUsed.remove();
+                        evictionCount.increment();
+                    }
                 }
             }
-            queue.add(key);
-            map.put(key, new Entry<>(ttl, expiryInMillis(ttl), value));
         }
     }
 
@@ -71,40 +97,97 @@ public class LRUCache<K, V> {
 
     public V get(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                // remove from the queue and add it again in FIFO queue
-                queue.remove(key);
-                queue.add(key);
-            }
-
-            Entry<V> entry = map.get(key);
-            if (entry != null) {
-                if (entry.getExpiryInMillis() > System.currentTimeMillis()) {
-                    return entry.updateExpiryInMillis(expiryInMillis(entry.getTtlInMillis())).getValue();
-                } else {
-                    delete(key);
+            Segment<K, V> segment = segment(key);
+            synchronized (segment) {
+                // access ordered so get moves the entry to most recently used
+                Entry<V> entry = segment.get(key);
+                if (entry != null) {
+                    if (entry.getExpiryInMillis() > System.currentTimeMillis()) {
+                        hitCount.increment();
+                        return entry.updateExpiryInMillis(expiryInMillis(entry.getTtlInMillis())).getValue();
+                    } else {
+                        segment.remove(key);
+                    }
                 }
             }
+            missCount.increment();
         }
         return null;
     }
 
     public void delete(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                map.remove(key);
-                queue.remove(key);
+            Segment<K, V> segment = segment(key);
+            synchronized (segment) {
+                segment.remove(key);
             }
         }
     }
 
-    private void clear() {
-        map.clear();
-        queue.clear();
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Ratio of gets that returned a value, or 0 if there haven't been any gets
+     */
+    public double hitRate() {
+        long hits = hitCount.sum();
+        long requests = hits + missCount.sum();
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    /**
+     * Number of entries removed to keep the cache within its maximum size, excluding expired or deleted entries
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private int maxSizePerSegment(int segmentIndex) {
+        int limit = maxSizeOverride > 0 ? Math.min(maxSize, maxSizeOverride) : maxSize;
+        return limit > 0 ? limit / segments.length + (segmentIndex < limit % segments.length ? 1 : 0) : 0;
+    }
+
+    private Segment<K, V> segment(K key) {
+        return segments[segmentIndex(key)];
+    }
+
+    private int segmentIndex(K key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (segments.length - 1);
     }
 
     public static void setMaxSizeOverride(int maxSizeOverride) {
         LRUCache.maxSizeOverride = maxSizeOverride;
     }
 
+    private static class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private Segment() {
+            super(16, 0.75f, true);
+        }
+    }
+
 }
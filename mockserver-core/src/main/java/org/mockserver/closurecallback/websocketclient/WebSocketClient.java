@@ -6,7 +6,6 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
@@ -26,6 +25,7 @@ import org.mockserver.model.HttpResponse;
 import org.mockserver.serialization.WebSocketMessageSerializer;
 import org.mockserver.serialization.model.WebSocketClientIdDTO;
 import org.mockserver.serialization.model.WebSocketErrorDTO;
+import org.mockserver.socket.NettyTransport;
 import org.slf4j.event.Level;
 
 import javax.net.ssl.SSLException;
@@ -67,7 +67,7 @@ public class WebSocketClient<T extends HttpMessage> {
         try {
             new Bootstrap()
                 .group(this.eventLoopGroup)
-                .channel(NioSocketChannel.class)
+                .channel(NettyTransport.nettyTransport(this.eventLoopGroup).socketChannelClass())
                 .attr(REGISTRATION_FUTURE, registrationFuture)
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
@@ -50,7 +50,7 @@ public class JsonSchemaBodyDecoder {
     }
 
     public String convertToJson(HttpRequest request, BodyMatcher<?> bodyMatcher) {
-        String bodyAsJson = request.getBodyAsString();
+        String bodyAsJson = request.parsedBody().bodyAsString();
         String contentType = request.getFirstHeader(CONTENT_TYPE.toString());
         if (contentType.contains(APPLICATION_XML) || contentType.contains(TEXT_XML)) {
             try {
@@ -0,0 +1,73 @@
+package org.mockserver.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.handler.codec.http.FullHttpMessage;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMessage;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+
+/**
+ * Aggregates http chunks into a single http message keeping each chunk as a component of a composite buffer.
+ * <p>
+ * By default netty consolidates the whole composite buffer every 1024 chunks, copying the whole body received so far,
+ * so a large body sent in small chunks is copied many times and briefly needs twice its size. Instead only the chunks
+ * received since the last consolidation are consolidated, into a single component, so each byte is copied at most once
+ * before the body is decoded.
+ * <p>
+ * Each chunk is usually a slice of the (pooled and usually direct) buffer it was read into, so a chunk can keep much
+ * more memory than its size, the chunks received since the last consolidation are consolidated once there are
+ * {@link #MAX_PENDING_COMPONENTS} of them or once the memory they keep, beyond their size, exceeds the smaller of
+ * {@link #MAX_PENDING_OVERHEAD} and maxContentLength. The memory kept for a message is therefore at most its body,
+ * which is limited to maxContentLength, plus that overhead and the buffer of the last chunk.
+ * <p>
+ * Messages with a body larger than maxContentLength are rejected, if the request has a Content-Length header this
+ * happens as soon as the headers are received, with a 413 Request Entity Too Large response, without reading the body.
+ *
+ * @author jamesdbloom
+ */
+public class MockServerHttpObjectAggregator extends HttpObjectAggregator {
+
+    static final int MAX_PENDING_COMPONENTS = 1024;
+    static final int MAX_PENDING_OVERHEAD = 1024 * 1024;
+
+    private final int maxPendingOverhead;
+    private int consolidatedComponents;
+    private long pendingOverhead;
+
+    public MockServerHttpObjectAggregator(int maxContentLength) {
+        super(maxContentLength);
+        setMaxCumulationBufferComponents(Integer.MAX_VALUE);
+        this.maxPendingOverhead = Math.min(MAX_PENDING_OVERHEAD, maxContentLength);
+    }
+
+    @Override
+    protected FullHttpMessage beginAggregation(HttpMessage start, ByteBuf content) throws Exception {
+        consolidatedComponents = 0;
+        pendingOverhead = 0;
+        return super.beginAggregation(start, content);
+    }
+
+    @Override
+    protected void aggregate(FullHttpMessage aggregated, HttpContent content) throws Exception {
+        super.aggregate(aggregated, content);
+        if (aggregated.content() instanceof CompositeByteBuf && content.content().isReadable()) {
+            CompositeByteBuf compositeByteBuf = (CompositeByteBuf) aggregated.content();
+            pendingOverhead += retainedCapacity(content.content()) - content.content().readableBytes();
+            int pendingComponents = compositeByteBuf.numComponents() - consolidatedComponents;
+            if (pendingComponents >= MAX_PENDING_COMPONENTS || pendingOverhead > maxPendingOverhead) {
+                if (pendingComponents > 1) {
+                    compositeByteBuf.consolidate(consolidatedComponents, pendingComponents);
+                }
+                consolidatedComponents++;
+                pendingOverhead = 0;
+            }
+        }
+    }
+
+    private static int retainedCapacity(ByteBuf byteBuf) {
+        ByteBuf unwrapped = byteBuf.unwrap();
+        return unwrapped != null ? unwrapped.capacity() : byteBuf.capacity();
+    }
+
+}
@@ -67,30 +67,102 @@ public class PathParametersDecoder {
     }
 
     public Parameters extractPathParameters(HttpRequest matcher, HttpRequest matched) {
-        Parameters parsedParameters = matched.getPathParameters() != null ? matched.getPathParameters() : new Parameters();
+        return compilePathTemplate(matcher).extractPathParameters(matched);
+    }
+
+    /**
+     * Compiles the path parameters of a path matcher once so parameters can be extracted from each request
+     * without splitting the matcher path or compiling a pattern per parameter
+     */
+    public PathTemplate compilePathTemplate(HttpRequest matcher) {
         if (matcher.getPathParameters() != null && !matcher.getPathParameters().isEmpty()) {
             String[] matcherPathParts = getPathParts(matcher.getPath());
-            String[] matchedPathParts = getPathParts(matched.getPath());
-            if (matcherPathParts.length != matchedPathParts.length) {
-                throw new IllegalArgumentException("expected path " + matcher.getPath().getValue() + " has " + matcherPathParts.length + " parts but path " + matched.getPath().getValue() + " has " + matchedPathParts.length + " part" + (matchedPathParts.length > 1 ? "s " : " "));
-            }
+            String[] parameterNames = new String[matcherPathParts.length];
+            Pattern[] parameterValuePatterns = new Pattern[matcherPathParts.length];
             for (int i = 0; i < matcherPathParts.length; i++) {
                 Matcher pathParameterName = PATH_VARIABLE_NAME_PATTERN.matcher(matcherPathParts[i]);
                 if (pathParameterName.matches()) {
-                    String parameterName = pathParameterName.group(1);
-                    List<String> parameterValues = new ArrayList<>();
-                    Matcher pathParameterValue = Pattern.compile("[.;]?(?:" + parameterName + "=)?([^,]++)[.,;]?").matcher(matchedPathParts[i]);
-                    while (pathParameterValue.find()) {
-                        parameterValues.add(pathParameterValue.group(1));
-                    }
-                    parsedParameters.withEntry(parameterName, parameterValues);
+                    parameterNames[i] = pathParameterName.group(1);
+                    parameterValuePatterns[i] = Pattern.compile("[.;]?(?:" + parameterNames[i] + "=)?([^,]++)[.,;]?");
                 }
             }
+            return new PathTemplate(matcher.getPath().getValue(), parameterNames, parameterValuePatterns);
+        } else {
+            return PathTemplate.NO_PATH_PARAMETERS;
         }
-        return parsedParameters;
     }
 
     private String[] getPathParts(NottableString path) {
         return path != null ? Arrays.stream(StringUtils.removeStart(path.getValue(), "/").split("/")).filter(StringUtils::isNotBlank).toArray(String[]::new) : new String[0];
     }
+
+    public static class PathTemplate {
+
+        private static final PathTemplate NO_PATH_PARAMETERS = new PathTemplate(null, new String[0], null);
+        private final String path;
+        private final String[] parameterNames;
+        private final Pattern[] parameterValuePatterns;
+
+        private PathTemplate(String path, String[] parameterNames, Pattern[] parameterValuePatterns) {
+            this.path = path;
+            this.parameterNames = parameterNames;
+            this.parameterValuePatterns = parameterValuePatterns;
+        }
+
+        public Parameters extractPathParameters(HttpRequest matched) {
+            Parameters parsedParameters = matched.getPathParameters() != null ? matched.getPathParameters() : new Parameters();
+            if (this != NO_PATH_PARAMETERS) {
+                String matchedPath = matched.getPath() != null ? matched.getPath().getValue() : "";
+                int matchedPathParts = countPathParts(matchedPath);
+                if (parameterNames.length != matchedPathParts) {
+                    throw new IllegalArgumentException("expected path " + path + " has " + parameterNames.length + " parts but path " + matchedPath + " has " + matchedPathParts + " part" + (matchedPathParts > 1 ? "s " : " "));
+                }
+                int partIndex = 0;
+                int partStart = 0;
+                while (partStart <= matchedPath.length()) {
+                    int partEnd = partEnd(matchedPath, partStart);
+                    if (!isBlank(matchedPath, partStart, partEnd)) {
+                        if (parameterValuePatterns[partIndex] != null) {
+                            List<String> parameterValues = new ArrayList<>();
+                            Matcher pathParameterValue = parameterValuePatterns[partIndex].matcher(matchedPath).region(partStart, partEnd);
+                            while (pathParameterValue.find()) {
+                                parameterValues.add(pathParameterValue.group(1));
+                            }
+                            parsedParameters.withEntry(parameterNames[partIndex], parameterValues);
+                        }
+                        partIndex++;
+                    }
+                    partStart = partEnd + 1;
+                }
+            }
+            return parsedParameters;
+        }
+
+        private static int countPathParts(String path) {
+            int pathParts = 0;
+            int partStart = 0;
+            while (partStart <= path.length()) {
+                int partEnd = partEnd(path, partStart);
+                if (!isBlank(path, partStart, partEnd)) {
+                    pathParts++;
+                }
+                partStart = partEnd + 1;
+            }
+            return pathParts;
+        }
+
+        private static int partEnd(String path, int partStart) {
+            int partEnd = path.indexOf('/', partStart);
+            return partEnd == -1 ? path.length() : partEnd;
+        }
+
+        private static boolean isBlank(String path, int partStart, int partEnd) {
+            for (int i = partStart; i < partEnd; i++) {
+                if (!Character.isWhitespace(path.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -16,6 +16,10 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
         this.onEvictCallback = onEvictCallback;
     }
 
+    public int getMaxSize() {
+        return maxSize;
+    }
+
     public void setMaxSize(int maxSize) {
         this.maxSize = maxSize;
     }
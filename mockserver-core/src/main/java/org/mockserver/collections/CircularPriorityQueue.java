@@ -2,29 +2,44 @@ package org.mockserver.collections;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
+ * Bounded collection of elements sorted by priority key, when full the oldest element by insertion order is evicted.
+ * <p>
+ * Insertion order is kept as a doubly linked list of nodes that are also held in the key map, so an element
+ * can be unlinked in O(1) when it is removed instead of searching the whole insertion order.
+ *
  * @author jamesdbloom
  */
 public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     private int maxSize;
     private final Function<V, SLK> skipListKeyFunction;
     private final Function<V, K> mapKeyFunction;
+    private final Consumer<V> evictionListener;
     private final ConcurrentSkipListSet<SLK> sortOrderSkipList;
-    private final ConcurrentLinkedQueue<V> insertionOrderQueue = new ConcurrentLinkedQueue<>();
-    private final ConcurrentMap<K, V> byKey = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, Node<K, V>> byKey = new ConcurrentHashMap<>();
+    // insertion order, guarded by this
+    private Node<K, V> oldest;
+    private Node<K, V> newest;
+    private volatile int size;
 
     public CircularPriorityQueue(int maxSize, Comparator<? super SLK> skipListComparator, Function<V, SLK> skipListKeyFunction, Function<V, K> mapKeyFunction) {
+        this(maxSize, skipListComparator, skipListKeyFunction, mapKeyFunction, element -> {
+        });
+    }
+
+    public CircularPriorityQueue(int maxSize, Comparator<? super SLK> skipListComparator, Function<V, SLK> skipListKeyFunction, Function<V, K> mapKeyFunction, Consumer<V> evictionListener) {
         sortOrderSkipList = new ConcurrentSkipListSet<>(skipListComparator);
         this.maxSize = maxSize;
         this.skipListKeyFunction = skipListKeyFunction;
         this.mapKeyFunction = mapKeyFunction;
+        this.evictionListener = evictionListener;
     }
 
     public void setMaxSize(int maxSize) {
@@ -41,21 +56,39 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
 
     public void add(V element) {
         if (maxSize > 0 && element != null) {
-            insertionOrderQueue.offer(element);
-            sortOrderSkipList.add(skipListKeyFunction.apply(element));
-            byKey.put(mapKeyFunction.apply(element), element);
-            while (insertionOrderQueue.size() > maxSize) {
-                V elementToRemove = insertionOrderQueue.poll();
-                sortOrderSkipList.remove(skipListKeyFunction.apply(elementToRemove));
-                byKey.remove(mapKeyFunction.apply(elementToRemove));
+            List<V> evicted = new ArrayList<>();
+            synchronized (this) {
+                Node<K, V> node = new Node<>(mapKeyFunction.apply(element), element);
+                Node<K, V> replaced = byKey.put(node.key, node);
+                if (replaced != null) {
+                    // an element with the same key is replaced so is no longer part of the insertion order
+                    unlink(replaced);
+                    sortOrderSkipList.remove(skipListKeyFunction.apply(replaced.element));
+                }
+                linkNewest(node);
+                sortOrderSkipList.add(skipListKeyFunction.apply(element));
+                while (size > maxSize) {
+                    Node<K, V> nodeToRemove = oldest;
+                    unlink(nodeToRemove);
+                    byKey.remove(nodeToRemove.key, nodeToRemove);
+                    sortOrderSkipList.remove(skipListKeyFunction.apply(nodeToRemove.element));
+                    evicted.add(nodeToRemove.element);
+                }
             }
+            evicted.forEach(evictionListener);
         }
     }
 
     public boolean remove(V element) {
         if (element != null) {
-            insertionOrderQueue.remove(element);
-            byKey.remove(mapKeyFunction.apply(element));
+            K key = mapKeyFunction.apply(element);
+            synchronized (this) {
+                Node<K, V> node = byKey.get(key);
+                if (node != null && (node.element == element || node.element.equals(element))) {
+                    byKey.remove(key, node);
+                    unlink(node);
+                }
+            }
             return sortOrderSkipList.remove(skipListKeyFunction.apply(element));
         } else {
             return false;
@@ -63,30 +96,78 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     }
 
     public int size() {
-        return insertionOrderQueue.size();
+        return size;
     }
 
     public Stream<V> stream() {
-        return sortOrderSkipList.stream().map(item -> byKey.get(item.getKey())).filter(Objects::nonNull);
+        return sortOrderSkipList.stream().map(item -> byKey.get(item.getKey())).filter(Objects::nonNull).map(node -> node.element);
     }
 
     public Optional<V> getByKey(K key) {
         if (key != null && !"".equals(key)) {
-            return Optional.ofNullable(byKey.get(key));
+            Node<K, V> node = byKey.get(key);
+            return Optional.ofNullable(node != null ? node.element : null);
         } else {
             return Optional.empty();
         }
     }
 
     public Map<K, V> keyMap() {
-        return new HashMap<>(byKey);
+        Map<K, V> keyMap = new HashMap<>();
+        byKey.forEach((key, node) -> keyMap.put(key, node.element));
+        return keyMap;
     }
 
     public boolean isEmpty() {
-        return insertionOrderQueue.isEmpty();
+        return size == 0;
     }
 
     public List<V> toSortedList() {
         return stream().collect(Collectors.toList());
     }
+
+    private void linkNewest(Node<K, V> node) {
+        node.older = newest;
+        if (newest != null) {
+            newest.newer = node;
+        } else {
+            oldest = node;
+        }
+        newest = node;
+        node.linked = true;
+        size++;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (!node.linked) {
+            return;
+        }
+        if (node.older != null) {
+            node.older.newer = node.newer;
+        } else {
+            oldest = node.newer;
+        }
+        if (node.newer != null) {
+            node.newer.older = node.older;
+        } else {
+            newest = node.older;
+        }
+        node.older = null;
+        node.newer = null;
+        node.linked = false;
+        size--;
+    }
+
+    private static class Node<K, V> {
+        private final K key;
+        private final V element;
+        private Node<K, V> older;
+        private Node<K, V> newer;
+        private boolean linked;
+
+        private Node(K key, V element) {
+            this.key = key;
+            this.element = element;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package org.mockserver.configuration;
 
 import com.google.common.collect.Sets;
 import com.google.common.net.InetAddresses;
+import org.mockserver.log.model.LogEntry;
 import org.mockserver.model.BinaryProxyListener;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.slf4j.event.Level;
@@ -29,6 +30,8 @@ public class Configuration {
     private Level logLevel;
     private Boolean disableSystemOut;
     private Boolean disableLogging;
+    private Map<LogEntry.LogMessageType, Integer> maxLoggedBodyLength;
+    private Double systemOutLogSamplingRate;
     private Boolean detailedMatchFailures;
     private Boolean launchUIForLogLevelDebug;
     private Boolean metricsEnabled;
@@ -36,6 +39,7 @@ public class Configuration {
     // memory usage
     private Integer maxExpectations;
     private Integer maxLogEntries;
+    private Integer maxUncompressedLogEntries;
     private Integer maxWebSocketExpectations;
     private Boolean outputMemoryUsageCsv;
     private String memoryUsageCsvDirectory;
@@ -53,16 +57,25 @@ public class Configuration {
     private Long socketConnectionTimeoutInMillis;
     private Boolean alwaysCloseSocketConnections;
     private String localBoundIP;
+    private Integer maxForwardConnectionsPerHost;
+    private Long forwardConnectionIdleTimeoutInMillis;
+    private String nettyTransport;
+    private Boolean tcpNoDelay;
+    private Boolean tcpFastOpen;
+    private Boolean reusePort;
+    private Integer acceptorThreadCount;
 
     // http request parsing
     private Integer maxInitialLineLength;
     private Integer maxHeaderSize;
     private Integer maxChunkSize;
+    private Integer maxRequestBodySize;
     private Boolean useSemicolonAsQueryParameterSeparator;
     private Boolean assumeAllRequestsAreHttp;
 
     // non http proxying
     private Boolean forwardBinaryRequestsWithoutWaitingForResponse;
+    private Boolean forwardBinaryRequestsAsStream;
     private BinaryProxyListener binaryProxyListener;
 
     // CORS
@@ -89,6 +102,7 @@ public class Configuration {
     // mock persistence
     private Boolean persistExpectations;
     private String persistedExpectationsPath;
+    private Boolean persistedExpectationsJournal;
 
     // verification
     private Integer maximumNumberOfRequestToReturnInVerificationFailure;
@@ -118,6 +132,7 @@ public class Configuration {
     private String controlPlaneJWTAuthenticationExpectedAudience;
     private Map<String, String> controlPlaneJWTAuthenticationMatchingClaims;
     private Set<String> controlPlaneJWTAuthenticationRequiredClaims;
+    private Long controlPlaneJWTAuthenticationJWKSourceRefreshInterval;
 
     // TLS
     private Boolean proactivelyInitialiseTLS;
@@ -223,6 +238,56 @@ public class Configuration {
         return this;
     }
 
+    public Map<LogEntry.LogMessageType, Integer> maxLoggedBodyLength() {
+        if (maxLoggedBodyLength == null) {
+            return ConfigurationProperties.maxLoggedBodyLength();
+        }
+        return maxLoggedBodyLength;
+    }
+
+    /**
+     * <p>
+     * Maximum number of characters of each request and response body included when a log message is printed or displayed in the UI, per log message type, longer bodies are truncated.  Requests and responses held in the log, used by retrieve and verify, are not truncated.
+     * </p>
+     * <p>
+     * The default is no truncation for any log message type
+     * </p>
+     *
+     * @param maxLoggedBodyLength maximum number of body characters to log for each log message type
+     */
+    public Configuration maxLoggedBodyLength(Map<LogEntry.LogMessageType, Integer> maxLoggedBodyLength) {
+        this.maxLoggedBodyLength = maxLoggedBodyLength;
+        if (maxLoggedBodyLength != null) {
+            ConfigurationProperties.maxLoggedBodyLength(maxLoggedBodyLength);
+        }
+        return this;
+    }
+
+    public Double systemOutLogSamplingRate() {
+        if (systemOutLogSamplingRate == null) {
+            return ConfigurationProperties.systemOutLogSamplingRate();
+        }
+        return systemOutLogSamplingRate;
+    }
+
+    /**
+     * <p>
+     * Proportion, between 0.0 and 1.0, of requests for which the received request, response, forwarded request and match log messages are printed to system out, the log messages for a request are either all printed or all skipped.  Skipped log messages are still held in the log for retrieve, verify and the UI, and WARN and ERROR log messages are always printed.
+     * </p>
+     * <p>
+     * The default is 1.0 (i.e. log messages for all requests are printed)
+     * </p>
+     *
+     * @param systemOutLogSamplingRate proportion of requests printed to system out
+     */
+    public Configuration systemOutLogSamplingRate(Double systemOutLogSamplingRate) {
+        this.systemOutLogSamplingRate = systemOutLogSamplingRate;
+        if (systemOutLogSamplingRate != null) {
+            ConfigurationProperties.systemOutLogSamplingRate(systemOutLogSamplingRate);
+        }
+        return this;
+    }
+
     public Boolean detailedMatchFailures() {
         if (detailedMatchFailures == null) {
             return ConfigurationProperties.detailedMatchFailures();
@@ -318,6 +383,28 @@ public class Configuration {
         return this;
     }
 
+    public Integer maxUncompressedLogEntries() {
+        if (maxUncompressedLogEntries == null) {
+            return ConfigurationProperties.maxUncompressedLogEntries();
+        }
+        return maxUncompressedLogEntries;
+    }
+
+    /**
+     * <p>
+     * Maximum number of the most recent log entries held uncompressed on the heap, older log entries have their requests, responses, expectations and message compressed, still on the heap, until they are needed by a retrieve or verify.  Compressed log entries usually take a small fraction of the memory, so this allows maxLogEntries to be increased with a much smaller increase in the heap size.
+     * </p>
+     * <p>
+     * The default is Integer.MAX_VALUE (i.e. no log entries are compressed)
+     * </p>
+     *
+     * @param maxUncompressedLogEntries maximum number of log entries held uncompressed
+     */
+    public Configuration maxUncompressedLogEntries(Integer maxUncompressedLogEntries) {
+        this.maxUncompressedLogEntries = maxUncompressedLogEntries;
+        return this;
+    }
+
     public Integer maxWebSocketExpectations() {
         if (maxWebSocketExpectations == null) {
             return ConfigurationProperties.maxWebSocketExpectations();
@@ -568,6 +655,139 @@ public class Configuration {
         return this;
     }
 
+    public Integer maxForwardConnectionsPerHost() {
+        if (maxForwardConnectionsPerHost == null) {
+            return ConfigurationProperties.maxForwardConnectionsPerHost();
+        }
+        return maxForwardConnectionsPerHost;
+    }
+
+    /**
+     * Maximum number of idle connections kept open (i.e. keep-alive) per host for forwarded and proxied requests, for HTTP2 a single connection per host is shared by concurrent requests, set to 0 to disable connection pooling
+     * <p>
+     * Default is 10
+     *
+     * @param maxForwardConnectionsPerHost maximum number of idle connections kept open per host
+     */
+    public Configuration maxForwardConnectionsPerHost(Integer maxForwardConnectionsPerHost) {
+        this.maxForwardConnectionsPerHost = maxForwardConnectionsPerHost;
+        return this;
+    }
+
+    public Long forwardConnectionIdleTimeoutInMillis() {
+        if (forwardConnectionIdleTimeoutInMillis == null) {
+            return ConfigurationProperties.forwardConnectionIdleTimeout();
+        }
+        return forwardConnectionIdleTimeoutInMillis;
+    }
+
+    /**
+     * Time in milliseconds an unused pooled connection for forwarded and proxied requests is kept open before it is closed
+     * <p>
+     * Default is 30,000 ms
+     *
+     * @param forwardConnectionIdleTimeoutInMillis time in milliseconds an unused connection is kept open
+     */
+    public Configuration forwardConnectionIdleTimeoutInMillis(Long forwardConnectionIdleTimeoutInMillis) {
+        this.forwardConnectionIdleTimeoutInMillis = forwardConnectionIdleTimeoutInMillis;
+        return this;
+    }
+
+    public String nettyTransport() {
+        if (nettyTransport == null) {
+            return ConfigurationProperties.nettyTransport();
+        }
+        return nettyTransport;
+    }
+
+    /**
+     * The socket transport used by the server and clients, either "auto", "epoll" or "nio", "auto" uses the native epoll transport when available (i.e. on Linux) otherwise nio, "epoll" falls back to nio if the native epoll transport is not available
+     * <p>
+     * Default is auto
+     *
+     * @param nettyTransport socket transport either "auto", "epoll" or "nio"
+     */
+    public Configuration nettyTransport(String nettyTransport) {
+        this.nettyTransport = nettyTransport;
+        return this;
+    }
+
+    public Boolean tcpNoDelay() {
+        if (tcpNoDelay == null) {
+            return ConfigurationProperties.tcpNoDelay();
+        }
+        return tcpNoDelay;
+    }
+
+    /**
+     * If true TCP_NODELAY is set on accepted and client socket connections, disabling Nagle's algorithm so small responses are sent without delay
+     * <p>
+     * Default is true
+     *
+     * @param tcpNoDelay TCP_NODELAY is set on socket connections
+     */
+    public Configuration tcpNoDelay(Boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return this;
+    }
+
+    public Boolean tcpFastOpen() {
+        if (tcpFastOpen == null) {
+            return ConfigurationProperties.tcpFastOpen();
+        }
+        return tcpFastOpen;
+    }
+
+    /**
+     * If true TCP Fast Open is enabled for accepted and client socket connections, only supported by the epoll transport
+     * <p>
+     * Default is false
+     *
+     * @param tcpFastOpen TCP Fast Open is enabled for socket connections
+     */
+    public Configuration tcpFastOpen(Boolean tcpFastOpen) {
+        this.tcpFastOpen = tcpFastOpen;
+        return this;
+    }
+
+    public Boolean reusePort() {
+        if (reusePort == null) {
+            return ConfigurationProperties.reusePort();
+        }
+        return reusePort;
+    }
+
+    /**
+     * If true SO_REUSEPORT is set on server sockets, allowing multiple acceptor threads (see acceptorThreadCount) or processes to bind to the same port, only supported by the epoll transport
+     * <p>
+     * Default is false
+     *
+     * @param reusePort SO_REUSEPORT is set on server sockets
+     */
+    public Configuration reusePort(Boolean reusePort) {
+        this.reusePort = reusePort;
+        return this;
+    }
+
+    public Integer acceptorThreadCount() {
+        if (acceptorThreadCount == null) {
+            return ConfigurationProperties.acceptorThreadCount();
+        }
+        return acceptorThreadCount;
+    }
+
+    /**
+     * Number of server sockets, each with its own acceptor thread, bound to each port when reusePort is enabled, only supported by the epoll transport
+     * <p>
+     * Default is 1
+     *
+     * @param acceptorThreadCount number of server sockets bound to each port
+     */
+    public Configuration acceptorThreadCount(Integer acceptorThreadCount) {
+        this.acceptorThreadCount = acceptorThreadCount;
+        return this;
+    }
+
     public Integer maxInitialLineLength() {
         if (maxInitialLineLength == null) {
             return ConfigurationProperties.maxInitialLineLength();
@@ -625,6 +845,25 @@ public class Configuration {
         return this;
     }
 
+    public Integer maxRequestBodySize() {
+        if (maxRequestBodySize == null) {
+            return ConfigurationProperties.maxRequestBodySize();
+        }
+        return maxRequestBodySize;
+    }
+
+    /**
+     * Maximum size of a request body, requests with a larger body are rejected with a 413 Request Entity Too Large response
+     * <p>
+     * The default is Integer.MAX_VALUE
+     *
+     * @param maxRequestBodySize maximum size of a request body
+     */
+    public Configuration maxRequestBodySize(Integer maxRequestBodySize) {
+        this.maxRequestBodySize = maxRequestBodySize;
+        return this;
+    }
+
     public Boolean useSemicolonAsQueryParameterSeparator() {
         if (useSemicolonAsQueryParameterSeparator == null) {
             return ConfigurationProperties.useSemicolonAsQueryParameterSeparator();
@@ -683,6 +922,29 @@ public class Configuration {
         return this;
     }
 
+    public Boolean forwardBinaryRequestsAsStream() {
+        if (forwardBinaryRequestsAsStream == null) {
+            return ConfigurationProperties.forwardBinaryRequestsAsStream();
+        }
+        return forwardBinaryRequestsAsStream;
+    }
+
+    /**
+     * If true binary requests are relayed as a stream over one connection to the remote host per client connection,
+     * bytes are passed through in both directions as they arrive instead of being forwarded as a separate request, with
+     * a new connection, for each read. This supports stateful binary protocols, such as database or message broker protocols.
+     * <p>
+     * Relayed bytes are only logged, as hex, when the log level is DEBUG and the BinaryProxyListener isn't called.
+     * <p>
+     * The default is false
+     *
+     * @param forwardBinaryRequestsAsStream relay binary requests as a stream
+     */
+    public Configuration forwardBinaryRequestsAsStream(Boolean forwardBinaryRequestsAsStream) {
+        this.forwardBinaryRequestsAsStream = forwardBinaryRequestsAsStream;
+        return this;
+    }
+
     public BinaryProxyListener binaryProxyListener() {
         return binaryProxyListener;
     }
@@ -1022,6 +1284,26 @@ public class Configuration {
         return this;
     }
 
+    public Boolean persistedExpectationsJournal() {
+        if (persistedExpectationsJournal == null) {
+            return ConfigurationProperties.persistedExpectationsJournal();
+        }
+        return persistedExpectationsJournal;
+    }
+
+    /**
+     * Enable appending expectation changes (i.e. add, update, remove) to a journal file (persistedExpectationsPath with a ".journal" suffix) instead of re-writing all expectations to the persisted expectations json file on every change.
+     * The journal is periodically compacted into the persisted expectations json file, and the json file and journal are replayed when MockServer starts.
+     * <p>
+     * The default is false
+     *
+     * @param persistedExpectationsJournal appending expectation changes to a journal file
+     */
+    public Configuration persistedExpectationsJournal(Boolean persistedExpectationsJournal) {
+        this.persistedExpectationsJournal = persistedExpectationsJournal;
+        return this;
+    }
+
     public Integer maximumNumberOfRequestToReturnInVerificationFailure() {
         if (maximumNumberOfRequestToReturnInVerificationFailure == null) {
             return ConfigurationProperties.maximumNumberOfRequestToReturnInVerificationFailure();
@@ -1446,6 +1728,31 @@ public class Configuration {
         return this;
     }
 
+    public Long controlPlaneJWTAuthenticationJWKSourceRefreshInterval() {
+        if (controlPlaneJWTAuthenticationJWKSourceRefreshInterval == null) {
+            return ConfigurationProperties.controlPlaneJWTAuthenticationJWKSourceRefreshInterval();
+        }
+        return controlPlaneJWTAuthenticationJWKSourceRefreshInterval;
+    }
+
+    /**
+     * <p>
+     * Interval in milliseconds at which a JWK source specified as a URL is refreshed in the background, when JWT authentication is enabled for control plane requests
+     * </p>
+     * <p>
+     * The JWK set is cached between refreshes so control plane requests don't wait for the JWK source, a token signed by a key that isn't in the cached JWK set triggers an immediate (rate limited) refresh
+     * </p>
+     * <p>
+     * The default is 300000 ms (i.e. 5 minutes) and the minimum is 30000 ms
+     * </p>
+     *
+     * @param controlPlaneJWTAuthenticationJWKSourceRefreshInterval interval in milliseconds between refreshes of the JWK source
+     */
+    public Configuration controlPlaneJWTAuthenticationJWKSourceRefreshInterval(Long controlPlaneJWTAuthenticationJWKSourceRefreshInterval) {
+        this.controlPlaneJWTAuthenticationJWKSourceRefreshInterval = controlPlaneJWTAuthenticationJWKSourceRefreshInterval;
+        return this;
+    }
+
     public Boolean proactivelyInitialiseTLS() {
         if (proactivelyInitialiseTLS == null) {
             return ConfigurationProperties.proactivelyInitialiseTLS();
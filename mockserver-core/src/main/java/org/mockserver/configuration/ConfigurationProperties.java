@@ -7,6 +7,8 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.common.net.InetAddresses;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.mockserver.file.FileReader;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
@@ -46,6 +48,8 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_LOG_LEVEL = "mockserver.logLevel";
     private static final String MOCKSERVER_DISABLE_SYSTEM_OUT = "mockserver.disableSystemOut";
     private static final String MOCKSERVER_DISABLE_LOGGING = "mockserver.disableLogging";
+    private static final String MOCKSERVER_MAX_LOGGED_BODY_LENGTH = "mockserver.maxLoggedBodyLength";
+    private static final String MOCKSERVER_SYSTEM_OUT_LOG_SAMPLING_RATE = "mockserver.systemOutLogSamplingRate";
     private static final String MOCKSERVER_DETAILED_MATCH_FAILURES = "mockserver.detailedMatchFailures";
     private static final String MOCKSERVER_LAUNCH_UI_FOR_LOG_LEVEL_DEBUG = "mockserver.launchUIForLogLevelDebug";
     private static final String MOCKSERVER_METRICS_ENABLED = "mockserver.metricsEnabled";
@@ -53,6 +57,7 @@ public class ConfigurationProperties {
     // memory usage
     private static final String MOCKSERVER_MAX_EXPECTATIONS = "mockserver.maxExpectations";
     private static final String MOCKSERVER_MAX_LOG_ENTRIES = "mockserver.maxLogEntries";
+    private static final String MOCKSERVER_MAX_UNCOMPRESSED_LOG_ENTRIES = "mockserver.maxUncompressedLogEntries";
     private static final String MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS = "mockserver.maxWebSocketExpectations";
     private static final String MOCKSERVER_OUTPUT_MEMORY_USAGE_CSV = "mockserver.outputMemoryUsageCsv";
     private static final String MOCKSERVER_MEMORY_USAGE_CSV_DIRECTORY = "mockserver.memoryUsageCsvDirectory";
@@ -70,16 +75,25 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_SOCKET_CONNECTION_TIMEOUT = "mockserver.socketConnectionTimeout";
     private static final String MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS = "mockserver.alwaysCloseSocketConnections";
     private static final String MOCKSERVER_LOCAL_BOUND_IP = "mockserver.localBoundIP";
+    private static final String MOCKSERVER_MAX_FORWARD_CONNECTIONS_PER_HOST = "mockserver.maxForwardConnectionsPerHost";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_IDLE_TIMEOUT = "mockserver.forwardConnectionIdleTimeout";
+    private static final String MOCKSERVER_NETTY_TRANSPORT = "mockserver.nettyTransport";
+    private static final String MOCKSERVER_TCP_NO_DELAY = "mockserver.tcpNoDelay";
+    private static final String MOCKSERVER_TCP_FAST_OPEN = "mockserver.tcpFastOpen";
+    private static final String MOCKSERVER_REUSE_PORT = "mockserver.reusePort";
+    private static final String MOCKSERVER_ACCEPTOR_THREAD_COUNT = "mockserver.acceptorThreadCount";
 
     // http request parsing
     private static final String MOCKSERVER_MAX_INITIAL_LINE_LENGTH = "mockserver.maxInitialLineLength";
     private static final String MOCKSERVER_MAX_HEADER_SIZE = "mockserver.maxHeaderSize";
     private static final String MOCKSERVER_MAX_CHUNK_SIZE = "mockserver.maxChunkSize";
+    private static final String MOCKSERVER_MAX_REQUEST_BODY_SIZE = "mockserver.maxRequestBodySize";
     private static final String MOCKSERVER_USE_SEMICOLON_AS_QUERY_PARAMETER_SEPARATOR = "mockserver.useSemicolonAsQueryParameterSeparator";
     private static final String MOCKSERVER_ASSUME_ALL_REQUESTS_ARE_HTTP = "mockserver.assumeAllRequestsAreHttp";
 
     // non http proxying
     private static final String MOCKSERVER_FORWARD_BINARY_REQUESTS_WITHOUT_WAITING_FOR_RESPONSE = "mockserver.forwardBinaryRequestsWithoutWaitingForResponse";
+    private static final String MOCKSERVER_FORWARD_BINARY_REQUESTS_AS_STREAM = "mockserver.forwardBinaryRequestsAsStream";
 
     // CORS
     private static final String MOCKSERVER_ENABLE_CORS_FOR_API = "mockserver.enableCORSForAPI";
@@ -105,6 +119,7 @@ public class ConfigurationProperties {
     // mock persistence
     private static final String MOCKSERVER_PERSIST_EXPECTATIONS = "mockserver.persistExpectations";
     private static final String MOCKSERVER_PERSISTED_EXPECTATIONS_PATH = "mockserver.persistedExpectationsPath";
+    private static final String MOCKSERVER_PERSISTED_EXPECTATIONS_JOURNAL = "mockserver.persistedExpectationsJournal";
 
     // verification
     private static final String MOCKSERVER_MAXIMUM_NUMBER_OF_REQUESTS_TO_RETURN_IN_VERIFICATION_FAILURE = "mockserver.maximumNumberOfRequestToReturnInVerificationFailure";
@@ -134,6 +149,7 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_CONTROL_PLANE_JWT_AUTHENTICATION_EXPECTED_AUDIENCE = "mockserver.controlPlaneJWTAuthenticationExpectedAudience";
     private static final String MOCKSERVER_CONTROL_PLANE_JWT_AUTHENTICATION_MATCHING_CLAIMS = "mockserver.controlPlaneJWTAuthenticationMatchingClaims";
     private static final String MOCKSERVER_CONTROL_PLANE_JWT_AUTHENTICATION_REQUIRED_CLAIMS = "mockserver.controlPlaneJWTAuthenticationRequiredClaims";
+    private static final String MOCKSERVER_CONTROL_PLANE_JWT_AUTHENTICATION_JWK_SOURCE_REFRESH_INTERVAL = "mockserver.controlPlaneJWTAuthenticationJWKSourceRefreshInterval";
 
     // TLS
     private static final String MOCKSERVER_PROACTIVELY_INITIALISE_TLS = "mockserver.proactivelyInitialiseTLS";
@@ -313,6 +329,70 @@ public class ConfigurationProperties {
         configureLogger();
     }
 
+    private static volatile Pair<String, Map<LogEntry.LogMessageType, Integer>> parsedMaxLoggedBodyLength = ImmutablePair.of("", ImmutableMap.of());
+
+    public static Map<LogEntry.LogMessageType, Integer> maxLoggedBodyLength() {
+        String value = readPropertyHierarchically(PROPERTIES, MOCKSERVER_MAX_LOGGED_BODY_LENGTH, "MOCKSERVER_MAX_LOGGED_BODY_LENGTH", "");
+        // parsed once per value as this is read each time a log message is formatted
+        Pair<String, Map<LogEntry.LogMessageType, Integer>> maxLoggedBodyLength = parsedMaxLoggedBodyLength;
+        if (!value.equals(maxLoggedBodyLength.getKey())) {
+            Map<LogEntry.LogMessageType, Integer> parsed = new EnumMap<>(LogEntry.LogMessageType.class);
+            if (isNotBlank(value)) {
+                try {
+                    for (Map.Entry<String, String> entry : Splitter.on(",").trimResults().omitEmptyStrings().withKeyValueSeparator("=").split(value).entrySet()) {
+                        parsed.put(LogEntry.LogMessageType.valueOf(entry.getKey().trim()), Integer.parseInt(entry.getValue().trim()));
+                    }
+                } catch (IllegalArgumentException iae) {
+                    MOCK_SERVER_LOGGER.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.ERROR)
+                            .setMessageFormat("exception converting " + MOCKSERVER_MAX_LOGGED_BODY_LENGTH + " with value [" + value + "], value should be comma separated log types and lengths, for example: RECEIVED_REQUEST=1024,EXPECTATION_RESPONSE=1024")
+                            .setThrowable(iae)
+                    );
+                    parsed.clear();
+                }
+            }
+            maxLoggedBodyLength = ImmutablePair.of(value, Collections.unmodifiableMap(parsed));
+            parsedMaxLoggedBodyLength = maxLoggedBodyLength;
+        }
+        return maxLoggedBodyLength.getValue();
+    }
+
+    /**
+     * <p>
+     * Maximum number of characters of each request and response body included when a log message is printed or displayed in the UI, per log message type, longer bodies are truncated.  Requests and responses held in the log, used by retrieve and verify, are not truncated.
+     * </p>
+     * <p>
+     * Value should be string with comma separated log type=length items, for example: RECEIVED_REQUEST=1024,EXPECTATION_RESPONSE=1024,NO_MATCH_RESPONSE=1024,FORWARDED_REQUEST=1024
+     * </p>
+     * <p>
+     * The default is no truncation for any log message type
+     * </p>
+     *
+     * @param maxLoggedBodyLength maximum number of body characters to log for each log message type
+     */
+    public static void maxLoggedBodyLength(Map<LogEntry.LogMessageType, Integer> maxLoggedBodyLength) {
+        setProperty(MOCKSERVER_MAX_LOGGED_BODY_LENGTH, Joiner.on(",").withKeyValueSeparator("=").join(maxLoggedBodyLength));
+    }
+
+    public static double systemOutLogSamplingRate() {
+        return readDoubleProperty(MOCKSERVER_SYSTEM_OUT_LOG_SAMPLING_RATE, "MOCKSERVER_SYSTEM_OUT_LOG_SAMPLING_RATE", 1.0);
+    }
+
+    /**
+     * <p>
+     * Proportion, between 0.0 and 1.0, of requests for which the received request, response, forwarded request and match log messages are printed to system out, the log messages for a request are either all printed or all skipped.  Skipped log messages are still held in the log for retrieve, verify and the UI, and WARN and ERROR log messages are always printed.
+     * </p>
+     * <p>
+     * The default is 1.0 (i.e. log messages for all requests are printed)
+     * </p>
+     *
+     * @param samplingRate proportion of requests printed to system out
+     */
+    public static void systemOutLogSamplingRate(double samplingRate) {
+        setProperty(MOCKSERVER_SYSTEM_OUT_LOG_SAMPLING_RATE, "" + samplingRate);
+    }
+
     public static boolean detailedMatchFailures() {
         return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_DETAILED_MATCH_FAILURES, "MOCKSERVER_DETAILED_MATCH_FAILURES", "" + true));
     }
@@ -396,6 +476,24 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_MAX_LOG_ENTRIES, "" + count);
     }
 
+    public static int maxUncompressedLogEntries() {
+        return readIntegerProperty(MOCKSERVER_MAX_UNCOMPRESSED_LOG_ENTRIES, "MOCKSERVER_MAX_UNCOMPRESSED_LOG_ENTRIES", Integer.MAX_VALUE);
+    }
+
+    /**
+     * <p>
+     * Maximum number of the most recent log entries held uncompressed on the heap, older log entries have their requests, responses, expectations and message compressed, still on the heap, until they are needed by a retrieve or verify.  Compressed log entries usually take a small fraction of the memory, so this allows maxLogEntries to be increased with a much smaller increase in the heap size.
+     * </p>
+     * <p>
+     * The default is Integer.MAX_VALUE (i.e. no log entries are compressed)
+     * </p>
+     *
+     * @param count maximum number of log entries held uncompressed
+     */
+    public static void maxUncompressedLogEntries(int count) {
+        setProperty(MOCKSERVER_MAX_UNCOMPRESSED_LOG_ENTRIES, "" + count);
+    }
+
     public static int maxWebSocketExpectations() {
         return readIntegerProperty(MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS, "MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS", 1500);
     }
@@ -601,6 +699,111 @@ public class ConfigurationProperties {
         }
     }
 
+    public static int maxForwardConnectionsPerHost() {
+        return readIntegerProperty(MOCKSERVER_MAX_FORWARD_CONNECTIONS_PER_HOST, "MOCKSERVER_MAX_FORWARD_CONNECTIONS_PER_HOST", 10);
+    }
+
+    /**
+     * Maximum number of idle connections kept open (i.e. keep-alive) per host for forwarded and proxied requests, for HTTP2 a single connection per host is shared by concurrent requests, set to 0 to disable connection pooling
+     * <p>
+     * Default is 10
+     *
+     * @param count maximum number of idle connections kept open per host
+     */
+    public static void maxForwardConnectionsPerHost(int count) {
+        setProperty(MOCKSERVER_MAX_FORWARD_CONNECTIONS_PER_HOST, "" + count);
+    }
+
+    public static long forwardConnectionIdleTimeout() {
+        return readLongProperty(MOCKSERVER_FORWARD_CONNECTION_IDLE_TIMEOUT, "MOCKSERVER_FORWARD_CONNECTION_IDLE_TIMEOUT", TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Time in milliseconds an unused pooled connection for forwarded and proxied requests is kept open before it is closed
+     * <p>
+     * Default is 30,000 ms
+     *
+     * @param milliseconds time in milliseconds an unused connection is kept open
+     */
+    public static void forwardConnectionIdleTimeout(long milliseconds) {
+        setProperty(MOCKSERVER_FORWARD_CONNECTION_IDLE_TIMEOUT, "" + milliseconds);
+    }
+
+    public static String nettyTransport() {
+        return readPropertyHierarchically(PROPERTIES, MOCKSERVER_NETTY_TRANSPORT, "MOCKSERVER_NETTY_TRANSPORT", "auto");
+    }
+
+    /**
+     * The socket transport used by the server and clients, either "auto", "epoll" or "nio", "auto" uses the native epoll transport when available (i.e. on Linux) otherwise nio, "epoll" falls back to nio if the native epoll transport is not available
+     * <p>
+     * Default is auto
+     *
+     * @param transport socket transport either "auto", "epoll" or "nio"
+     */
+    public static void nettyTransport(String transport) {
+        setProperty(MOCKSERVER_NETTY_TRANSPORT, transport);
+    }
+
+    public static boolean tcpNoDelay() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_TCP_NO_DELAY, "MOCKSERVER_TCP_NO_DELAY", "" + true));
+    }
+
+    /**
+     * If true TCP_NODELAY is set on accepted and client socket connections, disabling Nagle's algorithm so small responses are sent without delay
+     * <p>
+     * Default is true
+     *
+     * @param enable TCP_NODELAY is set on socket connections
+     */
+    public static void tcpNoDelay(boolean enable) {
+        setProperty(MOCKSERVER_TCP_NO_DELAY, "" + enable);
+    }
+
+    public static boolean tcpFastOpen() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_TCP_FAST_OPEN, "MOCKSERVER_TCP_FAST_OPEN", "" + false));
+    }
+
+    /**
+     * If true TCP Fast Open is enabled for accepted and client socket connections, only supported by the epoll transport
+     * <p>
+     * Default is false
+     *
+     * @param enable TCP Fast Open is enabled for socket connections
+     */
+    public static void tcpFastOpen(boolean enable) {
+        setProperty(MOCKSERVER_TCP_FAST_OPEN, "" + enable);
+    }
+
+    public static boolean reusePort() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_REUSE_PORT, "MOCKSERVER_REUSE_PORT", "" + false));
+    }
+
+    /**
+     * If true SO_REUSEPORT is set on server sockets, allowing multiple acceptor threads (see acceptorThreadCount) or processes to bind to the same port, only supported by the epoll transport
+     * <p>
+     * Default is false
+     *
+     * @param enable SO_REUSEPORT is set on server sockets
+     */
+    public static void reusePort(boolean enable) {
+        setProperty(MOCKSERVER_REUSE_PORT, "" + enable);
+    }
+
+    public static int acceptorThreadCount() {
+        return readIntegerProperty(MOCKSERVER_ACCEPTOR_THREAD_COUNT, "MOCKSERVER_ACCEPTOR_THREAD_COUNT", 1);
+    }
+
+    /**
+     * Number of server sockets, each with its own acceptor thread, bound to each port when reusePort is enabled, only supported by the epoll transport
+     * <p>
+     * Default is 1
+     *
+     * @param count number of server sockets bound to each port
+     */
+    public static void acceptorThreadCount(int count) {
+        setProperty(MOCKSERVER_ACCEPTOR_THREAD_COUNT, "" + count);
+    }
+
     // http request parsing
 
     public static int maxInitialLineLength() {
@@ -648,6 +851,21 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_MAX_CHUNK_SIZE, "" + size);
     }
 
+    public static int maxRequestBodySize() {
+        return readIntegerProperty(MOCKSERVER_MAX_REQUEST_BODY_SIZE, "MOCKSERVER_MAX_REQUEST_BODY_SIZE", Integer.MAX_VALUE);
+    }
+
+    /**
+     * Maximum size of a request body, requests with a larger body are rejected with a 413 Request Entity Too Large response
+     * <p>
+     * The default is Integer.MAX_VALUE
+     *
+     * @param size maximum size of a request body
+     */
+    public static void maxRequestBodySize(int size) {
+        setProperty(MOCKSERVER_MAX_REQUEST_BODY_SIZE, "" + size);
+    }
+
     /**
      * If true semicolons are treated as a separator for a query parameter string, if false the semicolon is treated as a normal character that is part of a query parameter value.
      * <p>
@@ -694,6 +912,25 @@ public class ConfigurationProperties {
         return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_FORWARD_BINARY_REQUESTS_WITHOUT_WAITING_FOR_RESPONSE, "MOCKSERVER_FORWARD_BINARY_REQUESTS_WITHOUT_WAITING_FOR_RESPONSE", "false"));
     }
 
+    /**
+     * If true binary requests are relayed as a stream over one connection to the remote host per client connection,
+     * bytes are passed through in both directions as they arrive instead of being forwarded as a separate request, with
+     * a new connection, for each read. This supports stateful binary protocols, such as database or message broker protocols.
+     * <p>
+     * Relayed bytes are only logged, as hex, when the log level is DEBUG and the BinaryProxyListener isn't called.
+     * <p>
+     * The default is false
+     *
+     * @param forwardBinaryRequestsAsStream relay binary requests as a stream
+     */
+    public static void forwardBinaryRequestsAsStream(boolean forwardBinaryRequestsAsStream) {
+        setProperty(MOCKSERVER_FORWARD_BINARY_REQUESTS_AS_STREAM, "" + forwardBinaryRequestsAsStream);
+    }
+
+    public static boolean forwardBinaryRequestsAsStream() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_FORWARD_BINARY_REQUESTS_AS_STREAM, "MOCKSERVER_FORWARD_BINARY_REQUESTS_AS_STREAM", "false"));
+    }
+
     // CORS
 
     public static boolean enableCORSForAPI() {
@@ -958,6 +1195,22 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_PERSISTED_EXPECTATIONS_PATH, persistedExpectationsPath);
     }
 
+    public static boolean persistedExpectationsJournal() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_PERSISTED_EXPECTATIONS_JOURNAL, "MOCKSERVER_PERSISTED_EXPECTATIONS_JOURNAL", "" + false));
+    }
+
+    /**
+     * Enable appending expectation changes (i.e. add, update, remove) to a journal file (persistedExpectationsPath with a ".journal" suffix) instead of re-writing all expectations to the persisted expectations json file on every change.
+     * The journal is periodically compacted into the persisted expectations json file, and the json file and journal are replayed when MockServer starts.
+     * <p>
+     * The default is false
+     *
+     * @param enable appending expectation changes to a journal file
+     */
+    public static void persistedExpectationsJournal(boolean enable) {
+        setProperty(MOCKSERVER_PERSISTED_EXPECTATIONS_JOURNAL, "" + enable);
+    }
+
     // verification
 
     public static Integer maximumNumberOfRequestToReturnInVerificationFailure() {
@@ -1358,6 +1611,27 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_CONTROL_PLANE_JWT_AUTHENTICATION_REQUIRED_CLAIMS, Joiner.on(",").join(controlPlaneJWTAuthenticationRequiredClaims));
     }
 
+    public static long controlPlaneJWTAuthenticationJWKSourceRefreshInterval() {
+        return readLongProperty(MOCKSERVER_CONTROL_PLANE_JWT_AUTHENTICATION_JWK_SOURCE_REFRESH_INTERVAL, "MOCKSERVER_CONTROL_PLANE_JWT_AUTHENTICATION_JWK_SOURCE_REFRESH_INTERVAL", TimeUnit.MINUTES.toMillis(5));
+    }
+
+    /**
+     * <p>
+     * Interval in milliseconds at which a JWK source specified as a URL is refreshed in the background, when JWT authentication is enabled for control plane requests
+     * </p>
+     * <p>
+     * The JWK set is cached between refreshes so control plane requests don't wait for the JWK source, a token signed by a key that isn't in the cached JWK set triggers an immediate (rate limited) refresh
+     * </p>
+     * <p>
+     * The default is 300000 ms (i.e. 5 minutes) and the minimum is 30000 ms
+     * </p>
+     *
+     * @param controlPlaneJWTAuthenticationJWKSourceRefreshInterval interval in milliseconds between refreshes of the JWK source
+     */
+    public static void controlPlaneJWTAuthenticationJWKSourceRefreshInterval(long controlPlaneJWTAuthenticationJWKSourceRefreshInterval) {
+        setProperty(MOCKSERVER_CONTROL_PLANE_JWT_AUTHENTICATION_JWK_SOURCE_REFRESH_INTERVAL, "" + controlPlaneJWTAuthenticationJWKSourceRefreshInterval);
+    }
+
     // TLS
 
     /**
@@ -1718,6 +1992,20 @@ public class ConfigurationProperties {
         }
     }
 
+    private static Double readDoubleProperty(String key, String environmentVariableKey, double defaultValue) {
+        try {
+            return Double.parseDouble(readPropertyHierarchically(PROPERTIES, key, environmentVariableKey, "" + defaultValue));
+        } catch (NumberFormatException nfe) {
+            MOCK_SERVER_LOGGER.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("NumberFormatException converting " + key + " with value [" + readPropertyHierarchically(PROPERTIES, key, environmentVariableKey, "" + defaultValue) + "]")
+                    .setThrowable(nfe)
+            );
+            return defaultValue;
+        }
+    }
+
     private static Long readLongProperty(String key, String environmentVariableKey, long defaultValue) {
         try {
             return Long.parseLong(readPropertyHierarchically(PROPERTIES, key, environmentVariableKey, "" + defaultValue));
@@ -5,8 +5,10 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import org.mockserver.model.Message;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import static org.mockserver.httpclient.HttpClientConnectionPool.STREAM_RESPONSE_FUTURES;
 import static org.mockserver.httpclient.NettyHttpClient.ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE;
 import static org.mockserver.httpclient.NettyHttpClient.RESPONSE_FUTURE;
 
@@ -23,6 +25,11 @@ public class HttpClientConnectionErrorHandler extends ChannelDuplexHandler {
                 responseFuture.complete(null);
             }
         }
+        Map<Integer, CompletableFuture<Message>> streamResponseFutures = ctx.channel().attr(STREAM_RESPONSE_FUTURES).get();
+        if (streamResponseFutures != null) {
+            streamResponseFutures.values().forEach(streamResponseFuture -> streamResponseFuture.completeExceptionally(new SocketConnectionException("Channel handler removed before valid response has been received")));
+            streamResponseFutures.clear();
+        }
         super.handlerRemoved(ctx);
     }
 
@@ -32,6 +39,11 @@ public class HttpClientConnectionErrorHandler extends ChannelDuplexHandler {
         if (!responseFuture.isDone()) {
             responseFuture.completeExceptionally(cause);
         }
+        Map<Integer, CompletableFuture<Message>> streamResponseFutures = ctx.channel().attr(STREAM_RESPONSE_FUTURES).get();
+        if (streamResponseFutures != null) {
+            streamResponseFutures.values().forEach(streamResponseFuture -> streamResponseFuture.completeExceptionally(cause));
+            streamResponseFutures.clear();
+        }
         super.exceptionCaught(ctx, cause);
     }
 }
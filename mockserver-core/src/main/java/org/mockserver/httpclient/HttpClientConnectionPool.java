@@ -0,0 +1,153 @@
+package org.mockserver.httpclient;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.Message;
+import org.mockserver.model.Protocol;
+
+import java.net.InetSocketAddress;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.mockserver.metrics.Metrics.Name.*;
+
+/**
+ * Keeps connections to each remote host open after a response has been received so they can be reused.
+ * <p>
+ * HTTP1 connections are checked out for a single request at a time and up to maxForwardConnectionsPerHost
+ * idle connections are kept per host, HTTP2 connections are shared with each request sent as a separate stream.
+ * <p>
+ * Unused connections are closed after forwardConnectionIdleTimeoutInMillis and closed connections are
+ * removed from the pool as soon as the channel becomes inactive.
+ *
+ * @author jamesdbloom
+ */
+public class HttpClientConnectionPool {
+
+    static final AttributeKey<String> POOL_KEY = AttributeKey.valueOf("POOL_KEY");
+    static final AttributeKey<Boolean> KEEP_ALIVE = AttributeKey.valueOf("KEEP_ALIVE");
+    static final AttributeKey<Map<Integer, CompletableFuture<Message>>> STREAM_RESPONSE_FUTURES = AttributeKey.valueOf("STREAM_RESPONSE_FUTURES");
+    private final ConcurrentMap<String, Deque<Channel>> idleChannels = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Channel> http2Channels = new ConcurrentHashMap<>();
+    private final int maxConnectionsPerHost;
+    private final long idleTimeoutInMillis;
+    private final Metrics metrics;
+
+    public HttpClientConnectionPool(Configuration configuration) {
+        this.maxConnectionsPerHost = configuration.maxForwardConnectionsPerHost();
+        this.idleTimeoutInMillis = configuration.forwardConnectionIdleTimeoutInMillis();
+        this.metrics = new Metrics(configuration);
+    }
+
+    static String poolKey(InetSocketAddress remoteAddress, boolean secure, Protocol protocol) {
+        return (secure ? "https://" : "http://") + remoteAddress.getHostString() + ":" + remoteAddress.getPort() + "/" + (protocol != null ? protocol.name() : "");
+    }
+
+    long idleTimeoutInMillis() {
+        return idleTimeoutInMillis;
+    }
+
+    /**
+     * Returns a shared HTTP2 connection or an idle HTTP1 connection which is removed from the pool, or null if none are available
+     */
+    Channel acquire(String poolKey) {
+        Channel http2Channel = http2Channels.get(poolKey);
+        if (http2Channel != null) {
+            if (http2Channel.isActive()) {
+                metrics.increment(FORWARD_CONNECTIONS_REUSED_COUNT);
+                return http2Channel;
+            } else {
+                http2Channels.remove(poolKey, http2Channel);
+            }
+        }
+        Deque<Channel> channels = idleChannels.get(poolKey);
+        if (channels != null) {
+            Channel channel;
+            while ((channel = channels.pollFirst()) != null) {
+                metrics.decrement(FORWARD_CONNECTIONS_IDLE_COUNT);
+                if (channel.isActive()) {
+                    metrics.increment(FORWARD_CONNECTIONS_REUSED_COUNT);
+                    return channel;
+                } else {
+                    channel.close();
+                }
+            }
+        }
+        return null;
+    }
+
+    void opened(Channel channel, String poolKey) {
+        channel.attr(POOL_KEY).set(poolKey);
+        metrics.increment(FORWARD_CONNECTIONS_OPENED_COUNT);
+    }
+
+    /**
+     * Shares a newly opened HTTP2 connection, returns false if another connection is already shared for the same host
+     */
+    boolean share(Channel channel) {
+        String poolKey = channel.attr(POOL_KEY).get();
+        return poolKey != null && http2Channels.putIfAbsent(poolKey, channel) == null;
+    }
+
+    /**
+     * Returns an HTTP1 connection to the pool after a response has been received, returns false if the connection should be closed instead,
+     * including when the remote host doesn't keep it open, i.e. for "connection: close" or HTTP/1.0 responses without keep-alive
+     */
+    boolean release(Channel channel, Message response) {
+        String poolKey = channel.attr(POOL_KEY).get();
+        if (poolKey == null || !channel.isActive() || Boolean.FALSE.equals(channel.attr(KEEP_ALIVE).getAndSet(null)) || (response instanceof HttpResponse && ((HttpResponse) response).containsHeader("connection", "close"))) {
+            return false;
+        }
+        Deque<Channel> channels = idleChannels.computeIfAbsent(poolKey, key -> new ConcurrentLinkedDeque<>());
+        if (channels.size() < maxConnectionsPerHost) {
+            channels.offerFirst(channel);
+            metrics.increment(FORWARD_CONNECTIONS_IDLE_COUNT);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Closes the connection if it is not in use, called when no data has been read or written for the idle timeout
+     */
+    void evictIfIdle(Channel channel) {
+        Map<Integer, CompletableFuture<Message>> streamResponseFutures = channel.attr(STREAM_RESPONSE_FUTURES).get();
+        if (streamResponseFutures != null ? streamResponseFutures.isEmpty() : removeIdle(channel)) {
+            String poolKey = channel.attr(POOL_KEY).get();
+            if (poolKey != null) {
+                http2Channels.remove(poolKey, channel);
+            }
+            metrics.increment(FORWARD_CONNECTIONS_EVICTED_COUNT);
+            channel.close();
+        }
+    }
+
+    /**
+     * Removes a closed connection from the pool
+     */
+    void remove(Channel channel) {
+        String poolKey = channel.attr(POOL_KEY).get();
+        if (poolKey != null) {
+            http2Channels.remove(poolKey, channel);
+            removeIdle(channel);
+        }
+    }
+
+    private boolean removeIdle(Channel channel) {
+        String poolKey = channel.attr(POOL_KEY).get();
+        Deque<Channel> channels = poolKey != null ? idleChannels.get(poolKey) : null;
+        if (channels != null && channels.remove(channel)) {
+            metrics.decrement(FORWARD_CONNECTIONS_IDLE_COUNT);
+            return true;
+        }
+        return false;
+    }
+
+}
@@ -1,17 +1,24 @@
 package org.mockserver.httpclient;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.http2.HttpConversionUtil;
 import io.netty.handler.ssl.NotSslRecordException;
+import io.netty.handler.timeout.IdleStateEvent;
+import org.mockserver.model.HttpResponse;
 import org.mockserver.model.Message;
 
 import javax.net.ssl.SSLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.httpclient.HttpClientConnectionPool.STREAM_RESPONSE_FUTURES;
 import static org.mockserver.httpclient.NettyHttpClient.RESPONSE_FUTURE;
 
 @ChannelHandler.Sharable
@@ -23,14 +30,48 @@ public class HttpClientHandler extends SimpleChannelInboundHandler<Message> {
         "Connection reset"
     );
 
-    HttpClientHandler() {
+    private final HttpClientConnectionPool connectionPool;
+
+    HttpClientHandler(HttpClientConnectionPool connectionPool) {
         super(false);
+        this.connectionPool = connectionPool;
     }
 
     @Override
     public void channelRead0(ChannelHandlerContext ctx, Message response) {
-        ctx.channel().attr(RESPONSE_FUTURE).get().complete(response);
-        ctx.close();
+        Channel channel = ctx.channel();
+        Map<Integer, CompletableFuture<Message>> streamResponseFutures = channel.attr(STREAM_RESPONSE_FUTURES).get();
+        if (streamResponseFutures != null) {
+            // shared http2 connection so only complete the future for this stream
+            String streamId = response instanceof HttpResponse ? ((HttpResponse) response).getFirstHeader(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text().toString()) : "";
+            CompletableFuture<Message> streamResponseFuture = isNotBlank(streamId) ? streamResponseFutures.remove(Integer.parseInt(streamId)) : null;
+            if (streamResponseFuture != null) {
+                streamResponseFuture.complete(response);
+            }
+        } else {
+            CompletableFuture<Message> responseFuture = channel.attr(RESPONSE_FUTURE).get();
+            // release before completing so connection can be reused by the next request
+            if (connectionPool == null || !connectionPool.release(channel, response)) {
+                ctx.close();
+            }
+            responseFuture.complete(response);
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object event) throws Exception {
+        if (event instanceof IdleStateEvent && connectionPool != null) {
+            connectionPool.evictIfIdle(ctx.channel());
+        }
+        super.userEventTriggered(ctx, event);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (connectionPool != null) {
+            connectionPool.remove(ctx.channel());
+        }
+        super.channelInactive(ctx);
     }
 
     @Override
@@ -1,18 +1,23 @@
 package org.mockserver.httpclient;
 
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
-import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http2.*;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.proxy.HttpProxyHandler;
 import io.netty.handler.proxy.Socks5ProxyHandler;
+import io.netty.handler.timeout.IdleStateHandler;
 import org.mockserver.codec.MockServerBinaryClientCodec;
 import org.mockserver.codec.MockServerHttpClientCodec;
+import org.mockserver.codec.MockServerHttpObjectAggregator;
 import org.mockserver.logging.LoggingHandler;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.Protocol;
@@ -22,9 +27,11 @@ import org.mockserver.socket.tls.NettySslContextFactory;
 import java.net.InetSocketAddress;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.httpclient.HttpClientConnectionPool.KEEP_ALIVE;
 import static org.mockserver.httpclient.NettyHttpClient.REMOTE_SOCKET;
 import static org.mockserver.httpclient.NettyHttpClient.SECURE;
 import static org.slf4j.event.Level.TRACE;
@@ -40,16 +47,32 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
     private final HttpClientHandler httpClientHandler;
     private final Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations;
     private final NettySslContextFactory nettySslContextFactory;
+    private final HttpClientConnectionPool connectionPool;
+    private final ChannelHandler relayHandler;
 
     HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, Protocol httpProtocol) {
+        this(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, httpProtocol, null);
+    }
+
+    HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, Protocol httpProtocol, HttpClientConnectionPool connectionPool) {
+        this(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, httpProtocol, connectionPool, null);
+    }
+
+    /**
+     * @param relayHandler if not null the channel relays raw bytes to this handler, after any proxy and TLS handlers,
+     *                     instead of decoding responses, so no response future is used for the channel
+     */
+    HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, Protocol httpProtocol, HttpClientConnectionPool connectionPool, ChannelHandler relayHandler) {
         this.proxyConfigurations = proxyConfigurations;
         this.mockServerLogger = mockServerLogger;
         this.forwardProxyClient = forwardProxyClient;
         this.httpProtocol = httpProtocol;
         this.protocolFuture = new CompletableFuture<>();
-        this.httpClientHandler = new HttpClientHandler();
+        this.httpClientHandler = new HttpClientHandler(connectionPool);
         this.httpClientConnectionHandler = new HttpClientConnectionErrorHandler();
         this.nettySslContextFactory = nettySslContextFactory;
+        this.connectionPool = connectionPool;
+        this.relayHandler = relayHandler;
     }
 
     public void whenComplete(BiConsumer<? super Protocol, ? super Throwable> action) {
@@ -78,7 +101,14 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
                 }
             }
         }
-        pipeline.addLast(httpClientConnectionHandler);
+        if (relayHandler == null) {
+            pipeline.addLast(httpClientConnectionHandler);
+        }
+
+        // close pooled connections once unused for the idle timeout
+        if (connectionPool != null) {
+            pipeline.addLast(new IdleStateHandler(0, 0, connectionPool.idleTimeoutInMillis(), TimeUnit.MILLISECONDS));
+        }
 
         if (secure) {
             InetSocketAddress remoteAddress = channel.attr(REMOTE_SOCKET).get();
@@ -90,7 +120,10 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
             pipeline.addLast(new LoggingHandler(HttpClientHandler.class.getName()));
         }
 
-        if (httpProtocol == null) {
+        if (relayHandler != null) {
+            pipeline.addLast(relayHandler);
+            protocolFuture.complete(null);
+        } else if (httpProtocol == null) {
             configureBinaryPipeline(pipeline);
         } else if (secure) {
             // use ALPN to determine http1 or http2
@@ -104,7 +137,19 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
     private void configureHttp1Pipeline(ChannelPipeline pipeline) {
         pipeline.addLast(new HttpClientCodec());
         pipeline.addLast(new HttpContentDecompressor());
-        pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+        pipeline.addLast(new MockServerHttpObjectAggregator(Integer.MAX_VALUE));
+        if (connectionPool != null) {
+            // record if the remote host keeps the connection open, i.e. not HTTP/1.0 without keep-alive or "connection: close"
+            pipeline.addLast(new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                    if (msg instanceof HttpResponse) {
+                        ctx.channel().attr(KEEP_ALIVE).set(HttpUtil.isKeepAlive((HttpResponse) msg));
+                    }
+                    ctx.fireChannelRead(msg);
+                }
+            });
+        }
         pipeline.addLast(new MockServerHttpClientCodec(mockServerLogger, proxyConfigurations));
         pipeline.addLast(httpClientHandler);
         protocolFuture.complete(Protocol.HTTP_1_1);
@@ -1,15 +1,19 @@
 package org.mockserver.httpclient;
 
 import com.google.common.collect.ImmutableMap;
-import io.netty.bootstrap.Bootstrap;
+import com.google.common.collect.ImmutableSet;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandler;
 import io.netty.util.AttributeKey;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.configuration.Configuration;
@@ -18,6 +22,7 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.*;
 import org.mockserver.proxyconfiguration.ProxyConfiguration;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.slf4j.event.Level;
 
@@ -30,13 +35,19 @@ import java.net.UnknownHostException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty.handler.codec.http.HttpHeaderValues.CLOSE;
+import static org.mockserver.httpclient.HttpClientConnectionPool.STREAM_RESPONSE_FUTURES;
 import static org.mockserver.model.HttpResponse.response;
 
 public class NettyHttpClient {
@@ -46,12 +57,15 @@ public class NettyHttpClient {
     static final AttributeKey<CompletableFuture<Message>> RESPONSE_FUTURE = AttributeKey.valueOf("RESPONSE_FUTURE");
     static final AttributeKey<Boolean> ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE = AttributeKey.valueOf("ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE");
     private static final HopByHopHeaderFilter hopByHopHeaderFilter = new HopByHopHeaderFilter();
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE");
     private final Configuration configuration;
     private final MockServerLogger mockServerLogger;
     private final EventLoopGroup eventLoopGroup;
+    private final NettyTransport nettyTransport;
     private final Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations;
     private final boolean forwardProxyClient;
     private final NettySslContextFactory nettySslContextFactory;
+    private final HttpClientConnectionPool connectionPool;
 
     public NettyHttpClient(Configuration configuration, MockServerLogger mockServerLogger, EventLoopGroup eventLoopGroup, List<ProxyConfiguration> proxyConfigurations, boolean forwardProxyClient) {
         this(configuration, mockServerLogger, eventLoopGroup, proxyConfigurations, forwardProxyClient, new NettySslContextFactory(configuration, mockServerLogger, false));
@@ -61,9 +75,11 @@ public class NettyHttpClient {
         this.configuration = configuration;
         this.mockServerLogger = mockServerLogger;
         this.eventLoopGroup = eventLoopGroup;
+        this.nettyTransport = NettyTransport.nettyTransport(eventLoopGroup);
         this.proxyConfigurations = proxyConfigurations != null ? proxyConfigurations.stream().collect(Collectors.toMap(ProxyConfiguration::getType, proxyConfiguration -> proxyConfiguration)) : ImmutableMap.of();
         this.forwardProxyClient = forwardProxyClient;
         this.nettySslContextFactory = nettySslContextFactory;
+        this.connectionPool = forwardProxyClient && configuration.maxForwardConnectionsPerHost() > 0 ? new HttpClientConnectionPool(configuration) : null;
     }
 
     public CompletableFuture<HttpResponse> sendRequest(final HttpRequest httpRequest) throws SocketConnectionException {
@@ -97,37 +113,19 @@ public class NettyHttpClient {
             final CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
             final Protocol httpProtocol = httpRequest.getProtocol() != null ? httpRequest.getProtocol() : Protocol.HTTP_1_1;
+            final boolean secure = httpRequest.isSecure() != null && httpRequest.isSecure();
 
-            final HttpClientInitializer clientInitializer = new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, httpProtocol);
-
-            new Bootstrap()
-                .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
-                .option(ChannelOption.AUTO_READ, true)
-                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis != null ? connectionTimeoutMillis.intValue() : null)
-                .attr(SECURE, httpRequest.isSecure() != null && httpRequest.isSecure())
-                .attr(REMOTE_SOCKET, remoteAddress)
-                .attr(RESPONSE_FUTURE, responseFuture)
-                .attr(ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE, true)
-                .handler(clientInitializer)
-                .connect(remoteAddress)
-                .addListener((ChannelFutureListener) future -> {
-                    if (future.isSuccess()) {
-                        // ensure if HTTP2 is used then settings have been received from server
-                        clientInitializer.whenComplete((protocol, throwable) -> {
-                            if (throwable != null) {
-                                httpResponseFuture.completeExceptionally(throwable);
-                            } else {
-                                // send the HTTP request
-                                future.channel().writeAndFlush(httpRequest);
-                            }
-                        });
-                    } else {
-                        httpResponseFuture.completeExceptionally(future.cause());
-                    }
-                });
+            if (connectionPool != null && !httpRequest.containsHeader(CONNECTION.toString(), CLOSE.toString())) {
+                String poolKey = HttpClientConnectionPool.poolKey(remoteAddress, secure, httpProtocol);
+                Channel pooledChannel = connectionPool.acquire(poolKey);
+                if (pooledChannel != null) {
+                    sendRequestOnPooledChannel(pooledChannel, httpRequest, remoteAddress, connectionTimeoutMillis, httpProtocol, secure, poolKey, responseFuture);
+                } else {
+                    connectAndSendRequest(httpRequest, remoteAddress, connectionTimeoutMillis, httpProtocol, secure, poolKey, responseFuture);
+                }
+            } else {
+                connectAndSendRequest(httpRequest, remoteAddress, connectionTimeoutMillis, httpProtocol, secure, null, responseFuture);
+            }
 
             responseFuture
                 .whenComplete((message, throwable) -> {
@@ -152,6 +150,33 @@ public class NettyHttpClient {
         }
     }
 
+    /**
+     * Opens a connection, on the event loop provided, that relays raw bytes to and from the relay handler, without any
+     * codec, so a single connection can be used to stream bytes in both directions; any configured proxy or TLS is
+     * applied the same as for binary requests.
+     */
+    public ChannelFuture connect(final boolean isSecure, InetSocketAddress remoteAddress, Long connectionTimeoutMillis, EventLoop eventLoop, ChannelHandler relayHandler) {
+        if (!eventLoopGroup.isShuttingDown()) {
+            if (proxyConfigurations != null && !isSecure && proxyConfigurations.containsKey(ProxyConfiguration.Type.HTTP)) {
+                remoteAddress = proxyConfigurations.get(ProxyConfiguration.Type.HTTP).getProxyAddress();
+            } else if (remoteAddress == null) {
+                throw new IllegalArgumentException("Remote address cannot be null");
+            }
+            return NettyTransport.nettyTransport(eventLoop).bootstrap(configuration)
+                .group(eventLoop)
+                .option(ChannelOption.AUTO_READ, true)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis != null ? connectionTimeoutMillis.intValue() : null)
+                .attr(SECURE, isSecure)
+                .attr(REMOTE_SOCKET, remoteAddress)
+                .handler(new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, null, null, relayHandler))
+                .connect(remoteAddress);
+        } else {
+            throw new IllegalStateException("Request sent after client has been stopped - the event loop has been shutdown so it is not possible to send a request");
+        }
+    }
+
     public CompletableFuture<BinaryMessage> sendRequest(final BinaryMessage binaryRequest, final boolean isSecure, InetSocketAddress remoteAddress, Long connectionTimeoutMillis) throws SocketConnectionException {
         if (!eventLoopGroup.isShuttingDown()) {
             if (proxyConfigurations != null && !isSecure && proxyConfigurations.containsKey(ProxyConfiguration.Type.HTTP)) {
@@ -163,9 +188,8 @@ public class NettyHttpClient {
             final CompletableFuture<BinaryMessage> binaryResponseFuture = new CompletableFuture<>();
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
 
-            new Bootstrap()
+            nettyTransport.bootstrap(configuration)
                 .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
                 .option(ChannelOption.AUTO_READ, true)
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
@@ -209,6 +233,105 @@ public class NettyHttpClient {
         }
     }
 
+    private void connectAndSendRequest(HttpRequest httpRequest, InetSocketAddress remoteAddress, Long connectionTimeoutMillis, Protocol httpProtocol, boolean secure, String poolKey, CompletableFuture<Message> responseFuture) {
+        final HttpClientInitializer clientInitializer = new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, httpProtocol, poolKey != null ? connectionPool : null);
+
+        nettyTransport.bootstrap(configuration)
+            .group(eventLoopGroup)
+            .option(ChannelOption.AUTO_READ, true)
+            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis != null ? connectionTimeoutMillis.intValue() : null)
+            .attr(SECURE, secure)
+            .attr(REMOTE_SOCKET, remoteAddress)
+            .attr(RESPONSE_FUTURE, responseFuture)
+            .attr(ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE, true)
+            .handler(clientInitializer)
+            .connect(remoteAddress)
+            .addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    if (poolKey != null) {
+                        connectionPool.opened(future.channel(), poolKey);
+                    }
+                    // ensure if HTTP2 is used then settings have been received from server
+                    clientInitializer.whenComplete((protocol, throwable) -> {
+                        if (throwable != null) {
+                            responseFuture.completeExceptionally(throwable);
+                        } else if (poolKey != null && Protocol.HTTP_2.equals(protocol)) {
+                            // share connection and send each request as a separate stream
+                            future.channel().attr(STREAM_RESPONSE_FUTURES).set(new ConcurrentHashMap<>());
+                            connectionPool.share(future.channel());
+                            sendRequestOnStream(future.channel(), httpRequest, responseFuture, new AtomicBoolean());
+                        } else {
+                            // send the HTTP request
+                            future.channel().writeAndFlush(httpRequest);
+                        }
+                    });
+                } else {
+                    responseFuture.completeExceptionally(future.cause());
+                }
+            });
+    }
+
+    private void sendRequestOnPooledChannel(Channel channel, HttpRequest httpRequest, InetSocketAddress remoteAddress, Long connectionTimeoutMillis, Protocol httpProtocol, boolean secure, String poolKey, CompletableFuture<Message> responseFuture) {
+        // the remote host may have closed the connection while it was idle, if so retry once using a new connection,
+        // unless the request was written and is not idempotent, because the remote host may already have processed it
+        AtomicBoolean requestWritten = new AtomicBoolean();
+        CompletableFuture<Message> pooledResponseFuture = new CompletableFuture<>();
+        pooledResponseFuture
+            .whenComplete((message, throwable) -> {
+                if (throwable == null) {
+                    responseFuture.complete(message);
+                } else if (isConnectionClosed(throwable) && (!requestWritten.get() || isIdempotent(httpRequest))) {
+                    connectAndSendRequest(httpRequest, remoteAddress, connectionTimeoutMillis, httpProtocol, secure, poolKey, responseFuture);
+                } else {
+                    responseFuture.completeExceptionally(throwable);
+                }
+            });
+        if (channel.attr(STREAM_RESPONSE_FUTURES).get() != null) {
+            channel.eventLoop().execute(() -> sendRequestOnStream(channel, httpRequest, pooledResponseFuture, requestWritten));
+        } else {
+            channel.attr(RESPONSE_FUTURE).set(pooledResponseFuture);
+            channel.writeAndFlush(httpRequest).addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    requestWritten.set(true);
+                } else {
+                    pooledResponseFuture.completeExceptionally(future.cause());
+                }
+            });
+        }
+    }
+
+    private void sendRequestOnStream(Channel channel, HttpRequest httpRequest, CompletableFuture<Message> responseFuture, AtomicBoolean requestWritten) {
+        // must be called on the event loop so stream ids are allocated in the same order requests are written
+        HttpToHttp2ConnectionHandler http2ConnectionHandler = channel.pipeline().get(HttpToHttp2ConnectionHandler.class);
+        if (channel.isActive() && http2ConnectionHandler != null && !http2ConnectionHandler.connection().goAwayReceived() && http2ConnectionHandler.connection().local().canOpenStream()) {
+            int streamId = http2ConnectionHandler.connection().local().incrementAndGetNextStreamId();
+            Map<Integer, CompletableFuture<Message>> streamResponseFutures = channel.attr(STREAM_RESPONSE_FUTURES).get();
+            streamResponseFutures.put(streamId, responseFuture);
+            channel.writeAndFlush(httpRequest.shallowClone().withStreamId(streamId)).addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    requestWritten.set(true);
+                } else {
+                    streamResponseFutures.remove(streamId);
+                    responseFuture.completeExceptionally(future.cause());
+                }
+            });
+        } else {
+            // stop sharing connection and let retry use a new connection
+            connectionPool.remove(channel);
+            responseFuture.completeExceptionally(new SocketConnectionException("Unable to open new stream on shared HTTP2 connection"));
+        }
+    }
+
+    private boolean isIdempotent(HttpRequest httpRequest) {
+        return IDEMPOTENT_METHODS.contains(httpRequest.getMethod("GET").toUpperCase());
+    }
+
+    private boolean isConnectionClosed(Throwable throwable) {
+        return throwable instanceof SocketConnectionException || throwable instanceof IOException;
+    }
+
     public HttpResponse sendRequest(HttpRequest httpRequest, long timeout, TimeUnit unit, boolean ignoreErrors) {
         HttpResponse httpResponse = null;
         try {
@@ -1,10 +1,12 @@
 package org.mockserver.log;
 
+import com.lmax.disruptor.EventTranslatorOneArg;
 import com.lmax.disruptor.ExceptionHandler;
 import com.lmax.disruptor.dsl.Disruptor;
 import org.mockserver.collections.CircularConcurrentLinkedDeque;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
+import org.mockserver.log.model.LogEntry.LogMessageType;
 import org.mockserver.log.model.RequestAndExpectationId;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.HttpRequestMatcher;
@@ -25,6 +27,7 @@ import org.slf4j.event.Level;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
@@ -56,6 +59,10 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         -> true;
     private static final Predicate<LogEntry> notDeletedPredicate = input
         -> !input.isDeleted();
+    private static final Set<LogMessageType> requestLogTypes = EnumSet.of(RECEIVED_REQUEST);
+    private static final Set<LogMessageType> expectationLogTypes = EnumSet.of(EXPECTATION_RESPONSE, FORWARDED_REQUEST);
+    private static final Set<LogMessageType> requestResponseLogTypes = EnumSet.of(EXPECTATION_RESPONSE, NO_MATCH_RESPONSE, FORWARDED_REQUEST);
+    private static final Set<LogMessageType> recordedExpectationLogTypes = EnumSet.of(FORWARDED_REQUEST);
     private static final Predicate<LogEntry> requestLogPredicate = input
         -> !input.isDeleted() && input.getType() == RECEIVED_REQUEST;
     private static final Predicate<LogEntry> expectationLogPredicate = input
@@ -78,10 +85,16 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             .withHttpRequest(logEntry.getHttpRequest())
             .withHttpResponse(logEntry.getHttpResponse())
             .withTimestamp(logEntry.getTimestamp());
-    private static final String[] EXCLUDED_FIELDS = {"id", "disruptor"};
+    private static final EventTranslatorOneArg<LogEntry, Runnable> runnableTranslator =
+        (logEntry, sequence, runnable) -> logEntry.setType(RUNNABLE).setConsumer(runnable);
+    private static final String[] EXCLUDED_FIELDS = {"id", "disruptor", "eventLogIndex", "uncompressedLogEntries", "registeredVerifications"};
     private final Configuration configuration;
     private MockServerLogger mockServerLogger;
     private CircularConcurrentLinkedDeque<LogEntry> eventLog;
+    private final MockServerEventLogIndex eventLogIndex = new MockServerEventLogIndex();
+    private final Deque<LogEntry> uncompressedLogEntries = new ArrayDeque<>();
+    private final int maxUncompressedLogEntries;
+    private final Map<String, RegisteredVerification> registeredVerifications = new ConcurrentHashMap<>();
     private MatcherBuilder matcherBuilder;
     private RequestDefinitionSerializer requestDefinitionSerializer;
     private final boolean asynchronousEventProcessing;
@@ -94,14 +107,25 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         this.matcherBuilder = new MatcherBuilder(configuration, mockServerLogger);
         this.requestDefinitionSerializer = new RequestDefinitionSerializer(mockServerLogger);
         this.asynchronousEventProcessing = asynchronousEventProcessing;
-        this.eventLog = new CircularConcurrentLinkedDeque<>(configuration.maxLogEntries(), LogEntry::clear);
+        this.eventLog = new CircularConcurrentLinkedDeque<>(configuration.maxLogEntries(), logEntry -> {
+            eventLogIndex.remove(logEntry);
+            removeUncompressedLogEntry(logEntry);
+            logEntry.clear();
+        });
+        this.maxUncompressedLogEntries = configuration.maxUncompressedLogEntries();
         startRingBuffer();
     }
 
+    /**
+     * Adds a log entry to the event log, when events are processed asynchronously the entry is moved into the ring buffer
+     * and cleared, so the caller must not use the entry after it has been added
+     */
     public void add(LogEntry logEntry) {
         logEntry.setPort(getPort());
         if (asynchronousEventProcessing) {
-            if (!disruptor.getRingBuffer().tryPublishEvent(logEntry)) {
+            if (disruptor.getRingBuffer().tryPublishEvent(logEntry)) {
+                logEntry.clear();
+            } else {
                 // if ring buffer full only write WARN and ERROR to logger
                 if (logEntry.getLogLevel().toInt() >= Level.WARN.toInt()) {
                     logger.warn("Too many log events failed to add log event to ring buffer: " + logEntry);
@@ -150,15 +174,70 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     }
 
     private void processLogEntry(LogEntry logEntry) {
-        logEntry = logEntry.cloneAndClear();
-        eventLog.add(logEntry);
-        notifyListeners(this, false);
-        writeToSystemOut(logger, logEntry);
+        if (eventLog.getMaxSize() > 0) {
+            // only copy out of the ring buffer slot if the entry is retained
+            LogEntry retainedLogEntry = logEntry.cloneAndClear();
+            retainedLogEntry.id();
+            synchronized (eventLogIndex) {
+                if (eventLog.add(retainedLogEntry)) {
+                    eventLogIndex.add(retainedLogEntry);
+                }
+                updateRegisteredVerifications(retainedLogEntry);
+            }
+            notifyListeners(this, false);
+            writeToSystemOut(logger, retainedLogEntry);
+            compressOlderLogEntries(retainedLogEntry);
+        } else {
+            synchronized (eventLogIndex) {
+                updateRegisteredVerifications(logEntry);
+            }
+            writeToSystemOut(logger, logEntry);
+            logEntry.clear();
+        }
+    }
+
+    private void updateRegisteredVerifications(LogEntry logEntry) {
+        if (!registeredVerifications.isEmpty() && logEntry.getType() != null) {
+            switch (logEntry.getType()) {
+                case RECEIVED_REQUEST:
+                case EXPECTATION_RESPONSE:
+                case FORWARDED_REQUEST:
+                    for (RegisteredVerification registeredVerification : registeredVerifications.values()) {
+                        registeredVerification.update(logEntry);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void compressOlderLogEntries(LogEntry logEntry) {
+        if (maxUncompressedLogEntries < eventLog.getMaxSize()) {
+            synchronized (uncompressedLogEntries) {
+                uncompressedLogEntries.addLast(logEntry);
+                while (uncompressedLogEntries.size() > maxUncompressedLogEntries) {
+                    uncompressedLogEntries.pollFirst().compress(mockServerLogger);
+                }
+            }
+        }
+    }
+
+    private void removeUncompressedLogEntry(LogEntry logEntry) {
+        // entries are compressed in the order they are added, so evicted entries are normally already compressed
+        if (!logEntry.isCompressed()) {
+            synchronized (uncompressedLogEntries) {
+                uncompressedLogEntries.removeIf(uncompressedLogEntry -> uncompressedLogEntry == logEntry);
+            }
+        }
     }
 
     public void stop() {
         try {
             notifyListeners(this, true);
+            synchronized (uncompressedLogEntries) {
+                uncompressedLogEntries.clear();
+            }
             eventLog.clear();
             disruptor.shutdown(2, SECONDS);
         } catch (Throwable throwable) {
@@ -176,14 +255,15 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
 
     public void reset() {
         CompletableFuture<String> future = new CompletableFuture<>();
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                eventLog.clear();
-                future.complete("done");
-                notifyListeners(this, false);
-            })
-        );
+        disruptor.publishEvent(runnableTranslator, () -> {
+            synchronized (uncompressedLogEntries) {
+                uncompressedLogEntries.clear();
+            }
+            eventLog.clear();
+            registeredVerifications.clear();
+            future.complete("done");
+            notifyListeners(this, false);
+        });
         try {
             future.get(2, SECONDS);
         } catch (ExecutionException | InterruptedException | TimeoutException ignore) {
@@ -193,47 +273,49 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void clear(RequestDefinition requestDefinition) {
         CompletableFuture<String> future = new CompletableFuture<>();
         final boolean markAsDeletedOnly = MockServerLogger.isEnabled(Level.INFO);
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                String logCorrelationId = UUIDService.getUUID();
-                RequestDefinition matcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(logCorrelationId);
-                HttpRequestMatcher requestMatcher = matcherBuilder.transformsToMatcher(matcher);
-                for (LogEntry logEntry : new LinkedList<>(eventLog)) {
-                    RequestDefinition[] requests = logEntry.getHttpRequests();
-                    boolean matches = false;
-                    if (requests != null) {
-                        for (RequestDefinition request : requests) {
-                            if (requestMatcher.matches(request.cloneWithLogCorrelationId())) {
-                                matches = true;
-                            }
+        disruptor.publishEvent(runnableTranslator, () -> {
+            String logCorrelationId = UUIDService.getUUID();
+            RequestDefinition matcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(logCorrelationId);
+            HttpRequestMatcher requestMatcher = matcherBuilder.transformsToMatcher(matcher);
+            for (LogEntry logEntry : new LinkedList<>(eventLog)) {
+                RequestDefinition[] requests = logEntry.getHttpRequests();
+                boolean matches = false;
+                if (requests != null) {
+                    for (RequestDefinition request : requests) {
+                        if (requestMatcher.matches(request.cloneWithLogCorrelationId())) {
+                            matches = true;
                         }
-                    } else {
-                        matches = true;
                     }
-                    if (matches) {
-                        if (markAsDeletedOnly) {
-                            logEntry.setDeleted(true);
-                        } else {
-                            eventLog.removeItem(logEntry);
-                        }
+                } else {
+                    matches = true;
+                }
+                if (matches) {
+                    if (markAsDeletedOnly) {
+                        logEntry.setDeleted(true);
+                    } else {
+                        eventLog.removeItem(logEntry);
                     }
                 }
-                if (MockServerLogger.isEnabled(Level.INFO)) {
-                    mockServerLogger.logEvent(
-                        new LogEntry()
-                            .setType(CLEARED)
-                            .setLogLevel(Level.INFO)
-                            .setCorrelationId(logCorrelationId)
-                            .setHttpRequest(requestDefinition)
-                            .setMessageFormat("cleared logs that match:{}")
-                            .setArguments((requestDefinition == null ? "{}" : requestDefinition))
-                    );
+            }
+            if (MockServerLogger.isEnabled(Level.INFO)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(CLEARED)
+                        .setLogLevel(Level.INFO)
+                        .setCorrelationId(logCorrelationId)
+                        .setHttpRequest(requestDefinition)
+                        .setMessageFormat("cleared logs that match:{}")
+                        .setArguments((requestDefinition == null ? "{}" : requestDefinition))
+                );
+            }
+            synchronized (eventLogIndex) {
+                for (RegisteredVerification registeredVerification : registeredVerifications.values()) {
+                    registeredVerification.rescan(eventLog);
                 }
-                future.complete("done");
-                notifyListeners(this, false);
-            })
-        );
+            }
+            future.complete("done");
+            notifyListeners(this, false);
+        });
         try {
             future.get(2, SECONDS);
         } catch (ExecutionException | InterruptedException | TimeoutException ignore) {
@@ -243,6 +325,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveMessageLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            null,
             notDeletedPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -251,14 +334,24 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveMessageLogEntriesIncludingDeleted(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            null,
             allPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
+    public void retrieveMessageLogEntriesForCorrelationId(String correlationId, Consumer<List<LogEntry>> listConsumer) {
+        disruptor.publishEvent(runnableTranslator, () -> listConsumer.accept(eventLogIndex.entriesWithCorrelationId(correlationId)
+            .stream()
+            .filter(notDeletedPredicate)
+            .collect(Collectors.toList())
+        ));
+    }
+
     public void retrieveRequestLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            requestLogTypes,
             requestLogPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -268,6 +361,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         if (verification.getExpectationId() != null) {
             retrieveLogEntries(
                 Collections.singletonList(verification.getExpectationId().getId()),
+                expectationLogTypes,
                 expectationLogPredicate,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
@@ -280,6 +374,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         } else {
             retrieveLogEntries(
                 verification.getHttpRequest().withLogCorrelationId(logCorrelationId),
+                requestLogTypes,
                 requestLogPredicate,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
@@ -296,6 +391,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         if (matchingExpectationsOnly) {
             retrieveLogEntries(
                 (List<String>) null,
+                expectationLogTypes,
                 expectationLogPredicate,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
@@ -308,6 +404,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         } else {
             retrieveLogEntries(
                 (RequestDefinition) null,
+                requestLogTypes,
                 requestLogPredicate,
                 logEntryToRequest,
                 logEventStream -> listConsumer.accept(
@@ -323,6 +420,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveAllRequests(List<String> expectationIds, Consumer<List<RequestAndExpectationId>> listConsumer) {
         retrieveLogEntries(
             expectationIds,
+            expectationLogTypes,
             expectationLogPredicate,
             logEntry -> new RequestAndExpectationId(logEntry.getHttpRequest(), logEntry.getExpectationId()),
             logEventStream -> listConsumer.accept(
@@ -336,6 +434,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequests(RequestDefinition requestDefinition, Consumer<List<RequestDefinition>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            requestLogTypes,
             requestLogPredicate,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
@@ -350,6 +449,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequests(ExpectationId expectationId, Consumer<List<RequestDefinition>> listConsumer) {
         retrieveLogEntries(
             expectationId != null ? Collections.singletonList(expectationId.getId()) : Collections.emptyList(),
+            expectationLogTypes,
             expectationLogPredicate,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
@@ -364,6 +464,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequests(List<String> expectationIds, Consumer<List<RequestDefinition>> listConsumer) {
         retrieveLogEntries(
             expectationIds,
+            expectationLogTypes,
             expectationLogPredicate,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
@@ -378,6 +479,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequestResponseMessageLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            requestResponseLogTypes,
             requestResponseLogPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -386,6 +488,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRequestResponses(RequestDefinition requestDefinition, Consumer<List<LogEventRequestAndResponse>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            requestResponseLogTypes,
             requestResponseLogPredicate,
             logEntryToHttpRequestAndHttpResponse,
             logEventStream -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
@@ -395,6 +498,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRecordedExpectationLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            recordedExpectationLogTypes,
             recordedExpectationLogPredicate,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
@@ -403,69 +507,118 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveRecordedExpectations(RequestDefinition requestDefinition, Consumer<List<Expectation>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            recordedExpectationLogTypes,
             recordedExpectationLogPredicate,
             logEntryToExpectation,
             logEventStream -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
-    private void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Consumer<Stream<LogEntry>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
-                consumer.accept(this.eventLog
-                    .stream()
-                    .filter(logItem -> logItem.matches(httpRequestMatcher))
-                    .filter(logEntryPredicate)
-                );
-            })
-        );
+    private void retrieveLogEntries(RequestDefinition requestDefinition, Set<LogMessageType> logEntryTypes, Predicate<LogEntry> logEntryPredicate, Consumer<Stream<LogEntry>> consumer) {
+        disruptor.publishEvent(runnableTranslator, () -> {
+            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
+            consumer.accept(candidateLogEntries(logEntryTypes, requestDefinition)
+                .filter(logItem -> logItem.matches(httpRequestMatcher))
+                .filter(logEntryPredicate)
+            );
+        });
+    }
+
+    private <T> void retrieveLogEntries(RequestDefinition requestDefinition, Set<LogMessageType> logEntryTypes, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        disruptor.publishEvent(runnableTranslator, () -> {
+            RequestDefinition requestDefinitionMatcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(UUIDService.getUUID());
+            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinitionMatcher);
+            consumer.accept(candidateLogEntries(logEntryTypes, requestDefinitionMatcher)
+                .filter(logItem -> logItem.matches(httpRequestMatcher))
+                .filter(logEntryPredicate)
+                .map(logEntryMapper)
+            );
+        });
     }
 
-    private <T> void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                RequestDefinition requestDefinitionMatcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(UUIDService.getUUID());
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinitionMatcher);
-                consumer.accept(this.eventLog
-                    .stream()
+    @SuppressWarnings("SameParameterValue")
+    private <T> void retrieveLogEntries(List<String> expectationIds, Set<LogMessageType> logEntryTypes, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        disruptor.publishEvent(runnableTranslator, () -> consumer.accept((expectationIds != null ? eventLogIndex.entriesWithExpectationId(expectationIds) : eventLogIndex.entriesWithType(logEntryTypes))
+            .stream()
+            .filter(logEntryPredicate)
+            .filter(logItem -> expectationIds == null || logItem.matchesAnyExpectationId(expectationIds))
+            .map(logEntryMapper)
+        ));
+    }
+
+    /**
+     * only the entries with the types that could match the request definition, or all entries if no types are specified
+     */
+    private Stream<LogEntry> candidateLogEntries(Set<LogMessageType> logEntryTypes, RequestDefinition requestDefinition) {
+        if (logEntryTypes != null) {
+            return eventLogIndex.entriesWithTypeMatching(logEntryTypes, requestDefinition).stream();
+        } else {
+            return this.eventLog.stream();
+        }
+    }
+
+    public <T> void retrieveLogEntriesInReverseForUI(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        disruptor.publishEvent(runnableTranslator, () -> {
+            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
+            consumer.accept(
+                StreamSupport
+                    .stream(Spliterators.spliteratorUnknownSize(this.eventLog.descendingIterator(), 0), false)
                     .filter(logItem -> logItem.matches(httpRequestMatcher))
                     .filter(logEntryPredicate)
                     .map(logEntryMapper)
-                );
-            })
-        );
+            );
+        });
     }
 
-    @SuppressWarnings("SameParameterValue")
-    private <T> void retrieveLogEntries(List<String> expectationIds, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> consumer.accept(this.eventLog
-                .stream()
-                .filter(logEntryPredicate)
-                .filter(logItem -> expectationIds == null || logItem.matchesAnyExpectationId(expectationIds))
-                .map(logEntryMapper)
-            ))
-        );
+    public Future<RegisteredVerification> registerVerification(Verification verification) {
+        CompletableFuture<RegisteredVerification> result = new CompletableFuture<>();
+        registerVerification(verification, result::complete);
+        return result;
     }
 
-    public <T> void retrieveLogEntriesInReverseForUI(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
-                consumer.accept(
-                    StreamSupport
-                        .stream(Spliterators.spliteratorUnknownSize(this.eventLog.descendingIterator(), 0), false)
-                        .filter(logItem -> logItem.matches(httpRequestMatcher))
-                        .filter(logEntryPredicate)
-                        .map(logEntryMapper)
+    public void registerVerification(Verification verification, Consumer<RegisteredVerification> resultConsumer) {
+        registerVerification(new RegisteredVerification(verification, matcherBuilder, requestDefinitionSerializer), verification.getHttpRequest(), verification, resultConsumer);
+    }
+
+    public Future<RegisteredVerification> registerVerification(VerificationSequence verificationSequence) {
+        CompletableFuture<RegisteredVerification> result = new CompletableFuture<>();
+        registerVerification(verificationSequence, result::complete);
+        return result;
+    }
+
+    public void registerVerification(VerificationSequence verificationSequence, Consumer<RegisteredVerification> resultConsumer) {
+        registerVerification(new RegisteredVerification(verificationSequence, matcherBuilder, requestDefinitionSerializer), null, verificationSequence, resultConsumer);
+    }
+
+    /**
+     * the registered verification is matched against the existing log entries once and then updated as each log entry is added
+     */
+    private void registerVerification(RegisteredVerification registeredVerification, RequestDefinition requestDefinition, Object verification, Consumer<RegisteredVerification> resultConsumer) {
+        disruptor.publishEvent(runnableTranslator, () -> {
+            synchronized (eventLogIndex) {
+                registeredVerification.rescan(eventLog);
+                registeredVerifications.put(registeredVerification.getId(), registeredVerification);
+            }
+            if (MockServerLogger.isEnabled(Level.INFO)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(VERIFICATION)
+                        .setLogLevel(Level.INFO)
+                        .setHttpRequest(requestDefinition)
+                        .setMessageFormat("registered verification:{}with id:{}")
+                        .setArguments(verification, registeredVerification.getId())
                 );
-            })
-        );
+            }
+            resultConsumer.accept(registeredVerification);
+        });
+    }
+
+    public RegisteredVerification retrieveRegisteredVerification(String id) {
+        return id != null ? registeredVerifications.get(id) : null;
+    }
+
+    public RegisteredVerification removeRegisteredVerification(String id) {
+        return id != null ? registeredVerifications.remove(id) : null;
     }
 
     public Future<String> verify(Verification verification) {
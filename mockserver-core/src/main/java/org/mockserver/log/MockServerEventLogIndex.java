@@ -0,0 +1,244 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.log.model.LogEntry.LogMessageType;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.*;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.matchers.HttpRequestMatcherIndex.literalPath;
+import static org.mockserver.matchers.HttpRequestMatcherIndex.literalValue;
+
+/**
+ * Indexes the entries in the event log by log message type, expectation id, correlation id and, for request
+ * log entries, by method and path, so that retrieval and verification only need to visit relevant entries.
+ * <p>
+ * The indexes are updated as entries are added to and evicted from the log and always return candidates in
+ * the order they were added to the log. Candidates may still not match so must be checked with the same
+ * predicate and request matcher as when the whole log is searched.
+ * <p>
+ * Control plane matching is bidirectional so request log entries whose method or path isn't a literal value
+ * are returned as candidates for any method or any path.
+ *
+ * @author jamesdbloom
+ */
+public class MockServerEventLogIndex {
+
+    static final Set<LogMessageType> REQUEST_LOG_TYPES = Collections.unmodifiableSet(EnumSet.of(RECEIVED_REQUEST, EXPECTATION_RESPONSE, NO_MATCH_RESPONSE, FORWARDED_REQUEST));
+    private static final String ANY_METHOD = "";
+    private final Map<LogEntry, IndexedLogEntry> indexedLogEntries = new IdentityHashMap<>();
+    private final Map<LogMessageType, Deque<IndexedLogEntry>> byType = new EnumMap<>(LogMessageType.class);
+    private final Map<String, Deque<IndexedLogEntry>> byExpectationId = new HashMap<>();
+    private final Map<String, Deque<IndexedLogEntry>> byCorrelationId = new HashMap<>();
+    private final Map<String, Map<String, Deque<IndexedLogEntry>>> byPathAndMethod = new HashMap<>();
+    private final Deque<IndexedLogEntry> withoutLiteralPath = new ArrayDeque<>();
+    private long sequence;
+
+    public synchronized void add(LogEntry logEntry) {
+        IndexedLogEntry indexedLogEntry = new IndexedLogEntry(sequence++, logEntry);
+        indexedLogEntries.put(logEntry, indexedLogEntry);
+        if (logEntry.getType() != null) {
+            byType.computeIfAbsent(logEntry.getType(), key -> new ArrayDeque<>()).addLast(indexedLogEntry);
+        }
+        if (isNotBlank(logEntry.getExpectationId())) {
+            byExpectationId.computeIfAbsent(logEntry.getExpectationId(), key -> new ArrayDeque<>()).addLast(indexedLogEntry);
+        }
+        if (isNotBlank(logEntry.getCorrelationId())) {
+            byCorrelationId.computeIfAbsent(logEntry.getCorrelationId(), key -> new ArrayDeque<>()).addLast(indexedLogEntry);
+        }
+        if (REQUEST_LOG_TYPES.contains(logEntry.getType())) {
+            indexedLogEntry.pathAndMethods = pathAndMethods(logEntry);
+            if (indexedLogEntry.pathAndMethods == null) {
+                withoutLiteralPath.addLast(indexedLogEntry);
+            } else {
+                for (String[] pathAndMethod : indexedLogEntry.pathAndMethods) {
+                    byPathAndMethod
+                        .computeIfAbsent(pathAndMethod[0], key -> new HashMap<>())
+                        .computeIfAbsent(pathAndMethod[1], key -> new ArrayDeque<>())
+                        .addLast(indexedLogEntry);
+                }
+            }
+        }
+    }
+
+    public synchronized void remove(LogEntry logEntry) {
+        IndexedLogEntry indexedLogEntry = indexedLogEntries.remove(logEntry);
+        if (indexedLogEntry != null) {
+            if (indexedLogEntry.type != null) {
+                removeFromBucket(byType, indexedLogEntry.type, indexedLogEntry);
+            }
+            if (isNotBlank(indexedLogEntry.expectationId)) {
+                removeFromBucket(byExpectationId, indexedLogEntry.expectationId, indexedLogEntry);
+            }
+            if (isNotBlank(indexedLogEntry.correlationId)) {
+                removeFromBucket(byCorrelationId, indexedLogEntry.correlationId, indexedLogEntry);
+            }
+            if (REQUEST_LOG_TYPES.contains(indexedLogEntry.type)) {
+                if (indexedLogEntry.pathAndMethods == null) {
+                    removeFromBucket(withoutLiteralPath, indexedLogEntry);
+                } else {
+                    for (String[] pathAndMethod : indexedLogEntry.pathAndMethods) {
+                        Map<String, Deque<IndexedLogEntry>> byMethod = byPathAndMethod.get(pathAndMethod[0]);
+                        if (byMethod != null) {
+                            removeFromBucket(byMethod, pathAndMethod[1], indexedLogEntry);
+                            if (byMethod.isEmpty()) {
+                                byPathAndMethod.remove(pathAndMethod[0]);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        indexedLogEntries.clear();
+        byType.clear();
+        byExpectationId.clear();
+        byCorrelationId.clear();
+        byPathAndMethod.clear();
+        withoutLiteralPath.clear();
+    }
+
+    /**
+     * Entries with any of the types in log order
+     */
+    public synchronized List<LogEntry> entriesWithType(Set<LogMessageType> types) {
+        List<Deque<IndexedLogEntry>> buckets = new ArrayList<>();
+        for (LogMessageType type : types) {
+            addBucket(buckets, byType.get(type));
+        }
+        return merge(buckets, null);
+    }
+
+    /**
+     * Entries with any of the expectation ids in log order
+     */
+    public synchronized List<LogEntry> entriesWithExpectationId(Collection<String> expectationIds) {
+        List<Deque<IndexedLogEntry>> buckets = new ArrayList<>();
+        for (String expectationId : new LinkedHashSet<>(expectationIds)) {
+            addBucket(buckets, byExpectationId.get(expectationId));
+        }
+        return merge(buckets, null);
+    }
+
+    /**
+     * Entries with the correlation id in log order
+     */
+    public synchronized List<LogEntry> entriesWithCorrelationId(String correlationId) {
+        List<Deque<IndexedLogEntry>> buckets = new ArrayList<>();
+        addBucket(buckets, byCorrelationId.get(correlationId));
+        return merge(buckets, null);
+    }
+
+    /**
+     * Entries with any of the types that could match the request definition in log order, when the request
+     * definition has a literal path and only request log types are requested the method and path index is
+     * used otherwise all entries with the types are returned
+     */
+    public synchronized List<LogEntry> entriesWithTypeMatching(Set<LogMessageType> types, RequestDefinition requestDefinition) {
+        String path = requestDefinition instanceof HttpRequest && !requestDefinition.isNot() ? literalPath((HttpRequest) requestDefinition) : null;
+        if (path == null || !REQUEST_LOG_TYPES.containsAll(types)) {
+            return entriesWithType(types);
+        }
+        List<Deque<IndexedLogEntry>> buckets = new ArrayList<>();
+        addBucket(buckets, withoutLiteralPath);
+        Map<String, Deque<IndexedLogEntry>> byMethod = byPathAndMethod.get(path);
+        if (byMethod != null) {
+            String method = literalValue(((HttpRequest) requestDefinition).getMethod());
+            if (method != null) {
+                addBucket(buckets, byMethod.get(method));
+                addBucket(buckets, byMethod.get(ANY_METHOD));
+            } else {
+                buckets.addAll(byMethod.values());
+            }
+        }
+        return merge(buckets, types);
+    }
+
+    private static List<String[]> pathAndMethods(LogEntry logEntry) {
+        RequestDefinition[] httpRequests = logEntry.getHttpRequests();
+        if (httpRequests == null || httpRequests.length == 0) {
+            return null;
+        }
+        List<String[]> pathAndMethods = new ArrayList<>();
+        for (RequestDefinition httpRequest : httpRequests) {
+            String path = httpRequest instanceof HttpRequest && !httpRequest.isNot() ? literalPath((HttpRequest) httpRequest) : null;
+            if (path == null) {
+                return null;
+            }
+            String method = literalValue(((HttpRequest) httpRequest).getMethod());
+            pathAndMethods.add(new String[]{path, method != null ? method : ANY_METHOD});
+        }
+        return pathAndMethods;
+    }
+
+    private static void addBucket(List<Deque<IndexedLogEntry>> buckets, Deque<IndexedLogEntry> bucket) {
+        if (bucket != null && !bucket.isEmpty()) {
+            buckets.add(bucket);
+        }
+    }
+
+    private static List<LogEntry> merge(List<Deque<IndexedLogEntry>> buckets, Set<LogMessageType> types) {
+        List<IndexedLogEntry> indexedLogEntries;
+        if (buckets.size() == 1) {
+            indexedLogEntries = new ArrayList<>(buckets.get(0));
+        } else {
+            indexedLogEntries = new ArrayList<>();
+            for (Deque<IndexedLogEntry> bucket : buckets) {
+                indexedLogEntries.addAll(bucket);
+            }
+            indexedLogEntries.sort(Comparator.comparingLong(indexedLogEntry -> indexedLogEntry.sequence));
+        }
+        List<LogEntry> logEntries = new ArrayList<>(indexedLogEntries.size());
+        IndexedLogEntry previous = null;
+        for (IndexedLogEntry indexedLogEntry : indexedLogEntries) {
+            // an entry with multiple requests can be in more than one bucket
+            if (indexedLogEntry != previous && (types == null || types.contains(indexedLogEntry.type))) {
+                logEntries.add(indexedLogEntry.logEntry);
+            }
+            previous = indexedLogEntry;
+        }
+        return logEntries;
+    }
+
+    private static <K> void removeFromBucket(Map<K, Deque<IndexedLogEntry>> buckets, K key, IndexedLogEntry indexedLogEntry) {
+        Deque<IndexedLogEntry> bucket = buckets.get(key);
+        if (bucket != null) {
+            removeFromBucket(bucket, indexedLogEntry);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static void removeFromBucket(Deque<IndexedLogEntry> bucket, IndexedLogEntry indexedLogEntry) {
+        // entries are normally evicted oldest first so are at the head of each bucket
+        if (bucket.peekFirst() == indexedLogEntry) {
+            bucket.pollFirst();
+        } else {
+            bucket.removeFirstOccurrence(indexedLogEntry);
+        }
+    }
+
+    private static class IndexedLogEntry {
+        private final long sequence;
+        private final LogEntry logEntry;
+        private final LogMessageType type;
+        private final String expectationId;
+        private final String correlationId;
+        private List<String[]> pathAndMethods;
+
+        private IndexedLogEntry(long sequence, LogEntry logEntry) {
+            this.sequence = sequence;
+            this.logEntry = logEntry;
+            // keys are copied as entries are cleared when evicted
+            this.type = logEntry.getType();
+            this.expectationId = logEntry.getExpectationId();
+            this.correlationId = logEntry.getCorrelationId();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.log.model.RequestAndExpectationId;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.ExpectationId;
+import org.mockserver.model.RequestDefinition;
+import org.mockserver.serialization.RequestDefinitionSerializer;
+import org.mockserver.uuid.UUIDService;
+import org.mockserver.verify.Verification;
+import org.mockserver.verify.VerificationSequence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+
+/**
+ * A verification or verification sequence that is compiled once, when it is registered, and then updated as each log
+ * entry is added to the event log, so checking it does not require the event log to be scanned.
+ * <p>
+ * A verification is tracked as a count of the matching requests and a verification sequence as the number of steps of
+ * the sequence that have been found in order, using the same matching rules as {@link MockServerEventLog#verify(Verification)}
+ * and {@link MockServerEventLog#verify(VerificationSequence)}.
+ *
+ * @author jamesdbloom
+ */
+public class RegisteredVerification {
+
+    private final String id = UUIDService.getUUID();
+    private final Verification verification;
+    private final VerificationSequence verificationSequence;
+    private final HttpRequestMatcher requestMatcher;
+    private final List<String> expectationIds;
+    private final List<HttpRequestMatcher> sequenceRequestMatchers;
+    private final List<ExpectationId> sequenceExpectationIds;
+    private final String serializedRequestToBeVerified;
+    private final CompletableFuture<String> satisfied = new CompletableFuture<>();
+    private int count;
+    private int sequenceIndex;
+
+    RegisteredVerification(Verification verification, MatcherBuilder matcherBuilder, RequestDefinitionSerializer requestDefinitionSerializer) {
+        this.verification = verification;
+        this.verificationSequence = null;
+        if (verification.getExpectationId() != null) {
+            this.requestMatcher = null;
+            this.expectationIds = Collections.singletonList(verification.getExpectationId().getId());
+        } else {
+            this.requestMatcher = matcherBuilder.transformsToMatcher(verification.getHttpRequest());
+            this.expectationIds = null;
+        }
+        this.sequenceRequestMatchers = null;
+        this.sequenceExpectationIds = null;
+        this.serializedRequestToBeVerified = requestDefinitionSerializer.serialize(true, verification.getHttpRequest());
+    }
+
+    RegisteredVerification(VerificationSequence verificationSequence, MatcherBuilder matcherBuilder, RequestDefinitionSerializer requestDefinitionSerializer) {
+        this.verification = null;
+        this.verificationSequence = verificationSequence;
+        this.requestMatcher = null;
+        this.expectationIds = null;
+        if (verificationSequence.getExpectationIds() != null && !verificationSequence.getExpectationIds().isEmpty()) {
+            this.sequenceRequestMatchers = null;
+            this.sequenceExpectationIds = verificationSequence.getExpectationIds().stream().filter(Objects::nonNull).collect(Collectors.toList());
+        } else {
+            this.sequenceRequestMatchers = new ArrayList<>();
+            for (RequestDefinition verificationHttpRequest : verificationSequence.getHttpRequests()) {
+                if (verificationHttpRequest != null) {
+                    this.sequenceRequestMatchers.add(matcherBuilder.transformsToMatcher(verificationHttpRequest));
+                }
+            }
+            this.sequenceExpectationIds = null;
+        }
+        this.serializedRequestToBeVerified = requestDefinitionSerializer.serialize(true, verificationSequence.getHttpRequests());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Verification getVerification() {
+        return verification;
+    }
+
+    public VerificationSequence getVerificationSequence() {
+        return verificationSequence;
+    }
+
+    synchronized void update(LogEntry logEntry) {
+        if (logEntry.isDeleted()) {
+            return;
+        }
+        boolean expectationLogEntry = logEntry.getType() == EXPECTATION_RESPONSE || logEntry.getType() == FORWARDED_REQUEST;
+        if (verification != null) {
+            if (expectationIds != null) {
+                if (expectationLogEntry && logEntry.matchesAnyExpectationId(expectationIds)) {
+                    count += logEntry.getHttpRequests().length;
+                }
+            } else if (logEntry.getType() == RECEIVED_REQUEST && logEntry.matches(requestMatcher)) {
+                count += logEntry.getHttpRequests().length;
+            }
+        } else if (sequenceExpectationIds != null) {
+            if (expectationLogEntry && sequenceIndex < sequenceExpectationIds.size()
+                && new RequestAndExpectationId(logEntry.getHttpRequest(), logEntry.getExpectationId()).matches(sequenceExpectationIds.get(sequenceIndex))) {
+                sequenceIndex++;
+            }
+        } else if (logEntry.getType() == RECEIVED_REQUEST) {
+            for (RequestDefinition request : logEntry.getHttpRequests()) {
+                if (request != null && sequenceIndex < sequenceRequestMatchers.size() && sequenceRequestMatchers.get(sequenceIndex).matches(request.cloneWithLogCorrelationId())) {
+                    sequenceIndex++;
+                }
+            }
+        }
+        if (isSatisfied()) {
+            satisfied.complete("");
+        }
+    }
+
+    synchronized void rescan(Iterable<LogEntry> logEntries) {
+        count = 0;
+        sequenceIndex = 0;
+        for (LogEntry logEntry : logEntries) {
+            update(logEntry);
+        }
+        if (isSatisfied()) {
+            satisfied.complete("");
+        }
+    }
+
+    public synchronized boolean isSatisfied() {
+        if (verification != null) {
+            return verification.getTimes().matches(count);
+        } else {
+            return sequenceIndex == (sequenceExpectationIds != null ? sequenceExpectationIds.size() : sequenceRequestMatchers.size());
+        }
+    }
+
+    /**
+     * @return an empty string if the verification is currently satisfied otherwise the failure message
+     */
+    public synchronized String result() {
+        if (isSatisfied()) {
+            return "";
+        } else if (verification != null) {
+            return "Request not found " + verification.getTimes() + ", expected:<" + serializedRequestToBeVerified + "> but was found " + count + " times";
+        } else {
+            return "Request sequence not found, expected:<" + serializedRequestToBeVerified + "> but only the first " + sequenceIndex + " requests were found in order";
+        }
+    }
+
+    /**
+     * @return a future that completes with an empty string the first time the verification is satisfied
+     */
+    public CompletableFuture<String> whenSatisfied() {
+        return satisfied;
+    }
+}
@@ -0,0 +1,213 @@
+package org.mockserver.log.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.*;
+import org.mockserver.serialization.ObjectMapperFactory;
+import org.mockserver.serialization.model.*;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compact binary encoding of the requests, response, expectation, message and arguments of a log entry, which are
+ * the parts of a log entry that hold large object graphs, deflated into a byte array which is usually a small fraction
+ * of the size of the object graphs it replaces.
+ * <p>
+ * The byte array is held on the heap rather than in a direct buffer, because each direct buffer has its own cleaner
+ * and counts against the direct memory limit, which defaults to the maximum heap size and is shared with netty's
+ * buffer pool, so it would not allow more log entries to be held and would fail with an error when the limit is hit.
+ * <p>
+ * Requests, responses and expectations are encoded as json and decoded without schema validation, arguments that are
+ * requests or responses are decoded as requests or responses, with their log entry bodies encoded alongside, and other
+ * arguments that are not strings are decoded as json trees which is enough to display them.  The message is only
+ * formatted before encoding if it has an argument that is decoded as a json tree, otherwise formatting is deferred
+ * until the message is needed.
+ *
+ * @author jamesdbloom
+ */
+class CompressedLogEntry {
+
+    private static final ObjectWriter OBJECT_WRITER = ObjectMapperFactory.createObjectMapper(false, false);
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createObjectMapper();
+    private static final int ABSENT = 0;
+    private static final int HTTP_REQUEST = 1;
+    private static final int OPEN_API_DEFINITION = 2;
+    private static final int STRING = 3;
+    private static final int JSON = 4;
+    private static final int HTTP_RESPONSE = 5;
+
+    static byte[] compress(LogEntry logEntry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_SPEED)))) {
+            RequestDefinition[] httpRequests = logEntry.getHttpRequests();
+            output.writeInt(httpRequests.length);
+            for (RequestDefinition httpRequest : httpRequests) {
+                if (httpRequest instanceof HttpRequest) {
+                    output.writeByte(HTTP_REQUEST);
+                    writeString(output, OBJECT_WRITER.writeValueAsString(new HttpRequestDTO((HttpRequest) httpRequest)));
+                } else if (httpRequest instanceof OpenAPIDefinition) {
+                    output.writeByte(OPEN_API_DEFINITION);
+                    writeString(output, OBJECT_WRITER.writeValueAsString(new OpenAPIDefinitionDTO((OpenAPIDefinition) httpRequest)));
+                } else {
+                    output.writeByte(ABSENT);
+                }
+            }
+            HttpResponse httpResponse = logEntry.getHttpResponse();
+            writeString(output, httpResponse != null ? OBJECT_WRITER.writeValueAsString(new HttpResponseDTO(httpResponse)) : null);
+            Expectation expectation = logEntry.getExpectation();
+            writeString(output, expectation != null ? OBJECT_WRITER.writeValueAsString(new ExpectationDTO(expectation)) : null);
+            Object[] arguments = logEntry.getArguments();
+            writeString(output, logEntry.formattedMessage() != null || !decodedWithType(arguments) ? logEntry.getMessage() : null);
+            output.writeInt(arguments != null ? arguments.length : -1);
+            if (arguments != null) {
+                for (Object argument : arguments) {
+                    if (argument instanceof String) {
+                        output.writeByte(STRING);
+                        writeString(output, (String) argument);
+                    } else if (argument instanceof HttpRequest) {
+                        HttpRequest requestArgument = (HttpRequest) argument;
+                        output.writeByte(HTTP_REQUEST);
+                        if (requestArgument.getBody() instanceof LogEntryBody) {
+                            writeString(output, OBJECT_WRITER.writeValueAsString(new HttpRequestDTO(requestArgument.shallowClone().withBody((Body<?>) null))));
+                        } else {
+                            writeString(output, OBJECT_WRITER.writeValueAsString(new HttpRequestDTO(requestArgument)));
+                        }
+                        writeLogEntryBody(output, requestArgument.getBody());
+                    } else if (argument instanceof HttpResponse) {
+                        HttpResponse responseArgument = (HttpResponse) argument;
+                        output.writeByte(HTTP_RESPONSE);
+                        if (responseArgument.getBody() instanceof LogEntryBody) {
+                            writeString(output, OBJECT_WRITER.writeValueAsString(new HttpResponseDTO(responseArgument.shallowClone().withBody((BodyWithContentType<?>) null))));
+                        } else {
+                            writeString(output, OBJECT_WRITER.writeValueAsString(new HttpResponseDTO(responseArgument)));
+                        }
+                        writeLogEntryBody(output, responseArgument.getBody());
+                    } else {
+                        output.writeByte(JSON);
+                        writeString(output, OBJECT_WRITER.writeValueAsString(argument));
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static LogEntry decompress(byte[] compressed, LogEntry logEntry) throws IOException {
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+            RequestDefinition[] httpRequests = new RequestDefinition[input.readInt()];
+            for (int i = 0; i < httpRequests.length; i++) {
+                int type = input.readByte();
+                if (type != ABSENT) {
+                    Class<? extends RequestDefinitionDTO> requestDefinitionDTOClass = type == HTTP_REQUEST ? HttpRequestDTO.class : OpenAPIDefinitionDTO.class;
+                    httpRequests[i] = OBJECT_MAPPER.readValue(readString(input), requestDefinitionDTOClass).buildObject();
+                }
+            }
+            logEntry.setHttpRequests(httpRequests);
+            String httpResponse = readString(input);
+            if (httpResponse != null) {
+                logEntry.setHttpResponse(OBJECT_MAPPER.readValue(httpResponse, HttpResponseDTO.class).buildObject());
+            }
+            String expectation = readString(input);
+            if (expectation != null) {
+                logEntry.setExpectation(OBJECT_MAPPER.readValue(expectation, ExpectationDTO.class).buildObject());
+            }
+            String message = readString(input);
+            int numberOfArguments = input.readInt();
+            if (numberOfArguments >= 0) {
+                Object[] arguments = new Object[numberOfArguments];
+                for (int i = 0; i < numberOfArguments; i++) {
+                    int type = input.readByte();
+                    String argument = readString(input);
+                    switch (type) {
+                        case STRING:
+                            arguments[i] = argument;
+                            break;
+                        case HTTP_REQUEST: {
+                            HttpRequest requestArgument = OBJECT_MAPPER.readValue(argument, HttpRequestDTO.class).buildObject();
+                            LogEntryBody body = readLogEntryBody(input);
+                            arguments[i] = body != null ? requestArgument.withBody(body) : requestArgument;
+                            break;
+                        }
+                        case HTTP_RESPONSE: {
+                            HttpResponse responseArgument = OBJECT_MAPPER.readValue(argument, HttpResponseDTO.class).buildObject();
+                            LogEntryBody body = readLogEntryBody(input);
+                            arguments[i] = body != null ? responseArgument.withBody(body) : responseArgument;
+                            break;
+                        }
+                        default:
+                            arguments[i] = OBJECT_MAPPER.readTree(argument);
+                            break;
+                    }
+                }
+                logEntry.setArguments(arguments);
+            }
+            return logEntry.setMessage(message);
+        }
+    }
+
+    /**
+     * true if every argument is decoded with the same type, so the message formatted after decoding is unchanged
+     */
+    private static boolean decodedWithType(Object[] arguments) {
+        if (arguments != null) {
+            for (Object argument : arguments) {
+                if (!(argument instanceof String || argument instanceof HttpRequest || argument instanceof HttpResponse)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * bodies of requests and responses that are arguments are replaced by a {@link LogEntryBody} which holds either a
+     * json tree or a string, these are not handled by the request and response DTOs so are encoded separately
+     */
+    private static void writeLogEntryBody(DataOutputStream output, Object body) throws IOException {
+        if (body instanceof LogEntryBody && ((LogEntryBody) body).getValue() instanceof JsonNode) {
+            output.writeByte(JSON);
+            writeString(output, OBJECT_WRITER.writeValueAsString(((LogEntryBody) body).getValue()));
+        } else if (body instanceof LogEntryBody && ((LogEntryBody) body).getValue() != null) {
+            output.writeByte(STRING);
+            writeString(output, String.valueOf(((LogEntryBody) body).getValue()));
+        } else {
+            output.writeByte(ABSENT);
+        }
+    }
+
+    private static LogEntryBody readLogEntryBody(DataInputStream input) throws IOException {
+        int type = input.readByte();
+        if (type == ABSENT) {
+            return null;
+        }
+        String value = readString(input);
+        return new LogEntryBody(type == JSON ? OBJECT_MAPPER.readTree(value) : value);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -3,6 +3,8 @@ package org.mockserver.log.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lmax.disruptor.EventTranslator;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatchDifference;
 import org.mockserver.matchers.TimeToLive;
@@ -14,6 +16,8 @@ import org.mockserver.time.EpochService;
 import org.mockserver.uuid.UUIDService;
 import org.slf4j.event.Level;
 
+import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
@@ -59,6 +63,8 @@ public class LogEntry implements EventTranslator<LogEntry> {
     private String message;
     private Object[] arguments;
     private String because;
+    private volatile byte[] compressed;
+    private SoftReference<LogEntry> decompressed;
 
     public LogEntry() {
 
@@ -78,6 +84,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public void clear() {
+        hashCode = 0;
         id = null;
         logLevel = Level.INFO;
         alwaysLog = false;
@@ -87,7 +94,9 @@ public class LogEntry implements EventTranslator<LogEntry> {
         timestamp = null;
         type = null;
         httpRequests = null;
+        httpUpdatedRequests = null;
         httpResponse = null;
+        httpUpdatedResponse = null;
         httpError = null;
         expectation = null;
         expectationId = null;
@@ -98,6 +107,8 @@ public class LogEntry implements EventTranslator<LogEntry> {
         message = null;
         arguments = null;
         because = null;
+        compressed = null;
+        decompressed = null;
     }
 
     public Level getLogLevel() {
@@ -167,6 +178,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
 
     @JsonIgnore
     public RequestDefinition[] getHttpRequests() {
+        RequestDefinition[] httpRequests = httpRequests();
         if (httpRequests == null) {
             return EMPTY_REQUEST_DEFINITIONS;
         } else {
@@ -174,9 +186,24 @@ public class LogEntry implements EventTranslator<LogEntry> {
         }
     }
 
+    private RequestDefinition[] httpRequests() {
+        RequestDefinition[] httpRequests = this.httpRequests;
+        if (httpRequests == null) {
+            LogEntry decompressedLogEntry = decompressedIfCompressed();
+            if (decompressedLogEntry != null) {
+                return decompressedLogEntry.httpRequests;
+            }
+        }
+        return httpRequests;
+    }
+
     @JsonIgnore
     public RequestDefinition[] getHttpUpdatedRequests() {
-        if (httpRequests == null) {
+        RequestDefinition[] httpRequests = this.httpRequests;
+        LogEntry decompressedLogEntry = httpRequests == null ? decompressedIfCompressed() : null;
+        if (decompressedLogEntry != null) {
+            return decompressedLogEntry.getHttpUpdatedRequests();
+        } else if (httpRequests == null) {
             return EMPTY_REQUEST_DEFINITIONS;
         } else if (httpUpdatedRequests == null) {
             httpUpdatedRequests = Arrays
@@ -194,6 +221,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
         if (matcher == null) {
             return true;
         }
+        RequestDefinition[] httpRequests = httpRequests();
         if (httpRequests == null || httpRequests.length == 0) {
             return true;
         }
@@ -212,6 +240,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public RequestDefinition getHttpRequest() {
+        RequestDefinition[] httpRequests = httpRequests();
         if (httpRequests != null && httpRequests.length > 0) {
             return httpRequests[0];
         } else {
@@ -232,11 +261,22 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public HttpResponse getHttpResponse() {
+        HttpResponse httpResponse = this.httpResponse;
+        if (httpResponse == null) {
+            LogEntry decompressedLogEntry = decompressedIfCompressed();
+            if (decompressedLogEntry != null) {
+                return decompressedLogEntry.httpResponse;
+            }
+        }
         return httpResponse;
     }
 
     public HttpResponse getHttpUpdatedResponse() {
-        if (httpResponse == null) {
+        HttpResponse httpResponse = this.httpResponse;
+        LogEntry decompressedLogEntry = httpResponse == null ? decompressedIfCompressed() : null;
+        if (decompressedLogEntry != null) {
+            return decompressedLogEntry.getHttpUpdatedResponse();
+        } else if (httpResponse == null) {
             return null;
         } else if (httpUpdatedResponse == null) {
             httpUpdatedResponse = updateBody(httpResponse);
@@ -261,6 +301,13 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public Expectation getExpectation() {
+        Expectation expectation = this.expectation;
+        if (expectation == null) {
+            LogEntry decompressedLogEntry = decompressedIfCompressed();
+            if (decompressedLogEntry != null) {
+                return decompressedLogEntry.expectation;
+            }
+        }
         return expectation;
     }
 
@@ -335,36 +382,115 @@ public class LogEntry implements EventTranslator<LogEntry> {
 
     @JsonIgnore
     public String getMessage() {
-        if (message == null) {
-            if (arguments != null) {
-                message = formatLogMessage(messageFormat, arguments);
-            } else {
-                message = messageFormat;
+        String message = this.message;
+        return message != null ? message : formatMessageIfNeeded();
+    }
+
+    private synchronized String formatMessageIfNeeded() {
+        if (message == null && compressed != null) {
+            LogEntry decompressedLogEntry = decompressed();
+            if (decompressedLogEntry.message == null) {
+                // compressed before the message was needed
+                decompressedLogEntry.message = formatMessage(decompressedLogEntry.arguments);
             }
+            return decompressedLogEntry.message;
+        } else if (message == null) {
+            message = formatMessage(arguments);
         }
         return message;
     }
 
+    /**
+     * the message if it has already been formatted, otherwise null
+     */
+    String formattedMessage() {
+        return message;
+    }
+
+    private String formatMessage(Object[] arguments) {
+        if (arguments != null) {
+            return formatLogMessage(messageFormat, truncateBodies(arguments));
+        } else {
+            return messageFormat;
+        }
+    }
+
+    /**
+     * only the formatted message is truncated, the requests and responses are unchanged
+     */
+    private Object[] truncateBodies(Object[] arguments) {
+        Integer maxBodyLength = type != null ? ConfigurationProperties.maxLoggedBodyLength().get(type) : null;
+        if (maxBodyLength == null || maxBodyLength < 0) {
+            return arguments;
+        }
+        Object[] truncatedArguments = arguments;
+        for (int i = 0; i < arguments.length; i++) {
+            Object truncatedArgument = arguments[i];
+            if (arguments[i] instanceof HttpRequest) {
+                String body = ((HttpRequest) arguments[i]).getBodyAsString();
+                if (body != null && body.length() > maxBodyLength) {
+                    truncatedArgument = ((HttpRequest) arguments[i]).shallowClone().withBody(truncateBody(body, maxBodyLength));
+                }
+            } else if (arguments[i] instanceof HttpResponse) {
+                String body = ((HttpResponse) arguments[i]).getBodyAsString();
+                if (body != null && body.length() > maxBodyLength) {
+                    truncatedArgument = ((HttpResponse) arguments[i]).shallowClone().withBody(truncateBody(body, maxBodyLength));
+                }
+            }
+            if (truncatedArgument != arguments[i]) {
+                if (truncatedArguments == arguments) {
+                    truncatedArguments = arguments.clone();
+                }
+                truncatedArguments[i] = truncatedArgument;
+            }
+        }
+        return truncatedArguments;
+    }
+
+    private static String truncateBody(String body, int maxBodyLength) {
+        return body.substring(0, maxBodyLength) + "...(" + (body.length() - maxBodyLength) + " characters truncated)";
+    }
+
+    LogEntry setMessage(String message) {
+        this.message = message;
+        return this;
+    }
+
     public Object[] getArguments() {
+        Object[] arguments = this.arguments;
+        if (arguments == null) {
+            LogEntry decompressedLogEntry = decompressedIfCompressed();
+            if (decompressedLogEntry != null) {
+                return decompressedLogEntry.arguments;
+            }
+        }
         return arguments;
     }
 
     public LogEntry setArguments(Object... arguments) {
         if (arguments != null) {
-            this.arguments = Arrays
-                .stream(arguments)
-                .map(argument -> {
-                    if (argument instanceof HttpRequest) {
-                        return updateBody((HttpRequest) argument);
-                    } else if (argument instanceof HttpResponse) {
-                        return updateBody((HttpResponse) argument);
-                    } else if (argument == null) {
-                        return "";
-                    } else {
-                        return argument;
+            // only copy the varargs array if an argument needs replacing
+            Object[] updatedArguments = arguments;
+            for (int i = 0; i < arguments.length; i++) {
+                Object argument = arguments[i];
+                Object updatedArgument;
+                if (argument instanceof HttpRequest) {
+                    updatedArgument = updateBody((HttpRequest) argument);
+                } else if (argument instanceof HttpResponse) {
+                    updatedArgument = updateBody((HttpResponse) argument);
+                } else if (argument == null) {
+                    updatedArgument = "";
+                } else {
+                    updatedArgument = argument;
+                }
+                if (updatedArgument != argument) {
+                    if (updatedArguments == arguments) {
+                        updatedArguments = Arrays.copyOf(arguments, arguments.length);
                     }
-                })
-                .toArray(Object[]::new);
+                    updatedArguments[i] = updatedArgument;
+                }
+            }
+            this.arguments = updatedArguments;
         } else {
             this.arguments = null;
         }
@@ -380,6 +506,60 @@ public class LogEntry implements EventTranslator<LogEntry> {
         return this;
     }
 
+    /**
+     * Compresses the requests, response, expectation, message and arguments into a byte array on the heap, they are
+     * decompressed again when next needed, i.e. to retrieve or verify requests, and kept until the heap is short of memory
+     * <p>
+     * The fields are dropped while holding the lock of this entry, and readers that find a field dropped take the same lock
+     * before checking whether this entry is compressed, so they never see a dropped field without the compressed form.
+     */
+    public synchronized void compress(MockServerLogger mockServerLogger) {
+        if (compressed == null && type != null) {
+            try {
+                compressed = CompressedLogEntry.compress(this);
+                httpRequests = null;
+                httpUpdatedRequests = null;
+                httpResponse = null;
+                httpUpdatedResponse = null;
+                expectation = null;
+                message = null;
+                arguments = null;
+            } catch (Exception | OutOfMemoryError exception) {
+                // entries that can't be encoded, or when there isn't enough memory to encode them, are left uncompressed
+                if (MockServerLogger.isEnabled(Level.WARN)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.WARN)
+                            .setMessageFormat("exception compressing log entry " + exception.getMessage() + " leaving log entry uncompressed")
+                            .setThrowable(exception)
+                    );
+                }
+            }
+        }
+    }
+
+    @JsonIgnore
+    public boolean isCompressed() {
+        return compressed != null;
+    }
+
+    private synchronized LogEntry decompressedIfCompressed() {
+        return compressed != null ? decompressed() : null;
+    }
+
+    private LogEntry decompressed() {
+        LogEntry decompressedLogEntry = decompressed != null ? decompressed.get() : null;
+        if (decompressedLogEntry == null) {
+            try {
+                decompressedLogEntry = CompressedLogEntry.decompress(compressed, new LogEntry());
+            } catch (IOException ioe) {
+                throw new RuntimeException("exception decompressing log entry", ioe);
+            }
+            decompressed = new SoftReference<>(decompressedLogEntry);
+        }
+        return decompressedLogEntry;
+    }
+
     private RequestDefinition updateBody(RequestDefinition requestDefinition) {
         if (requestDefinition instanceof HttpRequest) {
             HttpRequest httpRequest = (HttpRequest) requestDefinition;
@@ -450,56 +630,56 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public LogEntry cloneAndClear() {
-        LogEntry clone = this.clone();
+        LogEntry clone = copyTo(new LogEntry());
         clear();
         return clone;
     }
 
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     public LogEntry clone() {
-        return new LogEntry()
-            .setId(id())
-            .setType(getType())
-            .setLogLevel(getLogLevel())
-            .setAlwaysLog(isAlwaysLog())
-            .setEpochTime(getEpochTime())
-            .setCorrelationId(getCorrelationId())
-            .setPort(getPort())
-            .setHttpRequests(getHttpRequests())
-            .setHttpResponse(getHttpResponse())
-            .setHttpError(getHttpError())
-            .setExpectation(getExpectation())
-            .setExpectationId(getExpectationId())
-            .setMessageFormat(getMessageFormat())
-            .setArguments(getArguments())
-            .setBecause(getBecause())
-            .setThrowable(getThrowable())
-            .setConsumer(getConsumer())
-            .setDeleted(isDeleted());
+        // ensure clone has same id
+        id();
+        return copyTo(new LogEntry());
     }
 
+    /**
+     * Fills a ring buffer slot from this entry, the fields are copied by reference so the slot is filled in place without
+     * re-processing the arguments, generating an id or formatting the message, so the slot shares the requests, response
+     * and arguments of this entry which must not be modified once it is published
+     */
     @Override
     public void translateTo(LogEntry event, long sequence) {
-        event
-            .setId(id())
-            .setType(getType())
-            .setLogLevel(getLogLevel())
-            .setAlwaysLog(isAlwaysLog())
-            .setEpochTime(getEpochTime())
-            .setCorrelationId(getCorrelationId())
-            .setPort(getPort())
-            .setHttpRequests(getHttpRequests())
-            .setHttpResponse(getHttpResponse())
-            .setHttpError(getHttpError())
-            .setExpectation(getExpectation())
-            .setExpectationId(getExpectationId())
-            .setMessageFormat(getMessageFormat())
-            .setArguments(getArguments())
-            .setBecause(getBecause())
-            .setThrowable(getThrowable())
-            .setConsumer(getConsumer())
-            .setDeleted(isDeleted());
-        clear();
+        copyTo(event);
+    }
+
+    private LogEntry copyTo(LogEntry logEntry) {
+        logEntry.hashCode = 0;
+        logEntry.id = id;
+        logEntry.correlationId = correlationId;
+        logEntry.port = port;
+        logEntry.logLevel = logLevel;
+        logEntry.alwaysLog = alwaysLog;
+        logEntry.epochTime = epochTime;
+        logEntry.timestamp = timestamp;
+        // as setLogLevel, the type defaults to the log level
+        logEntry.type = type == null && logLevel != null ? LogMessageType.valueOf(logLevel.name()) : type;
+        logEntry.httpRequests = httpRequests == null && compressed == null ? EMPTY_REQUEST_DEFINITIONS : httpRequests;
+        logEntry.httpUpdatedRequests = httpUpdatedRequests;
+        logEntry.httpResponse = httpResponse;
+        logEntry.httpUpdatedResponse = httpUpdatedResponse;
+        logEntry.httpError = httpError;
+        logEntry.expectation = expectation;
+        logEntry.expectationId = expectationId;
+        logEntry.throwable = throwable;
+        logEntry.consumer = consumer;
+        logEntry.deleted = deleted;
+        logEntry.messageFormat = messageFormat;
+        logEntry.message = message;
+        logEntry.arguments = arguments;
+        logEntry.because = because;
+        logEntry.compressed = compressed;
+        logEntry.decompressed = decompressed;
+        return logEntry;
     }
 
     @Override
@@ -520,21 +700,21 @@ public class LogEntry implements EventTranslator<LogEntry> {
             logLevel == logEntry.logLevel &&
             alwaysLog == logEntry.alwaysLog &&
             Objects.equals(messageFormat, logEntry.messageFormat) &&
-            Objects.equals(httpResponse, logEntry.httpResponse) &&
+            Objects.equals(getHttpResponse(), logEntry.getHttpResponse()) &&
             Objects.equals(httpError, logEntry.httpError) &&
-            Objects.equals(expectation, logEntry.expectation) &&
+            Objects.equals(getExpectation(), logEntry.getExpectation()) &&
             Objects.equals(expectationId, logEntry.expectationId) &&
             Objects.equals(consumer, logEntry.consumer) &&
-            Arrays.equals(arguments, logEntry.arguments) &&
-            Arrays.equals(httpRequests, logEntry.httpRequests);
+            Arrays.equals(getArguments(), logEntry.getArguments()) &&
+            Arrays.equals(httpRequests(), logEntry.httpRequests());
     }
 
     @Override
     public int hashCode() {
         if (hashCode == 0) {
-            int result = Objects.hash(epochTime, deleted, type, logLevel, alwaysLog, messageFormat, httpResponse, httpError, expectation, expectationId, consumer);
-            result = 31 * result + Arrays.hashCode(arguments);
-            result = 31 * result + Arrays.hashCode(httpRequests);
+            int result = Objects.hash(epochTime, deleted, type, logLevel, alwaysLog, messageFormat, getHttpResponse(), httpError, getExpectation(), expectationId, consumer);
+            result = 31 * result + Arrays.hashCode(getArguments());
+            result = 31 * result + Arrays.hashCode(httpRequests());
             hashCode = result;
         }
         return hashCode;
@@ -12,6 +12,9 @@ import org.slf4j.event.Level;
 import javax.annotation.Nullable;
 import java.io.ByteArrayInputStream;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.LogManager;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -25,6 +28,8 @@ import static org.slf4j.event.Level.ERROR;
  */
 public class MockServerLogger {
 
+    private static final Set<LogEntry.LogMessageType> SAMPLED_LOG_TYPES = EnumSet.of(RECEIVED_REQUEST, EXPECTATION_RESPONSE, EXPECTATION_MATCHED, EXPECTATION_NOT_MATCHED, NO_MATCH_RESPONSE, FORWARDED_REQUEST);
+
     static {
         configureLogger();
     }
@@ -107,6 +112,7 @@ public class MockServerLogger {
     public static void writeToSystemOut(Logger logger, LogEntry logEntry) {
         if (!ConfigurationProperties.disableLogging()) {
             if ((logEntry.isAlwaysLog() || isEnabled(logEntry.getLogLevel())) &&
+                sampledForSystemOut(logEntry) &&
                 isNotBlank(logEntry.getMessage())) {
                 switch (logEntry.getLogLevel()) {
                     case ERROR:
@@ -129,6 +135,24 @@ public class MockServerLogger {
         }
     }
 
+    /**
+     * sampled by correlation id, so the log messages for a request are either all written or all skipped, before the message is formatted
+     */
+    private static boolean sampledForSystemOut(LogEntry logEntry) {
+        if (logEntry.isAlwaysLog() || logEntry.getLogLevel().toInt() >= Level.WARN.toInt() || !SAMPLED_LOG_TYPES.contains(logEntry.getType())) {
+            return true;
+        }
+        double samplingRate = ConfigurationProperties.systemOutLogSamplingRate();
+        if (samplingRate >= 1.0) {
+            return true;
+        } else if (samplingRate <= 0.0) {
+            return false;
+        }
+        String correlationId = logEntry.getCorrelationId();
+        double sample = isNotBlank(correlationId) ? (correlationId.hashCode() & Integer.MAX_VALUE) / (double) Integer.MAX_VALUE : ThreadLocalRandom.current().nextDouble();
+        return sample < samplingRate;
+    }
+
     private static String portInformation(LogEntry logEntry) {
         Integer port = logEntry.getPort();
         if (port != null) {
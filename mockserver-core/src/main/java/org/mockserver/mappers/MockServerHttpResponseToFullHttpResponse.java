@@ -89,6 +89,10 @@ public class MockServerHttpResponseToFullHttpResponse {
     }
 
     private ByteBuf getBody(HttpResponse httpResponse) {
+        ByteBuf encodedBody = StaticResponseBodyCache.retainedDuplicate(httpResponse);
+        if (encodedBody != null) {
+            return encodedBody;
+        }
         return bodyDecoderEncoder.bodyToByteBuf(httpResponse.getBody(), httpResponse.getFirstHeader(CONTENT_TYPE.toString()));
     }
 
@@ -0,0 +1,76 @@
+package org.mockserver.mappers;
+
+import com.google.common.collect.MapMaker;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.mockserver.codec.BodyDecoderEncoder;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.Action;
+import org.mockserver.model.Body;
+import org.mockserver.model.HttpResponse;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+
+/**
+ * Encoded bodies of static response actions, encoded once when an expectation is added and shared
+ * as read only buffers by every response returned for the expectation, instead of encoding and copying
+ * the body for each response.
+ * <p>
+ * Bodies are held by identity (responses returned for an expectation are clones sharing the action's body)
+ * and only used if the content-type header, which determines the charset, is unchanged. Bodies are removed
+ * when the expectation is updated or removed, or once the body is no longer referenced.
+ *
+ * @author jamesdbloom
+ */
+public class StaticResponseBodyCache {
+
+    private static final BodyDecoderEncoder bodyDecoderEncoder = new BodyDecoderEncoder();
+    private static final ConcurrentMap<Body<?>, EncodedBody> encodedBodies = new MapMaker().weakKeys().makeMap();
+
+    public static void encode(Expectation expectation) {
+        HttpResponse httpResponse = staticResponse(expectation);
+        if (httpResponse != null && httpResponse.getBody() != null) {
+            String contentTypeHeader = httpResponse.getFirstHeader(CONTENT_TYPE.toString());
+            ByteBuf body = bodyDecoderEncoder.bodyToByteBuf(httpResponse.getBody(), contentTypeHeader);
+            encodedBodies.put(httpResponse.getBody(), new EncodedBody(contentTypeHeader, Unpooled.unreleasableBuffer(body.asReadOnly())));
+        }
+    }
+
+    public static void invalidate(Expectation expectation) {
+        HttpResponse httpResponse = staticResponse(expectation);
+        if (httpResponse != null && httpResponse.getBody() != null) {
+            encodedBodies.remove(httpResponse.getBody());
+        }
+    }
+
+    /**
+     * A duplicate of the encoded body that can be written without affecting other responses, or null if the body wasn't encoded in advance
+     */
+    public static ByteBuf retainedDuplicate(HttpResponse httpResponse) {
+        if (httpResponse.getBody() != null) {
+            EncodedBody encodedBody = encodedBodies.get(httpResponse.getBody());
+            if (encodedBody != null && Objects.equals(encodedBody.contentTypeHeader, httpResponse.getFirstHeader(CONTENT_TYPE.toString()))) {
+                return encodedBody.body.retainedDuplicate();
+            }
+        }
+        return null;
+    }
+
+    private static HttpResponse staticResponse(Expectation expectation) {
+        Action<?> action = expectation != null ? expectation.getAction() : null;
+        return action != null && action.getType() == Action.Type.RESPONSE ? (HttpResponse) action : null;
+    }
+
+    private static class EncodedBody {
+        private final String contentTypeHeader;
+        private final ByteBuf body;
+
+        private EncodedBody(String contentTypeHeader, ByteBuf body) {
+            this.contentTypeHeader = contentTypeHeader;
+            this.body = body;
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package org.mockserver.matchers;
 
+import org.mockserver.model.ParsedBody;
+
 /**
  * @author jamesdbloom
  */
 public abstract class BodyMatcher<MatchedType> extends NotMatcher<MatchedType> {
 
+    /**
+     * Matches using the decoded and parsed body shared by all body matchers for the same request,
+     * matchers that parse the body override this so the body isn't parsed again for every expectation
+     */
+    public boolean matches(final MatchDifference context, final ParsedBody parsedBody, final MatchedType matched) {
+        return matches(context, matched);
+    }
+
 }
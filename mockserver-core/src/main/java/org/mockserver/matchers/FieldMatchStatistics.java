@@ -0,0 +1,76 @@
+package org.mockserver.matchers;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Sampled cost and rejection statistics for the fields of a request matcher, used to order fail fast evaluation
+ * so fields that are cheap and frequently reject requests are evaluated before expensive or rarely rejecting fields
+ * (i.e. lowest cost per rejection first).
+ * <p>
+ * Fields without statistics are evaluated first so their cost and rejection rate is learnt, and statistics are
+ * halved each time the order is recalculated so the order follows changes in traffic. Statistics are updated
+ * without synchronisation, lost updates only slow down how quickly the order adapts.
+ *
+ * @author jamesdbloom
+ */
+public class FieldMatchStatistics {
+
+    private static final int SAMPLE_INTERVAL = 8;
+    private static final int REORDER_INTERVAL = 64;
+    private final MatchDifference.Field[] defaultOrder;
+    private final long[] costNanos = new long[MatchDifference.Field.values().length];
+    private final long[] evaluations = new long[MatchDifference.Field.values().length];
+    private final long[] rejections = new long[MatchDifference.Field.values().length];
+    private volatile MatchDifference.Field[] order;
+    private int matchCount;
+    private int sampleCount;
+
+    public FieldMatchStatistics(MatchDifference.Field... defaultOrder) {
+        this.defaultOrder = defaultOrder;
+        this.order = defaultOrder;
+    }
+
+    public MatchDifference.Field[] order() {
+        return order;
+    }
+
+    /**
+     * true if the cost of this match should be recorded
+     */
+    public boolean sample() {
+        return ++matchCount % SAMPLE_INTERVAL == 0;
+    }
+
+    public void record(MatchDifference.Field field, long costNanos, boolean matches) {
+        this.costNanos[field.ordinal()] += costNanos;
+        this.evaluations[field.ordinal()]++;
+        if (!matches) {
+            this.rejections[field.ordinal()]++;
+        }
+    }
+
+    public void sampleComplete() {
+        if (++sampleCount % REORDER_INTERVAL == 0) {
+            MatchDifference.Field[] newOrder = Arrays.copyOf(defaultOrder, defaultOrder.length);
+            // stable sort so fields with equal cost per rejection keep the default order
+            Arrays.sort(newOrder, Comparator.comparingDouble(this::costPerRejection));
+            for (MatchDifference.Field field : defaultOrder) {
+                costNanos[field.ordinal()] /= 2;
+                evaluations[field.ordinal()] /= 2;
+                rejections[field.ordinal()] /= 2;
+            }
+            order = newOrder;
+        }
+    }
+
+    private double costPerRejection(MatchDifference.Field field) {
+        if (evaluations[field.ordinal()] == 0) {
+            return -1;
+        } else if (rejections[field.ordinal()] == 0) {
+            return Double.MAX_VALUE;
+        } else {
+            return (double) costNanos[field.ordinal()] / rejections[field.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.mockserver.matchers;
+
+import org.mockserver.codec.PathParametersDecoder;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.mockserver.mock.SortableExpectationId.EXPECTATION_SORTABLE_PRIORITY_COMPARATOR;
+import static org.mockserver.mock.SortableExpectationId.NULL;
+
+/**
+ * Buckets expectation matchers by a single literal property (exact path, literal path prefix, header or method)
+ * that any matching request must have, so that only plausible candidates need to be fully matched.
+ * <p>
+ * Matchers that have no such literal property (i.e. regex, notted, optional or schema values) are added to a
+ * fallback bucket that is always returned as a candidate, so the index may return false positives but never
+ * false negatives.
+ *
+ * @author jamesdbloom
+ */
+public class HttpRequestMatcherIndex {
+
+    private static final String FALLBACK_BUCKET = "";
+    private static final String EXACT_PATH_BUCKET_PREFIX = "path:";
+    private static final String PATH_PREFIX_BUCKET_PREFIX = "prefix:";
+    private static final String HEADER_BUCKET_PREFIX = "header:";
+    private static final String METHOD_BUCKET_PREFIX = "method:";
+    private static final String REGEX_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String REGEX_QUANTIFIER_CHARACTERS = "?*+{";
+    private static final PathParametersDecoder pathParametersParser = new PathParametersDecoder();
+    private static final Comparator<HttpRequestMatcher> PRIORITY_COMPARATOR = Comparator.comparing(
+        httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getSortableId() : NULL,
+        EXPECTATION_SORTABLE_PRIORITY_COMPARATOR
+    );
+    private final ConcurrentMap<String, ConcurrentMap<String, HttpRequestMatcher>> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> bucketKeysByExpectationId = new ConcurrentHashMap<>();
+
+    public void add(HttpRequestMatcher httpRequestMatcher) {
+        String expectationId = expectationId(httpRequestMatcher);
+        if (expectationId != null) {
+            String bucketKey = bucketKey(httpRequestMatcher);
+            String previousBucketKey = bucketKeysByExpectationId.put(expectationId, bucketKey);
+            if (previousBucketKey != null && !previousBucketKey.equals(bucketKey)) {
+                removeFromBucket(previousBucketKey, expectationId);
+            }
+            buckets.computeIfAbsent(bucketKey, key -> new ConcurrentHashMap<>()).put(expectationId, httpRequestMatcher);
+        }
+    }
+
+    public void remove(HttpRequestMatcher httpRequestMatcher) {
+        String expectationId = expectationId(httpRequestMatcher);
+        if (expectationId != null) {
+            String bucketKey = bucketKeysByExpectationId.remove(expectationId);
+            if (bucketKey != null) {
+                removeFromBucket(bucketKey, expectationId);
+            }
+        }
+    }
+
+    public void clear() {
+        bucketKeysByExpectationId.clear();
+        buckets.clear();
+    }
+
+    /**
+     * Returns the matchers that could match the request in priority order, or null if the request
+     * can't be looked up in the index (i.e. it is notted or has no method or path) so all matchers must be checked
+     */
+    public List<HttpRequestMatcher> candidates(HttpRequest httpRequest) {
+        if (httpRequest == null || httpRequest.isNot() || isBlankOrNotted(httpRequest.getMethod()) || isBlankOrNotted(httpRequest.getPath())) {
+            return null;
+        }
+        Set<HttpRequestMatcher> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        addBucket(candidates, FALLBACK_BUCKET);
+        addBucket(candidates, METHOD_BUCKET_PREFIX + fold(httpRequest.getMethod().getValue()));
+        String path = fold(httpRequest.getPath().getValue());
+        addBucket(candidates, EXACT_PATH_BUCKET_PREFIX + path);
+        for (int i = 1; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                addBucket(candidates, PATH_PREFIX_BUCKET_PREFIX + path.substring(0, i));
+            }
+        }
+        if (httpRequest.getHeaders() != null) {
+            for (Header header : httpRequest.getHeaders().getEntries()) {
+                String name = fold(header.getName().getValue());
+                for (NottableString value : header.getValues()) {
+                    addBucket(candidates, HEADER_BUCKET_PREFIX + name + ':' + fold(value.getValue()));
+                }
+            }
+        }
+        List<HttpRequestMatcher> sortedCandidates = new ArrayList<>(candidates);
+        sortedCandidates.sort(PRIORITY_COMPARATOR);
+        return sortedCandidates;
+    }
+
+    private void addBucket(Set<HttpRequestMatcher> candidates, String bucketKey) {
+        ConcurrentMap<String, HttpRequestMatcher> bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            candidates.addAll(bucket.values());
+        }
+    }
+
+    private void removeFromBucket(String bucketKey, String expectationId) {
+        buckets.computeIfPresent(bucketKey, (key, bucket) -> {
+            bucket.remove(expectationId);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private static String expectationId(HttpRequestMatcher httpRequestMatcher) {
+        Expectation expectation = httpRequestMatcher != null ? httpRequestMatcher.getExpectation() : null;
+        return expectation != null ? expectation.getId() : null;
+    }
+
+    private static String bucketKey(HttpRequestMatcher httpRequestMatcher) {
+        if (!(httpRequestMatcher instanceof HttpRequestPropertiesMatcher) || ((HttpRequestPropertiesMatcher) httpRequestMatcher).not) {
+            return FALLBACK_BUCKET;
+        }
+        HttpRequest httpRequest = ((HttpRequestPropertiesMatcher) httpRequestMatcher).getHttpRequest();
+        if (httpRequest == null || httpRequest.isNot()) {
+            return FALLBACK_BUCKET;
+        }
+        if (isLiteral(httpRequest.getPath())) {
+            NottableString path = pathParametersParser.normalisePathWithParametersForMatching(httpRequest);
+            if (isLiteral(path)) {
+                String pathPrefix = literalPathPrefix(path.getValue());
+                if (pathPrefix != null) {
+                    return pathPrefix;
+                }
+            }
+        }
+        if (httpRequest.getHeaders() != null && httpRequest.getHeaders().getKeyMatchStyle() == KeyMatchStyle.SUB_SET) {
+            for (Header header : httpRequest.getHeaders().getEntries()) {
+                if (isLiteral(header.getName()) && isLiteralText(header.getName().getValue())) {
+                    for (NottableString value : header.getValues()) {
+                        if (isLiteral(value) && isLiteralText(value.getValue())) {
+                            return HEADER_BUCKET_PREFIX + fold(header.getName().getValue()) + ':' + fold(value.getValue());
+                        }
+                    }
+                }
+            }
+        }
+        if (isLiteral(httpRequest.getMethod()) && isLiteralText(httpRequest.getMethod().getValue())) {
+            return METHOD_BUCKET_PREFIX + fold(httpRequest.getMethod().getValue());
+        }
+        return FALLBACK_BUCKET;
+    }
+
+    /**
+     * the exact path if it contains no regex characters, otherwise the path up to the last slash that
+     * any match must contain (i.e. isn't made optional by a following quantifier), or null if there isn't one
+     */
+    private static String literalPathPrefix(String path) {
+        if (path.indexOf('|') != -1) {
+            return null;
+        }
+        int firstRegexCharacter = -1;
+        for (int i = 0; i < path.length(); i++) {
+            if (!isLiteralCharacter(path.charAt(i))) {
+                firstRegexCharacter = i;
+                break;
+            }
+        }
+        if (firstRegexCharacter == -1) {
+            return EXACT_PATH_BUCKET_PREFIX + fold(path);
+        }
+        int lastSlash = path.lastIndexOf('/', firstRegexCharacter - 1);
+        if (lastSlash == firstRegexCharacter - 1 && REGEX_QUANTIFIER_CHARACTERS.indexOf(path.charAt(firstRegexCharacter)) != -1) {
+            lastSlash = lastSlash > 0 ? path.lastIndexOf('/', lastSlash - 1) : -1;
+        }
+        if (lastSlash > 0) {
+            return PATH_PREFIX_BUCKET_PREFIX + fold(path.substring(0, lastSlash));
+        }
+        return null;
+    }
+
+    /**
+     * the path folded for case-insensitive comparison if it is a literal value (i.e. not regex, notted, optional,
+     * schema or containing path parameters), otherwise null, literal paths only match paths with the same folded value
+     */
+    public static String literalPath(HttpRequest httpRequest) {
+        return httpRequest != null && isLiteral(httpRequest.getPath()) ? literalValue(pathParametersParser.normalisePathWithParametersForMatching(httpRequest)) : null;
+    }
+
+    /**
+     * the value folded for case-insensitive comparison if it is a literal value (i.e. not regex, notted, blank or schema), otherwise null
+     */
+    public static String literalValue(NottableString nottableString) {
+        return isLiteral(nottableString) && isLiteralText(nottableString.getValue()) ? fold(nottableString.getValue()) : null;
+    }
+
+    private static boolean isBlankOrNotted(NottableString nottableString) {
+        return nottableString == null || nottableString.isBlank() || nottableString.isNot();
+    }
+
+    private static boolean isLiteral(NottableString nottableString) {
+        return nottableString != null && nottableString.getClass() == NottableString.class && !nottableString.isNot() && !nottableString.isBlank();
+    }
+
+    private static boolean isLiteralText(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!isLiteralCharacter(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLiteralCharacter(char character) {
+        // restricted to printable ascii so that case-insensitive comparison is the same as folding to lower case
+        return character >= ' ' && character <= '~' && REGEX_CHARACTERS.indexOf(character) == -1;
+    }
+
+    /**
+     * folds case the same way as String.equalsIgnoreCase and case-insensitive regex so that
+     * any request value matching a literal value has the same folded form
+     */
+    private static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        char[] folded = new char[value.length()];
+        for (int i = 0; i < value.length(); i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+        return new String(folded);
+    }
+
+}
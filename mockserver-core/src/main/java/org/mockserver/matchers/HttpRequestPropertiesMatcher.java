@@ -34,7 +34,8 @@ import static org.mockserver.model.NottableString.string;
 @SuppressWarnings("rawtypes")
 public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
 
-    private static final String[] excludedFields = {"mockServerLogger", "methodMatcher", "pathMatcher", "pathParameterMatcher", "queryStringParameterMatcher", "bodyMatcher", "headerMatcher", "cookieMatcher", "keepAliveMatcher", "bodyDTOMatcher", "sslMatcher", "controlPlaneMatcher", "responseInProgress", "objectMapper"};
+    private static final String[] excludedFields = {"mockServerLogger", "methodMatcher", "pathMatcher", "pathParameterMatcher", "queryStringParameterMatcher", "bodyMatcher", "headerMatcher", "cookieMatcher", "keepAliveMatcher", "bodyDTOMatcher", "sslMatcher", "controlPlaneMatcher", "responseInProgress", "objectMapper", "fieldMatchStatistics", "pathTemplate"};
+    private static final MatchDifference.Field[] DEFAULT_FIELD_ORDER = {BODY, HEADERS, COOKIES, PATH_PARAMETERS, QUERY_PARAMETERS, KEEP_ALIVE, SECURE, PROTOCOL};
     private static final String COMMA = ",";
     private static final String REQUEST_NOT_OPERATOR_IS_ENABLED = COMMA + NEW_LINE + "request 'not' operator is enabled";
     private static final String EXPECTATION_REQUEST_NOT_OPERATOR_IS_ENABLED = COMMA + NEW_LINE + "expectation's request 'not' operator is enabled";
@@ -47,6 +48,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
     private List<HttpRequest> httpRequests;
     private RegexStringMatcher methodMatcher = null;
     private RegexStringMatcher pathMatcher = null;
+    private PathParametersDecoder.PathTemplate pathTemplate = null;
     private MultiValueMapMatcher pathParameterMatcher = null;
     private MultiValueMapMatcher queryStringParameterMatcher = null;
     private BodyMatcher bodyMatcher = null;
@@ -58,6 +60,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
     private ObjectMapper objectMapperWithStrictBodyDTODeserializer;
     private JsonSchemaBodyDecoder jsonSchemaBodyParser;
     private MatcherBuilder matcherBuilder;
+    private FieldMatchStatistics fieldMatchStatistics = new FieldMatchStatistics(DEFAULT_FIELD_ORDER);
 
     public HttpRequestPropertiesMatcher(Configuration configuration, MockServerLogger mockServerLogger) {
         super(configuration, mockServerLogger);
@@ -80,6 +83,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
             this.hashCode = 0;
             this.httpRequest = httpRequest;
             this.httpRequests = Collections.singletonList(this.httpRequest);
+            this.fieldMatchStatistics = new FieldMatchStatistics(DEFAULT_FIELD_ORDER);
             if (httpRequest != null) {
                 withMethod(httpRequest.getMethod());
                 withPath(httpRequest);
@@ -110,6 +114,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
 
     private void withPath(HttpRequest httpRequest) {
         this.pathMatcher = new RegexStringMatcher(mockServerLogger, pathParametersParser.normalisePathWithParametersForMatching(httpRequest), controlPlaneMatcher);
+        this.pathTemplate = pathParametersParser.compilePathTemplate(httpRequest);
     }
 
     private void withPathParameters(Parameters parameters) {
@@ -273,7 +278,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                     boolean pathMatches = StringUtils.isBlank(request.getPath().getValue()) || matches(PATH, context, pathMatcher, controlPlaneMatcher ? pathParametersParser.normalisePathWithParametersForMatching(request) : request.getPath());
                     Parameters pathParameters = null;
                     try {
-                        pathParameters = pathParametersParser.extractPathParameters(httpRequest, request);
+                        pathParameters = pathTemplate.extractPathParameters(request);
                     } catch (IllegalArgumentException iae) {
                         if (!httpRequest.getPath().isBlank()) {
                             if (context != null) {
@@ -287,64 +292,24 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                         return false;
                     }
 
-                    boolean bodyMatches = bodyMatches(context, request);
-                    if (failFast(bodyMatcher, context, matchDifferenceCount, becauseBuilder, bodyMatches, BODY)) {
-                        return false;
-                    }
-
-                    boolean headersMatch = matches(HEADERS, context, headerMatcher, request.getHeaders());
-                    if (failFast(headerMatcher, context, matchDifferenceCount, becauseBuilder, headersMatch, HEADERS)) {
-                        return false;
-                    }
-
-                    boolean cookiesMatch = matches(COOKIES, context, cookieMatcher, request.getCookies());
-                    if (failFast(cookieMatcher, context, matchDifferenceCount, becauseBuilder, cookiesMatch, COOKIES)) {
-                        return false;
-                    }
-
-                    boolean pathParametersMatches = true;
-                    if (!httpRequest.getPath().isBlank()) {
-                        if (!controlPlaneMatcher) {
-                            expandedParameterDecoder.splitParameters(httpRequest.getPathParameters(), pathParameters);
+                    FieldMatchStatistics fieldMatchStatistics = this.fieldMatchStatistics;
+                    boolean adaptiveFieldOrder = adaptiveFieldOrder(context, request);
+                    boolean sample = adaptiveFieldOrder && fieldMatchStatistics.sample();
+                    for (MatchDifference.Field field : adaptiveFieldOrder ? fieldMatchStatistics.order() : DEFAULT_FIELD_ORDER) {
+                        long start = sample ? System.nanoTime() : 0;
+                        boolean fieldMatches = matches(field, context, request, pathParameters);
+                        if (sample) {
+                            fieldMatchStatistics.record(field, System.nanoTime() - start, fieldMatches);
                         }
-                        MultiValueMapMatcher pathParameterMatcher = this.pathParameterMatcher;
-                        if (controlPlaneMatcher) {
-                            Parameters controlPlaneParameters;
-                            try {
-                                controlPlaneParameters = pathParametersParser.extractPathParameters(request, httpRequest);
-                            } catch (IllegalArgumentException iae) {
-                                controlPlaneParameters = new Parameters();
+                        if (failFast(matcher(field), context, matchDifferenceCount, becauseBuilder, fieldMatches, field)) {
+                            if (sample) {
+                                fieldMatchStatistics.sampleComplete();
                             }
-                            pathParameterMatcher = new MultiValueMapMatcher(mockServerLogger, controlPlaneParameters, controlPlaneMatcher);
-
+                            return false;
                         }
-                        pathParametersMatches = matches(PATH_PARAMETERS, context, pathParameterMatcher, pathParameters);
-                    }
-                    if (failFast(this.pathParameterMatcher, context, matchDifferenceCount, becauseBuilder, pathParametersMatches, PATH_PARAMETERS)) {
-                        return false;
-                    }
-
-                    if (!controlPlaneMatcher) {
-                        expandedParameterDecoder.splitParameters(httpRequest.getQueryStringParameters(), request.getQueryStringParameters());
                     }
-                    boolean queryStringParametersMatches = matches(QUERY_PARAMETERS, context, queryStringParameterMatcher, request.getQueryStringParameters());
-                    if (failFast(queryStringParameterMatcher, context, matchDifferenceCount, becauseBuilder, queryStringParametersMatches, QUERY_PARAMETERS)) {
-                        return false;
-                    }
-
-                    boolean keepAliveMatches = matches(KEEP_ALIVE, context, keepAliveMatcher, request.isKeepAlive());
-                    if (failFast(keepAliveMatcher, context, matchDifferenceCount, becauseBuilder, keepAliveMatches, KEEP_ALIVE)) {
-                        return false;
-                    }
-
-                    boolean sslMatches = matches(SECURE, context, sslMatcher, request.isSecure());
-                    if (failFast(sslMatcher, context, matchDifferenceCount, becauseBuilder, sslMatches, SECURE)) {
-                        return false;
-                    }
-
-                    boolean protocolMatches = matches(PROTOCOL, context, protocolMatcher, request.getProtocol() != null ? string(request.getProtocol().name()) : null);
-                    if (failFast(protocolMatcher, context, matchDifferenceCount, becauseBuilder, protocolMatches, PROTOCOL)) {
-                        return false;
+                    if (sample) {
+                        fieldMatchStatistics.sampleComplete();
                     }
 
                     boolean combinedResultAreTrue = combinedResultAreTrue(matchDifferenceCount.getFailures() == 0, request.isNot(), this.httpRequest.isNot(), not);
@@ -361,6 +326,89 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         return false;
     }
 
+    /**
+     * fields are only evaluated in order of cost per rejection when the order can't change the result or the match differences,
+     * which is when matching fails fast, 'not' operators aren't used and match differences aren't recorded
+     */
+    private boolean adaptiveFieldOrder(MatchDifference context, HttpRequest request) {
+        return configuration.matchersFailFast()
+            && (context == null || !context.isDetailedMatchFailures())
+            && !request.isNot()
+            && !this.httpRequest.isNot()
+            && !not;
+    }
+
+    private Matcher<?> matcher(MatchDifference.Field field) {
+        switch (field) {
+            case BODY:
+                return bodyMatcher;
+            case HEADERS:
+                return headerMatcher;
+            case COOKIES:
+                return cookieMatcher;
+            case PATH_PARAMETERS:
+                return pathParameterMatcher;
+            case QUERY_PARAMETERS:
+                return queryStringParameterMatcher;
+            case KEEP_ALIVE:
+                return keepAliveMatcher;
+            case SECURE:
+                return sslMatcher;
+            case PROTOCOL:
+                return protocolMatcher;
+            default:
+                return null;
+        }
+    }
+
+    private boolean matches(MatchDifference.Field field, MatchDifference context, HttpRequest request, Parameters pathParameters) {
+        switch (field) {
+            case BODY:
+                return bodyMatches(context, request);
+            case HEADERS:
+                return matches(HEADERS, context, headerMatcher, request.getHeaders());
+            case COOKIES:
+                return matches(COOKIES, context, cookieMatcher, request.getCookies());
+            case PATH_PARAMETERS:
+                return pathParametersMatches(context, request, pathParameters);
+            case QUERY_PARAMETERS:
+                if (!controlPlaneMatcher) {
+                    expandedParameterDecoder.splitParameters(httpRequest.getQueryStringParameters(), request.getQueryStringParameters());
+                }
+                return matches(QUERY_PARAMETERS, context, queryStringParameterMatcher, request.getQueryStringParameters());
+            case KEEP_ALIVE:
+                return matches(KEEP_ALIVE, context, keepAliveMatcher, request.isKeepAlive());
+            case SECURE:
+                return matches(SECURE, context, sslMatcher, request.isSecure());
+            case PROTOCOL:
+                return matches(PROTOCOL, context, protocolMatcher, request.getProtocol() != null ? string(request.getProtocol().name()) : null);
+            default:
+                return true;
+        }
+    }
+
+    private boolean pathParametersMatches(MatchDifference context, HttpRequest request, Parameters pathParameters) {
+        boolean pathParametersMatches = true;
+        if (!httpRequest.getPath().isBlank()) {
+            if (!controlPlaneMatcher) {
+                expandedParameterDecoder.splitParameters(httpRequest.getPathParameters(), pathParameters);
+            }
+            MultiValueMapMatcher pathParameterMatcher = this.pathParameterMatcher;
+            if (controlPlaneMatcher) {
+                Parameters controlPlaneParameters;
+                try {
+                    controlPlaneParameters = pathParametersParser.extractPathParameters(request, httpRequest);
+                } catch (IllegalArgumentException iae) {
+                    controlPlaneParameters = new Parameters();
+                }
+                pathParameterMatcher = new MultiValueMapMatcher(mockServerLogger, controlPlaneParameters, controlPlaneMatcher);
+
+            }
+            pathParametersMatches = matches(PATH_PARAMETERS, context, pathParameterMatcher, pathParameters);
+        }
+        return pathParametersMatches;
+    }
+
     private boolean failFast(Matcher<?> matcher, MatchDifference context, MatchDifferenceCount matchDifferenceCount, StringBuilder becauseBuilder, boolean fieldMatches, MatchDifference.Field fieldName) {
         // update because builder
         if (!controlPlaneMatcher) {
@@ -457,36 +505,45 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         } else if (bodyMatcher instanceof BinaryMatcher) {
             bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsRawBytes());
         } else {
+            ParsedBody parsedBody = request.parsedBody();
             if (bodyMatcher instanceof ExactStringMatcher ||
                 bodyMatcher instanceof SubStringMatcher ||
                 bodyMatcher instanceof RegexStringMatcher) {
                 // string body matcher
-                bodyMatches = matches(BODY, context, bodyMatcher, string(request.getBodyAsString()));
+                bodyMatches = matches(BODY, context, bodyMatcher, string(parsedBody.bodyAsString()));
             } else if (bodyMatcher instanceof XmlStringMatcher ||
-                bodyMatcher instanceof XmlSchemaMatcher
+                bodyMatcher instanceof XmlSchemaMatcher ||
+                bodyMatcher instanceof XPathMatcher
             ) {
                 // xml body matcher
-                bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsString());
+                bodyMatches = matches(BODY, context, bodyMatcher, parsedBody, parsedBody.bodyAsString());
             } else if (bodyMatcher instanceof JsonStringMatcher ||
                 bodyMatcher instanceof JsonSchemaMatcher ||
                 bodyMatcher instanceof JsonPathMatcher
             ) {
                 // json body matcher
                 try {
-                    bodyMatches = matches(BODY, context, bodyMatcher, jsonSchemaBodyParser.convertToJson(request, bodyMatcher));
+                    bodyMatches = matches(BODY, context, bodyMatcher, parsedBody, jsonSchemaBodyParser.convertToJson(request, bodyMatcher));
                 } catch (IllegalArgumentException iae) {
                     if (context != null) {
                         context.addDifference(mockServerLogger, iae, iae.getMessage());
                     }
-                    bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsString());
+                    bodyMatches = matches(BODY, context, bodyMatcher, parsedBody, parsedBody.bodyAsString());
                 }
             } else {
-                bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsString());
+                bodyMatches = matches(BODY, context, bodyMatcher, parsedBody, parsedBody.bodyAsString());
             }
         }
         return bodyMatches;
     }
 
+    private <T> boolean matches(MatchDifference.Field field, MatchDifference context, BodyMatcher<T> matcher, ParsedBody parsedBody, T t) {
+        if (context != null) {
+            context.currentField(field);
+        }
+        return matcher.matches(context, parsedBody, t);
+    }
+
     private <T> boolean matches(MatchDifference.Field field, MatchDifference context, Matcher<T> matcher, T t) {
         if (context != null) {
             context.currentField(field);
@@ -6,6 +6,7 @@ import net.minidev.json.JSONArray;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ParsedBody;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.slf4j.event.Level.DEBUG;
@@ -41,6 +42,11 @@ public class JsonPathMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, final String matched) {
+        return matches(context, new ParsedBody(), matched);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final ParsedBody parsedBody, final String matched) {
         boolean result = false;
         boolean alreadyLoggedMatchFailure = false;
 
@@ -53,7 +59,7 @@ public class JsonPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                result = !jsonPath.<JSONArray>read(matched).isEmpty();
+                result = !jsonPath.<JSONArray>read(parsedBody.jsonPathDocument(matched)).isEmpty();
             } catch (Throwable throwable) {
                 if (context != null) {
                     context.addDifference(mockServerLogger, throwable, "json path match failed expected:{}found:{}failed because:{}", matcher, matched, throwable.getMessage());
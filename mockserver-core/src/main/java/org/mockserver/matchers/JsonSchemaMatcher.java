@@ -1,9 +1,11 @@
 package org.mockserver.matchers;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.ParameterStyle;
+import org.mockserver.model.ParsedBody;
 import org.mockserver.validator.jsonschema.JsonSchemaValidator;
 
 import java.util.Map;
@@ -37,13 +39,29 @@ public class JsonSchemaMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, String matched) {
+        return matches(context, new ParsedBody(), matched);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final ParsedBody parsedBody, String matched) {
         boolean result = false;
 
         if (matcher.equalsIgnoreCase(matched)) {
             result = true;
         } else if (!StringUtils.isBlank(matched)) {
             try {
-                String validation = jsonSchemaValidator.isValid(matched, false);
+                String validation;
+                JsonNode jsonNode = null;
+                try {
+                    jsonNode = parsedBody.jsonNode(matched);
+                } catch (Exception ignore) {
+                    // validator reports the parse failure below
+                }
+                if (jsonNode != null) {
+                    validation = jsonSchemaValidator.isValid(jsonNode, false);
+                } else {
+                    validation = jsonSchemaValidator.isValid(matched, false);
+                }
 
                 result = validation.isEmpty();
 
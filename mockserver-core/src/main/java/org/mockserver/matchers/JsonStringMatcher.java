@@ -12,6 +12,7 @@ import net.javacrumbs.jsonunit.core.listener.DifferenceContext;
 import net.javacrumbs.jsonunit.core.listener.DifferenceListener;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ParsedBody;
 import org.mockserver.serialization.ObjectMapperFactory;
 
 import java.util.ArrayList;
@@ -39,6 +40,11 @@ public class JsonStringMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, String matched) {
+        return matches(context, new ParsedBody(), matched);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final ParsedBody parsedBody, String matched) {
         boolean result = false;
 
         try {
@@ -67,7 +73,7 @@ public class JsonStringMatcher extends BodyMatcher<String> {
                     result = Diff
                         .create(
                             matcherJsonNode,
-                            ObjectMapperFactory.createObjectMapper().readTree(matched),
+                            parsedBody.jsonNode(matched),
                             "",
                             "",
                             diffConfig
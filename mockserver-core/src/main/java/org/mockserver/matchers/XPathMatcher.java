@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ParsedBody;
 import org.mockserver.xml.StringToXmlDocumentParser;
 import org.mockserver.xml.XPathEvaluator;
 import org.xml.sax.SAXException;
@@ -58,6 +59,11 @@ public class XPathMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, final String matched) {
+        return matches(context, new ParsedBody(), matched);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final ParsedBody parsedBody, final String matched) {
         boolean result = false;
         boolean alreadyLoggedMatchFailure = false;
 
@@ -70,7 +76,7 @@ public class XPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                result = (Boolean) xPathEvaluator.evaluateXPathExpression(matched, (matchedInException, throwable, level) -> {
+                result = (Boolean) xPathEvaluator.evaluateXPathExpression(parsedBody, matched, (matchedInException, throwable, level) -> {
                     if (context != null) {
                         context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because " + prettyPrint(level) + ":{}", matcher, matched, throwable.getMessage());
                     }
@@ -140,7 +140,14 @@ public class Metrics {
         ERROR_ACTIONS_COUNT("Action error count"),
         WEBSOCKET_CALLBACK_CLIENTS_COUNT("Websocket callback client count"),
         WEBSOCKET_CALLBACK_RESPONSE_HANDLERS_COUNT("Websocket callback response handler count"),
-        WEBSOCKET_CALLBACK_FORWARD_HANDLERS_COUNT("Websocket callback forward handler count");
+        WEBSOCKET_CALLBACK_FORWARD_HANDLERS_COUNT("Websocket callback forward handler count"),
+        FORWARD_CONNECTIONS_OPENED_COUNT("Forward connections opened count"),
+        FORWARD_CONNECTIONS_REUSED_COUNT("Forward connections reused count"),
+        FORWARD_CONNECTIONS_IDLE_COUNT("Forward connections idle count"),
+        FORWARD_CONNECTIONS_EVICTED_COUNT("Forward connections evicted count"),
+        COMPILED_TEMPLATES_COUNT("Compiled templates count"),
+        COMPILED_TEMPLATES_HIT_PERCENTAGE("Compiled templates cache hit percentage"),
+        EXPECTATION_BATCH_INGEST_MILLIS("Expectation batch ingest time in milliseconds");
 
         public final String description;
 
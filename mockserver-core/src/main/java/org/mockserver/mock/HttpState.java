@@ -7,6 +7,7 @@ import org.mockserver.closurecallback.websocketregistry.LocalCallbackRegistry;
 import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.MockServerEventLog;
+import org.mockserver.log.RegisteredVerification;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.memory.MemoryMonitoring;
@@ -244,11 +245,10 @@ public class HttpState {
     }
 
     public List<Expectation> add(OpenAPIExpectation openAPIExpectation) {
-        return getOpenAPIConverter().buildExpectations(openAPIExpectation.getSpecUrlOrPayload(), openAPIExpectation.getOperationsAndResponses()).stream().map(this::add).flatMap(List::stream).collect(Collectors.toList());
+        return add(getOpenAPIConverter().buildExpectations(openAPIExpectation.getSpecUrlOrPayload(), openAPIExpectation.getOperationsAndResponses()).toArray(new Expectation[0]));
     }
 
     public List<Expectation> add(Expectation... expectations) {
-        List<Expectation> upsertedExpectations = new ArrayList<>();
         for (Expectation expectation : expectations) {
             RequestDefinition requestDefinition = expectation.getHttpRequest();
             if (requestDefinition instanceof HttpRequest) {
@@ -257,9 +257,8 @@ public class HttpState {
                     scheduler.submit(() -> configuration.addSubjectAlternativeName(hostHeader));
                 }
             }
-            upsertedExpectations.add(requestMatchers.add(expectation, Cause.API));
         }
-        return upsertedExpectations;
+        return requestMatchers.add(Arrays.asList(expectations), Cause.API);
     }
 
     public Expectation firstMatchingExpectation(HttpRequest request) {
@@ -574,6 +573,41 @@ public class HttpState {
         mockServerLog.verify(verificationSequence, resultConsumer);
     }
 
+    public Future<RegisteredVerification> registerVerification(Verification verification) {
+        CompletableFuture<RegisteredVerification> result = new CompletableFuture<>();
+        registerVerification(verification, result::complete);
+        return result;
+    }
+
+    public void registerVerification(Verification verification, Consumer<RegisteredVerification> resultConsumer) {
+        if (verification.getExpectationId() != null) {
+            // check valid expectation id and populate for error message
+            verification.withRequest(resolveExpectationId(verification.getExpectationId()));
+        }
+        mockServerLog.registerVerification(verification, resultConsumer);
+    }
+
+    public Future<RegisteredVerification> registerVerification(VerificationSequence verificationSequence) {
+        CompletableFuture<RegisteredVerification> result = new CompletableFuture<>();
+        registerVerification(verificationSequence, result::complete);
+        return result;
+    }
+
+    public void registerVerification(VerificationSequence verificationSequence, Consumer<RegisteredVerification> resultConsumer) {
+        if (verificationSequence.getExpectationIds() != null && !verificationSequence.getExpectationIds().isEmpty()) {
+            verificationSequence.withRequests(resolveExpectationIds(verificationSequence.getExpectationIds()));
+        }
+        mockServerLog.registerVerification(verificationSequence, resultConsumer);
+    }
+
+    public RegisteredVerification retrieveRegisteredVerification(String id) {
+        return mockServerLog.retrieveRegisteredVerification(id);
+    }
+
+    public RegisteredVerification removeRegisteredVerification(String id) {
+        return mockServerLog.removeRegisteredVerification(id);
+    }
+
     public boolean handle(HttpRequest request, ResponseWriter responseWriter, boolean warDeployment) {
 
         request.withLogCorrelationId(UUIDService.getUUID());
@@ -596,12 +630,13 @@ public class HttpState {
             if (request.matches("PUT", PATH_PREFIX + "/expectation", "/expectation")) {
 
                 if (controlPlaneRequestAuthenticated(request, responseWriter)) {
-                    List<Expectation> upsertedExpectations = new ArrayList<>();
+                    List<Expectation> supportedExpectations = new ArrayList<>();
                     for (Expectation expectation : getExpectationSerializer().deserializeArray(request.getBodyAsJsonOrXmlString(), false)) {
                         if (!warDeployment || validateSupportedFeatures(expectation, request, responseWriter)) {
-                            upsertedExpectations.addAll(add(expectation));
+                            supportedExpectations.add(expectation);
                         }
                     }
+                    List<Expectation> upsertedExpectations = add(supportedExpectations.toArray(new Expectation[0]));
 
                     responseWriter.writeResponse(request, response()
                         .withStatusCode(CREATED.code())
@@ -691,6 +726,59 @@ public class HttpState {
                     canHandle.complete(true);
                 }
 
+            } else if (request.matches("PUT", PATH_PREFIX + "/registerVerification", "/registerVerification")) {
+
+                if (controlPlaneRequestAuthenticated(request, responseWriter)) {
+                    registerVerification(getVerificationSerializer().deserialize(request.getBodyAsJsonOrXmlString()), registeredVerification -> {
+                        responseWriter.writeResponse(request, CREATED, registeredVerification.getId(), MediaType.create("text", "plain").toString());
+                        canHandle.complete(true);
+                    });
+                } else {
+                    canHandle.complete(true);
+                }
+
+            } else if (request.matches("PUT", PATH_PREFIX + "/registerVerificationSequence", "/registerVerificationSequence")) {
+
+                if (controlPlaneRequestAuthenticated(request, responseWriter)) {
+                    registerVerification(getVerificationSequenceSerializer().deserialize(request.getBodyAsJsonOrXmlString()), registeredVerification -> {
+                        responseWriter.writeResponse(request, CREATED, registeredVerification.getId(), MediaType.create("text", "plain").toString());
+                        canHandle.complete(true);
+                    });
+                } else {
+                    canHandle.complete(true);
+                }
+
+            } else if (request.matches("PUT", PATH_PREFIX + "/verifyRegistered", "/verifyRegistered")) {
+
+                if (controlPlaneRequestAuthenticated(request, responseWriter)) {
+                    String id = request.getBodyAsString();
+                    RegisteredVerification registeredVerification = retrieveRegisteredVerification(isNotBlank(id) ? id.trim() : null);
+                    if (registeredVerification == null) {
+                        responseWriter.writeResponse(request, NOT_FOUND, "no registered verification found with id " + id, MediaType.create("text", "plain").toString());
+                    } else {
+                        String result = registeredVerification.result();
+                        if (isEmpty(result)) {
+                            responseWriter.writeResponse(request, ACCEPTED);
+                        } else {
+                            responseWriter.writeResponse(request, NOT_ACCEPTABLE, result, MediaType.create("text", "plain").toString());
+                        }
+                    }
+                }
+                canHandle.complete(true);
+
+            } else if (request.matches("PUT", PATH_PREFIX + "/unregisterVerification", "/unregisterVerification")) {
+
+                if (controlPlaneRequestAuthenticated(request, responseWriter)) {
+                    String id = request.getBodyAsString();
+                    RegisteredVerification registeredVerification = removeRegisteredVerification(isNotBlank(id) ? id.trim() : null);
+                    if (registeredVerification == null) {
+                        responseWriter.writeResponse(request, NOT_FOUND, "no registered verification found with id " + id, MediaType.create("text", "plain").toString());
+                    } else {
+                        responseWriter.writeResponse(request, OK);
+                    }
+                }
+                canHandle.complete(true);
+
             } else {
 
                 canHandle.complete(false);
@@ -780,6 +868,9 @@ public class HttpState {
         if (expectationFileWatcher != null) {
             expectationFileWatcher.stop();
         }
+        if (controlPlaneAuthenticationHandler != null) {
+            controlPlaneAuthenticationHandler.close();
+        }
         getMockServerLog().stop();
     }
 
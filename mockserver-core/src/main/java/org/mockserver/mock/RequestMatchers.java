@@ -6,19 +6,23 @@ import org.mockserver.collections.CircularPriorityQueue;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.StaticResponseBodyCache;
 import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.HttpRequestMatcherIndex;
 import org.mockserver.matchers.MatchDifference;
 import org.mockserver.matchers.MatcherBuilder;
 import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.model.*;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.templates.engine.CompiledTemplateCache;
 import org.mockserver.uuid.UUIDService;
 import org.slf4j.event.Level;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -39,6 +43,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
 
     final CircularPriorityQueue<String, HttpRequestMatcher, SortableExpectationId> httpRequestMatchers;
     final CircularHashMap<String, RequestDefinition> expectationRequestDefinitions;
+    final HttpRequestMatcherIndex httpRequestMatcherIndex = new HttpRequestMatcherIndex();
     private final MockServerLogger mockServerLogger;
     private final Configuration configuration;
     private final Scheduler scheduler;
@@ -58,7 +63,8 @@ public class RequestMatchers extends MockServerMatcherNotifier {
             configuration.maxExpectations(),
             EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
             httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getSortableId() : NULL,
-            httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getId() : ""
+            httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getId() : "",
+            httpRequestMatcherIndex::remove
         );
         expectationRequestDefinitions = new CircularHashMap<>(configuration.maxExpectations());
         if (MockServerLogger.isEnabled(TRACE) && mockServerLogger != null) {
@@ -73,45 +79,82 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     public Expectation add(Expectation expectation, Cause cause) {
         Expectation upsertedExpectation = null;
         if (expectation != null) {
-            expectationRequestDefinitions.put(expectation.getId(), expectation.getHttpRequest());
-            upsertedExpectation = httpRequestMatchers
-                .getByKey(expectation.getId())
-                .map(httpRequestMatcher -> {
-                    if (httpRequestMatcher.getExpectation() != null && httpRequestMatcher.getExpectation().getAction() != null) {
-                        metrics.decrement(httpRequestMatcher.getExpectation().getAction().getType());
-                    }
-                    if (httpRequestMatcher.getExpectation() != null) {
-                        // propagate created time from previous entry to avoid re-ordering on update
-                        expectation.withCreated(httpRequestMatcher.getExpectation().getCreated());
-                    }
-                    httpRequestMatchers.removePriorityKey(httpRequestMatcher);
-                    if (httpRequestMatcher.update(expectation)) {
-                        httpRequestMatchers.addPriorityKey(httpRequestMatcher);
-                        if (MockServerLogger.isEnabled(Level.INFO)) {
-                            mockServerLogger.logEvent(
-                                new LogEntry()
-                                    .setType(UPDATED_EXPECTATION)
-                                    .setLogLevel(Level.INFO)
-                                    .setHttpRequest(expectation.getHttpRequest())
-                                    .setMessageFormat(UPDATED_EXPECTATION_MESSAGE_FORMAT)
-                                    .setArguments(expectation.clone(), expectation.getId())
-                            );
-                        }
-                        if (expectation.getAction() != null) {
-                            metrics.increment(expectation.getAction().getType());
-                        }
-                    } else {
-                        httpRequestMatchers.addPriorityKey(httpRequestMatcher);
-                    }
-                    return httpRequestMatcher;
-                })
-                .orElseGet(() -> addPrioritisedExpectation(expectation, cause))
-                .getExpectation();
+            upsertedExpectation = upsert(expectation, null, cause);
             notifyListeners(this, cause);
         }
         return upsertedExpectation;
     }
 
+    /**
+     * Adds or updates a batch of expectations notifying listeners once, instead of once per expectation, matchers for
+     * new expectations are built in parallel before any of the expectations are added
+     */
+    public List<Expectation> add(List<Expectation> expectations, Cause cause) {
+        List<Expectation> upsertedExpectations = new ArrayList<>();
+        if (expectations != null && !expectations.isEmpty()) {
+            long start = System.currentTimeMillis();
+            HttpRequestMatcher[] newHttpRequestMatchers = new HttpRequestMatcher[expectations.size()];
+            IntStream.range(0, expectations.size()).parallel().forEach(i -> {
+                Expectation expectation = expectations.get(i);
+                if (expectation != null && !httpRequestMatchers.getByKey(expectation.getId()).isPresent()) {
+                    newHttpRequestMatchers[i] = matcherBuilder.transformsToMatcher(expectation);
+                }
+            });
+            for (int i = 0; i < expectations.size(); i++) {
+                if (expectations.get(i) != null) {
+                    upsertedExpectations.add(upsert(expectations.get(i), newHttpRequestMatchers[i], cause));
+                }
+            }
+            metrics.set(EXPECTATION_BATCH_INGEST_MILLIS, (int) (System.currentTimeMillis() - start));
+            if (!upsertedExpectations.isEmpty()) {
+                notifyListeners(this, cause);
+            }
+        }
+        return upsertedExpectations;
+    }
+
+    private Expectation upsert(Expectation expectation, HttpRequestMatcher newHttpRequestMatcher, Cause cause) {
+        expectationRequestDefinitions.put(expectation.getId(), expectation.getHttpRequest());
+        return httpRequestMatchers
+            .getByKey(expectation.getId())
+            .map(httpRequestMatcher -> {
+                if (httpRequestMatcher.getExpectation() != null && httpRequestMatcher.getExpectation().getAction() != null) {
+                    metrics.decrement(httpRequestMatcher.getExpectation().getAction().getType());
+                }
+                if (httpRequestMatcher.getExpectation() != null) {
+                    // propagate created time from previous entry to avoid re-ordering on update
+                    expectation.withCreated(httpRequestMatcher.getExpectation().getCreated());
+                }
+                httpRequestMatchers.removePriorityKey(httpRequestMatcher);
+                Expectation previousExpectation = httpRequestMatcher.getExpectation();
+                if (httpRequestMatcher.update(expectation)) {
+                    httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                    httpRequestMatcherIndex.add(httpRequestMatcher);
+                    StaticResponseBodyCache.invalidate(previousExpectation);
+                    CompiledTemplateCache.invalidate(previousExpectation);
+                    StaticResponseBodyCache.encode(httpRequestMatcher.getExpectation());
+                    if (MockServerLogger.isEnabled(Level.INFO)) {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setType(UPDATED_EXPECTATION)
+                                .setLogLevel(Level.INFO)
+                                .setHttpRequest(expectation.getHttpRequest())
+                                .setMessageFormat(UPDATED_EXPECTATION_MESSAGE_FORMAT)
+                                .setArguments(expectation.clone(), expectation.getId())
+                        );
+                    }
+                    if (expectation.getAction() != null) {
+                        metrics.increment(expectation.getAction().getType());
+                    }
+                } else {
+                    httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                }
+                return httpRequestMatcher;
+            })
+            .orElseGet(() -> addPrioritisedExpectation(newHttpRequestMatcher != null ? newHttpRequestMatcher : matcherBuilder.transformsToMatcher(expectation), expectation, cause))
+            .getExpectation();
+    }
+
     public void update(Expectation[] expectations, Cause cause) {
         AtomicInteger numberOfChanges = new AtomicInteger(0);
         if (expectations != null) {
@@ -143,8 +186,13 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                                 expectation.withCreated(httpRequestMatcher.getExpectation().getCreated());
                             }
                             httpRequestMatchers.removePriorityKey(httpRequestMatcher);
+                            Expectation previousExpectation = httpRequestMatcher.getExpectation();
                             if (httpRequestMatcher.update(expectation)) {
                                 httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                                httpRequestMatcherIndex.add(httpRequestMatcher);
+                                StaticResponseBodyCache.invalidate(previousExpectation);
+                                CompiledTemplateCache.invalidate(previousExpectation);
+                                StaticResponseBodyCache.encode(httpRequestMatcher.getExpectation());
                                 numberOfChanges.getAndIncrement();
                                 if (MockServerLogger.isEnabled(Level.INFO)) {
                                     mockServerLogger.logEvent(
@@ -163,7 +211,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                                 httpRequestMatchers.addPriorityKey(httpRequestMatcher);
                             }
                         } else {
-                            addPrioritisedExpectation(expectation, cause);
+                            addPrioritisedExpectation(matcherBuilder.transformsToMatcher(expectation), expectation, cause);
                             numberOfChanges.getAndIncrement();
                         }
                     }
@@ -183,9 +231,12 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         }
     }
 
-    private HttpRequestMatcher addPrioritisedExpectation(Expectation expectation, Cause cause) {
-        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(expectation);
+    private HttpRequestMatcher addPrioritisedExpectation(HttpRequestMatcher httpRequestMatcher, Expectation expectation, Cause cause) {
         httpRequestMatchers.add(httpRequestMatcher);
+        if (httpRequestMatchers.getByKey(expectation.getId()).orElse(null) == httpRequestMatcher) {
+            httpRequestMatcherIndex.add(httpRequestMatcher);
+            StaticResponseBodyCache.encode(httpRequestMatcher.getExpectation());
+        }
         httpRequestMatcher.withSource(cause);
         if (expectation.getAction() != null) {
             metrics.increment(expectation.getAction().getType());
@@ -210,6 +261,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     public void reset(Cause cause) {
         httpRequestMatchers.stream().forEach(httpRequestMatcher -> removeHttpRequestMatcher(httpRequestMatcher, cause, false, UUIDService.getUUID()));
         expectationRequestDefinitions.clear();
+        httpRequestMatcherIndex.clear();
         Metrics.clearActionMetrics();
         Metrics.clearRequestAndExpectationMetrics();
         notifyListeners(this, cause);
@@ -220,7 +272,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     }
 
     public Expectation firstMatchingExpectation(HttpRequest httpRequest) {
-        Optional<Expectation> first = getHttpRequestMatchersCopy()
+        Optional<Expectation> first = getCandidateHttpRequestMatchers(httpRequest)
             .map(httpRequestMatcher -> {
                 Expectation matchingExpectation = null;
                 boolean remainingMatchesDecremented = false;
@@ -326,6 +378,9 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     @SuppressWarnings("rawtypes")
     private void removeHttpRequestMatcher(HttpRequestMatcher httpRequestMatcher, Cause cause, boolean notifyAndUpdateMetrics, String logCorrelationId) {
         if (httpRequestMatchers.remove(httpRequestMatcher)) {
+            httpRequestMatcherIndex.remove(httpRequestMatcher);
+            StaticResponseBodyCache.invalidate(httpRequestMatcher.getExpectation());
+            CompiledTemplateCache.invalidate(httpRequestMatcher.getExpectation());
             if (httpRequestMatcher.getExpectation() != null && MockServerLogger.isEnabled(Level.INFO)) {
                 Expectation expectation = httpRequestMatcher.getExpectation().clone();
                 mockServerLogger.logEvent(
@@ -410,4 +465,13 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     private Stream<HttpRequestMatcher> getHttpRequestMatchersCopy() {
         return httpRequestMatchers.stream();
     }
+
+    private Stream<HttpRequestMatcher> getCandidateHttpRequestMatchers(HttpRequest httpRequest) {
+        List<HttpRequestMatcher> candidates = httpRequestMatcherIndex.candidates(httpRequest);
+        if (candidates != null) {
+            return candidates.stream();
+        } else {
+            return getHttpRequestMatchersCopy();
+        }
+    }
 }
@@ -7,6 +7,7 @@ import org.mockserver.scheduler.Scheduler;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author jamesdbloom
@@ -16,12 +17,14 @@ public class MockServerEventLogNotifier extends ObjectWithReflectiveEqualsHashCo
     private boolean listenerAdded = false;
     private final List<MockServerLogListener> listeners = Collections.synchronizedList(new ArrayList<>());
     private final Scheduler scheduler;
+    private final transient AtomicLong changeSequence = new AtomicLong();
 
     public MockServerEventLogNotifier(Scheduler scheduler) {
         this.scheduler = scheduler;
     }
 
     protected void notifyListeners(final MockServerEventLog notifier, boolean synchronous) {
+        changeSequence.incrementAndGet();
         if (listenerAdded && !listeners.isEmpty()) {
             scheduler.submit(() -> {
                 for (MockServerLogListener listener : listeners.toArray(new MockServerLogListener[0])) {
@@ -31,6 +34,14 @@ public class MockServerEventLogNotifier extends ObjectWithReflectiveEqualsHashCo
         }
     }
 
+    /**
+     * Incremented for each change notified to listeners, including when there are no listeners, so anything
+     * derived from the current state can be reused until the sequence changes
+     */
+    public long changeSequence() {
+        return changeSequence.get();
+    }
+
     public void registerListener(MockServerLogListener listener) {
         listeners.add(listener);
         listenerAdded = true;
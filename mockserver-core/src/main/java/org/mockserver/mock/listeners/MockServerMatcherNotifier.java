@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author jamesdbloom
@@ -17,12 +18,14 @@ public class MockServerMatcherNotifier extends ObjectWithReflectiveEqualsHashCod
     private boolean listenerAdded = false;
     private final List<MockServerMatcherListener> listeners = Collections.synchronizedList(new ArrayList<>());
     private final Scheduler scheduler;
+    private final transient AtomicLong changeSequence = new AtomicLong();
 
     public MockServerMatcherNotifier(Scheduler scheduler) {
         this.scheduler = scheduler;
     }
 
     protected void notifyListeners(final RequestMatchers notifier, Cause cause) {
+        changeSequence.incrementAndGet();
         if (listenerAdded && !listeners.isEmpty()) {
             for (MockServerMatcherListener listener : listeners.toArray(new MockServerMatcherListener[0])) {
                 scheduler.submit(() -> listener.updated(notifier, cause));
@@ -30,6 +33,14 @@ public class MockServerMatcherNotifier extends ObjectWithReflectiveEqualsHashCod
         }
     }
 
+    /**
+     * Incremented for each change notified to listeners, including when there are no listeners, so anything
+     * derived from the current state can be reused until the sequence changes
+     */
+    public long changeSequence() {
+        return changeSequence.get();
+    }
+
     public void registerListener(MockServerMatcherListener listener) {
         listeners.add(listener);
         listenerAdded = true;
@@ -40,6 +40,7 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
     private SocketAddress socketAddress;
     private String localAddress;
     private String remoteAddress;
+    private ParsedBody parsedBody;
 
     public static HttpRequest request() {
         return new HttpRequest();
@@ -814,6 +815,20 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
         }
     }
 
+    /**
+     * Decoded and parsed representations of the body, built lazily and shared by all body matchers
+     * so the body is parsed at most once per format, a new instance is returned if the body is replaced
+     */
+    @JsonIgnore
+    public ParsedBody parsedBody() {
+        ParsedBody parsedBody = this.parsedBody;
+        if (parsedBody == null || parsedBody.getBody() != body) {
+            parsedBody = new ParsedBody(body);
+            this.parsedBody = parsedBody;
+        }
+        return parsedBody;
+    }
+
     @JsonIgnore
     public String getBodyAsJsonOrXmlString() {
         if (body != null) {
@@ -0,0 +1,145 @@
+package org.mockserver.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jayway.jsonpath.Configuration;
+import org.mockserver.serialization.ObjectMapperFactory;
+import org.mockserver.xml.StringToXmlDocumentParser;
+import org.w3c.dom.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Decoded and parsed representations of a request body, built lazily and shared by all body matchers
+ * so a request body is decoded once and parsed at most once per format, however many expectations it
+ * is matched against.
+ * <p>
+ * Each parsed value is cached with the string it was parsed from and only reused for an equal string,
+ * failures are cached as well so an invalid body isn't parsed again for every expectation.
+ * <p>
+ * Parsed DOM documents are not thread safe even for reads so must be synchronized on while being read.
+ *
+ * @author jamesdbloom
+ */
+public class ParsedBody {
+
+    private static final StringToXmlDocumentParser STRING_TO_XML_DOCUMENT_PARSER = new StringToXmlDocumentParser();
+    private final Body<?> body;
+    private volatile String bodyAsString;
+    private volatile Parsed<JsonNode> jsonNode;
+    private volatile Parsed<Object> jsonPathDocument;
+    private volatile Parsed<Document> xmlDocument;
+    private volatile Parsed<Document> namespaceAwareXmlDocument;
+
+    /**
+     * Creates an instance without a body that only caches values parsed from the strings passed to it
+     */
+    public ParsedBody() {
+        this(null);
+    }
+
+    ParsedBody(Body<?> body) {
+        this.body = body;
+    }
+
+    Body<?> getBody() {
+        return body;
+    }
+
+    public String bodyAsString() {
+        if (bodyAsString == null && body != null) {
+            bodyAsString = body.toString();
+        }
+        return bodyAsString;
+    }
+
+    /**
+     * JSON tree parsed using the same ObjectMapper as the json body matchers
+     */
+    public JsonNode jsonNode(String json) throws Exception {
+        Parsed<JsonNode> parsed = jsonNode;
+        if (parsed == null || !parsed.isFor(json)) {
+            parsed = parse(json, () -> ObjectMapperFactory.createObjectMapper().readTree(json), null);
+            jsonNode = parsed;
+        }
+        return parsed.get(null);
+    }
+
+    /**
+     * JSON document parsed by the default json path provider, the same as used when a json path is read from a string
+     */
+    public Object jsonPathDocument(String json) throws Exception {
+        Parsed<Object> parsed = jsonPathDocument;
+        if (parsed == null || !parsed.isFor(json)) {
+            parsed = parse(json, () -> Configuration.defaultConfiguration().jsonProvider().parse(json), null);
+            jsonPathDocument = parsed;
+        }
+        return parsed.get(null);
+    }
+
+    /**
+     * DOM document, any warnings or errors from parsing are passed to the errorLogger each time the document is returned
+     */
+    public Document xmlDocument(String xml, StringToXmlDocumentParser.ErrorLogger errorLogger, boolean namespaceAware) throws Exception {
+        Parsed<Document> parsed = namespaceAware ? namespaceAwareXmlDocument : xmlDocument;
+        if (parsed == null || !parsed.isFor(xml)) {
+            List<XmlError> errors = new ArrayList<>();
+            parsed = parse(xml, () -> STRING_TO_XML_DOCUMENT_PARSER.buildDocument(xml, (xmlAsString, exception, level) -> errors.add(new XmlError(exception, level)), namespaceAware), errors);
+            if (namespaceAware) {
+                namespaceAwareXmlDocument = parsed;
+            } else {
+                xmlDocument = parsed;
+            }
+        }
+        return parsed.get(errorLogger);
+    }
+
+    private static <T> Parsed<T> parse(String source, Callable<T> parser, List<XmlError> errors) {
+        try {
+            return new Parsed<>(source, parser.call(), null, errors);
+        } catch (Exception exception) {
+            return new Parsed<>(source, null, exception, errors);
+        }
+    }
+
+    private static class Parsed<T> {
+        private final String source;
+        private final T value;
+        private final Exception failure;
+        private final List<XmlError> errors;
+
+        private Parsed(String source, T value, Exception failure, List<XmlError> errors) {
+            this.source = source;
+            this.value = value;
+            this.failure = failure;
+            this.errors = errors;
+        }
+
+        private boolean isFor(String source) {
+            return this.source == source || (this.source != null && this.source.equals(source));
+        }
+
+        private T get(StringToXmlDocumentParser.ErrorLogger errorLogger) throws Exception {
+            if (errorLogger != null && errors != null) {
+                for (XmlError error : errors) {
+                    errorLogger.logError(source, error.exception, error.level);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        }
+    }
+
+    private static class XmlError {
+        private final Exception exception;
+        private final StringToXmlDocumentParser.ErrorLevel level;
+
+        private XmlError(Exception exception, StringToXmlDocumentParser.ErrorLevel level) {
+            this.exception = exception;
+            this.level = level;
+        }
+    }
+}
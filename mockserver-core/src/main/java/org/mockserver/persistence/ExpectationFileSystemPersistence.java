@@ -37,6 +37,7 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
     private final Path filePath;
     private final boolean initializationPathMatchesPersistencePath;
     private final ReentrantLock fileWriteLock = new ReentrantLock();
+    private final ExpectationJournal expectationJournal;
 
     public ExpectationFileSystemPersistence(Configuration configuration, MockServerLogger mockServerLogger, RequestMatchers requestMatchers) {
         this.configuration = configuration;
@@ -57,6 +58,25 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
                 );
             }
             this.initializationPathMatchesPersistencePath = FilePath.expandFilePathGlobs(configuration.initializationJsonPath()).contains(configuration.persistedExpectationsPath());
+            if (configuration.persistedExpectationsJournal()) {
+                this.expectationJournal = new ExpectationJournal(filePath, this::serialize, mockServerLogger);
+                try {
+                    List<Expectation> expectations = expectationJournal.replay();
+                    if (!expectations.isEmpty()) {
+                        requestMatchers.add(expectations, MockServerMatcherNotifier.Cause.API);
+                    }
+                    expectationJournal.persisted(requestMatchers.retrieveActiveExpectations(null));
+                } catch (Throwable throwable) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.ERROR)
+                            .setMessageFormat("exception replaying persisted expectations journal " + expectationJournal.getJournalPath())
+                            .setThrowable(throwable)
+                    );
+                }
+            } else {
+                this.expectationJournal = null;
+            }
             requestMatchers.registerListener(this);
             if (MockServerLogger.isEnabled(INFO) && mockServerLogger != null) {
                 mockServerLogger.logEvent(
@@ -72,6 +92,7 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
             this.objectWriter = null;
             this.filePath = null;
             this.initializationPathMatchesPersistencePath = true;
+            this.expectationJournal = null;
         }
     }
 
@@ -79,6 +100,19 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
     public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause) {
         // ignore non-API changes from the same file
         if (cause == MockServerMatcherNotifier.Cause.API || cause.getType() == MockServerMatcherNotifier.Cause.Type.CLASS_INITIALISER || !initializationPathMatchesPersistencePath) {
+            if (expectationJournal != null) {
+                try {
+                    expectationJournal.append(requestMatchers.retrieveActiveExpectations(null));
+                } catch (Throwable throwable) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.ERROR)
+                            .setMessageFormat("exception while persisting expectations to " + expectationJournal.getJournalPath())
+                            .setThrowable(throwable)
+                    );
+                }
+                return;
+            }
             fileWriteLock.lock();
             try {
                 try {
@@ -153,5 +187,8 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
         if (requestMatchers != null) {
             requestMatchers.unregisterListener(this);
         }
+        if (expectationJournal != null) {
+            expectationJournal.stop();
+        }
     }
 }
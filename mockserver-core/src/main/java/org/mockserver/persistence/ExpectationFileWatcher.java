@@ -25,7 +25,7 @@ public class ExpectationFileWatcher {
     private final MockServerLogger mockServerLogger;
     private final RequestMatchers requestMatchers;
     private final ExpectationSerializer expectationSerializer;
-    private List<FileWatcher> fileWatchers;
+    private FileWatcher fileWatcher;
 
     public ExpectationFileWatcher(Configuration configuration, MockServerLogger mockServerLogger, RequestMatchers requestMatchers, ExpectationInitializerLoader expectationInitializerLoader) {
         this.configuration = configuration;
@@ -36,43 +36,26 @@ public class ExpectationFileWatcher {
             this.expectationInitializerLoader = expectationInitializerLoader;
             List<String> initializationJsonPaths = ExpectationInitializerLoader.expandedInitializationJsonPaths(configuration.initializationJsonPath());
             try {
-                fileWatchers = initializationJsonPaths
-                    .stream()
-                    .map(initializationJsonPath -> {
-                        try {
-                            return new FileWatcher(Paths.get(initializationJsonPath), () -> {
-                                if (MockServerLogger.isEnabled(DEBUG) && mockServerLogger != null) {
-                                    mockServerLogger.logEvent(
-                                        new LogEntry()
-                                            .setLogLevel(DEBUG)
-                                            .setMessageFormat("expectation file watcher updating expectations as modification detected on file{}")
-                                            .setArguments(configuration.initializationJsonPath())
-                                    );
-                                }
-                                addExpectationsFromInitializer();
-                            }, throwable -> {
-                                if (MockServerLogger.isEnabled(WARN) && mockServerLogger != null) {
-                                    mockServerLogger.logEvent(
-                                        new LogEntry()
-                                            .setLogLevel(WARN)
-                                            .setMessageFormat("exception while processing expectation file update " + throwable.getMessage())
-                                            .setThrowable(throwable)
-                                    );
-                                }
-                            }, mockServerLogger);
-                        } catch (Throwable throwable) {
-                            mockServerLogger.logEvent(
-                                new LogEntry()
-                                    .setLogLevel(Level.ERROR)
-                                    .setMessageFormat("exception creating file watcher for{}")
-                                    .setArguments(initializationJsonPath)
-                                    .setThrowable(throwable)
-                            );
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+                fileWatcher = new FileWatcher(initializationJsonPaths.stream().map(Paths::get).collect(Collectors.toList()), () -> {
+                    if (MockServerLogger.isEnabled(DEBUG) && mockServerLogger != null) {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setLogLevel(DEBUG)
+                                .setMessageFormat("expectation file watcher updating expectations as modification detected on file{}")
+                                .setArguments(configuration.initializationJsonPath())
+                        );
+                    }
+                    addExpectationsFromInitializer();
+                }, throwable -> {
+                    if (MockServerLogger.isEnabled(WARN) && mockServerLogger != null) {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setLogLevel(WARN)
+                                .setMessageFormat("exception while processing expectation file update " + throwable.getMessage())
+                                .setThrowable(throwable)
+                        );
+                    }
+                }, mockServerLogger);
             } catch (Throwable throwable) {
                 mockServerLogger.logEvent(
                     new LogEntry()
@@ -103,8 +86,8 @@ public class ExpectationFileWatcher {
     }
 
     public void stop() {
-        if (fileWatchers != null) {
-            fileWatchers.forEach(fileWatcher -> fileWatcher.setRunning(false));
+        if (fileWatcher != null) {
+            fileWatcher.setRunning(false);
         }
     }
 }
@@ -0,0 +1,379 @@
+package org.mockserver.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.scheduler.Scheduler;
+import org.mockserver.serialization.ExpectationSerializer;
+import org.mockserver.serialization.serializers.response.TimeToLiveSerializer;
+import org.slf4j.event.Level;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.serialization.ObjectMapperFactory.createObjectMapper;
+import static org.slf4j.event.Level.DEBUG;
+import static org.slf4j.event.Level.WARN;
+
+/**
+ * Append only journal of expectation changes, with one json record per line for each added, updated or removed
+ * expectation, next to a snapshot of all expectations in the normal persisted expectations json format.
+ * <p>
+ * Appended records are synced to disk in batches, at most every {@link #SYNC_PERIOD_IN_MILLIS}, and once the journal
+ * has more records than the snapshot has expectations it is compacted in the background, by writing a new snapshot
+ * and removing the records it contains from the journal, so the cost of compaction is amortised over many changes.
+ *
+ * @author jamesdbloom
+ */
+public class ExpectationJournal {
+
+    private static final long SYNC_PERIOD_IN_MILLIS = 100;
+    private static final int MINIMUM_RECORDS_BEFORE_COMPACTION = 1000;
+
+    enum Operation {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+
+    private final MockServerLogger mockServerLogger;
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Function<List<Expectation>, String> snapshotSerializer;
+    private final ObjectWriter recordWriter = createObjectMapper(false, false, new TimeToLiveSerializer());
+    private final ObjectMapper recordReader = createObjectMapper();
+    private final ExpectationSerializer expectationSerializer;
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, JournaledExpectation> expectations = new LinkedHashMap<>();
+    private FileChannel journalChannel;
+    private int journalRecords;
+    private boolean syncScheduled;
+    private boolean compactionScheduled;
+
+    public ExpectationJournal(Path snapshotPath, Function<List<Expectation>, String> snapshotSerializer, MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+        this.snapshotPath = snapshotPath;
+        this.journalPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".journal");
+        this.snapshotSerializer = snapshotSerializer;
+        this.expectationSerializer = new ExpectationSerializer(mockServerLogger);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new Scheduler.SchedulerThreadFactory("ExpectationJournal"));
+    }
+
+    public Path getJournalPath() {
+        return journalPath;
+    }
+
+    /**
+     * Reads the expectations from the snapshot and replays the journal over them, then compacts the journal so the
+     * snapshot contains all expectations.
+     *
+     * @return the persisted expectations in the order they were added
+     */
+    public List<Expectation> replay() throws IOException {
+        journalLock.lock();
+        try {
+            expectations.clear();
+            if (Files.exists(snapshotPath)) {
+                String snapshot = new String(Files.readAllBytes(snapshotPath), UTF_8);
+                if (isNotBlank(snapshot)) {
+                    for (Expectation expectation : expectationSerializer.deserializeArray(snapshot, true)) {
+                        expectations.put(expectation.getId(), new JournaledExpectation(expectation));
+                    }
+                }
+            }
+            if (Files.exists(journalPath)) {
+                try (BufferedReader reader = Files.newBufferedReader(journalPath, UTF_8)) {
+                    String record;
+                    while ((record = reader.readLine()) != null) {
+                        if (isNotBlank(record)) {
+                            replay(record);
+                        }
+                    }
+                }
+            }
+            List<Expectation> replayed = journaledExpectations();
+            writeSnapshot(replayed);
+            openJournal(new byte[0]);
+            return replayed;
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Tracks the expectations as already persisted, i.e. the instances added for the replayed expectations
+     *
+     * @param activeExpectations all active expectations
+     */
+    public void persisted(List<Expectation> activeExpectations) {
+        journalLock.lock();
+        try {
+            expectations.clear();
+            for (Expectation expectation : activeExpectations) {
+                expectations.put(expectation.getId(), new JournaledExpectation(expectation));
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void replay(String record) {
+        try {
+            JsonNode jsonNode = recordReader.readTree(record);
+            Operation operation = Operation.valueOf(jsonNode.get("operation").asText());
+            String id = jsonNode.get("id").asText();
+            if (operation == Operation.REMOVE) {
+                expectations.remove(id);
+            } else {
+                expectations.put(id, new JournaledExpectation(expectationSerializer.deserialize(jsonNode.get("expectation").toString())));
+            }
+        } catch (Throwable throwable) {
+            // i.e. last record partially written when stopped
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(WARN)
+                    .setMessageFormat("ignoring invalid expectation journal record:{}from:{}")
+                    .setArguments(record, journalPath)
+                    .setThrowable(throwable)
+            );
+        }
+    }
+
+    /**
+     * Appends a record to the journal for each expectation that has been added, updated (i.e. replaced or its remaining
+     * times or time to live changed, which happens in place when it is matched) or removed since the last time the
+     * journal was appended to.
+     *
+     * @param activeExpectations all active expectations
+     */
+    public void append(List<Expectation> activeExpectations) throws IOException {
+        journalLock.lock();
+        try {
+            StringBuilder records = new StringBuilder();
+            Set<String> removedIds = new HashSet<>(expectations.keySet());
+            for (Expectation expectation : activeExpectations) {
+                removedIds.remove(expectation.getId());
+                JournaledExpectation previous = expectations.get(expectation.getId());
+                if (previous == null) {
+                    expectations.put(expectation.getId(), new JournaledExpectation(expectation));
+                    appendRecord(records, Operation.ADD, expectation.getId(), expectation);
+                } else if (previous.changed(expectation)) {
+                    expectations.put(expectation.getId(), new JournaledExpectation(expectation));
+                    appendRecord(records, Operation.UPDATE, expectation.getId(), expectation);
+                }
+            }
+            for (String removedId : removedIds) {
+                expectations.remove(removedId);
+                appendRecord(records, Operation.REMOVE, removedId, null);
+            }
+            if (records.length() > 0) {
+                write(journalChannel, records.toString().getBytes(UTF_8));
+                if (!syncScheduled) {
+                    syncScheduled = true;
+                    scheduler.schedule(this::sync, SYNC_PERIOD_IN_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (!compactionScheduled && journalRecords > Math.max(MINIMUM_RECORDS_BEFORE_COMPACTION, expectations.size())) {
+                    compactionScheduled = true;
+                    scheduler.execute(this::compact);
+                }
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void appendRecord(StringBuilder records, Operation operation, String id, Expectation expectation) throws IOException {
+        records.append("{\"operation\":\"").append(operation.name()).append("\",\"id\":").append(recordWriter.writeValueAsString(id));
+        if (expectation != null) {
+            records.append(",\"expectation\":").append(recordWriter.writeValueAsString(expectation));
+        }
+        records.append("}\n");
+        journalRecords++;
+    }
+
+    private void sync() {
+        journalLock.lock();
+        try {
+            syncScheduled = false;
+            if (journalChannel != null && journalChannel.isOpen()) {
+                journalChannel.force(false);
+            }
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception while syncing expectation journal " + journalPath)
+                    .setThrowable(throwable)
+            );
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a new snapshot, without blocking appends, then removes the records contained in the snapshot from the journal
+     */
+    void compact() {
+        try {
+            List<Expectation> snapshot;
+            long snapshotPosition;
+            journalLock.lock();
+            try {
+                if (!journalChannel.isOpen()) {
+                    return;
+                }
+                snapshot = journaledExpectations();
+                snapshotPosition = journalChannel.position();
+            } finally {
+                journalLock.unlock();
+            }
+            writeSnapshot(snapshot);
+            journalLock.lock();
+            try {
+                ByteBuffer remainingRecords = ByteBuffer.allocate((int) (journalChannel.position() - snapshotPosition));
+                while (remainingRecords.hasRemaining() && journalChannel.read(remainingRecords, snapshotPosition + remainingRecords.position()) >= 0) {
+                    // read records appended while writing snapshot
+                }
+                openJournal(remainingRecords.array());
+                if (MockServerLogger.isEnabled(DEBUG)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(DEBUG)
+                            .setMessageFormat("compacted expectation journal{}into{}")
+                            .setArguments(journalPath, snapshotPath)
+                    );
+                }
+            } finally {
+                compactionScheduled = false;
+                journalLock.unlock();
+            }
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception while compacting expectation journal " + journalPath)
+                    .setThrowable(throwable)
+            );
+        }
+    }
+
+    private List<Expectation> journaledExpectations() {
+        List<Expectation> journaledExpectations = new ArrayList<>();
+        for (JournaledExpectation journaledExpectation : expectations.values()) {
+            journaledExpectations.add(journaledExpectation.expectation);
+        }
+        return journaledExpectations;
+    }
+
+    private void writeSnapshot(List<Expectation> snapshot) throws IOException {
+        Path temporarySnapshotPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel snapshotChannel = FileChannel.open(temporarySnapshotPath, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            write(snapshotChannel, snapshotSerializer.apply(snapshot).getBytes(UTF_8));
+            snapshotChannel.force(true);
+        }
+        Files.move(temporarySnapshotPath, snapshotPath, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a new journal containing the records and swaps it in for the current journal, which is only closed once
+     * the new journal is in place, so if writing the new journal fails records are still appended to the current journal
+     */
+    private void openJournal(byte[] records) throws IOException {
+        Path temporaryJournalPath = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        FileChannel newJournalChannel = FileChannel.open(temporaryJournalPath, CREATE, READ, WRITE, TRUNCATE_EXISTING);
+        try {
+            write(newJournalChannel, records);
+            newJournalChannel.force(true);
+            Files.move(temporaryJournalPath, journalPath, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException | RuntimeException exception) {
+            newJournalChannel.close();
+            throw exception;
+        }
+        FileChannel previousJournalChannel = journalChannel;
+        journalChannel = newJournalChannel;
+        if (previousJournalChannel != null && previousJournalChannel.isOpen()) {
+            previousJournalChannel.close();
+        }
+        journalRecords = 0;
+        for (byte character : records) {
+            if (character == '\n') {
+                journalRecords++;
+            }
+        }
+    }
+
+    private void write(FileChannel fileChannel, byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+
+    public void stop() {
+        journalLock.lock();
+        try {
+            scheduler.shutdownNow();
+            if (journalChannel != null && journalChannel.isOpen()) {
+                journalChannel.force(false);
+                journalChannel.close();
+            }
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception while closing expectation journal " + journalPath)
+                    .setThrowable(throwable)
+            );
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * An expectation as last journaled, the remaining times and time to live are recorded because they are updated in
+     * place on the same expectation instance
+     */
+    private static class JournaledExpectation {
+
+        private final Expectation expectation;
+        private final int remainingTimes;
+        private final long endDate;
+
+        private JournaledExpectation(Expectation expectation) {
+            this.expectation = expectation;
+            this.remainingTimes = remainingTimes(expectation);
+            this.endDate = endDate(expectation);
+        }
+
+        private boolean changed(Expectation expectation) {
+            return this.expectation != expectation || remainingTimes != remainingTimes(expectation) || endDate != endDate(expectation);
+        }
+
+        private static int remainingTimes(Expectation expectation) {
+            return expectation.getTimes() != null ? expectation.getTimes().getRemainingTimes() : -1;
+        }
+
+        private static long endDate(Expectation expectation) {
+            return expectation.getTimeToLive() != null ? expectation.getTimeToLive().getEndDate() : -1;
+        }
+    }
+}
@@ -4,21 +4,36 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.scheduler.Scheduler;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Arrays;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
+import static java.nio.file.StandardWatchEventKinds.*;
+import static org.slf4j.event.Level.DEBUG;
 import static org.slf4j.event.Level.INFO;
 
+/**
+ * Watches files for modifications using file system notifications (WatchService), with a periodic check as a
+ * fallback for file systems that don't support notifications (i.e. network mounts).
+ * <p>
+ * Checks only read the file's modification time and size, the file content is only read to calculate a checksum if
+ * these have changed or the file was modified too recently for the modification time to be trusted. Changes in quick
+ * succession, to the same or different watched files, are debounced so the updated handler is called once per burst.
+ */
 public class FileWatcher {
 
+    private static final long MODIFICATION_TIME_RESOLUTION_IN_MILLIS = 2000;
+    private static final FileFingerprint MISSING_FILE = new FileFingerprint(-1, -1, 0, 0);
     private static ScheduledExecutorService scheduler;
+    private static WatchService watchService;
+    private static final Map<Path, WatchKey> watchKeys = new ConcurrentHashMap<>();
+    private static final Map<Path, Set<FileWatcher>> fileWatchersByDirectory = new ConcurrentHashMap<>();
 
     public synchronized static ScheduledExecutorService getScheduler() {
         if (scheduler == null) {
@@ -33,37 +48,172 @@ public class FileWatcher {
     }
 
     private boolean running = true;
+    private final List<Path> paths;
+    private final Map<Path, FileFingerprint> fileFingerprints = new ConcurrentHashMap<>();
+    private final Map<Path, FileFingerprint> updatedFileFingerprints = new ConcurrentHashMap<>();
+    private final Runnable updatedHandler;
+    private final Consumer<Throwable> errorHandler;
     private final ScheduledFuture<?> scheduledFuture;
+    private ScheduledFuture<?> pendingUpdate;
     private static long pollPeriod = 5;
     private static TimeUnit pollPeriodUnits = TimeUnit.SECONDS;
+    private static long debouncePeriodInMillis = 250;
 
     public FileWatcher(Path filePath, Runnable updatedHandler, Consumer<Throwable> errorHandler, MockServerLogger mockServerLogger) {
-        final Path path = filePath.getParent() != null ? filePath : Paths.get(new File(".").getAbsolutePath(), filePath.toString());
-        final AtomicReference<Integer> fileHash = new AtomicReference<>(getFileHash(path));
-        mockServerLogger.logEvent(
-            new LogEntry()
-                .setLogLevel(INFO)
-                .setMessageFormat("watching file:{}with file fingerprint:{}")
-                .setArguments(path, fileHash)
-        );
-        scheduledFuture = getScheduler().scheduleAtFixedRate(() -> {
+        this(Collections.singletonList(filePath), updatedHandler, errorHandler, mockServerLogger);
+    }
+
+    public FileWatcher(List<Path> filePaths, Runnable updatedHandler, Consumer<Throwable> errorHandler, MockServerLogger mockServerLogger) {
+        this.paths = filePaths.stream().map(path -> path.toAbsolutePath().normalize()).distinct().collect(Collectors.toList());
+        this.updatedHandler = updatedHandler;
+        this.errorHandler = errorHandler;
+        for (Path path : paths) {
+            FileFingerprint fileFingerprint = fileFingerprint(path, null);
+            fileFingerprints.put(path, fileFingerprint);
+            updatedFileFingerprints.put(path, fileFingerprint);
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setMessageFormat("watching file:{}with file fingerprint:{}")
+                    .setArguments(path, fileFingerprint.checksum)
+            );
             try {
-                if (!getFileHash(path).equals(fileHash.get())) {
-                    updatedHandler.run();
-                    fileHash.set(getFileHash(path));
-                }
+                register(path.getParent(), this);
             } catch (Throwable throwable) {
-                errorHandler.accept(throwable);
+                if (MockServerLogger.isEnabled(DEBUG)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(DEBUG)
+                            .setMessageFormat("unable to receive file system notifications for file:{}only checking for modifications every " + pollPeriod + " " + pollPeriodUnits.name().toLowerCase())
+                            .setArguments(path)
+                            .setThrowable(throwable)
+                    );
+                }
+            }
+        }
+        scheduledFuture = getScheduler().scheduleAtFixedRate(() -> checkForModifications(paths), pollPeriod, pollPeriod, pollPeriodUnits);
+    }
+
+    private synchronized static void register(Path directory, FileWatcher fileWatcher) throws IOException {
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            Thread thread = new Scheduler.SchedulerThreadFactory("FileWatcherNotifications").newThread(FileWatcher::processWatchEvents);
+            thread.start();
+        }
+        if (!watchKeys.containsKey(directory)) {
+            watchKeys.put(directory, directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE));
+        }
+        fileWatchersByDirectory.computeIfAbsent(directory, key -> new CopyOnWriteArraySet<>()).add(fileWatcher);
+    }
+
+    private synchronized static void deregister(FileWatcher fileWatcher) {
+        for (Path path : fileWatcher.paths) {
+            Set<FileWatcher> fileWatchers = fileWatchersByDirectory.get(path.getParent());
+            if (fileWatchers != null) {
+                fileWatchers.remove(fileWatcher);
+                if (fileWatchers.isEmpty()) {
+                    fileWatchersByDirectory.remove(path.getParent());
+                    WatchKey watchKey = watchKeys.remove(path.getParent());
+                    if (watchKey != null) {
+                        watchKey.cancel();
+                    }
+                }
+            }
+        }
+    }
+
+    private static void processWatchEvents() {
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                Path directory = (Path) watchKey.watchable();
+                List<Path> modifiedPaths = new ArrayList<>();
+                boolean overflow = false;
+                for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                    if (watchEvent.kind() == OVERFLOW) {
+                        overflow = true;
+                    } else {
+                        modifiedPaths.add(directory.resolve((Path) watchEvent.context()));
+                    }
+                }
+                watchKey.reset();
+                for (FileWatcher fileWatcher : fileWatchersByDirectory.getOrDefault(directory, Collections.emptySet())) {
+                    List<Path> watchedPaths = overflow ? fileWatcher.paths : fileWatcher.paths.stream().filter(modifiedPaths::contains).collect(Collectors.toList());
+                    if (!watchedPaths.isEmpty()) {
+                        getScheduler().execute(() -> fileWatcher.checkForModifications(watchedPaths));
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignore) {
+            // stop processing notifications
+        }
+    }
+
+    private synchronized void checkForModifications(List<Path> paths) {
+        try {
+            if (running) {
+                boolean modified = false;
+                for (Path path : paths) {
+                    FileFingerprint previous = fileFingerprints.get(path);
+                    FileFingerprint current = fileFingerprint(path, previous);
+                    fileFingerprints.put(path, current);
+                    modified |= !current.sameContent(previous);
+                }
+                if (modified) {
+                    if (pendingUpdate != null) {
+                        pendingUpdate.cancel(false);
+                    }
+                    pendingUpdate = getScheduler().schedule(this::updated, debouncePeriodInMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        } catch (Throwable throwable) {
+            errorHandler.accept(throwable);
+        }
+    }
+
+    private void updated() {
+        try {
+            boolean modified = false;
+            synchronized (this) {
+                // ignore bursts that leave the content unchanged (i.e. a file truncated and rewritten with the same content)
+                for (Path path : paths) {
+                    modified |= !fileFingerprints.get(path).sameContent(updatedFileFingerprints.get(path));
+                }
+                updatedFileFingerprints.putAll(fileFingerprints);
             }
-        }, pollPeriod, pollPeriod, pollPeriodUnits);
+            if (modified && running) {
+                updatedHandler.run();
+            }
+        } catch (Throwable throwable) {
+            errorHandler.accept(throwable);
+        }
     }
 
-    private Integer getFileHash(Path path) {
+    private FileFingerprint fileFingerprint(Path path, FileFingerprint previous) {
         try {
-            return Arrays.hashCode(Files.readAllBytes(path));
+            long checkedAt = System.currentTimeMillis();
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            long size = attributes.size();
+            if (previous != null && previous.lastModified == lastModified && previous.size == size && previous.checkedAt - lastModified > MODIFICATION_TIME_RESOLUTION_IN_MILLIS) {
+                return previous;
+            }
+            return new FileFingerprint(lastModified, size, checksum(path), checkedAt);
         } catch (IOException ioe) {
-            return 0;
+            return MISSING_FILE;
+        }
+    }
+
+    private long checksum(Path path) throws IOException {
+        CRC32 crc32 = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                crc32.update(buffer, 0, read);
+            }
         }
+        return crc32.getValue();
     }
 
     public boolean isRunning() {
@@ -72,8 +222,16 @@ public class FileWatcher {
 
     public FileWatcher setRunning(boolean running) {
         this.running = running;
-        if (!running && this.scheduledFuture != null) {
-            this.scheduledFuture.cancel(true);
+        if (!running) {
+            deregister(this);
+            if (this.scheduledFuture != null) {
+                this.scheduledFuture.cancel(true);
+            }
+            synchronized (this) {
+                if (this.pendingUpdate != null) {
+                    this.pendingUpdate.cancel(false);
+                }
+            }
         }
         return this;
     }
@@ -93,4 +251,30 @@ public class FileWatcher {
     public static void setPollPeriodUnits(TimeUnit pollPeriodUnits) {
         FileWatcher.pollPeriodUnits = pollPeriodUnits;
     }
+
+    public static long getDebouncePeriodInMillis() {
+        return FileWatcher.debouncePeriodInMillis;
+    }
+
+    public static void setDebouncePeriodInMillis(long debouncePeriodInMillis) {
+        FileWatcher.debouncePeriodInMillis = debouncePeriodInMillis;
+    }
+
+    private static class FileFingerprint {
+        private final long lastModified;
+        private final long size;
+        private final long checksum;
+        private final long checkedAt;
+
+        private FileFingerprint(long lastModified, long size, long checksum, long checkedAt) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.checksum = checksum;
+            this.checkedAt = checkedAt;
+        }
+
+        private boolean sameContent(FileFingerprint other) {
+            return other != null && size == other.size && checksum == other.checksum;
+        }
+    }
 }
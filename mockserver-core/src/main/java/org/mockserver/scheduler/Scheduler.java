@@ -1,6 +1,8 @@
 package org.mockserver.scheduler;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.httpclient.SocketCommunicationException;
 import org.mockserver.log.model.LogEntry;
@@ -25,6 +27,7 @@ import static org.mockserver.mock.HttpState.setPort;
  */
 public class Scheduler {
 
+    private static final HashedWheelTimer responseTimeoutTimer = new HashedWheelTimer(new SchedulerThreadFactory("ResponseTimeout"));
     private final Configuration configuration;
     private final ScheduledExecutorService scheduler;
 
@@ -156,17 +159,12 @@ public class Scheduler {
     public void submit(HttpForwardActionResult future, Runnable command, boolean synchronous, Predicate<Throwable> logException) {
         Integer port = getPort();
         if (future != null) {
+            CompletableFuture<HttpResponse> httpResponseFuture = withResponseTimeout(future.getHttpResponse());
             if (this.synchronous || synchronous) {
-                try {
-                    future.getHttpResponse().get(configuration.maxSocketTimeoutInMillis(), MILLISECONDS);
-                } catch (TimeoutException e) {
-                    future.getHttpResponse().completeExceptionally(new SocketCommunicationException("Response was not received after " + configuration.maxSocketTimeoutInMillis() + " milliseconds, to make the proxy wait longer please use \"mockserver.maxSocketTimeout\" system property or configuration.maxSocketTimeout(long milliseconds)", e.getCause()));
-                } catch (InterruptedException | ExecutionException ex) {
-                    future.getHttpResponse().completeExceptionally(ex);
-                }
+                awaitCompletion(httpResponseFuture);
                 run(command, port);
             } else {
-                future.getHttpResponse().whenCompleteAsync((httpResponse, throwable) -> {
+                httpResponseFuture.whenCompleteAsync((httpResponse, throwable) -> {
                     if (throwable != null && MockServerLogger.isEnabled(Level.INFO) && logException.test(throwable)) {
                         mockServerLogger.logEvent(
                             new LogEntry()
@@ -185,32 +183,27 @@ public class Scheduler {
     public void submit(CompletableFuture<BinaryMessage> future, Runnable command, boolean synchronous) {
         Integer port = getPort();
         if (future != null) {
+            CompletableFuture<BinaryMessage> binaryResponseFuture = withResponseTimeout(future);
             if (this.synchronous || synchronous) {
-                try {
-                    future.get(configuration.maxSocketTimeoutInMillis(), MILLISECONDS);
-                } catch (TimeoutException e) {
-                    future.completeExceptionally(new SocketCommunicationException("Response was not received after " + configuration.maxSocketTimeoutInMillis() + " milliseconds, to make the proxy wait longer please use \"mockserver.maxSocketTimeout\" system property or ConfigurationProperties.maxSocketTimeout(long milliseconds)", e.getCause()));
-                } catch (InterruptedException | ExecutionException ex) {
-                    future.completeExceptionally(ex);
-                }
+                awaitCompletion(binaryResponseFuture);
                 run(command, port);
             } else {
-                future.whenCompleteAsync((httpResponse, throwable) -> command.run(), scheduler);
+                binaryResponseFuture.whenCompleteAsync((binaryResponse, throwable) -> command.run(), scheduler);
             }
         }
     }
 
     public void submit(HttpForwardActionResult future, BiConsumer<HttpResponse, Throwable> consumer, boolean synchronous) {
         if (future != null) {
+            CompletableFuture<HttpResponse> httpResponseFuture = withResponseTimeout(future.getHttpResponse());
             if (this.synchronous || synchronous) {
+                awaitCompletion(httpResponseFuture);
                 HttpResponse httpResponse = null;
                 Throwable exception = null;
                 try {
-                    httpResponse = future.getHttpResponse().get(configuration.maxSocketTimeoutInMillis(), MILLISECONDS);
-                } catch (TimeoutException e) {
-                    exception = new SocketCommunicationException("Response was not received after " + configuration.maxSocketTimeoutInMillis() + " milliseconds, to make the proxy wait longer please use \"mockserver.maxSocketTimeout\" system property or ConfigurationProperties.maxSocketTimeout(long milliseconds)", e.getCause());
-                } catch (InterruptedException | ExecutionException ex) {
-                    exception = ex;
+                    httpResponse = httpResponseFuture.getNow(null);
+                } catch (CompletionException | CancellationException ex) {
+                    exception = ex.getCause() != null ? ex.getCause() : ex;
                 }
                 try {
                     consumer.accept(httpResponse, exception);
@@ -226,9 +219,40 @@ public class Scheduler {
                     }
                 }
             } else {
-                future.getHttpResponse().whenCompleteAsync(consumer, scheduler);
+                httpResponseFuture.whenCompleteAsync(consumer, scheduler);
             }
         }
     }
 
+    /**
+     * Fails the future with a SocketCommunicationException if it hasn't completed within maxSocketTimeout, using
+     * a timer instead of blocking a thread for each outstanding response
+     */
+    private <T> CompletableFuture<T> withResponseTimeout(CompletableFuture<T> future) {
+        if (!future.isDone()) {
+            long maxSocketTimeoutInMillis = configuration.maxSocketTimeoutInMillis();
+            Timeout timeout = responseTimeoutTimer.newTimeout(
+                ignore -> future.completeExceptionally(new SocketCommunicationException("Response was not received after " + maxSocketTimeoutInMillis + " milliseconds, to make the proxy wait longer please use \"mockserver.maxSocketTimeout\" system property or ConfigurationProperties.maxSocketTimeout(long milliseconds)", null)),
+                maxSocketTimeoutInMillis,
+                MILLISECONDS
+            );
+            future.whenComplete((result, throwable) -> timeout.cancel());
+        }
+        return future;
+    }
+
+    /**
+     * Only used when the caller must write the response before returning (i.e. servlets), the wait is ended by the response timeout
+     */
+    private void awaitCompletion(CompletableFuture<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(ie);
+        } catch (ExecutionException | CancellationException ignore) {
+            // exception is handled by command
+        }
+    }
+
 }
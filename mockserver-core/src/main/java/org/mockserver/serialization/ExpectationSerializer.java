@@ -18,6 +18,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.stream.IntStream;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.mockserver.character.Character.NEW_LINE;
@@ -116,6 +117,10 @@ public class ExpectationSerializer implements Serializer<Expectation> {
     }
 
     public Expectation deserialize(String jsonExpectation) {
+        return deserialize(jsonExpectation, isBlank(jsonExpectation) ? "" : getValidator().isValid(jsonExpectation));
+    }
+
+    private Expectation deserialize(String jsonExpectation, String validationErrors) {
         if (isBlank(jsonExpectation)) {
             throw new IllegalArgumentException(
                 "1 error:" + NEW_LINE
@@ -123,29 +128,26 @@ public class ExpectationSerializer implements Serializer<Expectation> {
                     NEW_LINE +
                     OPEN_API_SPECIFICATION_URL
             );
-        } else {
-            String validationErrors = getValidator().isValid(jsonExpectation);
-            if (validationErrors.isEmpty()) {
-                Expectation expectation = null;
-                try {
-                    ExpectationDTO expectationDTO = objectMapper.readValue(jsonExpectation, ExpectationDTO.class);
-                    if (expectationDTO != null) {
-                        expectation = expectationDTO.buildObject();
-                    }
-                } catch (Throwable throwable) {
-                    mockServerLogger.logEvent(
-                        new LogEntry()
-                            .setLogLevel(Level.ERROR)
-                            .setMessageFormat("exception while parsing{}for Expectation " + throwable.getMessage())
-                            .setArguments(jsonExpectation)
-                            .setThrowable(throwable)
-                    );
-                    throw new IllegalArgumentException("exception while parsing [" + jsonExpectation + "] for Expectation", throwable);
+        } else if (validationErrors.isEmpty()) {
+            Expectation expectation = null;
+            try {
+                ExpectationDTO expectationDTO = objectMapper.readValue(jsonExpectation, ExpectationDTO.class);
+                if (expectationDTO != null) {
+                    expectation = expectationDTO.buildObject();
                 }
-                return expectation;
-            } else {
-                throw new IllegalArgumentException(StringUtils.removeEndIgnoreCase(formatLogMessage("incorrect expectation json format for:{}schema validation errors:{}", jsonExpectation, validationErrors), "\n"));
+            } catch (Throwable throwable) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.ERROR)
+                        .setMessageFormat("exception while parsing{}for Expectation " + throwable.getMessage())
+                        .setArguments(jsonExpectation)
+                        .setThrowable(throwable)
+                );
+                throw new IllegalArgumentException("exception while parsing [" + jsonExpectation + "] for Expectation", throwable);
             }
+            return expectation;
+        } else {
+            throw new IllegalArgumentException(StringUtils.removeEndIgnoreCase(formatLogMessage("incorrect expectation json format for:{}schema validation errors:{}", jsonExpectation, validationErrors), "\n"));
         }
     }
 
@@ -166,8 +168,19 @@ public class ExpectationSerializer implements Serializer<Expectation> {
             List<String> validationErrorsList = new ArrayList<>();
             List<JsonNode> jsonExpectationList = jsonArraySerializer.splitJSONArrayToJSONNodes(jsonExpectations);
             if (!jsonExpectationList.isEmpty()) {
+                String[] jsonExpectationArray = new String[jsonExpectationList.size()];
+                String[] validationErrors = new String[jsonExpectationList.size()];
+                // schema validation is the slowest step for large arrays so is run in parallel, expectations are still
+                // built in order as their created time determines the order of expectations with the same priority
+                JsonSchemaExpectationValidator validator = getValidator();
+                IntStream.range(0, jsonExpectationList.size()).parallel().forEach(i -> {
+                    jsonExpectationArray[i] = JacksonUtils.prettyPrint(jsonExpectationList.get(i));
+                    if (!jsonExpectationList.get(i).has("specUrlOrPayload")) {
+                        validationErrors[i] = validator.isValid(jsonExpectationArray[i]);
+                    }
+                });
                 for (int i = 0; i < jsonExpectationList.size(); i++) {
-                    String jsonExpectation = JacksonUtils.prettyPrint(jsonExpectationList.get(i));
+                    String jsonExpectation = jsonExpectationArray[i];
                     if (jsonExpectationList.size() > 100) {
                         if (MockServerLogger.isEnabled(DEBUG) && mockServerLogger != null) {
                             mockServerLogger.logEvent(
@@ -192,7 +205,7 @@ public class ExpectationSerializer implements Serializer<Expectation> {
                         }
                     } else {
                         try {
-                            expectations.addAll(expectationModifier.apply(jsonExpectation, Collections.singletonList(deserialize(jsonExpectation))));
+                            expectations.addAll(expectationModifier.apply(jsonExpectation, Collections.singletonList(deserialize(jsonExpectation, validationErrors[i]))));
                         } catch (IllegalArgumentException iae) {
                             validationErrorsList.add(iae.getMessage());
                         }
@@ -58,9 +58,7 @@ public class ExpectationInitializerLoader {
 
     private void addExpectationsFromInitializer() {
         retrieveExpectationsFromJson();
-        for (Expectation expectation : retrieveExpectationsFromInitializerClass()) {
-            requestMatchers.add(expectation, new Cause("", Cause.Type.CLASS_INITIALISER));
-        }
+        requestMatchers.add(Arrays.asList(retrieveExpectationsFromInitializerClass()), new Cause("", Cause.Type.CLASS_INITIALISER));
     }
 
     private Expectation[] retrieveExpectationsFromInitializerClass() {
@@ -0,0 +1,116 @@
+package org.mockserver.socket;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The socket transport used for event loops and channels, either the native epoll transport (Linux only) or nio.
+ * <p>
+ * Channels must use the same transport as the event loop they are registered with, so clients created with an existing
+ * event loop group use {@link #nettyTransport(EventLoopGroup)} instead of the configured transport.
+ *
+ * @author jamesdbloom
+ */
+public enum NettyTransport {
+
+    EPOLL,
+    NIO;
+
+    private static final MockServerLogger MOCK_SERVER_LOGGER = new MockServerLogger(NettyTransport.class);
+    private static final int TCP_FASTOPEN_QUEUE_LENGTH = 256;
+
+    public static NettyTransport nettyTransport(Configuration configuration) {
+        String transport = configuration.nettyTransport() != null ? configuration.nettyTransport().trim().toLowerCase() : "auto";
+        switch (transport) {
+            case "nio":
+                return NIO;
+            case "epoll":
+                if (!Epoll.isAvailable()) {
+                    MOCK_SERVER_LOGGER.logEvent(
+                        new LogEntry()
+                            .setLogLevel(Level.WARN)
+                            .setMessageFormat("epoll transport is not available, using nio transport instead, because " + Epoll.unavailabilityCause().getMessage())
+                            .setThrowable(Epoll.unavailabilityCause())
+                    );
+                    return NIO;
+                }
+                return EPOLL;
+            case "auto":
+                return Epoll.isAvailable() ? EPOLL : NIO;
+            default:
+                throw new IllegalArgumentException("invalid netty transport \"" + configuration.nettyTransport() + "\" only \"auto\", \"epoll\" or \"nio\" are supported");
+        }
+    }
+
+    public static NettyTransport nettyTransport(EventLoopGroup eventLoopGroup) {
+        EventLoopGroup parentEventLoopGroup = eventLoopGroup instanceof EventLoop ? ((EventLoop) eventLoopGroup).parent() : eventLoopGroup;
+        return parentEventLoopGroup instanceof EpollEventLoopGroup ? EPOLL : NIO;
+    }
+
+    public EventLoopGroup eventLoopGroup(int threadCount, ThreadFactory threadFactory) {
+        if (this == EPOLL) {
+            return new EpollEventLoopGroup(threadCount, threadFactory);
+        } else {
+            return new NioEventLoopGroup(threadCount, threadFactory);
+        }
+    }
+
+    public Class<? extends ServerChannel> serverSocketChannelClass() {
+        return this == EPOLL ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    public Class<? extends SocketChannel> socketChannelClass() {
+        return this == EPOLL ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    public ServerBootstrap serverBootstrap(Configuration configuration) {
+        ServerBootstrap serverBootstrap = new ServerBootstrap()
+            .channel(serverSocketChannelClass())
+            .childOption(ChannelOption.TCP_NODELAY, configuration.tcpNoDelay());
+        if (this == EPOLL) {
+            if (configuration.reusePort()) {
+                serverBootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+            }
+            if (configuration.tcpFastOpen()) {
+                serverBootstrap.option(ChannelOption.TCP_FASTOPEN, TCP_FASTOPEN_QUEUE_LENGTH);
+            }
+        }
+        return serverBootstrap;
+    }
+
+    public Bootstrap bootstrap(Configuration configuration) {
+        Bootstrap bootstrap = new Bootstrap()
+            .channel(socketChannelClass())
+            .option(ChannelOption.TCP_NODELAY, configuration.tcpNoDelay());
+        if (this == EPOLL && configuration.tcpFastOpen()) {
+            bootstrap.option(ChannelOption.TCP_FASTOPEN_CONNECT, true);
+        }
+        return bootstrap;
+    }
+
+    /**
+     * Number of server sockets to bind to each port, more than one is only possible with SO_REUSEPORT
+     */
+    public int acceptorCount(Configuration configuration) {
+        return this == EPOLL && configuration.reusePort() ? Math.max(1, configuration.acceptorThreadCount()) : 1;
+    }
+}
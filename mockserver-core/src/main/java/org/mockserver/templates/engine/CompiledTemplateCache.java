@@ -0,0 +1,96 @@
+package org.mockserver.templates.engine;
+
+import org.mockserver.cache.LRUCache;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpTemplate;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Compiled templates for a template engine keyed by template text, so each template is only parsed and compiled
+ * once instead of for every request.
+ * <p>
+ * Each template engine has its own cache because compiled templates are bound to the engine (and its configuration)
+ * that compiled them. Templates are removed from every cache when an expectation using them is updated or removed.
+ * <p>
+ * Metrics are only updated when a template is compiled or removed, not on every cache hit, and only include the caches
+ * created with the same configuration, i.e. by the same MockServer.
+ *
+ * @author jamesdbloom
+ */
+public class CompiledTemplateCache<T> {
+
+    private static final Set<CompiledTemplateCache<?>> allCaches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final LRUCache<String, T> compiledTemplates;
+    private final Configuration configuration;
+    private final Metrics metrics;
+
+    public CompiledTemplateCache(MockServerLogger mockServerLogger, Configuration configuration) {
+        this.compiledTemplates = new LRUCache<>(mockServerLogger, 250, MINUTES.toMillis(30));
+        this.configuration = configuration;
+        this.metrics = new Metrics(configuration);
+        CompiledTemplateCache.allCaches.add(this);
+    }
+
+    public T getOrCompile(String template, TemplateCompiler<T> templateCompiler) throws Exception {
+        T compiledTemplate = compiledTemplates.get(template);
+        if (compiledTemplate == null) {
+            compiledTemplate = templateCompiler.compile(template);
+            compiledTemplates.put(template, compiledTemplate);
+            updateMetrics();
+        }
+        return compiledTemplate;
+    }
+
+    public static void invalidate(Expectation expectation) {
+        if (expectation != null && expectation.getAction() instanceof HttpTemplate) {
+            String template = ((HttpTemplate) expectation.getAction()).getTemplate();
+            if (template != null) {
+                CompiledTemplateCache<?>[] caches;
+                synchronized (allCaches) {
+                    caches = allCaches.toArray(new CompiledTemplateCache<?>[0]);
+                }
+                for (CompiledTemplateCache<?> cache : caches) {
+                    cache.compiledTemplates.delete(template);
+                }
+                Set<Configuration> updatedConfigurations = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (CompiledTemplateCache<?> cache : caches) {
+                    if (updatedConfigurations.add(cache.configuration)) {
+                        cache.updateMetrics();
+                    }
+                }
+            }
+        }
+    }
+
+    private void updateMetrics() {
+        if (configuration.metricsEnabled()) {
+            int size = 0;
+            long hits = 0;
+            long requests = 0;
+            synchronized (allCaches) {
+                for (CompiledTemplateCache<?> cache : allCaches) {
+                    if (cache != null && cache.configuration == configuration) {
+                        size += cache.compiledTemplates.size();
+                        hits += cache.compiledTemplates.hitCount();
+                        requests += cache.compiledTemplates.hitCount() + cache.compiledTemplates.missCount();
+                    }
+                }
+            }
+            metrics.set(Metrics.Name.COMPILED_TEMPLATES_COUNT, size);
+            metrics.set(Metrics.Name.COMPILED_TEMPLATES_HIT_PERCENTAGE, requests == 0 ? 0 : (int) (hits * 100 / requests));
+        }
+    }
+
+    public interface TemplateCompiler<T> {
+        T compile(String template) throws Exception;
+    }
+}
@@ -12,6 +12,7 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.serialization.ObjectMapperFactory;
 import org.mockserver.serialization.model.DTO;
+import org.mockserver.templates.engine.CompiledTemplateCache;
 import org.mockserver.templates.engine.TemplateEngine;
 import org.mockserver.templates.engine.TemplateFunctions;
 import org.mockserver.templates.engine.javascript.bindings.ScriptBindings;
@@ -40,6 +41,7 @@ public class JavaScriptTemplateEngine implements TemplateEngine {
     private final MockServerLogger mockServerLogger;
     private HttpTemplateOutputDeserializer httpTemplateOutputDeserializer;
     private final Configuration configuration;
+    private final CompiledTemplateCache<CompiledScript> compiledTemplateCache;
 
     public JavaScriptTemplateEngine(MockServerLogger mockServerLogger, Configuration configuration) {
         System.setProperty("nashorn.args", "--language=es6");
@@ -48,6 +50,7 @@ public class JavaScriptTemplateEngine implements TemplateEngine {
         this.mockServerLogger = mockServerLogger;
         this.httpTemplateOutputDeserializer = new HttpTemplateOutputDeserializer(mockServerLogger);
         this.objectMapper = ObjectMapperFactory.createObjectMapper();
+        this.compiledTemplateCache = new CompiledTemplateCache<>(mockServerLogger, this.configuration);
     }
 
     @Override
@@ -59,7 +62,7 @@ public class JavaScriptTemplateEngine implements TemplateEngine {
             if (engine != null) {
                 Compilable compilable = (Compilable) engine;
                 // HttpResponse handle(HttpRequest httpRequest) - ES6
-                CompiledScript compiledScript = compilable.compile(script + " function serialise(request) { return JSON.stringify(handle(JSON.parse(request)), null, 2); }");
+                CompiledScript compiledScript = compiledTemplateCache.getOrCompile(template, ignore -> compilable.compile(script + " function serialise(request) { return JSON.stringify(handle(JSON.parse(request)), null, 2); }"));
 
                 Bindings serialiseBindings = engine.createBindings();
                 engine.setBindings(new ScriptBindings(TemplateFunctions.BUILT_IN_FUNCTIONS), ScriptContext.ENGINE_SCOPE);
@@ -12,6 +12,7 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.serialization.ObjectMapperFactory;
 import org.mockserver.serialization.model.DTO;
+import org.mockserver.templates.engine.CompiledTemplateCache;
 import org.mockserver.templates.engine.TemplateEngine;
 import org.mockserver.templates.engine.TemplateFunctions;
 import org.mockserver.templates.engine.model.HttpRequestTemplateObject;
@@ -42,6 +43,7 @@ public class MustacheTemplateEngine implements TemplateEngine {
     private final MockServerLogger mockServerLogger;
     private final Configuration configuration;
     private final Mustache.Compiler compiler;
+    private final CompiledTemplateCache<Template> compiledTemplateCache;
     private HttpTemplateOutputDeserializer httpTemplateOutputDeserializer;
 
     public MustacheTemplateEngine(MockServerLogger mockServerLogger, Configuration configuration) {
@@ -58,6 +60,7 @@ public class MustacheTemplateEngine implements TemplateEngine {
             .strictSections(false)
             .defaultValue("")
             .withCollector(new ExtendedCollector());
+        compiledTemplateCache = new CompiledTemplateCache<>(mockServerLogger, configuration);
     }
 
     @Override
@@ -66,7 +69,7 @@ public class MustacheTemplateEngine implements TemplateEngine {
         try {
             validateTemplate(template);
             Writer writer = new StringWriter();
-            Template compiledTemplate = compiler.compile(template);
+            Template compiledTemplate = compiledTemplateCache.getOrCompile(template, compiler::compile);
             Map<String, Object> data = new ConcurrentHashMap<>();
             data.put("request", new HttpRequestTemplateObject(request));
             data.putAll(TemplateFunctions.BUILT_IN_FUNCTIONS);
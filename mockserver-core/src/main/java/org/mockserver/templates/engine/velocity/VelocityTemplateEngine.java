@@ -3,9 +3,12 @@ package org.mockserver.templates.engine.velocity;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Splitter;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
+import org.apache.velocity.runtime.resource.util.StringResourceRepository;
 import org.apache.velocity.tools.ToolContext;
 import org.apache.velocity.tools.ToolManager;
 import org.apache.velocity.tools.config.ToolConfiguration;
@@ -18,6 +21,7 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.serialization.ObjectMapperFactory;
 import org.mockserver.serialization.model.DTO;
+import org.mockserver.templates.engine.CompiledTemplateCache;
 import org.mockserver.templates.engine.TemplateEngine;
 import org.mockserver.templates.engine.TemplateFunctions;
 import org.mockserver.templates.engine.model.HttpRequestTemplateObject;
@@ -40,12 +44,15 @@ import static org.mockserver.log.model.LogEntryMessages.TEMPLATE_GENERATED_MESSA
 @SuppressWarnings("FieldMayBeFinal")
 public class VelocityTemplateEngine implements TemplateEngine {
 
+    private static final String TEMPLATE_NAME = "VelocityResponseTemplate";
     private static ObjectMapper objectMapper;
     private final MockServerLogger mockServerLogger;
     private final Configuration configuration;
     private HttpTemplateOutputDeserializer httpTemplateOutputDeserializer;
     private final VelocityEngine velocityEngine;
     private final ToolContext toolContext;
+    private final StringResourceRepository templateRepository;
+    private final CompiledTemplateCache<Template> compiledTemplateCache;
 
     public VelocityTemplateEngine(MockServerLogger mockServerLogger, Configuration configuration) {
         this.mockServerLogger = mockServerLogger;
@@ -56,6 +63,8 @@ public class VelocityTemplateEngine implements TemplateEngine {
         }
         velocityEngine = buildVelocityEngine(configuration);
         toolContext = buildToolManager(velocityEngine);
+        templateRepository = (StringResourceRepository) velocityEngine.getApplicationAttribute(StringResourceLoader.REPOSITORY_NAME_DEFAULT);
+        compiledTemplateCache = new CompiledTemplateCache<>(mockServerLogger, configuration);
     }
 
     private VelocityEngine buildVelocityEngine(Configuration configuration) {
@@ -85,6 +94,11 @@ public class VelocityTemplateEngine implements TemplateEngine {
         velocityProperties.put(RuntimeConstants.RESOURCE_MANAGER_CLASS, org.apache.velocity.runtime.resource.ResourceManagerImpl.class.getName());
         velocityProperties.put(RuntimeConstants.RESOURCE_MANAGER_CACHE_CLASS, org.apache.velocity.runtime.resource.ResourceCacheImpl.class.getName());
         velocityProperties.put("resource.loader.file.class", org.apache.velocity.runtime.resource.loader.FileResourceLoader.class.getName());
+        // templates are parsed using the string resource loader and cached by CompiledTemplateCache
+        velocityProperties.put(RuntimeConstants.RESOURCE_LOADERS, "string,file");
+        velocityProperties.put("resource.loader.string.class", StringResourceLoader.class.getName());
+        velocityProperties.put("resource.loader.string.cache", "false");
+        velocityProperties.put("resource.loader.string.repository.static", "false");
         if (configuration.velocityDisallowClassLoading()) {
             velocityProperties.put(RuntimeConstants.UBERSPECT_CLASSNAME, SecureUberspector.class.getName());
         }
@@ -150,7 +164,7 @@ public class VelocityTemplateEngine implements TemplateEngine {
             VelocityContext context = new VelocityContext(toolContext);
             context.put("request", new HttpRequestTemplateObject(request));
             TemplateFunctions.BUILT_IN_FUNCTIONS.forEach(context::put);
-            velocityEngine.evaluate(context, writer, "VelocityResponseTemplate", template);
+            compiledTemplateCache.getOrCompile(template, this::compile).merge(context, writer);
             JsonNode generatedObject = null;
             try {
                 generatedObject = objectMapper.readTree(writer.toString());
@@ -182,6 +196,18 @@ public class VelocityTemplateEngine implements TemplateEngine {
         return result;
     }
 
+    private Template compile(String template) {
+        // the repository is only used to pass the template to the engine to be parsed
+        synchronized (templateRepository) {
+            templateRepository.putStringResource(TEMPLATE_NAME, template);
+            try {
+                return velocityEngine.getTemplate(TEMPLATE_NAME);
+            } finally {
+                templateRepository.removeStringResource(TEMPLATE_NAME);
+            }
+        }
+    }
+
     private void validateTemplate(String template) {
         if (isNotBlank(template) && isNotBlank(configuration.velocityDisallowedText())) {
             Iterable<String> deniedStrings = Splitter.on(",").trimResults().split(configuration.velocityDisallowedText());
@@ -164,24 +164,39 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
         String validationResult = "";
         if (isNotBlank(json)) {
             try {
-                validationResult = formatProcessingReport(validator.validate(OBJECT_MAPPER.readTree(json)), addOpenAPISpecificationMessage);
+                validationResult = isValid(OBJECT_MAPPER.readTree(json), addOpenAPISpecificationMessage);
             } catch (Throwable throwable) {
-                if (isNotBlank(throwable.getMessage()) && throwable.getMessage().contains("Unknown MetaSchema")) {
-                    validator = getJsonSchemaFactory(throwable.getMessage()).getSchema(this.schemaJsonNode);
-                    return isValid(json, addOpenAPISpecificationMessage);
-                }
-                mockServerLogger.logEvent(
-                    new LogEntry()
-                        .setLogLevel(Level.ERROR)
-                        .setMessageFormat("exception validating JSON")
-                        .setThrowable(throwable)
-                );
-                return throwable.getClass().getSimpleName() + " - " + throwable.getMessage();
+                return validationException(throwable);
             }
         }
         return validationResult;
     }
 
+    /**
+     * Validates an already parsed JSON document, i.e. so a request body can be parsed once and validated against many schemas
+     */
+    public String isValid(JsonNode json, boolean addOpenAPISpecificationMessage) {
+        try {
+            return formatProcessingReport(validator.validate(json), addOpenAPISpecificationMessage);
+        } catch (Throwable throwable) {
+            if (isNotBlank(throwable.getMessage()) && throwable.getMessage().contains("Unknown MetaSchema")) {
+                validator = getJsonSchemaFactory(throwable.getMessage()).getSchema(this.schemaJsonNode);
+                return isValid(json, addOpenAPISpecificationMessage);
+            }
+            return validationException(throwable);
+        }
+    }
+
+    private String validationException(Throwable throwable) {
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setLogLevel(Level.ERROR)
+                .setMessageFormat("exception validating JSON")
+                .setThrowable(throwable)
+        );
+        return throwable.getClass().getSimpleName() + " - " + throwable.getMessage();
+    }
+
     private String formatProcessingReport(Set<ValidationMessage> validationMessages, boolean addOpenAPISpecificationMessage) {
         if (validationMessages.isEmpty()) {
             return "";
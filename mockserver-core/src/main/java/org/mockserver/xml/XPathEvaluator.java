@@ -1,6 +1,8 @@
 package org.mockserver.xml;
 
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
+import org.mockserver.model.ParsedBody;
+import org.w3c.dom.Document;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
@@ -56,4 +58,15 @@ public class XPathEvaluator extends ObjectWithReflectiveEqualsHashCodeToString {
         }
     }
 
+    public Object evaluateXPathExpression(ParsedBody parsedBody, String xmlAsString, StringToXmlDocumentParser.ErrorLogger errorLogger, QName returnType) {
+        try {
+            Document document = parsedBody.xmlDocument(xmlAsString, errorLogger, namespaceAware);
+            synchronized (document) {
+                return xPathExpression.evaluate(document, returnType);
+            }
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable.getMessage(), throwable);
+        }
+    }
+
 }
@@ -5,6 +5,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Test;
 import org.mockserver.authentication.AuthenticationException;
 import org.mockserver.authentication.AuthenticationHandler;
+import org.mockserver.echo.http.EchoServer;
 import org.mockserver.keys.AsymmetricKeyGenerator;
 import org.mockserver.keys.AsymmetricKeyPair;
 import org.mockserver.keys.AsymmetricKeyPairAlgorithm;
@@ -16,13 +17,21 @@ import java.time.Clock;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.AUTHORIZATION;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertThrows;
 import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+import static org.mockserver.stop.Stop.stopQuietly;
 
 public class JWTAuthenticationHandlerTest {
 
@@ -84,6 +93,105 @@ public class JWTAuthenticationHandlerTest {
         assertThat(authenticationHandler.controlPlaneRequestAuthenticated(request), equalTo(true));
     }
 
+    @Test
+    public void shouldValidateRepeatedJWTFromValidatedTokens() {
+        // given
+        AsymmetricKeyPair asymmetricKeyPair = AsymmetricKeyGenerator.createAsymmetricKeyPair(AsymmetricKeyPairAlgorithm.RSA2048_SHA256);
+        String jwkFile = TempFileWriter.write(new JWKGenerator().generateJWK(asymmetricKeyPair));
+        JWTGenerator jwtGenerator = new JWTGenerator(asymmetricKeyPair);
+        String jwt = jwtGenerator.generateJWT();
+        String otherJwt = jwtGenerator.generateJWT();
+
+        JWTAuthenticationHandler authenticationHandler = new JWTAuthenticationHandler(mockServerLogger, jwkFile);
+
+        // when
+        assertThat(authenticationHandler.controlPlaneRequestAuthenticated(request().withHeader(AUTHORIZATION.toString(), "Bearer " + jwt)), equalTo(true));
+        assertThat(authenticationHandler.controlPlaneRequestAuthenticated(request().withHeader(AUTHORIZATION.toString(), "Bearer " + jwt)), equalTo(true));
+        assertThat(authenticationHandler.controlPlaneRequestAuthenticated(request().withHeader(AUTHORIZATION.toString(), "Bearer " + otherJwt)), equalTo(true));
+        assertThat(authenticationHandler.controlPlaneRequestAuthenticated(request().withHeader(AUTHORIZATION.toString(), "Bearer " + jwt)), equalTo(true));
+
+        // then
+        assertThat(authenticationHandler.validatedTokensHitCount(), equalTo(2L));
+        assertThat(authenticationHandler.validatedTokensMissCount(), equalTo(2L));
+    }
+
+    @Test
+    public void shouldStopRefreshingJWKSourceFromURLWhenClosed() throws InterruptedException {
+        // given
+        AsymmetricKeyPair asymmetricKeyPair = AsymmetricKeyGenerator.createAsymmetricKeyPair(AsymmetricKeyPairAlgorithm.RSA2048_SHA256);
+        String jwt = new JWTGenerator(asymmetricKeyPair).generateJWT();
+        EchoServer echoServer = new EchoServer(false);
+        try {
+            echoServer.withNextResponse(response().withBody(json(new JWKGenerator().generateJWK(asymmetricKeyPair))));
+            Set<Thread> threadsBefore = Thread.getAllStackTraces().keySet();
+            JWTAuthenticationHandler authenticationHandler = new JWTAuthenticationHandler(mockServerLogger, "http://localhost:" + echoServer.getPort() + "/jwks.json");
+            assertThat(authenticationHandler.controlPlaneRequestAuthenticated(request().withHeader(AUTHORIZATION.toString(), "Bearer " + jwt)), equalTo(true));
+            List<Thread> refreshThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> !threadsBefore.contains(thread) && thread.getName().startsWith("pool-"))
+                .collect(Collectors.toList());
+            assertThat(refreshThreads.isEmpty(), equalTo(false));
+
+            // when
+            authenticationHandler.close();
+
+            // then
+            for (Thread refreshThread : refreshThreads) {
+                refreshThread.join(SECONDS.toMillis(5));
+                assertThat(refreshThread.getName() + " is alive", refreshThread.isAlive(), equalTo(false));
+            }
+        } finally {
+            stopQuietly(echoServer);
+        }
+    }
+
+    @Test
+    public void shouldValidateJWTAgainAfterExpiry() throws InterruptedException {
+        // given
+        AsymmetricKeyPair asymmetricKeyPair = AsymmetricKeyGenerator.createAsymmetricKeyPair(AsymmetricKeyPairAlgorithm.RSA2048_SHA256);
+        String jwkFile = TempFileWriter.write(new JWKGenerator().generateJWK(asymmetricKeyPair));
+        String jwt = new JWTGenerator(asymmetricKeyPair)
+            .signJWT(
+                ImmutableMap.of(
+                    "exp", Clock.systemUTC().instant().plus(Duration.ofSeconds(2)).getEpochSecond(),
+                    "iat", Clock.systemUTC().instant().minus(Duration.ofHours(2)).getEpochSecond(),
+                    "iss", RandomStringUtils.randomAlphanumeric(20),
+                    "sub", UUID.randomUUID().toString()
+                )
+            );
+
+        JWTAuthenticationHandler authenticationHandler = new JWTAuthenticationHandler(mockServerLogger, jwkFile);
+        HttpRequest request = request().withHeader(AUTHORIZATION.toString(), "Bearer " + jwt);
+        assertThat(authenticationHandler.controlPlaneRequestAuthenticated(request), equalTo(true));
+
+        // when
+        MILLISECONDS.sleep(2500);
+
+        // then - validated again, still accepted within the allowed clock skew
+        assertThat(authenticationHandler.controlPlaneRequestAuthenticated(request), equalTo(true));
+        assertThat(authenticationHandler.validatedTokensHitCount(), equalTo(0L));
+        assertThat(authenticationHandler.validatedTokensMissCount(), equalTo(2L));
+    }
+
+    @Test
+    public void shouldNotValidateFailedJWTFromValidatedTokens() {
+        // given
+        AsymmetricKeyPair asymmetricKeyPair = AsymmetricKeyGenerator.createAsymmetricKeyPair(AsymmetricKeyPairAlgorithm.RSA2048_SHA256);
+        String jwkFile = TempFileWriter.write(new JWKGenerator().generateJWK(asymmetricKeyPair));
+        String jwt = new JWTGenerator(asymmetricKeyPair).generateJWT();
+
+        JWTAuthenticationHandler authenticationHandler = new JWTAuthenticationHandler(mockServerLogger, jwkFile)
+            .withExpectedAudience("some_audience");
+        HttpRequest request = request().withHeader(AUTHORIZATION.toString(), "Bearer " + jwt);
+
+        // when
+        assertThrows(AuthenticationException.class, () -> authenticationHandler.controlPlaneRequestAuthenticated(request));
+        assertThrows(AuthenticationException.class, () -> authenticationHandler.controlPlaneRequestAuthenticated(request));
+
+        // then
+        assertThat(authenticationHandler.validatedTokensHitCount(), equalTo(0L));
+        assertThat(authenticationHandler.validatedTokensMissCount(), equalTo(2L));
+    }
+
     @Test
     public void shouldNotValidateExpiredJWT() {
         // given
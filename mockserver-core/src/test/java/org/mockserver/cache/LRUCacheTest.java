@@ -160,4 +160,80 @@ public class LRUCacheTest {
         assertThat(lruCacheThree.get("one"), is(nullValue()));
     }
 
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 3, MINUTES.toMillis(10));
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.put("three", "c");
+
+        // when
+        lruCache.get("one");
+        lruCache.put("four", "d");
+
+        // then
+        assertThat(lruCache.get("two"), is(nullValue()));
+        assertThat(lruCache.get("one"), is("a"));
+        assertThat(lruCache.get("three"), is("c"));
+        assertThat(lruCache.get("four"), is("d"));
+    }
+
+    @Test
+    public void shouldLimitSizeOfLargeCache() {
+        // given
+        LRUCache<Integer, Object> lruCache = new LRUCache<>(mockServerLogger, 250, MINUTES.toMillis(10));
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            lruCache.put(i, "value_" + i);
+        }
+
+        // then
+        assertThat(lruCache.size(), is(250));
+        assertThat(lruCache.evictionCount(), is((long) (1000 - lruCache.size())));
+        assertThat(lruCache.get(999), is("value_999"));
+    }
+
+    @Test
+    public void shouldLimitLargeCacheGloballyToLessEntriesThanSegments() {
+        try {
+            // given
+            LRUCache.setMaxSizeOverride(5);
+            LRUCache<Integer, Object> lruCache = new LRUCache<>(mockServerLogger, 1000, MINUTES.toMillis(10));
+
+            // when
+            for (int i = 0; i < 1000; i++) {
+                lruCache.put(i, "value_" + i);
+            }
+
+            // then
+            assertThat(lruCache.size(), is(5));
+        } finally {
+            LRUCache.setMaxSizeOverride(0);
+        }
+    }
+
+    @Test
+    public void shouldRecordHitsMissesAndEvictions() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 2, MINUTES.toMillis(10));
+
+        // when
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.put("three", "c");
+        lruCache.get("one");
+        lruCache.get("two");
+        lruCache.get("three");
+        lruCache.get("three");
+
+        // then
+        assertThat(lruCache.size(), is(2));
+        assertThat(lruCache.hitCount(), is(3L));
+        assertThat(lruCache.missCount(), is(1L));
+        assertThat(lruCache.hitRate(), is(0.75));
+        assertThat(lruCache.evictionCount(), is(1L));
+    }
+
 }
\ No newline at end of file
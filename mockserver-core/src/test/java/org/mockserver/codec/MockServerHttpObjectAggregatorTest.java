@@ -0,0 +1,108 @@
+package org.mockserver.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author jamesdbloom
+ */
+public class MockServerHttpObjectAggregatorTest {
+
+    @Test
+    public void shouldConsolidateOnlyChunksReceivedSinceLastConsolidation() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new MockServerHttpObjectAggregator(Integer.MAX_VALUE));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpUtil.setTransferEncodingChunked(request, true);
+        int chunks = 5000;
+
+        // when
+        embeddedChannel.writeInbound(request);
+        for (int i = 0; i < chunks - 1; i++) {
+            embeddedChannel.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer(new byte[]{'a'})));
+        }
+        embeddedChannel.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer(new byte[]{'b'})));
+
+        // then
+        FullHttpRequest fullHttpRequest = embeddedChannel.readInbound();
+        try {
+            ByteBuf content = fullHttpRequest.content();
+            assertThat(content, instanceOf(CompositeByteBuf.class));
+            int consolidations = chunks / MockServerHttpObjectAggregator.MAX_PENDING_COMPONENTS;
+            assertThat(((CompositeByteBuf) content).numComponents(), is(consolidations + chunks - consolidations * MockServerHttpObjectAggregator.MAX_PENDING_COMPONENTS));
+            for (int i = 0; i < consolidations; i++) {
+                assertThat(((CompositeByteBuf) content).internalComponent(i).readableBytes(), is(MockServerHttpObjectAggregator.MAX_PENDING_COMPONENTS));
+            }
+            assertThat(content.readableBytes(), is(chunks));
+            assertThat(content.getByte(chunks - 2), is((byte) 'a'));
+            assertThat(content.getByte(chunks - 1), is((byte) 'b'));
+        } finally {
+            fullHttpRequest.release();
+            embeddedChannel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    public void shouldConsolidateSmallChunksHoldingLargeBuffers() {
+        // given
+        int maxContentLength = 10 * 1024;
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new MockServerHttpObjectAggregator(maxContentLength));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpUtil.setTransferEncodingChunked(request, true);
+        int chunks = 100;
+
+        // when
+        embeddedChannel.writeInbound(request);
+        for (int i = 0; i < chunks - 1; i++) {
+            // a one byte chunk read into a 1024 byte buffer
+            embeddedChannel.writeInbound(new DefaultHttpContent(Unpooled.buffer(1024).writeByte('a')));
+        }
+        embeddedChannel.writeInbound(new DefaultLastHttpContent(Unpooled.buffer(1024).writeByte('b')));
+
+        // then
+        FullHttpRequest fullHttpRequest = embeddedChannel.readInbound();
+        try {
+            CompositeByteBuf content = (CompositeByteBuf) fullHttpRequest.content();
+            long retainedCapacity = 0;
+            for (int i = 0; i < content.numComponents(); i++) {
+                retainedCapacity += content.internalComponent(i).capacity();
+            }
+            assertThat(retainedCapacity, lessThanOrEqualTo((long) (chunks + maxContentLength + 1024)));
+            assertThat(content.readableBytes(), is(chunks));
+            assertThat(content.getByte(chunks - 2), is((byte) 'a'));
+            assertThat(content.getByte(chunks - 1), is((byte) 'b'));
+        } finally {
+            fullHttpRequest.release();
+            embeddedChannel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    public void shouldRejectRequestWithContentLengthLargerThanMaximumBeforeReadingBody() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new MockServerHttpObjectAggregator(10));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpUtil.setContentLength(request, 11);
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then
+        FullHttpResponse response = embeddedChannel.readOutbound();
+        try {
+            assertThat(response.status(), is(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE));
+            assertThat(embeddedChannel.readInbound(), nullValue());
+        } finally {
+            response.release();
+            embeddedChannel.finishAndReleaseAll();
+        }
+    }
+
+}
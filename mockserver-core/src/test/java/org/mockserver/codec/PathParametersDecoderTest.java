@@ -11,6 +11,7 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.NottableString.string;
 import static org.mockserver.model.Parameter.param;
@@ -877,6 +878,35 @@ public class PathParametersDecoderTest {
         );
     }
 
+    @Test
+    public void shouldRetrievePathParametersFromMultipleRequestsWithCompiledPathTemplate() {
+        // given
+        PathParametersDecoder.PathTemplate pathTemplate = new PathParametersDecoder().compilePathTemplate(
+            request()
+                .withPath("/users/{id}/orders/{orderId}")
+                .withPathParameters(
+                    param("id", ".*"),
+                    param("orderId", ".*")
+                )
+        );
+
+        // then
+        assertThat(pathTemplate.extractPathParameters(request().withPath("/users/5/orders/10")).getEntries(), containsInAnyOrder(
+            param("id", "5"),
+            param("orderId", "10")
+        ));
+        assertThat(pathTemplate.extractPathParameters(request().withPath("//users/3,4//orders/11/")).getEntries(), containsInAnyOrder(
+            param("id", "3", "4"),
+            param("orderId", "11")
+        ));
+        try {
+            pathTemplate.extractPathParameters(request().withPath("/users/5/orders"));
+            fail("expected exception to be thrown");
+        } catch (IllegalArgumentException iae) {
+            assertThat(iae.getMessage(), is("expected path /users/{id}/orders/{orderId} has 4 parts but path /users/5/orders has 3 parts "));
+        }
+    }
+
     void shouldRetrieveParameters(String matcherPath, Parameter[] parameter, String requestPath, List<Parameter> expected) {
         assertThat(new PathParametersDecoder().extractPathParameters(
             request()
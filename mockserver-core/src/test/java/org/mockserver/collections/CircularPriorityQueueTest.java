@@ -4,6 +4,7 @@ import org.junit.Test;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.SortableExpectationId;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -597,4 +598,59 @@ public class CircularPriorityQueueTest {
         assertThat(concurrentLinkedQueue.toSortedList(), contains(five, one, two));
     }
 
+    @Test
+    public void shouldEvictInInsertionOrderAfterRemove() {
+        // given
+        List<SortableExpectationId> evicted = new ArrayList<>();
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            3,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id,
+            evicted::add
+        );
+        concurrentLinkedQueue.add(new SortableExpectationId("1", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("2", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("3", 0, 0));
+
+        // when
+        assertThat(concurrentLinkedQueue.remove(new SortableExpectationId("2", 0, 0)), is(true));
+
+        // then
+        assertEquals(2, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue.getByKey("2"), is(Optional.empty()));
+
+        // when
+        concurrentLinkedQueue.add(new SortableExpectationId("4", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("5", 0, 0));
+
+        // then
+        assertEquals(3, concurrentLinkedQueue.size());
+        assertThat(evicted, contains(new SortableExpectationId("1", 0, 0)));
+        assertThat(concurrentLinkedQueue.toSortedList(), contains(
+            new SortableExpectationId("3", 0, 0),
+            new SortableExpectationId("4", 0, 0),
+            new SortableExpectationId("5", 0, 0)
+        ));
+    }
+
+    @Test
+    public void shouldReplaceElementWithSameKey() {
+        // given
+        CircularPriorityQueue<String, Expectation, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(2, EXPECTATION_SORTABLE_PRIORITY_COMPARATOR, Expectation::getSortableId, Expectation::getId);
+        Expectation first = when(request("first"), 0).withId("one");
+        Expectation second = when(request("second"), 1).withId("one");
+        Expectation third = when(request("third"), 0).withId("three");
+
+        // when
+        concurrentLinkedQueue.add(first);
+        concurrentLinkedQueue.add(second);
+        concurrentLinkedQueue.add(third);
+
+        // then
+        assertEquals(2, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue.toSortedList(), contains(second, third));
+        assertThat(concurrentLinkedQueue.keyMap().get("one"), sameInstance(second));
+    }
+
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
 import org.mockserver.server.initialize.ExpectationInitializerExample;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.mockserver.socket.tls.KeyAndCertificateFactory;
@@ -20,6 +21,8 @@ import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThrows;
 import static org.mockserver.configuration.ConfigurationProperties.logLevel;
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXPECTATION_RESPONSE;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
 
 public class ConfigurationTest {
 
@@ -119,6 +122,56 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetMaxLoggedBodyLength() {
+        Map<LogEntry.LogMessageType, Integer> original = ConfigurationProperties.maxLoggedBodyLength();
+        try {
+            // then - default value
+            assertThat(configuration.maxLoggedBodyLength(), equalTo(ImmutableMap.of()));
+
+            // when - system property setter
+            ConfigurationProperties.maxLoggedBodyLength(ImmutableMap.of(RECEIVED_REQUEST, 100, EXPECTATION_RESPONSE, 50));
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.maxLoggedBodyLength(), equalTo(ImmutableMap.of(RECEIVED_REQUEST, 100, EXPECTATION_RESPONSE, 50)));
+            assertThat(System.getProperty("mockserver.maxLoggedBodyLength"), equalTo("RECEIVED_REQUEST=100,EXPECTATION_RESPONSE=50"));
+            assertThat(configuration.maxLoggedBodyLength(), equalTo(ImmutableMap.of(RECEIVED_REQUEST, 100, EXPECTATION_RESPONSE, 50)));
+
+            // when - setter
+            configuration.maxLoggedBodyLength(ImmutableMap.of(RECEIVED_REQUEST, 10));
+
+            // then - getter
+            assertThat(configuration.maxLoggedBodyLength(), equalTo(ImmutableMap.of(RECEIVED_REQUEST, 10)));
+        } finally {
+            ConfigurationProperties.maxLoggedBodyLength(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetSystemOutLogSamplingRate() {
+        double original = ConfigurationProperties.systemOutLogSamplingRate();
+        try {
+            // then - default value
+            assertThat(configuration.systemOutLogSamplingRate(), equalTo(1.0));
+
+            // when - system property setter
+            ConfigurationProperties.systemOutLogSamplingRate(0.5);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.systemOutLogSamplingRate(), equalTo(0.5));
+            assertThat(System.getProperty("mockserver.systemOutLogSamplingRate"), equalTo("0.5"));
+            assertThat(configuration.systemOutLogSamplingRate(), equalTo(0.5));
+
+            // when - setter
+            configuration.systemOutLogSamplingRate(0.1);
+
+            // then - getter
+            assertThat(configuration.systemOutLogSamplingRate(), equalTo(0.1));
+        } finally {
+            ConfigurationProperties.systemOutLogSamplingRate(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetDetailedMatchFailures() {
         boolean original = ConfigurationProperties.detailedMatchFailures();
@@ -254,6 +307,31 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetMaxUncompressedLogEntries() {
+        int original = ConfigurationProperties.maxUncompressedLogEntries();
+        try {
+            // then - default value
+            assertThat(configuration.maxUncompressedLogEntries(), equalTo(Integer.MAX_VALUE));
+
+            // when - system property setter
+            ConfigurationProperties.maxUncompressedLogEntries(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.maxUncompressedLogEntries(), equalTo(10));
+            assertThat(System.getProperty("mockserver.maxUncompressedLogEntries"), equalTo("10"));
+            assertThat(configuration.maxUncompressedLogEntries(), equalTo(10));
+
+            // when - setter
+            configuration.maxUncompressedLogEntries(20);
+
+            // then - getter
+            assertThat(configuration.maxUncompressedLogEntries(), equalTo(20));
+        } finally {
+            ConfigurationProperties.maxUncompressedLogEntries(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaxWebSocketExpectations() {
         int original = ConfigurationProperties.maxWebSocketExpectations();
@@ -585,6 +663,181 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetMaxForwardConnectionsPerHost() {
+        int original = ConfigurationProperties.maxForwardConnectionsPerHost();
+        try {
+            // then - default value
+            assertThat(configuration.maxForwardConnectionsPerHost(), equalTo(10));
+
+            // when - system property setter
+            ConfigurationProperties.maxForwardConnectionsPerHost(5);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.maxForwardConnectionsPerHost(), equalTo(5));
+            assertThat(System.getProperty("mockserver.maxForwardConnectionsPerHost"), equalTo("5"));
+            assertThat(configuration.maxForwardConnectionsPerHost(), equalTo(5));
+
+            // when - setter
+            configuration.maxForwardConnectionsPerHost(0);
+
+            // then - getter
+            assertThat(configuration.maxForwardConnectionsPerHost(), equalTo(0));
+        } finally {
+            ConfigurationProperties.maxForwardConnectionsPerHost(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardConnectionIdleTimeoutInMillis() {
+        long original = ConfigurationProperties.forwardConnectionIdleTimeout();
+        try {
+            // then - default value
+            assertThat(configuration.forwardConnectionIdleTimeoutInMillis(), equalTo(30000L));
+
+            // when - system property setter
+            ConfigurationProperties.forwardConnectionIdleTimeout(10L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardConnectionIdleTimeout(), equalTo(10L));
+            assertThat(System.getProperty("mockserver.forwardConnectionIdleTimeout"), equalTo("10"));
+            assertThat(configuration.forwardConnectionIdleTimeoutInMillis(), equalTo(10L));
+
+            // when - setter
+            configuration.forwardConnectionIdleTimeoutInMillis(20L);
+
+            // then - getter
+            assertThat(configuration.forwardConnectionIdleTimeoutInMillis(), equalTo(20L));
+        } finally {
+            ConfigurationProperties.forwardConnectionIdleTimeout(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetNettyTransport() {
+        String original = ConfigurationProperties.nettyTransport();
+        try {
+            // then - default value
+            assertThat(configuration.nettyTransport(), equalTo("auto"));
+
+            // when - system property setter
+            ConfigurationProperties.nettyTransport("nio");
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.nettyTransport(), equalTo("nio"));
+            assertThat(System.getProperty("mockserver.nettyTransport"), equalTo("nio"));
+            assertThat(configuration.nettyTransport(), equalTo("nio"));
+
+            // when - setter
+            configuration.nettyTransport("epoll");
+
+            // then - getter
+            assertThat(configuration.nettyTransport(), equalTo("epoll"));
+        } finally {
+            ConfigurationProperties.nettyTransport(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetTcpNoDelay() {
+        boolean original = ConfigurationProperties.tcpNoDelay();
+        try {
+            // then - default value
+            assertThat(configuration.tcpNoDelay(), equalTo(true));
+
+            // when - system property setter
+            ConfigurationProperties.tcpNoDelay(false);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.tcpNoDelay(), equalTo(false));
+            assertThat(System.getProperty("mockserver.tcpNoDelay"), equalTo("false"));
+            assertThat(configuration.tcpNoDelay(), equalTo(false));
+
+            // when - setter
+            configuration.tcpNoDelay(true);
+
+            // then - getter
+            assertThat(configuration.tcpNoDelay(), equalTo(true));
+        } finally {
+            ConfigurationProperties.tcpNoDelay(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetTcpFastOpen() {
+        boolean original = ConfigurationProperties.tcpFastOpen();
+        try {
+            // then - default value
+            assertThat(configuration.tcpFastOpen(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.tcpFastOpen(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.tcpFastOpen(), equalTo(true));
+            assertThat(System.getProperty("mockserver.tcpFastOpen"), equalTo("true"));
+            assertThat(configuration.tcpFastOpen(), equalTo(true));
+
+            // when - setter
+            configuration.tcpFastOpen(false);
+
+            // then - getter
+            assertThat(configuration.tcpFastOpen(), equalTo(false));
+        } finally {
+            ConfigurationProperties.tcpFastOpen(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetReusePort() {
+        boolean original = ConfigurationProperties.reusePort();
+        try {
+            // then - default value
+            assertThat(configuration.reusePort(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.reusePort(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.reusePort(), equalTo(true));
+            assertThat(System.getProperty("mockserver.reusePort"), equalTo("true"));
+            assertThat(configuration.reusePort(), equalTo(true));
+
+            // when - setter
+            configuration.reusePort(false);
+
+            // then - getter
+            assertThat(configuration.reusePort(), equalTo(false));
+        } finally {
+            ConfigurationProperties.reusePort(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetAcceptorThreadCount() {
+        int original = ConfigurationProperties.acceptorThreadCount();
+        try {
+            // then - default value
+            assertThat(configuration.acceptorThreadCount(), equalTo(1));
+
+            // when - system property setter
+            ConfigurationProperties.acceptorThreadCount(4);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.acceptorThreadCount(), equalTo(4));
+            assertThat(System.getProperty("mockserver.acceptorThreadCount"), equalTo("4"));
+            assertThat(configuration.acceptorThreadCount(), equalTo(4));
+
+            // when - setter
+            configuration.acceptorThreadCount(2);
+
+            // then - getter
+            assertThat(configuration.acceptorThreadCount(), equalTo(2));
+        } finally {
+            ConfigurationProperties.acceptorThreadCount(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaxInitialLineLength() {
         int original = ConfigurationProperties.maxInitialLineLength();
@@ -660,6 +913,31 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetMaxRequestBodySize() {
+        int original = ConfigurationProperties.maxRequestBodySize();
+        try {
+            // then - default value
+            assertThat(configuration.maxRequestBodySize(), equalTo(Integer.MAX_VALUE));
+
+            // when - system property setter
+            ConfigurationProperties.maxRequestBodySize(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.maxRequestBodySize(), equalTo(10));
+            assertThat(System.getProperty("mockserver.maxRequestBodySize"), equalTo("10"));
+            assertThat(configuration.maxRequestBodySize(), equalTo(10));
+
+            // when - setter
+            configuration.maxRequestBodySize(20);
+
+            // then - getter
+            assertThat(configuration.maxRequestBodySize(), equalTo(20));
+        } finally {
+            ConfigurationProperties.maxRequestBodySize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetUseSemicolonAsQueryParameterSeparator() {
         boolean original = ConfigurationProperties.useSemicolonAsQueryParameterSeparator();
@@ -738,6 +1016,32 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetForwardBinaryRequestsAsStream() {
+        boolean original = ConfigurationProperties.forwardBinaryRequestsAsStream();
+        try {
+            // then - default value
+            assertThat(configuration.forwardBinaryRequestsAsStream(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.forwardBinaryRequestsAsStream(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardBinaryRequestsAsStream(), equalTo(true));
+            assertThat(System.getProperty("mockserver.forwardBinaryRequestsAsStream"), equalTo("true"));
+            assertThat(configuration.forwardBinaryRequestsAsStream(), equalTo(true));
+            ConfigurationProperties.forwardBinaryRequestsAsStream(original);
+
+            // when - setter
+            configuration.forwardBinaryRequestsAsStream(true);
+
+            // then - getter
+            assertThat(configuration.forwardBinaryRequestsAsStream(), equalTo(true));
+        } finally {
+            ConfigurationProperties.forwardBinaryRequestsAsStream(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetEnableCORSForAPI() {
         boolean original = ConfigurationProperties.enableCORSForAPI();
@@ -1173,6 +1477,32 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetPersistedExpectationsJournal() {
+        boolean original = ConfigurationProperties.persistedExpectationsJournal();
+        try {
+            // then - default value
+            assertThat(configuration.persistedExpectationsJournal(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.persistedExpectationsJournal(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistedExpectationsJournal(), equalTo(true));
+            assertThat(System.getProperty("mockserver.persistedExpectationsJournal"), equalTo("true"));
+            assertThat(configuration.persistedExpectationsJournal(), equalTo(true));
+            ConfigurationProperties.persistedExpectationsJournal(original);
+
+            // when - setter
+            configuration.persistedExpectationsJournal(true);
+
+            // then - getter
+            assertThat(configuration.persistedExpectationsJournal(), equalTo(true));
+        } finally {
+            ConfigurationProperties.persistedExpectationsJournal(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaximumNumberOfRequestToReturnInVerificationFailure() {
         int original = ConfigurationProperties.maximumNumberOfRequestToReturnInVerificationFailure();
@@ -1685,6 +2015,31 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetControlPlaneJWTAuthenticationJWKSourceRefreshInterval() {
+        long original = ConfigurationProperties.controlPlaneJWTAuthenticationJWKSourceRefreshInterval();
+        try {
+            // then - default value
+            assertThat(configuration.controlPlaneJWTAuthenticationJWKSourceRefreshInterval(), equalTo(300000L));
+
+            // when - system property setter
+            ConfigurationProperties.controlPlaneJWTAuthenticationJWKSourceRefreshInterval(60000L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.controlPlaneJWTAuthenticationJWKSourceRefreshInterval(), equalTo(60000L));
+            assertThat(System.getProperty("mockserver.controlPlaneJWTAuthenticationJWKSourceRefreshInterval"), equalTo("60000"));
+            assertThat(configuration.controlPlaneJWTAuthenticationJWKSourceRefreshInterval(), equalTo(60000L));
+
+            // when - setter
+            configuration.controlPlaneJWTAuthenticationJWKSourceRefreshInterval(30000L);
+
+            // then - getter
+            assertThat(configuration.controlPlaneJWTAuthenticationJWKSourceRefreshInterval(), equalTo(30000L));
+        } finally {
+            ConfigurationProperties.controlPlaneJWTAuthenticationJWKSourceRefreshInterval(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetProactivelyInitialiseTLS() {
         boolean original = ConfigurationProperties.proactivelyInitialiseTLS();
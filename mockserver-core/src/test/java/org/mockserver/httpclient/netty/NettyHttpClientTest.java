@@ -8,22 +8,40 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.httpclient.SocketConnectionException;
 import org.mockserver.echo.http.EchoServer;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.MediaType;
+import org.mockserver.model.Protocol;
 import org.mockserver.scheduler.Scheduler;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.*;
 import static io.netty.handler.codec.http.HttpHeaderValues.KEEP_ALIVE;
 import static io.netty.handler.codec.http.HttpHeaderValues.*;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static junit.framework.TestCase.fail;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.model.BinaryBody.binary;
 import static org.mockserver.model.Cookie.cookie;
@@ -123,6 +141,132 @@ public class NettyHttpClientTest {
         ));
     }
 
+    @Test
+    public void shouldReuseConnectionForForwardedRequests() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), mockServerLogger, clientEventLoopGroup, null, true);
+        echoServer.clear();
+
+        // when
+        nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort())).get(10, TimeUnit.SECONDS);
+        String firstRemoteAddress = echoServer.getLastRequest().getRemoteAddress();
+        nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort())).get(10, TimeUnit.SECONDS);
+        String secondRemoteAddress = echoServer.getLastRequest().getRemoteAddress();
+
+        // then
+        assertThat(secondRemoteAddress, is(firstRemoteAddress));
+    }
+
+    @Test
+    public void shouldNotReuseConnectionForForwardedRequestsWhenPoolingDisabled() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration().maxForwardConnectionsPerHost(0), mockServerLogger, clientEventLoopGroup, null, true);
+        echoServer.clear();
+
+        // when
+        nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort())).get(10, TimeUnit.SECONDS);
+        String firstRemoteAddress = echoServer.getLastRequest().getRemoteAddress();
+        nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort())).get(10, TimeUnit.SECONDS);
+        String secondRemoteAddress = echoServer.getLastRequest().getRemoteAddress();
+
+        // then
+        assertThat(secondRemoteAddress, not(firstRemoteAddress));
+    }
+
+    @Test
+    public void shouldNotReuseConnectionForForwardedRequestsWithConnectionClose() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), mockServerLogger, clientEventLoopGroup, null, true);
+        echoServer.clear();
+
+        // when
+        nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort()).withHeader(CONNECTION.toString(), CLOSE.toString())).get(10, TimeUnit.SECONDS);
+        String firstRemoteAddress = echoServer.getLastRequest().getRemoteAddress();
+        nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort())).get(10, TimeUnit.SECONDS);
+        String secondRemoteAddress = echoServer.getLastRequest().getRemoteAddress();
+
+        // then
+        assertThat(secondRemoteAddress, not(firstRemoteAddress));
+    }
+
+    @Test
+    public void shouldNotReuseConnectionForForwardedRequestsWithHttp10ResponseWithoutKeepAlive() throws Exception {
+        // given
+        try (RawHttpServer rawHttpServer = new RawHttpServer(requestNumber -> "HTTP/1.0 200 OK\r\nContent-Length: 0\r\n\r\n")) {
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), mockServerLogger, clientEventLoopGroup, null, true);
+
+            // when
+            nettyHttpClient.sendRequest(request().withHeader("Host", "127.0.0.1:" + rawHttpServer.getPort())).get(10, TimeUnit.SECONDS);
+            nettyHttpClient.sendRequest(request().withHeader("Host", "127.0.0.1:" + rawHttpServer.getPort())).get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(rawHttpServer.connections.get(), is(2));
+        }
+    }
+
+    @Test
+    public void shouldRetryIdempotentRequestWhenPooledConnectionClosedWithoutResponse() throws Exception {
+        // given
+        try (RawHttpServer rawHttpServer = new RawHttpServer(requestNumber -> requestNumber == 2 ? null : "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n")) {
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), mockServerLogger, clientEventLoopGroup, null, true);
+            nettyHttpClient.sendRequest(request().withHeader("Host", "127.0.0.1:" + rawHttpServer.getPort())).get(10, TimeUnit.SECONDS);
+
+            // when
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withMethod("PUT").withBody("some_body").withHeader("Host", "127.0.0.1:" + rawHttpServer.getPort())).get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(httpResponse.getStatusCode(), is(200));
+            assertThat(rawHttpServer.requests.get(), is(3));
+            assertThat(rawHttpServer.connections.get(), is(2));
+        }
+    }
+
+    @Test
+    public void shouldNotRetryNonIdempotentRequestWhenPooledConnectionClosedWithoutResponse() throws Exception {
+        // given
+        try (RawHttpServer rawHttpServer = new RawHttpServer(requestNumber -> requestNumber == 2 ? null : "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n")) {
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), mockServerLogger, clientEventLoopGroup, null, true);
+            nettyHttpClient.sendRequest(request().withHeader("Host", "127.0.0.1:" + rawHttpServer.getPort())).get(10, TimeUnit.SECONDS);
+
+            // when
+            try {
+                nettyHttpClient.sendRequest(request().withMethod("POST").withBody("some_body").withHeader("Host", "127.0.0.1:" + rawHttpServer.getPort())).get(10, TimeUnit.SECONDS);
+                fail("expected exception to be thrown");
+            } catch (ExecutionException executionException) {
+                // then
+                assertThat(executionException.getCause(), instanceOf(SocketConnectionException.class));
+            }
+            assertThat(rawHttpServer.requests.get(), is(2));
+            assertThat(rawHttpServer.connections.get(), is(1));
+        }
+    }
+
+    @Test
+    public void shouldReuseConnectionForConcurrentForwardedHttp2Requests() throws Exception {
+        // given
+        EchoServer secureEchoServer = new EchoServer(true);
+        try {
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(configuration(), mockServerLogger, clientEventLoopGroup, null, true);
+            HttpResponse firstResponse = nettyHttpClient.sendRequest(request().withSecure(true).withProtocol(Protocol.HTTP_2).withBody("first").withHeader("Host", "localhost:" + secureEchoServer.getPort())).get(10, TimeUnit.SECONDS);
+            String firstRemoteAddress = secureEchoServer.getLastRequest().getRemoteAddress();
+
+            // when
+            List<CompletableFuture<HttpResponse>> responseFutures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                responseFutures.add(nettyHttpClient.sendRequest(request().withSecure(true).withProtocol(Protocol.HTTP_2).withBody("request_" + i).withHeader("Host", "localhost:" + secureEchoServer.getPort())));
+            }
+
+            // then
+            assertThat(firstResponse.getBodyAsString(), is("first"));
+            for (int i = 0; i < 5; i++) {
+                assertThat(responseFutures.get(i).get(10, TimeUnit.SECONDS).getBodyAsString(), is("request_" + i));
+            }
+            assertThat(secureEchoServer.getLastRequest().getRemoteAddress(), is(firstRemoteAddress));
+        } finally {
+            stopQuietly(secureEchoServer);
+        }
+    }
+
     @Test
     public void shouldSendComplexRequestWithStringBody() throws Exception {
         // given
@@ -229,4 +373,66 @@ public class NettyHttpClientTest {
         ));
     }
 
+    /**
+     * Answers each request received, on any connection, with the response returned for its number (starting at 1)
+     * or closes the connection if no response is returned
+     */
+    private static class RawHttpServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private RawHttpServer(IntFunction<String> responses) throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+            new Thread(() -> {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        Socket socket = serverSocket.accept();
+                        connections.incrementAndGet();
+                        new Thread(() -> handle(socket, responses)).start();
+                    } catch (IOException ignore) {
+                        // server socket closed
+                    }
+                }
+            }).start();
+        }
+
+        private void handle(Socket socket, IntFunction<String> responses) {
+            try (Socket ignored = socket) {
+                BufferedReader input = new BufferedReader(new InputStreamReader(socket.getInputStream(), ISO_8859_1));
+                String line;
+                while ((line = input.readLine()) != null) {
+                    int contentLength = 0;
+                    while (line != null && !line.isEmpty()) {
+                        if (line.toLowerCase().startsWith("content-length:")) {
+                            contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                        }
+                        line = input.readLine();
+                    }
+                    if (input.skip(contentLength) < contentLength) {
+                        return;
+                    }
+                    String response = responses.apply(requests.incrementAndGet());
+                    if (response == null) {
+                        return;
+                    }
+                    socket.getOutputStream().write(response.getBytes(ISO_8859_1));
+                    socket.getOutputStream().flush();
+                }
+            } catch (IOException ignore) {
+                // connection closed by client
+            }
+        }
+
+        private int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+
 }
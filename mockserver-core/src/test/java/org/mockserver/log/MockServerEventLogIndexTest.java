@@ -0,0 +1,121 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * @author jamesdbloom
+ */
+public class MockServerEventLogIndexTest {
+
+    @Test
+    public void shouldReturnEntriesByTypeInLogOrder() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry receivedRequestOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one"));
+        LogEntry expectationResponse = new LogEntry().setType(EXPECTATION_RESPONSE).setHttpRequest(request("/one"));
+        LogEntry forwardedRequest = new LogEntry().setType(FORWARDED_REQUEST).setHttpRequest(request("/two"));
+        LogEntry receivedRequestTwo = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/two"));
+        index.add(receivedRequestOne);
+        index.add(expectationResponse);
+        index.add(forwardedRequest);
+        index.add(receivedRequestTwo);
+
+        // then
+        assertThat(index.entriesWithType(EnumSet.of(RECEIVED_REQUEST)), contains(receivedRequestOne, receivedRequestTwo));
+        assertThat(index.entriesWithType(EnumSet.of(FORWARDED_REQUEST, EXPECTATION_RESPONSE)), contains(expectationResponse, forwardedRequest));
+        assertThat(index.entriesWithType(EnumSet.of(VERIFICATION)), empty());
+    }
+
+    @Test
+    public void shouldReturnEntriesByExpectationIdAndCorrelationId() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry one = new LogEntry().setType(EXPECTATION_RESPONSE).setExpectationId("one").setCorrelationId("first");
+        LogEntry two = new LogEntry().setType(EXPECTATION_RESPONSE).setExpectationId("two").setCorrelationId("first");
+        LogEntry three = new LogEntry().setType(FORWARDED_REQUEST).setExpectationId("one").setCorrelationId("second");
+        index.add(one);
+        index.add(two);
+        index.add(three);
+
+        // then
+        assertThat(index.entriesWithExpectationId(Collections.singletonList("one")), contains(one, three));
+        assertThat(index.entriesWithExpectationId(Arrays.asList("two", "one")), contains(one, two, three));
+        assertThat(index.entriesWithExpectationId(Collections.singletonList("unknown")), empty());
+        assertThat(index.entriesWithCorrelationId("first"), contains(one, two));
+        assertThat(index.entriesWithCorrelationId("second"), contains(three));
+    }
+
+    @Test
+    public void shouldReturnRequestEntriesByMethodAndPath() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry getOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one").withMethod("GET"));
+        LogEntry postOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/ONE").withMethod("POST"));
+        LogEntry getTwo = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/two").withMethod("GET"));
+        LogEntry noMethodOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one"));
+        index.add(getOne);
+        index.add(postOne);
+        index.add(getTwo);
+        index.add(noMethodOne);
+
+        // then
+        assertThat(index.entriesWithTypeMatching(EnumSet.of(RECEIVED_REQUEST), request("/one").withMethod("get")), contains(getOne, noMethodOne));
+        assertThat(index.entriesWithTypeMatching(EnumSet.of(RECEIVED_REQUEST), request("/one")), contains(getOne, postOne, noMethodOne));
+        assertThat(index.entriesWithTypeMatching(EnumSet.of(RECEIVED_REQUEST), request("/three")), empty());
+    }
+
+    @Test
+    public void shouldAlwaysReturnRequestEntriesWithoutLiteralPath() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry literalPath = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one"));
+        LogEntry regexPath = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/o.*"));
+        LogEntry noRequest = new LogEntry().setType(RECEIVED_REQUEST);
+        index.add(literalPath);
+        index.add(regexPath);
+        index.add(noRequest);
+
+        // then
+        assertThat(index.entriesWithTypeMatching(EnumSet.of(RECEIVED_REQUEST), request("/one")), contains(literalPath, regexPath, noRequest));
+        assertThat(index.entriesWithTypeMatching(EnumSet.of(RECEIVED_REQUEST), request("/two")), contains(regexPath, noRequest));
+        // non literal matcher must check every entry with type
+        assertThat(index.entriesWithTypeMatching(EnumSet.of(RECEIVED_REQUEST), request("/t.*")), contains(literalPath, regexPath, noRequest));
+        assertThat(index.entriesWithTypeMatching(EnumSet.of(RECEIVED_REQUEST), null), contains(literalPath, regexPath, noRequest));
+    }
+
+    @Test
+    public void shouldRemoveEvictedEntries() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry one = new LogEntry().setType(RECEIVED_REQUEST).setExpectationId("one").setCorrelationId("one").setHttpRequest(request("/one"));
+        LogEntry two = new LogEntry().setType(RECEIVED_REQUEST).setExpectationId("one").setCorrelationId("two").setHttpRequest(request("/one"));
+        index.add(one);
+        index.add(two);
+
+        // when
+        index.remove(one);
+        one.clear();
+
+        // then
+        assertThat(index.entriesWithType(EnumSet.of(RECEIVED_REQUEST)), contains(two));
+        assertThat(index.entriesWithExpectationId(Collections.singletonList("one")), contains(two));
+        assertThat(index.entriesWithCorrelationId("one"), empty());
+        assertThat(index.entriesWithTypeMatching(EnumSet.of(RECEIVED_REQUEST), request("/one")), contains(two));
+
+        // when
+        index.clear();
+
+        // then
+        assertThat(index.entriesWithType(EnumSet.of(RECEIVED_REQUEST)), empty());
+    }
+}
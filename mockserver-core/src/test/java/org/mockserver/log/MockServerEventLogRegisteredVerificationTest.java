@@ -0,0 +1,201 @@
+package org.mockserver.log;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.scheduler.Scheduler;
+import org.mockserver.verify.VerificationSequence;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockserver.character.Character.NEW_LINE;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXPECTATION_RESPONSE;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.ExpectationId.expectationId;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.verify.Verification.verification;
+import static org.mockserver.verify.VerificationTimes.atMost;
+import static org.mockserver.verify.VerificationTimes.exactly;
+
+/**
+ * @author jamesdbloom
+ */
+public class MockServerEventLogRegisteredVerificationTest {
+
+    private static final Scheduler scheduler = new Scheduler(configuration(), new MockServerLogger());
+    private MockServerEventLog mockServerEventLog;
+
+    @Before
+    public void setupTestFixture() {
+        mockServerEventLog = new MockServerEventLog(configuration(), new MockServerLogger(), scheduler, true);
+    }
+
+    @AfterClass
+    public static void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    private void addRequest(String path) {
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request(path))
+                .setType(RECEIVED_REQUEST)
+        );
+    }
+
+    private void waitForEventLog() throws Exception {
+        // register a verification to wait for all previously added log entries to be processed
+        mockServerEventLog.registerVerification(verification().withRequest(request()).withTimes(atMost(0))).get(10, SECONDS);
+    }
+
+    @Test
+    public void shouldCountRequestsReceivedBeforeAndAfterRegistration() throws Exception {
+        // given
+        addRequest("some_path");
+        addRequest("some_other_path");
+
+        // when
+        RegisteredVerification registeredVerification = mockServerEventLog.registerVerification(
+            verification()
+                .withRequest(request("some_path"))
+                .withTimes(exactly(2))
+        ).get(10, SECONDS);
+
+        // then
+        assertThat(registeredVerification.isSatisfied(), is(false));
+        assertThat(registeredVerification.result(), is("Request not found exactly 2 times, expected:<{" + NEW_LINE +
+            "  \"path\" : \"some_path\"" + NEW_LINE +
+            "}> but was found 1 times"));
+
+        // when
+        addRequest("some_path");
+
+        // then
+        assertThat(registeredVerification.whenSatisfied().get(10, SECONDS), is(""));
+        assertThat(registeredVerification.isSatisfied(), is(true));
+        assertThat(registeredVerification.result(), is(""));
+
+        // when
+        addRequest("some_path");
+        waitForEventLog();
+
+        // then
+        assertThat(registeredVerification.isSatisfied(), is(false));
+    }
+
+    @Test
+    public void shouldCountRequestsForExpectationId() throws Exception {
+        // given
+        RegisteredVerification registeredVerification = mockServerEventLog.registerVerification(
+            verification()
+                .withExpectationId(expectationId("one"))
+                .withTimes(exactly(1))
+        ).get(10, SECONDS);
+
+        // when
+        addRequest("some_path");
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("some_path"))
+                .setExpectationId("two")
+                .setType(EXPECTATION_RESPONSE)
+        );
+        waitForEventLog();
+
+        // then
+        assertThat(registeredVerification.isSatisfied(), is(false));
+
+        // when
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("some_path"))
+                .setExpectationId("one")
+                .setType(EXPECTATION_RESPONSE)
+        );
+
+        // then
+        assertThat(registeredVerification.whenSatisfied().get(10, SECONDS), is(""));
+    }
+
+    @Test
+    public void shouldMatchSequenceIncrementally() throws Exception {
+        // given
+        addRequest("one");
+        addRequest("three");
+        RegisteredVerification registeredVerification = mockServerEventLog.registerVerification(
+            new VerificationSequence()
+                .withRequests(
+                    request("one"),
+                    request("two"),
+                    request("three")
+                )
+        ).get(10, SECONDS);
+
+        // then
+        assertThat(registeredVerification.isSatisfied(), is(false));
+        assertThat(registeredVerification.result(), is("Request sequence not found, expected:<[ {" + NEW_LINE +
+            "  \"path\" : \"one\"" + NEW_LINE +
+            "}, {" + NEW_LINE +
+            "  \"path\" : \"two\"" + NEW_LINE +
+            "}, {" + NEW_LINE +
+            "  \"path\" : \"three\"" + NEW_LINE +
+            "} ]> but only the first 1 requests were found in order"));
+
+        // when
+        addRequest("two");
+        waitForEventLog();
+
+        // then
+        assertThat(registeredVerification.isSatisfied(), is(false));
+
+        // when
+        addRequest("three");
+
+        // then
+        assertThat(registeredVerification.whenSatisfied().get(10, SECONDS), is(""));
+    }
+
+    @Test
+    public void shouldRecountWhenLogCleared() throws Exception {
+        // given
+        addRequest("some_path");
+        addRequest("some_path");
+        RegisteredVerification registeredVerification = mockServerEventLog.registerVerification(
+            verification()
+                .withRequest(request("some_path"))
+                .withTimes(exactly(2))
+        ).get(10, SECONDS);
+        assertThat(registeredVerification.isSatisfied(), is(true));
+
+        // when
+        mockServerEventLog.clear(request("some_path"));
+
+        // then
+        assertThat(registeredVerification.isSatisfied(), is(false));
+        assertThat(registeredVerification.result(), is("Request not found exactly 2 times, expected:<{" + NEW_LINE +
+            "  \"path\" : \"some_path\"" + NEW_LINE +
+            "}> but was found 0 times"));
+    }
+
+    @Test
+    public void shouldRemoveRegisteredVerificationsWhenReset() throws Exception {
+        // given
+        RegisteredVerification registeredVerification = mockServerEventLog.registerVerification(
+            verification()
+                .withRequest(request("some_path"))
+                .withTimes(exactly(2))
+        ).get(10, SECONDS);
+        assertThat(mockServerEventLog.retrieveRegisteredVerification(registeredVerification.getId()), is(registeredVerification));
+
+        // when
+        mockServerEventLog.reset();
+
+        // then
+        assertThat(mockServerEventLog.retrieveRegisteredVerification(registeredVerification.getId()), nullValue());
+    }
+}
@@ -1,5 +1,6 @@
 package org.mockserver.log;
 
+import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -16,6 +17,7 @@ import org.mockserver.time.EpochService;
 import org.slf4j.event.Level;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
@@ -25,8 +27,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.mockito.Mockito.mock;
 import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.formatting.StringFormatter.formatLogMessage;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.log.model.LogEntryMessages.RECEIVED_REQUEST_MESSAGE_FORMAT;
 import static org.mockserver.model.HttpRequest.request;
@@ -957,4 +962,215 @@ public class MockServerEventLogTest {
             ConfigurationProperties.logLevel(originalLevel.name());
         }
     }
+
+    @Test
+    public void shouldRetainCopyOfPublishedLogEntry() {
+        // given
+        LogEntry logEntry = new LogEntry()
+            .setLogLevel(INFO)
+            .setType(RECEIVED_REQUEST)
+            .setHttpRequest(request("request_one"))
+            .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+            .setArguments(request("request_one"));
+        LogEntry expectedLogEntry = logEntry.clone();
+
+        // when
+        mockServerLogger.logEvent(logEntry);
+
+        // then
+        List<LogEntry> logEntries = retrieveRequestLogEntries();
+        assertThat(logEntries, contains(expectedLogEntry));
+        assertThat(logEntries.get(0).getMessage(), is(expectedLogEntry.getMessage()));
+        assertThat(logEntry.getType(), nullValue());
+    }
+
+    @Test
+    public void shouldNotRetainLogEntriesWhenMaxLogEntriesIsZero() {
+        // given
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(configuration().maxLogEntries(0), new MockServerLogger(), mock(Scheduler.class), true);
+        try {
+            // when
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("request_one"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("request_one"))
+            );
+
+            // then
+            CompletableFuture<List<LogEntry>> future = new CompletableFuture<>();
+            mockServerEventLog.retrieveRequestLogEntries(null, future::complete);
+            assertThat(future.get(60, SECONDS), empty());
+            assertThat(mockServerEventLog.size(), is(0));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        } finally {
+            mockServerEventLog.stop();
+        }
+    }
+
+    @Test
+    public void shouldRetrieveCompressedLogEntries() throws Exception {
+        // given
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(configuration().maxUncompressedLogEntries(1), new MockServerLogger(), mock(Scheduler.class), true);
+        try {
+            // when
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("request_one").withBody("some_body"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("request_one").withBody("some_body"))
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(FORWARDED_REQUEST)
+                    .setHttpRequest(request("request_two"))
+                    .setHttpResponse(response("response_two"))
+                    .setExpectation(request("request_two"), response("response_two"))
+                    .setMessageFormat("returning response:{}for forwarded request:{}")
+                    .setArguments(response("response_two"), request("request_two"))
+            );
+            CompletableFuture<List<LogEntry>> future = new CompletableFuture<>();
+            mockServerEventLog.retrieveRequestLogEntries(request("request_one"), future::complete);
+            List<LogEntry> logEntries = future.get(60, SECONDS);
+
+            // then
+            assertThat(logEntries.size(), is(1));
+            assertThat(logEntries.get(0).isCompressed(), is(true));
+            assertThat(logEntries.get(0).getHttpRequest(), is(request("request_one").withBody("some_body")));
+            assertThat(logEntries.get(0).getMessage(), is(formatLogMessage(RECEIVED_REQUEST_MESSAGE_FORMAT, request("request_one").withBody("some_body"))));
+            CompletableFuture<List<Expectation>> recordedExpectations = new CompletableFuture<>();
+            mockServerEventLog.retrieveRecordedExpectations(null, recordedExpectations::complete);
+            assertThat(recordedExpectations.get(60, SECONDS), contains(new Expectation(request("request_two"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response("response_two"))));
+        } finally {
+            mockServerEventLog.stop();
+        }
+    }
+
+    private static class UnserializableArgument {
+        @SuppressWarnings("unused")
+        public String getValue() {
+            throw new IllegalStateException("can't be serialized");
+        }
+
+        @Override
+        public String toString() {
+            return "unserializable_argument";
+        }
+    }
+
+    @Test
+    public void shouldLeaveLogEntryUncompressedWhenItCannotBeCompressed() throws Exception {
+        // given
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(configuration().maxUncompressedLogEntries(1), new MockServerLogger(), mock(Scheduler.class), true);
+        try {
+            // when
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("request_one"))
+                    .setMessageFormat("received request with:{}")
+                    .setArguments(new UnserializableArgument())
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("request_two"))
+                    .setMessageFormat("received request")
+            );
+            CompletableFuture<List<LogEntry>> future = new CompletableFuture<>();
+            mockServerEventLog.retrieveRequestLogEntries(request("request_one"), future::complete);
+            List<LogEntry> logEntries = future.get(60, SECONDS);
+
+            // then
+            assertThat(logEntries.size(), is(1));
+            assertThat(logEntries.get(0).isCompressed(), is(false));
+            assertThat(logEntries.get(0).getHttpRequest(), is(request("request_one")));
+            assertThat(logEntries.get(0).getMessage(), containsString("unserializable_argument"));
+        } finally {
+            mockServerEventLog.stop();
+        }
+    }
+
+    private static class OutOfMemoryArgument {
+        @SuppressWarnings("unused")
+        public String getValue() {
+            throw new OutOfMemoryError("Java heap space");
+        }
+
+        @Override
+        public String toString() {
+            return "out_of_memory_argument";
+        }
+    }
+
+    @Test
+    public void shouldLeaveLogEntryUncompressedWhenOutOfMemoryCompressingIt() {
+        // given
+        LogEntry logEntry = new LogEntry()
+            .setLogLevel(INFO)
+            .setType(RECEIVED_REQUEST)
+            .setHttpRequest(request("request_one"))
+            .setMessageFormat("received request with:{}")
+            .setArguments(new OutOfMemoryArgument());
+
+        // when
+        logEntry.compress(new MockServerLogger());
+
+        // then
+        assertThat(logEntry.isCompressed(), is(false));
+        assertThat(logEntry.getHttpRequest(), is(request("request_one")));
+        assertThat(logEntry.getMessage(), containsString("out_of_memory_argument"));
+    }
+
+    @Test
+    public void shouldFormatMessageOfCompressedLogEntryWhenNeeded() throws Exception {
+        // given
+        Level originalLevel = ConfigurationProperties.logLevel();
+        Map<LogEntry.LogMessageType, Integer> originalMaxLoggedBodyLength = ConfigurationProperties.maxLoggedBodyLength();
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(configuration().maxUncompressedLogEntries(1), new MockServerLogger(), mock(Scheduler.class), true);
+        try {
+            // not written to system out so message is not formatted before compression
+            ConfigurationProperties.logLevel("WARN");
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("request_one").withBody("some_long_body"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("request_one").withBody("some_long_body"))
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("request_two"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("request_two"))
+            );
+            CompletableFuture<List<LogEntry>> future = new CompletableFuture<>();
+            mockServerEventLog.retrieveRequestLogEntries(request("request_one"), future::complete);
+            List<LogEntry> logEntries = future.get(60, SECONDS);
+
+            // when
+            ConfigurationProperties.maxLoggedBodyLength(ImmutableMap.of(RECEIVED_REQUEST, 9));
+
+            // then
+            assertThat(logEntries.size(), is(1));
+            assertThat(logEntries.get(0).isCompressed(), is(true));
+            assertThat(logEntries.get(0).getMessage(), is(formatLogMessage(RECEIVED_REQUEST_MESSAGE_FORMAT, request("request_one").withBody("some_long...(5 characters truncated)"))));
+            assertThat(logEntries.get(0).getHttpRequest(), is(request("request_one").withBody("some_long_body")));
+        } finally {
+            mockServerEventLog.stop();
+            ConfigurationProperties.maxLoggedBodyLength(originalMaxLoggedBodyLength);
+            ConfigurationProperties.logLevel(originalLevel.name());
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package org.mockserver.logging;
 
+import com.google.common.collect.ImmutableMap;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -11,6 +12,8 @@ import org.mockserver.model.HttpRequest;
 import org.slf4j.Logger;
 import org.slf4j.event.Level;
 
+import java.util.Map;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.ArrayMatching.arrayContaining;
@@ -18,6 +21,10 @@ import static org.hamcrest.core.StringContains.containsString;
 import static org.mockito.Mockito.*;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.ConfigurationProperties.logLevel;
+import static org.mockserver.formatting.StringFormatter.formatLogMessage;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.log.model.LogEntry.LogMessageType.SERVER_CONFIGURATION;
+import static org.mockserver.log.model.LogEntryMessages.RECEIVED_REQUEST_MESSAGE_FORMAT;
 import static org.mockserver.model.HttpRequest.request;
 
 public class MockServerLoggerTest {
@@ -208,4 +215,96 @@ public class MockServerLoggerTest {
         }
     }
 
+
+    @Test
+    public void shouldTruncateBodiesInFormattedLogMessages() {
+        Level originalLevel = logLevel();
+        Map<LogEntry.LogMessageType, Integer> originalMaxLoggedBodyLength = ConfigurationProperties.maxLoggedBodyLength();
+        try {
+            // given
+            logLevel("INFO");
+            ConfigurationProperties.maxLoggedBodyLength(ImmutableMap.of(RECEIVED_REQUEST, 9));
+            Logger mockLogger = mock(Logger.class);
+            MockServerLogger logFormatter = new MockServerLogger(mockLogger);
+            HttpRequest request = request("some_path").withBody("some_long_body");
+            LogEntry logEntry = new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setLogLevel(Level.INFO)
+                .setHttpRequest(request)
+                .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                .setArguments(request);
+
+            // when
+            logFormatter.logEvent(logEntry);
+
+            // then
+            verify(mockLogger).info(formatLogMessage(RECEIVED_REQUEST_MESSAGE_FORMAT, request("some_path").withBody("some_long...(5 characters truncated)")), (Throwable) null);
+            assertThat(logEntry.getHttpRequest(), is(request("some_path").withBody("some_long_body")));
+            assertThat(((HttpRequest) logEntry.getArguments()[0]).getBodyAsString(), is("some_long_body"));
+        } finally {
+            ConfigurationProperties.maxLoggedBodyLength(originalMaxLoggedBodyLength);
+            logLevel(originalLevel.toString());
+        }
+    }
+
+    @Test
+    public void shouldOnlyWriteSampledRequestLogMessages() {
+        Level originalLevel = logLevel();
+        double originalSamplingRate = ConfigurationProperties.systemOutLogSamplingRate();
+        try {
+            // given
+            logLevel("INFO");
+            ConfigurationProperties.systemOutLogSamplingRate(0.0);
+            Logger mockLogger = mock(Logger.class);
+            MockServerLogger logFormatter = new MockServerLogger(mockLogger);
+
+            // when
+            logFormatter.logEvent(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId("some_correlation_id")
+                    .setHttpRequest(request("some_path"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("some_path"))
+            );
+            logFormatter.logEvent(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setLogLevel(Level.WARN)
+                    .setCorrelationId("some_correlation_id")
+                    .setMessageFormat("some warning")
+            );
+            logFormatter.logEvent(
+                new LogEntry()
+                    .setType(SERVER_CONFIGURATION)
+                    .setLogLevel(Level.INFO)
+                    .setMessageFormat("some configuration")
+            );
+
+            // then
+            verify(mockLogger).warn("some warning", (Throwable) null);
+            verify(mockLogger).info("some configuration", (Throwable) null);
+            verifyNoMoreInteractions(mockLogger);
+
+            // when
+            ConfigurationProperties.systemOutLogSamplingRate(1.0);
+            logFormatter.logEvent(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId("some_correlation_id")
+                    .setHttpRequest(request("some_path"))
+                    .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                    .setArguments(request("some_path"))
+            );
+
+            // then
+            verify(mockLogger).info(formatLogMessage(RECEIVED_REQUEST_MESSAGE_FORMAT, request("some_path")), (Throwable) null);
+        } finally {
+            ConfigurationProperties.systemOutLogSamplingRate(originalSamplingRate);
+            logLevel(originalLevel.toString());
+        }
+    }
+
 }
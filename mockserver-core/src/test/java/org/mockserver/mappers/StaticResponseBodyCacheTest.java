@@ -0,0 +1,86 @@
+package org.mockserver.mappers;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpResponse;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class StaticResponseBodyCacheTest {
+
+    @Test
+    public void shouldReturnIndependentDuplicatesOfEncodedBody() {
+        // given
+        HttpResponse httpResponse = response().withBody("some_body");
+        Expectation expectation = new Expectation(request("/some_path")).thenRespond(httpResponse);
+
+        // when
+        StaticResponseBodyCache.encode(expectation);
+        ByteBuf first = StaticResponseBodyCache.retainedDuplicate(httpResponse.clone());
+        ByteBuf second = StaticResponseBodyCache.retainedDuplicate(httpResponse.clone());
+
+        // then
+        assertThat(first, notNullValue());
+        assertThat(second, notNullValue());
+        assertThat(first.readCharSequence(first.readableBytes(), UTF_8).toString(), is("some_body"));
+        assertThat(second.readableBytes(), is("some_body".length()));
+        assertThat(second.toString(UTF_8), is("some_body"));
+    }
+
+    @Test
+    public void shouldNotReturnEncodedBodyWhenContentTypeChanged() {
+        // given
+        HttpResponse httpResponse = response().withBody("some_body");
+        Expectation expectation = new Expectation(request("/some_path")).thenRespond(httpResponse);
+        StaticResponseBodyCache.encode(expectation);
+
+        // when
+        ByteBuf body = StaticResponseBodyCache.retainedDuplicate(httpResponse.clone().withHeader("content-type", "text/plain; charset=utf-16"));
+
+        // then
+        assertThat(body, nullValue());
+    }
+
+    @Test
+    public void shouldNotReturnEncodedBodyWhenInvalidated() {
+        // given
+        HttpResponse httpResponse = response().withBody("some_body");
+        Expectation expectation = new Expectation(request("/some_path")).thenRespond(httpResponse);
+        StaticResponseBodyCache.encode(expectation);
+
+        // when
+        StaticResponseBodyCache.invalidate(expectation);
+
+        // then
+        assertThat(StaticResponseBodyCache.retainedDuplicate(httpResponse), nullValue());
+        assertThat(StaticResponseBodyCache.retainedDuplicate(response().withBody("some_body")), nullValue());
+    }
+
+    @Test
+    public void shouldMapResponseWithEncodedBody() {
+        // given
+        HttpResponse httpResponse = response().withBody("some_body");
+        StaticResponseBodyCache.encode(new Expectation(request("/some_path")).thenRespond(httpResponse));
+
+        // when
+        DefaultFullHttpResponse fullHttpResponse = (DefaultFullHttpResponse) new MockServerHttpResponseToFullHttpResponse(new MockServerLogger())
+            .mapMockServerResponseToNettyResponse(httpResponse.clone())
+            .get(0);
+
+        // then
+        assertThat(fullHttpResponse.content().toString(UTF_8), is("some_body"));
+        assertThat(fullHttpResponse.headers().get("content-length"), is("9"));
+        assertThat(fullHttpResponse.release(), is(false));
+        assertThat(StaticResponseBodyCache.retainedDuplicate(httpResponse).toString(UTF_8), is("some_body"));
+    }
+}
@@ -0,0 +1,55 @@
+package org.mockserver.matchers;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.mockserver.matchers.MatchDifference.Field.*;
+
+/**
+ * @author jamesdbloom
+ */
+public class FieldMatchStatisticsTest {
+
+    @Test
+    public void shouldOrderCheapSelectiveFieldsFirst() {
+        // given
+        FieldMatchStatistics fieldMatchStatistics = new FieldMatchStatistics(BODY, HEADERS, COOKIES);
+
+        // when
+        int samples = 0;
+        for (int i = 0; i < 64 * 8; i++) {
+            if (fieldMatchStatistics.sample()) {
+                // expensive body that always matches
+                fieldMatchStatistics.record(BODY, 10_000, true);
+                // cheap header that rejects half of requests
+                fieldMatchStatistics.record(HEADERS, 100, samples++ % 2 == 0);
+                // cheap cookie that always rejects
+                fieldMatchStatistics.record(COOKIES, 100, false);
+                fieldMatchStatistics.sampleComplete();
+            }
+        }
+
+        // then
+        assertThat(fieldMatchStatistics.order(), arrayContaining(COOKIES, HEADERS, BODY));
+    }
+
+    @Test
+    public void shouldKeepDefaultOrderUntilEnoughSamples() {
+        // given
+        FieldMatchStatistics fieldMatchStatistics = new FieldMatchStatistics(BODY, HEADERS, COOKIES);
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            if (fieldMatchStatistics.sample()) {
+                fieldMatchStatistics.record(BODY, 10_000, true);
+                fieldMatchStatistics.record(HEADERS, 100, false);
+                fieldMatchStatistics.record(COOKIES, 100, false);
+                fieldMatchStatistics.sampleComplete();
+            }
+        }
+
+        // then
+        assertThat(fieldMatchStatistics.order(), arrayContaining(BODY, HEADERS, COOKIES));
+    }
+}
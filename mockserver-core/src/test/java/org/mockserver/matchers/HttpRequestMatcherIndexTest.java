@@ -0,0 +1,138 @@
+package org.mockserver.matchers;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.Parameter.param;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpRequestMatcherIndexTest {
+
+    private final MatcherBuilder matcherBuilder = new MatcherBuilder(configuration(), new MockServerLogger());
+
+    private HttpRequestMatcher matcher(HttpRequest httpRequest, int priority) {
+        return matcherBuilder.transformsToMatcher(new Expectation(httpRequest, Times.unlimited(), TimeToLive.unlimited(), priority));
+    }
+
+    @Test
+    public void shouldReturnCandidatesForLiteralPath() {
+        // given
+        HttpRequestMatcherIndex index = new HttpRequestMatcherIndex();
+        HttpRequestMatcher matchingPath = matcher(request().withPath("/some/path"), 0);
+        HttpRequestMatcher otherPath = matcher(request().withPath("/some/other_path"), 0);
+        index.add(matchingPath);
+        index.add(otherPath);
+
+        // then
+        assertThat(index.candidates(request().withMethod("GET").withPath("/SOME/Path")), contains(matchingPath));
+        assertThat(index.candidates(request().withMethod("GET").withPath("/some/unknown")), empty());
+    }
+
+    @Test
+    public void shouldReturnCandidatesForLiteralPathPrefix() {
+        // given
+        HttpRequestMatcherIndex index = new HttpRequestMatcherIndex();
+        HttpRequestMatcher pathParameter = matcher(request().withPath("/pets/{petId}").withPathParameter(param("petId", "[0-9]+")), 0);
+        HttpRequestMatcher regexPath = matcher(request().withPath("/orders/.*"), 0);
+        HttpRequestMatcher optionalSlash = matcher(request().withPath("/stores/?"), 0);
+        index.add(pathParameter);
+        index.add(regexPath);
+        index.add(optionalSlash);
+
+        // then
+        assertThat(index.candidates(request().withMethod("GET").withPath("/pets/1")), containsInAnyOrder(pathParameter, optionalSlash));
+        assertThat(index.candidates(request().withMethod("GET").withPath("/orders/1/items")), containsInAnyOrder(regexPath, optionalSlash));
+        // optional slash means no path prefix is required so matcher must always be a candidate
+        assertThat(index.candidates(request().withMethod("GET").withPath("/stores")), contains(optionalSlash));
+    }
+
+    @Test
+    public void shouldReturnCandidatesForLiteralHeaderAndMethod() {
+        // given
+        HttpRequestMatcherIndex index = new HttpRequestMatcherIndex();
+        HttpRequestMatcher header = matcher(request().withHeader("X-Tenant", "one"), 0);
+        HttpRequestMatcher method = matcher(request().withMethod("POST"), 0);
+        index.add(header);
+        index.add(method);
+
+        // then
+        assertThat(index.candidates(request().withMethod("post").withPath("/").withHeader("x-tenant", "ONE")), containsInAnyOrder(header, method));
+        assertThat(index.candidates(request().withMethod("GET").withPath("/").withHeader("x-tenant", "two")), empty());
+    }
+
+    @Test
+    public void shouldAlwaysReturnNonLiteralMatchersAsCandidates() {
+        // given
+        HttpRequestMatcherIndex index = new HttpRequestMatcherIndex();
+        HttpRequestMatcher regexMethod = matcher(request().withMethod("P.*"), 0);
+        HttpRequestMatcher nottedPath = matcher(request().withPath(not("/some/path")), 0);
+        HttpRequestMatcher nottedRequest = matcher(org.mockserver.model.Not.not(request().withPath("/some/path")), 0);
+        HttpRequestMatcher schemaPath = matcher(request().withPathSchema("{ \"type\": \"string\" }"), 0);
+        index.add(regexMethod);
+        index.add(nottedPath);
+        index.add(nottedRequest);
+        index.add(schemaPath);
+
+        // then
+        assertThat(index.candidates(request().withMethod("GET").withPath("/any")), containsInAnyOrder(regexMethod, nottedPath, nottedRequest, schemaPath));
+    }
+
+    @Test
+    public void shouldReturnCandidatesInPriorityOrder() {
+        // given
+        HttpRequestMatcherIndex index = new HttpRequestMatcherIndex();
+        HttpRequestMatcher lowPriority = matcher(request().withPath("/some/path"), 0);
+        HttpRequestMatcher highPriority = matcher(request().withMethod("GET"), 10);
+        HttpRequestMatcher mediumPriority = matcher(request().withPath("/some/.*"), 5);
+        index.add(lowPriority);
+        index.add(highPriority);
+        index.add(mediumPriority);
+
+        // then
+        assertThat(index.candidates(request().withMethod("GET").withPath("/some/path")), contains(highPriority, mediumPriority, lowPriority));
+    }
+
+    @Test
+    public void shouldRemoveAndReindexMatchers() {
+        // given
+        HttpRequestMatcherIndex index = new HttpRequestMatcherIndex();
+        Expectation expectation = new Expectation(request().withPath("/some/path"));
+        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(expectation);
+        index.add(httpRequestMatcher);
+
+        // when
+        httpRequestMatcher.update(new Expectation(request().withPath("/some/other_path")).withId(expectation.getId()));
+        index.add(httpRequestMatcher);
+
+        // then
+        assertThat(index.candidates(request().withMethod("GET").withPath("/some/path")), empty());
+        assertThat(index.candidates(request().withMethod("GET").withPath("/some/other_path")), contains(httpRequestMatcher));
+
+        // when
+        index.remove(httpRequestMatcher);
+
+        // then
+        assertThat(index.candidates(request().withMethod("GET").withPath("/some/other_path")), empty());
+    }
+
+    @Test
+    public void shouldNotReturnCandidatesForRequestWithoutMethodOrPath() {
+        // given
+        HttpRequestMatcherIndex index = new HttpRequestMatcherIndex();
+        index.add(matcher(request().withPath("/some/path"), 0));
+
+        // then
+        assertThat(index.candidates(request().withPath("/some/path")), nullValue());
+        assertThat(index.candidates(request().withMethod("GET")), nullValue());
+        assertThat(index.candidates(null), nullValue());
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockito.InjectMocks;
+import org.mockserver.authentication.AuthenticationHandler;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.file.FilePath;
 import org.mockserver.file.FileReader;
@@ -46,6 +47,7 @@ import static org.hamcrest.Matchers.*;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.openMocks;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.Configuration.configuration;
@@ -63,6 +65,7 @@ import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.JsonBody.json;
 import static org.mockserver.model.PortBinding.portBinding;
 import static org.mockserver.model.RetrieveType.REQUEST_RESPONSES;
+import static org.mockserver.verify.VerificationTimes.exactly;
 import static org.slf4j.event.Level.INFO;
 
 /**
@@ -612,6 +615,159 @@ public class HttpStateTest {
         assertThat(responseWriter.response.getBodyAsString(), is(""));
     }
 
+    @Test
+    public void shouldHandleRegisterVerificationAndVerifyRegisteredRequests() throws Exception {
+        // given
+        MockServerEventLog mockServerEventLog = httpState.getMockServerLog();
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("one"))
+                .setType(RECEIVED_REQUEST)
+        );
+        FakeResponseWriter registerResponseWriter = new FakeResponseWriter();
+
+        // when
+        boolean handle = httpState.handle(
+            request("/mockserver/registerVerification")
+                .withMethod("PUT")
+                .withBody(
+                    verificationSerializer.serialize(
+                        new Verification()
+                            .withRequest(request("one"))
+                            .withTimes(exactly(2))
+                    )
+                ),
+            registerResponseWriter,
+            false
+        );
+
+        // then
+        assertThat(handle, is(true));
+        assertThat(registerResponseWriter.response.getStatusCode(), is(201));
+        String id = registerResponseWriter.response.getBodyAsString();
+        FakeResponseWriter failureResponseWriter = new FakeResponseWriter();
+        httpState.handle(request("/mockserver/verifyRegistered").withMethod("PUT").withBody(id), failureResponseWriter, false);
+        assertThat(failureResponseWriter.response.getStatusCode(), is(406));
+        assertThat(failureResponseWriter.response.getBodyAsString(), is("Request not found exactly 2 times, expected:<{" + NEW_LINE +
+            "  \"path\" : \"one\"" + NEW_LINE +
+            "}> but was found 1 times"));
+
+        // when
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("one"))
+                .setType(RECEIVED_REQUEST)
+        );
+        httpState.retrieveRegisteredVerification(id).whenSatisfied().get(5, SECONDS);
+
+        // then
+        FakeResponseWriter successResponseWriter = new FakeResponseWriter();
+        httpState.handle(request("/mockserver/verifyRegistered").withMethod("PUT").withBody(id), successResponseWriter, false);
+        assertThat(successResponseWriter.response.getStatusCode(), is(202));
+        assertThat(successResponseWriter.response.getBodyAsString(), is(""));
+    }
+
+    @Test
+    public void shouldHandleRegisterVerificationSequenceRequest() throws Exception {
+        // given
+        MockServerEventLog mockServerEventLog = httpState.getMockServerLog();
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("one"))
+                .setType(RECEIVED_REQUEST)
+        );
+        mockServerEventLog.add(
+            new LogEntry()
+                .setHttpRequest(request("two"))
+                .setType(RECEIVED_REQUEST)
+        );
+        FakeResponseWriter registerResponseWriter = new FakeResponseWriter();
+
+        // when
+        boolean handle = httpState.handle(
+            request("/mockserver/registerVerificationSequence")
+                .withMethod("PUT")
+                .withBody(
+                    verificationSequenceSerializer.serialize(
+                        new VerificationSequence()
+                            .withRequests(
+                                request("one"),
+                                request("two")
+                            )
+                    )
+                ),
+            registerResponseWriter,
+            false
+        );
+
+        // then
+        assertThat(handle, is(true));
+        assertThat(registerResponseWriter.response.getStatusCode(), is(201));
+        FakeResponseWriter responseWriter = new FakeResponseWriter();
+        httpState.handle(request("/mockserver/verifyRegistered").withMethod("PUT").withBody(registerResponseWriter.response.getBodyAsString()), responseWriter, false);
+        assertThat(responseWriter.response.getStatusCode(), is(202));
+    }
+
+    @Test
+    public void shouldHandleVerifyRegisteredRequestForUnknownId() {
+        // given
+        FakeResponseWriter responseWriter = new FakeResponseWriter();
+
+        // when
+        boolean handle = httpState.handle(request("/mockserver/verifyRegistered").withMethod("PUT").withBody("unknown"), responseWriter, false);
+
+        // then
+        assertThat(handle, is(true));
+        assertThat(responseWriter.response.getStatusCode(), is(404));
+        assertThat(responseWriter.response.getBodyAsString(), is("no registered verification found with id unknown"));
+    }
+
+    @Test
+    public void shouldHandleUnregisterVerificationRequest() {
+        // given
+        FakeResponseWriter registerResponseWriter = new FakeResponseWriter();
+        httpState.handle(
+            request("/mockserver/registerVerification")
+                .withMethod("PUT")
+                .withBody(
+                    verificationSerializer.serialize(
+                        new Verification()
+                            .withRequest(request("one"))
+                            .withTimes(exactly(2))
+                    )
+                ),
+            registerResponseWriter,
+            false
+        );
+        String id = registerResponseWriter.response.getBodyAsString();
+        FakeResponseWriter responseWriter = new FakeResponseWriter();
+
+        // when
+        boolean handle = httpState.handle(request("/mockserver/unregisterVerification").withMethod("PUT").withBody(id), responseWriter, false);
+
+        // then
+        assertThat(handle, is(true));
+        assertThat(responseWriter.response.getStatusCode(), is(200));
+        assertThat(httpState.retrieveRegisteredVerification(id), nullValue());
+        FakeResponseWriter verifyResponseWriter = new FakeResponseWriter();
+        httpState.handle(request("/mockserver/verifyRegistered").withMethod("PUT").withBody(id), verifyResponseWriter, false);
+        assertThat(verifyResponseWriter.response.getStatusCode(), is(404));
+    }
+
+    @Test
+    public void shouldHandleUnregisterVerificationRequestForUnknownId() {
+        // given
+        FakeResponseWriter responseWriter = new FakeResponseWriter();
+
+        // when
+        boolean handle = httpState.handle(request("/mockserver/unregisterVerification").withMethod("PUT").withBody("unknown"), responseWriter, false);
+
+        // then
+        assertThat(handle, is(true));
+        assertThat(responseWriter.response.getStatusCode(), is(404));
+        assertThat(responseWriter.response.getBodyAsString(), is("no registered verification found with id unknown"));
+    }
+
     @Test
     public void shouldHandleVerifySequenceFailureRequest() {
         // given
@@ -2373,4 +2529,17 @@ public class HttpStateTest {
             "} ]>"));
     }
 
+    @Test
+    public void shouldCloseControlPlaneAuthenticationHandlerWhenStopped() {
+        // given
+        AuthenticationHandler authenticationHandler = mock(AuthenticationHandler.class);
+        httpState.setControlPlaneAuthenticationHandler(authenticationHandler);
+
+        // when
+        httpState.stop();
+
+        // then
+        verify(authenticationHandler).close();
+    }
+
 }
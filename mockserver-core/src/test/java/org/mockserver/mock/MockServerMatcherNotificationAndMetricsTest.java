@@ -14,6 +14,7 @@ import org.mockserver.scheduler.Scheduler;
 import org.mockserver.uuid.UUIDService;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -80,6 +81,59 @@ public class MockServerMatcherNotificationAndMetricsTest {
         assertThat(Metrics.get(Metrics.Name.RESPONSE_ACTIONS_COUNT), is(1));
     }
 
+    @Test
+    public void shouldNotifyOnceOnBatchAdd() throws InterruptedException {
+        // given
+        List<MockServerMatcherNotifier.Cause> causes = new ArrayList<>();
+        requestMatchers.registerListener((requestMatchers, cause) -> {
+            causes.add(cause);
+        });
+        Expectation existingExpectation = new Expectation(
+            request()
+                .withPath("somePath")
+        ).thenRespond(
+            response()
+                .withBody("someBody")
+        );
+        requestMatchers.add(existingExpectation, API);
+        MILLISECONDS.sleep(500);
+        causes.clear();
+
+        // when
+        List<Expectation> upsertedExpectations = requestMatchers.add(Arrays.asList(
+            new Expectation(
+                request()
+                    .withPath("someOtherPath")
+            ).thenForward(
+                forward()
+            ),
+            new Expectation(
+                request()
+                    .withPath("someUpdatedPath")
+            ).withId(existingExpectation.getId()).thenRespond(
+                response()
+                    .withBody("someUpdatedBody")
+            ),
+            new Expectation(
+                request()
+                    .withPath("someThirdPath")
+            ).thenRespond(
+                response()
+                    .withBody("someThirdBody")
+            )
+        ), API);
+
+        // then
+        MILLISECONDS.sleep(500);
+        assertThat(upsertedExpectations.size(), is(3));
+        assertThat(requestMatchers.httpRequestMatchers.size(), is(3));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withPath("someUpdatedPath")).getId(), is(existingExpectation.getId()));
+        assertThat(requestMatchers.firstMatchingExpectation(request().withPath("someThirdPath")), is(upsertedExpectations.get(2)));
+        assertThat(causes, contains(API));
+        assertThat(Metrics.get(Metrics.Name.RESPONSE_ACTIONS_COUNT), is(2));
+        assertThat(Metrics.get(Metrics.Name.FORWARD_ACTIONS_COUNT), is(1));
+    }
+
     @Test
     public void shouldNotifyOnRemove() throws InterruptedException {
         // given
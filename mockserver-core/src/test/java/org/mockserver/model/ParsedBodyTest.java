@@ -0,0 +1,88 @@
+package org.mockserver.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * @author jamesdbloom
+ */
+public class ParsedBodyTest {
+
+    @Test
+    public void shouldReuseParsedJsonForEqualString() throws Exception {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+
+        // when
+        JsonNode first = parsedBody.jsonNode("{ \"id\": 1 }");
+        JsonNode second = parsedBody.jsonNode(new String("{ \"id\": 1 }"));
+        JsonNode third = parsedBody.jsonNode("{ \"id\": 2 }");
+
+        // then
+        assertThat(second, sameInstance(first));
+        assertThat(third, not(sameInstance(first)));
+        assertThat(third.get("id").asInt(), is(2));
+    }
+
+    @Test
+    public void shouldReuseParsedXmlForEqualString() throws Exception {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+
+        // when
+        Document first = parsedBody.xmlDocument("<element>value</element>", null, false);
+        Document second = parsedBody.xmlDocument("<element>value</element>", null, false);
+        Document namespaceAware = parsedBody.xmlDocument("<element>value</element>", null, true);
+
+        // then
+        assertThat(second, sameInstance(first));
+        assertThat(namespaceAware, not(sameInstance(first)));
+    }
+
+    @Test
+    public void shouldCacheParseFailure() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+        Exception firstFailure = null;
+
+        // when
+        try {
+            parsedBody.jsonNode("{ invalid");
+            fail("expected exception to be thrown");
+        } catch (Exception exception) {
+            firstFailure = exception;
+        }
+
+        // then
+        try {
+            parsedBody.jsonNode("{ invalid");
+            fail("expected exception to be thrown");
+        } catch (Exception exception) {
+            assertThat(exception, sameInstance(firstFailure));
+        }
+    }
+
+    @Test
+    public void shouldCreateNewParsedBodyWhenRequestBodyChanges() {
+        // given
+        HttpRequest httpRequest = request().withBody("some_body");
+
+        // when
+        ParsedBody first = httpRequest.parsedBody();
+        ParsedBody second = httpRequest.parsedBody();
+        httpRequest.withBody("some_other_body");
+        ParsedBody third = httpRequest.parsedBody();
+
+        // then
+        assertThat(second, sameInstance(first));
+        assertThat(first.bodyAsString(), is("some_body"));
+        assertThat(third, not(sameInstance(first)));
+        assertThat(third.bodyAsString(), is("some_other_body"));
+    }
+}
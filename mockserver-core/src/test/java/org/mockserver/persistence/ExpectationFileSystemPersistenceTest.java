@@ -9,6 +9,7 @@ import org.mockserver.mock.Expectation;
 import org.mockserver.mock.RequestMatchers;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.test.Retries;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
@@ -16,6 +17,7 @@ import java.nio.file.Files;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.Configuration.configuration;
@@ -586,4 +588,177 @@ public class ExpectationFileSystemPersistenceTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldAppendExpectationChangesToJournal() throws Exception {
+        // given
+        String persistedExpectationsPath = ConfigurationProperties.persistedExpectationsPath();
+        ConfigurationProperties.persistExpectations(true);
+        ConfigurationProperties.persistedExpectationsJournal(true);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+            File persistedExpectationsJournal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+            persistedExpectationsJournal.deleteOnExit();
+
+            // when
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration(), mockServerLogger, requestMatchers);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleFirst")
+            )
+                .withId("one")
+                .thenRespond(
+                    response()
+                        .withBody("some first response")
+                ), API);
+            waitForJournalRecords(persistedExpectationsJournal, 1);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleSecond")
+            )
+                .withId("two")
+                .thenRespond(
+                    response()
+                        .withBody("some second response")
+                ), API);
+            waitForJournalRecords(persistedExpectationsJournal, 2);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleFirst")
+            )
+                .withId("one")
+                .thenRespond(
+                    response()
+                        .withBody("some updated response")
+                ), API);
+            waitForJournalRecords(persistedExpectationsJournal, 3);
+            requestMatchers.clear(
+                request()
+                    .withPath("/simpleSecond")
+            );
+            MILLISECONDS.sleep(1500);
+
+            // then
+            String expectedJournalContents = "{\"operation\":\"ADD\",\"id\":\"one\",\"expectation\":{\"httpRequest\":{\"path\":\"/simpleFirst\"},\"httpResponse\":{\"body\":\"some first response\"},\"id\":\"one\",\"priority\":0,\"timeToLive\":{\"unlimited\":true},\"times\":{\"unlimited\":true}}}\n" +
+                "{\"operation\":\"ADD\",\"id\":\"two\",\"expectation\":{\"httpRequest\":{\"path\":\"/simpleSecond\"},\"httpResponse\":{\"body\":\"some second response\"},\"id\":\"two\",\"priority\":0,\"timeToLive\":{\"unlimited\":true},\"times\":{\"unlimited\":true}}}\n" +
+                "{\"operation\":\"UPDATE\",\"id\":\"one\",\"expectation\":{\"httpRequest\":{\"path\":\"/simpleFirst\"},\"httpResponse\":{\"body\":\"some updated response\"},\"id\":\"one\",\"priority\":0,\"timeToLive\":{\"unlimited\":true},\"times\":{\"unlimited\":true}}}\n" +
+                "{\"operation\":\"REMOVE\",\"id\":\"two\"}\n";
+            assertThat(persistedExpectationsJournal.getAbsolutePath() + " does not match expected content", new String(Files.readAllBytes(persistedExpectationsJournal.toPath()), StandardCharsets.UTF_8), is(expectedJournalContents));
+            assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8), is("[]"));
+        } finally {
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectationsPath);
+            ConfigurationProperties.persistExpectations(false);
+            ConfigurationProperties.persistedExpectationsJournal(false);
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplaySnapshotAndJournalOnStart() throws Exception {
+        // given
+        String persistedExpectationsPath = ConfigurationProperties.persistedExpectationsPath();
+        ConfigurationProperties.persistExpectations(true);
+        ConfigurationProperties.persistedExpectationsJournal(true);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+            File persistedExpectationsJournal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+            persistedExpectationsJournal.deleteOnExit();
+            Files.write(persistedExpectations.toPath(), ("[ {" + NEW_LINE +
+                "  \"httpRequest\" : {" + NEW_LINE +
+                "    \"path\" : \"/simpleFirst\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"httpResponse\" : {" + NEW_LINE +
+                "    \"body\" : \"some first response\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"id\" : \"one\"" + NEW_LINE +
+                "}, {" + NEW_LINE +
+                "  \"httpRequest\" : {" + NEW_LINE +
+                "    \"path\" : \"/simpleSecond\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"httpResponse\" : {" + NEW_LINE +
+                "    \"body\" : \"some second response\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"id\" : \"two\"" + NEW_LINE +
+                "} ]").getBytes(StandardCharsets.UTF_8));
+            Files.write(persistedExpectationsJournal.toPath(), ("{\"operation\":\"UPDATE\",\"id\":\"one\",\"expectation\":{\"httpRequest\":{\"path\":\"/simpleFirst\"},\"httpResponse\":{\"body\":\"some updated response\"},\"id\":\"one\"}}\n" +
+                "{\"operation\":\"REMOVE\",\"id\":\"two\"}\n" +
+                "{\"operation\":\"ADD\",\"id\":\"three\",\"expectation\":{\"httpRequest\":{\"path\":\"/simpleThird\"},\"httpResponse\":{\"body\":\"some third response\"},\"id\":\"three\"}}\n" +
+                "{\"operation\":\"ADD\",\"id\":\"fou").getBytes(StandardCharsets.UTF_8));
+
+            // when
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration(), mockServerLogger, requestMatchers);
+
+            // then
+            assertThat(requestMatchers.retrieveActiveExpectations(null), contains(
+                new Expectation(
+                    request()
+                        .withPath("/simpleFirst")
+                )
+                    .withId("one")
+                    .thenRespond(
+                        response()
+                            .withBody("some updated response")
+                    ),
+                new Expectation(
+                    request()
+                        .withPath("/simpleThird")
+                )
+                    .withId("three")
+                    .thenRespond(
+                        response()
+                            .withBody("some third response")
+                    )
+            ));
+            String expectedFileContents = "[ {" + NEW_LINE +
+                "  \"httpRequest\" : {" + NEW_LINE +
+                "    \"path\" : \"/simpleFirst\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"httpResponse\" : {" + NEW_LINE +
+                "    \"body\" : \"some updated response\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"id\" : \"one\"," + NEW_LINE +
+                "  \"priority\" : 0," + NEW_LINE +
+                "  \"timeToLive\" : {" + NEW_LINE +
+                "    \"unlimited\" : true" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"times\" : {" + NEW_LINE +
+                "    \"unlimited\" : true" + NEW_LINE +
+                "  }" + NEW_LINE +
+                "}, {" + NEW_LINE +
+                "  \"httpRequest\" : {" + NEW_LINE +
+                "    \"path\" : \"/simpleThird\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"httpResponse\" : {" + NEW_LINE +
+                "    \"body\" : \"some third response\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"id\" : \"three\"," + NEW_LINE +
+                "  \"priority\" : 0," + NEW_LINE +
+                "  \"timeToLive\" : {" + NEW_LINE +
+                "    \"unlimited\" : true" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"times\" : {" + NEW_LINE +
+                "    \"unlimited\" : true" + NEW_LINE +
+                "  }" + NEW_LINE +
+                "} ]";
+            assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8), is(expectedFileContents));
+            assertThat(persistedExpectationsJournal.getAbsolutePath() + " does not match expected content", new String(Files.readAllBytes(persistedExpectationsJournal.toPath()), StandardCharsets.UTF_8), is(""));
+        } finally {
+            ConfigurationProperties.persistedExpectationsPath(persistedExpectationsPath);
+            ConfigurationProperties.persistExpectations(false);
+            ConfigurationProperties.persistedExpectationsJournal(false);
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
+    private void waitForJournalRecords(File persistedExpectationsJournal, int records) {
+        // changes are notified asynchronously so wait for each change to avoid them being journaled together
+        Retries.tryWaitForSuccess(() -> assertThat(Files.readAllLines(persistedExpectationsJournal.toPath()).size(), is(records)), 100, 50, MILLISECONDS);
+    }
+}
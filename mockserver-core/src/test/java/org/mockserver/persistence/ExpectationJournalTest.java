@@ -0,0 +1,125 @@
+package org.mockserver.persistence;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.mock.Expectation;
+import org.mockserver.serialization.ExpectationSerializer;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class ExpectationJournalTest {
+
+    private final ExpectationSerializer expectationSerializer = new ExpectationSerializer(new MockServerLogger());
+
+    @Test
+    public void shouldCompactJournalIntoSnapshot() throws Exception {
+        // given
+        File snapshot = File.createTempFile("persistedExpectations", ".json");
+        ExpectationJournal expectationJournal = new ExpectationJournal(snapshot.toPath(), expectationSerializer::serialize, new MockServerLogger());
+        new File(expectationJournal.getJournalPath().toString()).deleteOnExit();
+        Expectation expectationOne = new Expectation(request().withPath("/one")).withId("one").thenRespond(response().withBody("one"));
+        Expectation expectationTwo = new Expectation(request().withPath("/two")).withId("two").thenRespond(response().withBody("two"));
+        try {
+            expectationJournal.replay();
+            expectationJournal.append(Arrays.asList(expectationOne, expectationTwo));
+            expectationJournal.append(Collections.singletonList(expectationTwo));
+
+            // when
+            expectationJournal.compact();
+
+            // then
+            assertThat(new String(Files.readAllBytes(expectationJournal.getJournalPath()), StandardCharsets.UTF_8), is(""));
+            assertThat(Arrays.asList(expectationSerializer.deserializeArray(new String(Files.readAllBytes(snapshot.toPath()), StandardCharsets.UTF_8), true)), contains(expectationTwo));
+        } finally {
+            expectationJournal.stop();
+        }
+
+        // when
+        ExpectationJournal replayedExpectationJournal = new ExpectationJournal(snapshot.toPath(), expectationSerializer::serialize, new MockServerLogger());
+        try {
+            // then
+            assertThat(replayedExpectationJournal.replay(), contains(expectationTwo));
+        } finally {
+            replayedExpectationJournal.stop();
+        }
+    }
+
+    @Test
+    public void shouldJournalRemainingTimesDecrementedInPlace() throws Exception {
+        // given
+        File snapshot = File.createTempFile("persistedExpectations", ".json");
+        ExpectationJournal expectationJournal = new ExpectationJournal(snapshot.toPath(), expectationSerializer::serialize, new MockServerLogger());
+        new File(expectationJournal.getJournalPath().toString()).deleteOnExit();
+        Expectation expectation = new Expectation(request().withPath("/one"), Times.exactly(3), TimeToLive.unlimited(), 0).withId("one").thenRespond(response().withBody("one"));
+        try {
+            expectationJournal.replay();
+            expectationJournal.append(Collections.singletonList(expectation));
+
+            // when
+            expectation.decrementRemainingMatches();
+            expectationJournal.append(Collections.singletonList(expectation));
+        } finally {
+            expectationJournal.stop();
+        }
+
+        // then
+        ExpectationJournal replayedExpectationJournal = new ExpectationJournal(snapshot.toPath(), expectationSerializer::serialize, new MockServerLogger());
+        try {
+            List<Expectation> replayedExpectations = replayedExpectationJournal.replay();
+            assertThat(replayedExpectations.size(), is(1));
+            assertThat(replayedExpectations.get(0).getTimes().getRemainingTimes(), is(2));
+        } finally {
+            replayedExpectationJournal.stop();
+        }
+    }
+
+    @Test
+    public void shouldContinueAppendingToJournalWhenCompactionFails() throws Exception {
+        // given
+        File snapshot = File.createTempFile("persistedExpectations", ".json");
+        ExpectationJournal expectationJournal = new ExpectationJournal(snapshot.toPath(), expectationSerializer::serialize, new MockServerLogger());
+        new File(expectationJournal.getJournalPath().toString()).deleteOnExit();
+        Path temporaryJournalPath = expectationJournal.getJournalPath().resolveSibling(expectationJournal.getJournalPath().getFileName() + ".tmp");
+        Expectation expectationOne = new Expectation(request().withPath("/one")).withId("one").thenRespond(response().withBody("one"));
+        Expectation expectationTwo = new Expectation(request().withPath("/two")).withId("two").thenRespond(response().withBody("two"));
+        try {
+            expectationJournal.replay();
+            expectationJournal.append(Collections.singletonList(expectationOne));
+            // prevent the new journal being written
+            Files.createDirectory(temporaryJournalPath);
+
+            // when
+            expectationJournal.compact();
+            expectationJournal.append(Arrays.asList(expectationOne, expectationTwo));
+        } finally {
+            expectationJournal.stop();
+            Files.deleteIfExists(temporaryJournalPath);
+        }
+
+        // then
+        ExpectationJournal replayedExpectationJournal = new ExpectationJournal(snapshot.toPath(), expectationSerializer::serialize, new MockServerLogger());
+        try {
+            assertThat(replayedExpectationJournal.replay(), contains(expectationOne, expectationTwo));
+        } finally {
+            replayedExpectationJournal.stop();
+        }
+    }
+
+}
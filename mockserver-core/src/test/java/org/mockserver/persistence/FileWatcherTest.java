@@ -0,0 +1,74 @@
+package org.mockserver.persistence;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.test.Retries;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * @author jamesdbloom
+ */
+public class FileWatcherTest {
+
+    @Test
+    public void shouldCallUpdatedHandlerOnceForBurstOfModifications() throws Exception {
+        // given
+        File fileOne = File.createTempFile("fileWatcherOne", ".json");
+        File fileTwo = File.createTempFile("fileWatcherTwo", ".json");
+        AtomicInteger updatedCount = new AtomicInteger();
+        FileWatcher fileWatcher = new FileWatcher(Arrays.asList(fileOne.toPath(), fileTwo.toPath()), updatedCount::incrementAndGet, throwable -> {
+        }, new MockServerLogger());
+        try {
+            // when
+            for (int i = 0; i < 5; i++) {
+                Files.write(fileOne.toPath(), ("one " + i).getBytes(StandardCharsets.UTF_8));
+                Files.write(fileTwo.toPath(), ("two " + i).getBytes(StandardCharsets.UTF_8));
+            }
+
+            // then
+            Retries.tryWaitForSuccess(() -> assertThat(updatedCount.get(), equalTo(1)), 100, 100, MILLISECONDS);
+            MILLISECONDS.sleep(FileWatcher.getDebouncePeriodInMillis() * 2);
+            assertThat(updatedCount.get(), equalTo(1));
+        } finally {
+            fileWatcher.setRunning(false);
+        }
+    }
+
+    @Test
+    public void shouldNotCallUpdatedHandlerWhenContentIsUnchanged() throws Exception {
+        // given
+        File file = File.createTempFile("fileWatcher", ".json");
+        Files.write(file.toPath(), "some content".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger updatedCount = new AtomicInteger();
+        FileWatcher fileWatcher = new FileWatcher(file.toPath(), updatedCount::incrementAndGet, throwable -> {
+        }, new MockServerLogger());
+        try {
+            // when
+            Files.write(file.toPath(), "some content".getBytes(StandardCharsets.UTF_8));
+            Files.write(file.toPath(), "other content".getBytes(StandardCharsets.UTF_8));
+
+            // then
+            Retries.tryWaitForSuccess(() -> assertThat(updatedCount.get(), equalTo(1)), 100, 100, MILLISECONDS);
+
+            // when
+            updatedCount.set(0);
+            Files.write(file.toPath(), "other content".getBytes(StandardCharsets.UTF_8));
+
+            // then
+            MILLISECONDS.sleep(FileWatcher.getDebouncePeriodInMillis() * 4);
+            assertThat(updatedCount.get(), equalTo(0));
+        } finally {
+            fileWatcher.setRunning(false);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.mockserver.scheduler;
+
+import org.junit.Test;
+import org.mockserver.httpclient.SocketCommunicationException;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.action.http.HttpForwardActionResult;
+import org.mockserver.model.HttpResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class SchedulerTest {
+
+    @Test
+    public void shouldRunCommandWhenResponseReceivedWithoutBlockingCaller() throws InterruptedException {
+        // given
+        Scheduler scheduler = new Scheduler(configuration(), new MockServerLogger());
+        CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
+        AtomicReference<HttpResponse> receivedResponse = new AtomicReference<>();
+        CountDownLatch commandRun = new CountDownLatch(1);
+
+        try {
+            // when
+            scheduler.submit(new HttpForwardActionResult(request(), httpResponseFuture, null), (httpResponse, throwable) -> {
+                receivedResponse.set(httpResponse);
+                commandRun.countDown();
+            }, false);
+
+            // then
+            assertThat(commandRun.getCount(), is(1L));
+            httpResponseFuture.complete(response("some_body"));
+            assertThat(commandRun.await(5, SECONDS), is(true));
+            assertThat(receivedResponse.get(), is(response("some_body")));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFailResponseNotReceivedWithinMaxSocketTimeout() throws InterruptedException {
+        // given
+        Scheduler scheduler = new Scheduler(configuration().maxSocketTimeoutInMillis(100L), new MockServerLogger());
+        CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
+        AtomicReference<Throwable> receivedException = new AtomicReference<>();
+        CountDownLatch commandRun = new CountDownLatch(1);
+
+        try {
+            // when
+            scheduler.submit(new HttpForwardActionResult(request(), httpResponseFuture, null), (httpResponse, throwable) -> {
+                receivedException.set(throwable);
+                commandRun.countDown();
+            }, false);
+
+            // then
+            assertThat(commandRun.await(5, SECONDS), is(true));
+            assertThat(receivedException.get(), instanceOf(SocketCommunicationException.class));
+            assertThat(receivedException.get().getMessage(), containsString("Response was not received after 100 milliseconds"));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFailResponseNotReceivedWithinMaxSocketTimeoutWhenSynchronous() {
+        // given
+        Scheduler scheduler = new Scheduler(configuration().maxSocketTimeoutInMillis(100L), new MockServerLogger(), true);
+        CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
+        AtomicReference<Throwable> receivedException = new AtomicReference<>();
+
+        // when
+        scheduler.submit(new HttpForwardActionResult(request(), httpResponseFuture, null), (httpResponse, throwable) -> receivedException.set(throwable), true);
+
+        // then
+        assertThat(receivedException.get(), instanceOf(SocketCommunicationException.class));
+    }
+}
@@ -0,0 +1,92 @@
+package org.mockserver.templates.engine;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.metrics.Metrics.Name.COMPILED_TEMPLATES_COUNT;
+import static org.mockserver.metrics.Metrics.Name.COMPILED_TEMPLATES_HIT_PERCENTAGE;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpTemplate.template;
+
+/**
+ * @author jamesdbloom
+ */
+public class CompiledTemplateCacheTest {
+
+    @Test
+    public void shouldOnlyCompileTemplateOnce() throws Exception {
+        // given
+        CompiledTemplateCache<Object> compiledTemplateCache = new CompiledTemplateCache<>(new MockServerLogger(), configuration());
+        AtomicInteger compileCount = new AtomicInteger();
+
+        // when
+        Object first = compiledTemplateCache.getOrCompile("some_template", template -> {
+            compileCount.incrementAndGet();
+            return new Object();
+        });
+        Object second = compiledTemplateCache.getOrCompile("some_template", template -> {
+            compileCount.incrementAndGet();
+            return new Object();
+        });
+
+        // then
+        assertThat(second, sameInstance(first));
+        assertThat(compileCount.get(), is(1));
+    }
+
+    @Test
+    public void shouldCompileTemplateAgainWhenExpectationRemoved() throws Exception {
+        // given
+        CompiledTemplateCache<Object> compiledTemplateCache = new CompiledTemplateCache<>(new MockServerLogger(), configuration());
+        AtomicInteger compileCount = new AtomicInteger();
+        compiledTemplateCache.getOrCompile("some_other_template", template -> {
+            compileCount.incrementAndGet();
+            return new Object();
+        });
+
+        // when
+        CompiledTemplateCache.invalidate(new Expectation(request()).thenRespond(template(HttpTemplate.TemplateType.VELOCITY, "some_other_template")));
+        compiledTemplateCache.getOrCompile("some_other_template", template -> {
+            compileCount.incrementAndGet();
+            return new Object();
+        });
+
+        // then
+        assertThat(compileCount.get(), is(2));
+    }
+
+    @Test
+    public void shouldOnlyUpdateMetricsWhenTemplateCompiled() throws Exception {
+        // given
+        CompiledTemplateCache<Object> compiledTemplateCache = new CompiledTemplateCache<>(new MockServerLogger(), configuration().metricsEnabled(true));
+
+        // when
+        compiledTemplateCache.getOrCompile("some_template", template -> new Object());
+
+        // then
+        assertThat(Metrics.get(COMPILED_TEMPLATES_COUNT), is(1));
+
+        // when
+        Metrics.clear(COMPILED_TEMPLATES_COUNT);
+        compiledTemplateCache.getOrCompile("some_template", template -> new Object());
+
+        // then
+        assertThat(Metrics.get(COMPILED_TEMPLATES_COUNT), is(0));
+
+        // when
+        compiledTemplateCache.getOrCompile("some_other_template", template -> new Object());
+
+        // then
+        assertThat(Metrics.get(COMPILED_TEMPLATES_COUNT), is(2));
+        assertThat(Metrics.get(COMPILED_TEMPLATES_HIT_PERCENTAGE), is(33));
+    }
+}
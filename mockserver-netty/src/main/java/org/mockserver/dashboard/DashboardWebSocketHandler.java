@@ -13,6 +13,7 @@ import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.websocketx.*;
 import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
+import org.mockserver.cache.LRUCache;
 import org.mockserver.collections.CircularHashMap;
 import org.mockserver.dashboard.model.DashboardLogEntryDTO;
 import org.mockserver.dashboard.model.DashboardLogEntryDTOGroup;
@@ -20,6 +21,9 @@ import org.mockserver.dashboard.serializers.*;
 import org.mockserver.log.MockServerEventLog;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.mock.Expectation;
 import org.mockserver.mock.HttpState;
 import org.mockserver.mock.RequestMatchers;
 import org.mockserver.mock.listeners.MockServerLogListener;
@@ -40,6 +44,7 @@ import java.util.stream.Collectors;
 
 import static com.google.common.net.HttpHeaders.HOST;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.exception.ExceptionHandling.connectionClosedException;
@@ -65,6 +70,7 @@ public class DashboardWebSocketHandler extends ChannelInboundHandlerAdapter impl
     private final MockServerLogger mockServerLogger;
     private final boolean sslEnabledUpstream;
     private final HttpState httpState;
+    private final RenderCache renderCache;
     private HttpRequestSerializer httpRequestSerializer;
     private WebSocketServerHandshaker handshaker;
     private Map<ChannelOutboundInvoker, HttpRequest> clientRegistry;
@@ -75,7 +81,12 @@ public class DashboardWebSocketHandler extends ChannelInboundHandlerAdapter impl
     private Semaphore semaphore;
 
     public DashboardWebSocketHandler(HttpState httpState, boolean sslEnabledUpstream, boolean prettyPrint) {
+        this(httpState, null, sslEnabledUpstream, prettyPrint);
+    }
+
+    public DashboardWebSocketHandler(HttpState httpState, RenderCache renderCache, boolean sslEnabledUpstream, boolean prettyPrint) {
         this.httpState = httpState;
+        this.renderCache = renderCache != null ? renderCache : new RenderCache();
         this.mockServerLogger = httpState.getMockServerLogger();
         this.sslEnabledUpstream = sslEnabledUpstream;
         this.prettyPrint = prettyPrint;
@@ -254,10 +265,14 @@ public class DashboardWebSocketHandler extends ChannelInboundHandlerAdapter impl
     }
 
     private void sendMessage(ChannelOutboundInvoker ctx, RequestDefinition httpRequest, ImmutableMap<String, Object> message, int retryCount) {
+        sendMessage(ctx, httpRequest, new RenderedUpdate(message), retryCount);
+    }
+
+    private void sendMessage(ChannelOutboundInvoker ctx, RequestDefinition httpRequest, RenderedUpdate message, int retryCount) {
         if (semaphore.tryAcquire()) {
             scheduler.submit(() -> {
                 try {
-                    String text = objectWriter.writeValueAsString(message);
+                    String text = message.text();
                     ctx.writeAndFlush(new TextWebSocketFrame(text));
                 } catch (JsonProcessingException jpe) {
                     mockServerLogger.logEvent(
@@ -329,6 +344,9 @@ public class DashboardWebSocketHandler extends ChannelInboundHandlerAdapter impl
     }
 
     private void sendUpdate(ChannelOutboundInvoker ctx, RequestDefinition httpRequest, int retryCount) {
+        // read before the log and expectations so a change made while rendering is rendered again
+        long logChangeSequence = mockServerEventLog.changeSequence();
+        long expectationsChangeSequence = requestMatchers.changeSequence();
         DescriptionProcessor activeExpectationsDescriptionProcessor = new DescriptionProcessor();
         DescriptionProcessor logMessagesDescriptionProcessor = new DescriptionProcessor();
         DescriptionProcessor recordedRequestsDescriptionProcessor = new DescriptionProcessor();
@@ -339,18 +357,24 @@ public class DashboardWebSocketHandler extends ChannelInboundHandlerAdapter impl
                 logEntry -> !logEntry.isDeleted(),
                 DashboardLogEntryDTO::new,
                 reverseLogEventsStream -> {
+                    // checked when the log entries are retrieved, so when several dashboards are notified of the same
+                    // change only the first renders it and the others reuse the result
+                    RenderedUpdate renderedUpdate = renderCache.renderedUpdates.get(httpRequest);
+                    if (renderedUpdate != null && renderedUpdate.isCurrent(mockServerEventLog, logChangeSequence, requestMatchers, expectationsChangeSequence)) {
+                        sendMessage(ctx, httpRequest, renderedUpdate, retryCount);
+                        return;
+                    }
+                    long[] expectationsValidUntil = {Long.MAX_VALUE};
                     List<ImmutableMap<String, Object>> activeExpectations = requestMatchers
                         .retrieveRequestMatchers(httpRequest)
                         .stream()
                         .limit(UI_UPDATE_ITEM_LIMIT)
                         .map(requestMatcher -> {
-                            JsonNode expectationJsonNode = objectMapper.valueToTree(new ExpectationDTO(requestMatcher.getExpectation()));
-                            if (requestMatcher.getExpectation().getHttpRequest() instanceof OpenAPIDefinition) {
-                                JsonNode httpRequestJsonNode = expectationJsonNode.get("httpRequest");
-                                if (httpRequestJsonNode instanceof ObjectNode) {
-                                    ((ObjectNode) httpRequestJsonNode).set("requestMatchers", objectMapper.valueToTree(requestMatcher.getHttpRequests()));
-                                }
+                            TimeToLive timeToLive = requestMatcher.getExpectation().getTimeToLive();
+                            if (timeToLive != null && !timeToLive.isUnlimited()) {
+                                expectationsValidUntil[0] = Math.min(expectationsValidUntil[0], timeToLive.getEndDate());
                             }
+                            JsonNode expectationJsonNode = renderExpectation(requestMatcher);
                             Description description = activeExpectationsDescriptionProcessor.description(requestMatcher.getExpectation().getHttpRequest(), requestMatcher.getExpectation().getId());
                             return ImmutableMap.of(
                                 "key", requestMatcher.getExpectation().getId(),
@@ -415,14 +439,116 @@ public class DashboardWebSocketHandler extends ChannelInboundHandlerAdapter impl
                                 }
                             }
                         });
-                    sendMessage(ctx, httpRequest, ImmutableMap.of(
-                        "logMessages", logMessages,
-                        "activeExpectations", activeExpectations,
-                        "recordedRequests", recordedRequests,
-                        "proxiedRequests", proxiedRequests // reverse
-                    ), retryCount);
+                    renderedUpdate = new RenderedUpdate(
+                        mockServerEventLog,
+                        logChangeSequence,
+                        requestMatchers,
+                        expectationsChangeSequence,
+                        expectationsValidUntil[0],
+                        ImmutableMap.of(
+                            "logMessages", logMessages,
+                            "activeExpectations", activeExpectations,
+                            "recordedRequests", recordedRequests,
+                            "proxiedRequests", proxiedRequests // reverse
+                        )
+                    );
+                    renderCache.renderedUpdates.put(httpRequest, renderedUpdate);
+                    sendMessage(ctx, httpRequest, renderedUpdate, retryCount);
                 }
             );
     }
 
+    private JsonNode renderExpectation(HttpRequestMatcher requestMatcher) {
+        Expectation expectation = requestMatcher.getExpectation();
+        RenderedExpectation renderedExpectation = renderCache.renderedExpectations.get(expectation.getId());
+        if (renderedExpectation != null && renderedExpectation.isCurrent(expectation)) {
+            return renderedExpectation.jsonNode;
+        }
+        JsonNode expectationJsonNode = objectMapper.valueToTree(new ExpectationDTO(expectation));
+        if (expectation.getHttpRequest() instanceof OpenAPIDefinition) {
+            JsonNode httpRequestJsonNode = expectationJsonNode.get("httpRequest");
+            if (httpRequestJsonNode instanceof ObjectNode) {
+                ((ObjectNode) httpRequestJsonNode).set("requestMatchers", objectMapper.valueToTree(requestMatcher.getHttpRequests()));
+            }
+        }
+        renderCache.renderedExpectations.put(expectation.getId(), new RenderedExpectation(expectation, expectationJsonNode));
+        return expectationJsonNode;
+    }
+
+    /**
+     * Updates and expectations rendered by the dashboard handlers of one MockServer, which are shared by the handlers of
+     * all its dashboard connections so each change is only rendered once per filter
+     */
+    public static class RenderCache {
+        private final Map<RequestDefinition, RenderedUpdate> renderedUpdates = Collections.synchronizedMap(new CircularHashMap<>(100));
+        private final LRUCache<String, RenderedExpectation> renderedExpectations = new LRUCache<>(new MockServerLogger(DashboardWebSocketHandler.class), 1000, MINUTES.toMillis(10));
+
+        public void clear() {
+            renderedUpdates.clear();
+            renderedExpectations.clear();
+        }
+    }
+
+    /**
+     * An update rendered for a filter, which can be sent to any dashboard with the same filter until the log or
+     * expectations change, or until the first expectation shown expires
+     */
+    private static class RenderedUpdate {
+        private final MockServerEventLog mockServerEventLog;
+        private final long logChangeSequence;
+        private final RequestMatchers requestMatchers;
+        private final long expectationsChangeSequence;
+        private final long validUntil;
+        private final ImmutableMap<String, Object> message;
+        private String text;
+
+        private RenderedUpdate(ImmutableMap<String, Object> message) {
+            this(null, -1, null, -1, 0, message);
+        }
+
+        private RenderedUpdate(MockServerEventLog mockServerEventLog, long logChangeSequence, RequestMatchers requestMatchers, long expectationsChangeSequence, long validUntil, ImmutableMap<String, Object> message) {
+            this.mockServerEventLog = mockServerEventLog;
+            this.logChangeSequence = logChangeSequence;
+            this.requestMatchers = requestMatchers;
+            this.expectationsChangeSequence = expectationsChangeSequence;
+            this.validUntil = validUntil;
+            this.message = message;
+        }
+
+        private boolean isCurrent(MockServerEventLog mockServerEventLog, long logChangeSequence, RequestMatchers requestMatchers, long expectationsChangeSequence) {
+            return this.mockServerEventLog == mockServerEventLog
+                && this.logChangeSequence == logChangeSequence
+                && this.requestMatchers == requestMatchers
+                && this.expectationsChangeSequence == expectationsChangeSequence
+                && this.validUntil > System.currentTimeMillis();
+        }
+
+        private synchronized String text() throws JsonProcessingException {
+            if (text == null) {
+                text = objectWriter.writeValueAsString(message);
+            }
+            return text;
+        }
+    }
+
+    private static class RenderedExpectation {
+        private final Expectation expectation;
+        private final int remainingTimes;
+        private final JsonNode jsonNode;
+
+        private RenderedExpectation(Expectation expectation, JsonNode jsonNode) {
+            this.expectation = expectation;
+            this.remainingTimes = remainingTimes(expectation);
+            this.jsonNode = jsonNode;
+        }
+
+        private boolean isCurrent(Expectation expectation) {
+            return this.expectation == expectation && this.remainingTimes == remainingTimes(expectation);
+        }
+
+        private static int remainingTimes(Expectation expectation) {
+            return expectation.getTimes() != null ? expectation.getTimes().getRemainingTimes() : -1;
+        }
+    }
+
 }
@@ -2,14 +2,15 @@ package org.mockserver.lifecycle;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import org.mockserver.configuration.Configuration;
+import org.mockserver.dashboard.DashboardWebSocketHandler;
 import org.mockserver.log.MockServerEventLog;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.HttpState;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.stop.Stoppable;
 
 import java.net.InetSocketAddress;
@@ -38,7 +39,9 @@ public abstract class LifeCycle implements Stoppable {
     protected final MockServerLogger mockServerLogger;
     protected final EventLoopGroup bossGroup;
     protected final EventLoopGroup workerGroup;
+    protected final NettyTransport nettyTransport;
     protected final HttpState httpState;
+    private final DashboardWebSocketHandler.RenderCache dashboardRenderCache = new DashboardWebSocketHandler.RenderCache();
     private final Configuration configuration;
     protected ServerBootstrap serverServerBootstrap;
     private final List<Future<Channel>> serverChannelFutures = new ArrayList<>();
@@ -49,8 +52,9 @@ public abstract class LifeCycle implements Stoppable {
     protected LifeCycle(Configuration configuration) {
         this.configuration = configuration != null ? configuration : configuration();
         this.mockServerLogger = new MockServerLogger(MockServerEventLog.class);
-        this.bossGroup = new NioEventLoopGroup(5, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
-        this.workerGroup = new NioEventLoopGroup(this.configuration.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
+        this.nettyTransport = NettyTransport.nettyTransport(this.configuration);
+        this.bossGroup = nettyTransport.eventLoopGroup(Math.max(5, nettyTransport.acceptorCount(this.configuration)), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
+        this.workerGroup = nettyTransport.eventLoopGroup(this.configuration.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
         this.scheduler = new Scheduler(this.configuration, this.mockServerLogger);
         this.httpState = new HttpState(this.configuration, this.mockServerLogger, this.scheduler);
     }
@@ -90,6 +94,7 @@ public abstract class LifeCycle implements Stoppable {
                 }
 
                 httpState.stop();
+                dashboardRenderCache.clear();
                 scheduler.shutdown();
 
                 // Shut down all event loops to terminate all threads.
@@ -134,6 +139,10 @@ public abstract class LifeCycle implements Stoppable {
         return scheduler;
     }
 
+    public DashboardWebSocketHandler.RenderCache getDashboardRenderCache() {
+        return dashboardRenderCache;
+    }
+
     public boolean isRunning() {
         return !bossGroup.isShuttingDown() || !workerGroup.isShuttingDown();
     }
@@ -226,7 +235,12 @@ public abstract class LifeCycle implements Stoppable {
                     }
                 }).start();
 
-                actualPortBindings.add(((InetSocketAddress) channelOpened.get(configuration.maxFutureTimeoutInMillis(), MILLISECONDS).localAddress()).getPort());
+                InetSocketAddress boundAddress = (InetSocketAddress) channelOpened.get(configuration.maxFutureTimeoutInMillis(), MILLISECONDS).localAddress();
+                // with SO_REUSEPORT additional server sockets bound to the same port each have their own acceptor thread
+                for (int acceptor = 1; acceptor < nettyTransport.acceptorCount(configuration); acceptor++) {
+                    channelFutures.add(CompletableFuture.completedFuture(serverBootstrap.bind(boundAddress).syncUninterruptibly().channel()));
+                }
+                actualPortBindings.add(boundAddress.getPort());
             } catch (Exception e) {
                 throw new RuntimeException("Exception while binding MockServer to port " + portToBind, e instanceof ExecutionException ? e.getCause() : e);
             }
@@ -5,7 +5,6 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import org.mockserver.authentication.ChainedAuthenticationHandler;
 import org.mockserver.authentication.jwt.JWTAuthenticationHandler;
 import org.mockserver.authentication.mtls.MTLSAuthenticationHandler;
@@ -162,7 +161,7 @@ public class MockServer extends LifeCycle {
             httpState.setControlPlaneAuthenticationHandler(
                 new ChainedAuthenticationHandler(
                     new MTLSAuthenticationHandler(mockServerLogger, nettyServerSslContextFactory.trustCertificateChain(configuration.controlPlaneTLSMutualAuthenticationCAChain())),
-                    new JWTAuthenticationHandler(mockServerLogger, configuration.controlPlaneJWTAuthenticationJWKSource())
+                    new JWTAuthenticationHandler(mockServerLogger, configuration.controlPlaneJWTAuthenticationJWKSource(), configuration.controlPlaneJWTAuthenticationJWKSourceRefreshInterval())
                         .withExpectedAudience(configuration.controlPlaneJWTAuthenticationExpectedAudience())
                         .withMatchingClaims(configuration.controlPlaneJWTAuthenticationMatchingClaims())
                         .withRequiredClaims(configuration.controlPlaneJWTAuthenticationRequiredClaims())
@@ -174,16 +173,15 @@ public class MockServer extends LifeCycle {
             );
         } else if (configuration.controlPlaneJWTAuthenticationRequired()) {
             httpState.setControlPlaneAuthenticationHandler(
-                new JWTAuthenticationHandler(mockServerLogger, configuration.controlPlaneJWTAuthenticationJWKSource())
+                new JWTAuthenticationHandler(mockServerLogger, configuration.controlPlaneJWTAuthenticationJWKSource(), configuration.controlPlaneJWTAuthenticationJWKSourceRefreshInterval())
                     .withExpectedAudience(configuration.controlPlaneJWTAuthenticationExpectedAudience())
                     .withMatchingClaims(configuration.controlPlaneJWTAuthenticationMatchingClaims())
                     .withRequiredClaims(configuration.controlPlaneJWTAuthenticationRequiredClaims())
             );
         }
-        serverServerBootstrap = new ServerBootstrap()
+        serverServerBootstrap = nettyTransport.serverBootstrap(configuration)
             .group(bossGroup, workerGroup)
             .option(ChannelOption.SO_BACKLOG, 1024)
-            .channel(NioServerSocketChannel.class)
             .childOption(ChannelOption.AUTO_READ, true)
             .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
             .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
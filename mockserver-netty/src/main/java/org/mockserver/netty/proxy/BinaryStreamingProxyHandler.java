@@ -0,0 +1,219 @@
+package org.mockserver.netty.proxy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.slf4j.event.Level;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.mockserver.exception.ExceptionHandling.closeOnFlush;
+import static org.mockserver.exception.ExceptionHandling.connectionClosedException;
+import static org.mockserver.netty.unification.PortUnificationHandler.isSslEnabledUpstream;
+
+/**
+ * Relays a binary stream between a client connection and a single connection to the remote address, bytes are passed
+ * through in both directions as they are read, without copying, and reading from either side is paused while the other
+ * side is not writable.
+ * <p>
+ * Bytes read from the client before the remote connection is established are queued and reading is paused until the
+ * remote connection is established, the remote connection is closed when the client connection is closed and vice versa.
+ *
+ * @author jamesdbloom
+ */
+public class BinaryStreamingProxyHandler extends ChannelInboundHandlerAdapter {
+
+    private final Configuration configuration;
+    private final MockServerLogger mockServerLogger;
+    private final NettyHttpClient httpClient;
+    private final InetSocketAddress remoteAddress;
+    private final Queue<ByteBuf> pendingWrites = new ArrayDeque<>();
+    private Channel upstreamChannel;
+    private long bytesSent;
+    private long bytesReceived;
+
+    public BinaryStreamingProxyHandler(final Configuration configuration, final MockServerLogger mockServerLogger, final NettyHttpClient httpClient, final InetSocketAddress remoteAddress) {
+        this.configuration = configuration;
+        this.mockServerLogger = mockServerLogger;
+        this.httpClient = httpClient;
+        this.remoteAddress = remoteAddress;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof ByteBuf)) {
+            ctx.fireChannelRead(msg);
+        } else if (upstreamChannel == null) {
+            pendingWrites.add((ByteBuf) msg);
+            if (pendingWrites.size() == 1) {
+                connect(ctx);
+            }
+        } else if (upstreamChannel.isActive()) {
+            bytesSent += ((ByteBuf) msg).readableBytes();
+            relay(ctx.channel(), upstreamChannel, (ByteBuf) msg);
+        } else if (upstreamChannel.isOpen()) {
+            pendingWrites.add((ByteBuf) msg);
+        } else {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private void connect(ChannelHandlerContext ctx) {
+        Channel downstreamChannel = ctx.channel();
+        downstreamChannel.config().setAutoRead(false);
+        upstreamChannel = httpClient
+            .connect(isSslEnabledUpstream(downstreamChannel), remoteAddress, configuration.socketConnectionTimeoutInMillis(), downstreamChannel.eventLoop(), new UpstreamHandler(downstreamChannel))
+            .addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    if (MockServerLogger.isEnabled(Level.INFO)) {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setLogLevel(Level.INFO)
+                                .setMessageFormat("streaming binary requests from:{}to:{}")
+                                .setArguments(downstreamChannel.remoteAddress(), remoteAddress)
+                        );
+                    }
+                    ByteBuf pendingWrite;
+                    while ((pendingWrite = pendingWrites.poll()) != null) {
+                        bytesSent += pendingWrite.readableBytes();
+                        relay(downstreamChannel, future.channel(), pendingWrite);
+                    }
+                    if (future.channel().isWritable()) {
+                        downstreamChannel.config().setAutoRead(true);
+                    }
+                } else {
+                    if (MockServerLogger.isEnabled(Level.WARN)) {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setLogLevel(Level.WARN)
+                                .setMessageFormat("exception " + future.cause().getMessage() + " connecting to:{}for streaming binary requests from:{}closing connection")
+                                .setArguments(remoteAddress, downstreamChannel.remoteAddress())
+                                .setThrowable(future.cause())
+                        );
+                    }
+                    releasePendingWrites();
+                    downstreamChannel.close();
+                }
+            })
+            .channel();
+    }
+
+    private void relay(Channel source, Channel destination, ByteBuf byteBuf) {
+        if (MockServerLogger.isEnabled(Level.DEBUG)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.DEBUG)
+                    .setMessageFormat("relaying bytes hex{}from:{}to:{}")
+                    .setArguments(ByteBufUtil.hexDump(byteBuf), source.remoteAddress(), destination.remoteAddress())
+            );
+        }
+        destination.writeAndFlush(byteBuf).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                closeOnFlush(source);
+                future.channel().close();
+            }
+        });
+        if (!destination.isWritable()) {
+            source.config().setAutoRead(false);
+        }
+    }
+
+    private void releasePendingWrites() {
+        ByteBuf pendingWrite;
+        while ((pendingWrite = pendingWrites.poll()) != null) {
+            ReferenceCountUtil.release(pendingWrite);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (upstreamChannel != null && upstreamChannel.isActive()) {
+            upstreamChannel.config().setAutoRead(ctx.channel().isWritable());
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        releasePendingWrites();
+        if (upstreamChannel != null) {
+            closeOnFlush(upstreamChannel);
+        }
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        if (connectionClosedException(cause)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception caught by " + this.getClass() + " handler -> closing pipeline " + ctx.channel())
+                    .setThrowable(cause)
+            );
+        }
+        closeOnFlush(ctx.channel());
+    }
+
+    private class UpstreamHandler extends ChannelInboundHandlerAdapter {
+
+        private final Channel downstreamChannel;
+
+        UpstreamHandler(Channel downstreamChannel) {
+            this.downstreamChannel = downstreamChannel;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof ByteBuf) {
+                bytesReceived += ((ByteBuf) msg).readableBytes();
+                relay(ctx.channel(), downstreamChannel, (ByteBuf) msg);
+            } else {
+                ctx.fireChannelRead(msg);
+            }
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+            downstreamChannel.config().setAutoRead(ctx.channel().isWritable());
+            ctx.fireChannelWritabilityChanged();
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            if (MockServerLogger.isEnabled(Level.INFO)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.INFO)
+                        .setMessageFormat("closed binary stream from:{}to:{}after sending:{}bytes and receiving:{}bytes")
+                        .setArguments(downstreamChannel.remoteAddress(), remoteAddress, bytesSent, bytesReceived)
+                );
+            }
+            closeOnFlush(downstreamChannel);
+            ctx.fireChannelInactive();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            if (connectionClosedException(cause)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.ERROR)
+                        .setMessageFormat("exception caught by upstream binary stream handler -> closing pipeline " + ctx.channel())
+                        .setThrowable(cause)
+                );
+            }
+            closeOnFlush(ctx.channel());
+        }
+    }
+}
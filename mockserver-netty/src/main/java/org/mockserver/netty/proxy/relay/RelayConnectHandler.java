@@ -5,20 +5,20 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
-import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http2.*;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.ssl.SslHandler;
+import org.mockserver.codec.MockServerHttpObjectAggregator;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.lifecycle.LifeCycle;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.LoggingHandler;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.netty.unification.PortUnificationHandler;
+import org.mockserver.socket.NettyTransport;
 import org.slf4j.event.Level;
 
 import java.net.InetSocketAddress;
@@ -54,9 +54,27 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
 
     @Override
     public void channelRead0(final ChannelHandlerContext proxyClientCtx, final T request) {
+        if (getRemoteAddress(proxyClientCtx) == null) {
+            // tunnel is handled by this server so is unified on the client channel instead of relayed over a new connection
+            proxyClientCtx
+                .writeAndFlush(successResponse(request))
+                .addListener((ChannelFutureListener) channelFuture -> {
+                    if (channelFuture.isSuccess()) {
+                        removeCodecSupport(proxyClientCtx);
+                        unifyTunnel(proxyClientCtx, new InetSocketAddress(host, port));
+                    } else {
+                        failure("Exception writing response to CONNECT request", channelFuture.cause(), proxyClientCtx, failureResponse(request));
+                    }
+                });
+        } else {
+            relayToRemoteAddress(proxyClientCtx, request);
+        }
+    }
+
+    private void relayToRemoteAddress(final ChannelHandlerContext proxyClientCtx, final T request) {
         Bootstrap bootstrap = new Bootstrap()
             .group(proxyClientCtx.channel().eventLoop())
-            .channel(NioSocketChannel.class)
+            .channel(NettyTransport.nettyTransport(proxyClientCtx.channel().eventLoop()).socketChannelClass())
             .handler(new ChannelInboundHandlerAdapter() {
                 @Override
                 public void channelActive(final ChannelHandlerContext mockServerCtx) {
@@ -92,7 +110,7 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
 
                                     pipelineToMockServer.addLast(new HttpClientCodec(configuration.maxInitialLineLength(), configuration.maxHeaderSize(), configuration.maxChunkSize()));
                                     pipelineToMockServer.addLast(new HttpContentDecompressor());
-                                    pipelineToMockServer.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                                    pipelineToMockServer.addLast(new MockServerHttpObjectAggregator(Integer.MAX_VALUE));
 
                                     pipelineToMockServer.addLast(new DownstreamProxyRelayHandler(mockServerLogger, proxyClientCtx.channel()));
 
@@ -127,7 +145,7 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
                                     } else {
                                         pipelineToProxyClient.addLast(new HttpServerCodec(configuration.maxInitialLineLength(), configuration.maxHeaderSize(), configuration.maxChunkSize()));
                                         pipelineToProxyClient.addLast(new HttpContentDecompressor());
-                                        pipelineToProxyClient.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                                        pipelineToProxyClient.addLast(new MockServerHttpObjectAggregator(configuration.maxRequestBodySize()));
                                     }
 
                                     pipelineToProxyClient.addLast(new UpstreamProxyRelayHandler(mockServerLogger, proxyClientCtx.channel(), mockServerCtx.channel()));
@@ -139,7 +157,7 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
                 }
             });
 
-        final InetSocketAddress remoteSocket = getDownstreamSocket(proxyClientCtx);
+        final InetSocketAddress remoteSocket = getRemoteAddress(proxyClientCtx);
         bootstrap.connect(remoteSocket).addListener((ChannelFutureListener) future -> {
             if (!future.isSuccess()) {
                 failure("Connection failed to " + remoteSocket, future.cause(), proxyClientCtx, failureResponse(request));
@@ -147,15 +165,6 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
         });
     }
 
-    private InetSocketAddress getDownstreamSocket(ChannelHandlerContext ctx) {
-        InetSocketAddress remoteAddress = getRemoteAddress(ctx);
-        if (remoteAddress != null) {
-            return remoteAddress;
-        } else {
-            return new InetSocketAddress(server.getLocalPort());
-        }
-    }
-
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         failure("Exception caught by CONNECT proxy handler -> closing pipeline ", cause, ctx, failureResponse(null));
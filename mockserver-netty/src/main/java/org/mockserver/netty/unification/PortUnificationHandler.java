@@ -5,7 +5,6 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
 import io.netty.handler.codec.ReplayingDecoder;
 import io.netty.handler.codec.http.HttpContentDecompressor;
-import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http2.*;
 import io.netty.handler.codec.socksx.v4.Socks4ServerDecoder;
@@ -16,6 +15,7 @@ import io.netty.handler.logging.LogLevel;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.AttributeKey;
 import org.apache.commons.lang3.StringUtils;
+import org.mockserver.codec.MockServerHttpObjectAggregator;
 import org.mockserver.codec.MockServerHttpServerCodec;
 import org.mockserver.codec.PreserveHeadersNettyRemoves;
 import org.mockserver.configuration.Configuration;
@@ -30,6 +30,7 @@ import org.mockserver.mock.action.http.HttpActionHandler;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.netty.HttpRequestHandler;
 import org.mockserver.netty.proxy.BinaryRequestProxyingHandler;
+import org.mockserver.netty.proxy.BinaryStreamingProxyHandler;
 import org.mockserver.netty.proxy.socks.Socks4ProxyHandler;
 import org.mockserver.netty.proxy.socks.Socks5ProxyHandler;
 import org.mockserver.netty.proxy.socks.SocksDetector;
@@ -44,11 +45,13 @@ import java.net.SocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import static java.util.Collections.unmodifiableSet;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.exception.ExceptionHandling.*;
 import static org.mockserver.logging.MockServerLogger.isEnabled;
+import static org.mockserver.mock.action.http.HttpActionHandler.getRemoteAddress;
 import static org.mockserver.mock.action.http.HttpActionHandler.setRemoteAddress;
 import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.Protocol.HTTP_2;
@@ -69,6 +72,18 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
     private static final AttributeKey<NettySslContextFactory> NETTY_SSL_CONTEXT_FACTORY = AttributeKey.valueOf("NETTY_SSL_CONTEXT_FACTORY");
     private static final AttributeKey<Boolean> HTTP_ENABLED = AttributeKey.valueOf("HTTP_ENABLED");
     private static final AttributeKey<Boolean> HTTP2_ENABLED = AttributeKey.valueOf("HTTP2_ENABLED");
+    private static final AttributeKey<Supplier<PortUnificationHandler>> PORT_UNIFICATION_HANDLER_FACTORY = AttributeKey.valueOf("PORT_UNIFICATION_HANDLER_FACTORY");
+    private static final List<Class<? extends ChannelHandler>> HTTP_HANDLER_TYPES = Arrays.asList(
+        HttpServerCodec.class,
+        PreserveHeadersNettyRemoves.class,
+        HttpContentDecompressor.class,
+        HttpContentLengthRemover.class,
+        MockServerHttpObjectAggregator.class,
+        CallbackWebSocketServerHandler.class,
+        DashboardWebSocketHandler.class,
+        MockServerHttpServerCodec.class,
+        HttpRequestHandler.class
+    );
     private static final Map<PortBinding, Set<String>> localAddressesCache = new ConcurrentHashMap<>();
 
     protected final MockServerLogger mockServerLogger;
@@ -153,9 +168,39 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
         }
     }
 
+    /**
+     * Handles the bytes tunnelled by a CONNECT or SOCKS request on the same channel, as if they had been received by a
+     * new connection proxied to the remote address, so the tunnel doesn't need a second connection back to this server
+     * <p>
+     * TLS is detected and terminated and HTTP decoded once, by a new port unification handler, requests are forwarded
+     * securely if TLS was expected to the remote address, even if the tunnelled bytes are not encrypted
+     */
+    public static void unifyTunnel(ChannelHandlerContext ctx, InetSocketAddress remoteAddress) {
+        Channel channel = ctx.channel();
+        ChannelPipeline pipeline = ctx.pipeline();
+        for (Class<? extends ChannelHandler> handlerType : HTTP_HANDLER_TYPES) {
+            if (pipeline.get(handlerType) != null) {
+                pipeline.remove(handlerType);
+            }
+        }
+        channel.attr(HTTP_ENABLED).set(Boolean.FALSE);
+        channel.attr(HTTP2_ENABLED).set(Boolean.FALSE);
+        if (isSslEnabledDownstream(channel)) {
+            channel.attr(TLS_ENABLED_UPSTREAM).set(Boolean.TRUE);
+        }
+        setProxyingRequest(ctx, Boolean.TRUE);
+        setRemoteAddress(ctx, remoteAddress);
+        if (pipeline.get(PortUnificationHandler.class) == null) {
+            pipeline.addLast(channel.attr(PORT_UNIFICATION_HANDLER_FACTORY).get().get());
+        }
+    }
+
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) {
         ctx.channel().attr(NETTY_SSL_CONTEXT_FACTORY).set(nettySslContextFactory);
+        if (ctx.channel().attr(PORT_UNIFICATION_HANDLER_FACTORY).get() == null) {
+            ctx.channel().attr(PORT_UNIFICATION_HANDLER_FACTORY).set(() -> new PortUnificationHandler(configuration, server, httpState, actionHandler, nettySslContextFactory));
+        }
         if (SocksDetector.isSocks4(msg, actualReadableBytes())) {
             logStage(ctx, "adding SOCKS4 decoders");
             enableSocks4(ctx, msg);
@@ -273,7 +318,7 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
             addLastIfNotPresent(pipeline, http2ConnectionHandlerBuilder.connection(connection).build());
             // TODO(jamesdbloom) consider Http2MultiplexHandler and test behaviour when multiple requests sent over the same connection
             addLastIfNotPresent(pipeline, new CallbackWebSocketServerHandler(httpState));
-            addLastIfNotPresent(pipeline, new DashboardWebSocketHandler(httpState, isSslEnabledUpstream(ctx.channel()), false));
+            addLastIfNotPresent(pipeline, new DashboardWebSocketHandler(httpState, server.getDashboardRenderCache(), isSslEnabledUpstream(ctx.channel()), false));
             addLastIfNotPresent(pipeline, new MockServerHttpServerCodec(configuration, mockServerLogger, isSslEnabledUpstream(ctx.channel()), SniHandler.retrieveClientCertificates(mockServerLogger, ctx), ctx.channel().localAddress()));
             addLastIfNotPresent(pipeline, new HttpRequestHandler(configuration, server, httpState, actionHandler));
             pipeline.remove(this);
@@ -299,7 +344,7 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
             addLastIfNotPresent(pipeline, preserveHeadersNettyRemoves);
             addLastIfNotPresent(pipeline, new HttpContentDecompressor());
             addLastIfNotPresent(pipeline, httpContentLengthRemover);
-            addLastIfNotPresent(pipeline, new HttpObjectAggregator(Integer.MAX_VALUE));
+            addLastIfNotPresent(pipeline, new MockServerHttpObjectAggregator(configuration.maxRequestBodySize()));
             if (configuration.tlsMutualAuthenticationRequired() && !isSslEnabledUpstream(ctx.channel())) {
                 HttpResponse httpResponse = response()
                     .withStatusCode(426)
@@ -324,7 +369,7 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
                     .addListener((ChannelFuture future) -> future.channel().disconnect().awaitUninterruptibly());
             } else {
                 addLastIfNotPresent(pipeline, new CallbackWebSocketServerHandler(httpState));
-                addLastIfNotPresent(pipeline, new DashboardWebSocketHandler(httpState, isSslEnabledUpstream(ctx.channel()), false));
+                addLastIfNotPresent(pipeline, new DashboardWebSocketHandler(httpState, server.getDashboardRenderCache(), isSslEnabledUpstream(ctx.channel()), false));
                 addLastIfNotPresent(pipeline, new MockServerHttpServerCodec(configuration, mockServerLogger, isSslEnabledUpstream(ctx.channel()), SniHandler.retrieveClientCertificates(mockServerLogger, ctx), ctx.channel().localAddress()));
                 addLastIfNotPresent(pipeline, new HttpRequestHandler(configuration, server, httpState, actionHandler));
                 pipeline.remove(this);
@@ -365,6 +410,16 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
     }
 
     private void switchToBinaryRequestProxying(ChannelHandlerContext ctx, ByteBuf msg) {
+        InetSocketAddress remoteAddress = getRemoteAddress(ctx);
+        if (configuration.forwardBinaryRequestsAsStream() && remoteAddress != null) {
+            ChannelPipeline pipeline = ctx.pipeline();
+            addLastIfNotPresent(pipeline, new BinaryStreamingProxyHandler(configuration, mockServerLogger, actionHandler.getHttpClient(), remoteAddress));
+            pipeline.remove(this);
+
+            // fire message back through pipeline
+            ctx.fireChannelRead(msg.readBytes(actualReadableBytes()));
+            return;
+        }
         addLastIfNotPresent(ctx.pipeline(), new BinaryRequestProxyingHandler(configuration, httpState.getMockServerLogger(), httpState.getScheduler(), actionHandler.getHttpClient()));
 
         // fire message back through pipeline
@@ -27,6 +27,7 @@ import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.log.model.LogEntry.LogMessageType.FORWARDED_REQUEST;
@@ -1471,6 +1472,54 @@ public class DashboardWebSocketHandlerTest {
         shouldRenderFilteredLogEntriesCorrectly(true, request(), Collections.emptyList(), expectations, renderedList);
     }
 
+    @Test
+    public void shouldRenderSameUpdateForDashboardsWithSameFilterUntilChanged() throws InterruptedException {
+        // given
+        MockServerLogger mockServerLogger = new MockServerLogger(DashboardWebSocketHandlerTest.class);
+        Scheduler scheduler = new Scheduler(configuration(), mockServerLogger, true);
+        HttpState httpState = new HttpState(configuration(), mockServerLogger, scheduler);
+        httpState.getMockServerLog().add(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setHttpRequest(request("/somePathOne"))
+                .setMessageFormat("messageFormatOne")
+        );
+        SECONDS.sleep(1);
+        DashboardWebSocketHandler.RenderCache renderCache = new DashboardWebSocketHandler.RenderCache();
+        DashboardWebSocketHandler handlerOne = new DashboardWebSocketHandler(httpState, renderCache, false, true).registerListeners();
+        DashboardWebSocketHandler handlerTwo = new DashboardWebSocketHandler(httpState, renderCache, false, true).registerListeners();
+        MockChannelHandlerContext channelOne = new MockChannelHandlerContext();
+        MockChannelHandlerContext channelTwo = new MockChannelHandlerContext();
+        RequestDefinition requestFilter = request().withPath("/somePathOne");
+
+        // when
+        handlerOne.sendUpdate(channelOne, requestFilter);
+        SECONDS.sleep(1);
+        handlerTwo.sendUpdate(channelTwo, requestFilter);
+        SECONDS.sleep(1);
+
+        // then
+        assertThat(channelTwo.textWebSocketFrame.text(), containsString("messageFormatOne"));
+        assertThat(channelTwo.textWebSocketFrame.text(), is(channelOne.textWebSocketFrame.text()));
+
+        // when - log changed
+        String renderedBeforeChange = channelOne.textWebSocketFrame.text();
+        httpState.getMockServerLog().add(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setHttpRequest(request("/somePathOne"))
+                .setMessageFormat("messageFormatTwo")
+        );
+        SECONDS.sleep(1);
+        handlerTwo.sendUpdate(channelTwo, requestFilter);
+        SECONDS.sleep(1);
+
+        // then - rendered again
+        assertThat(channelTwo.textWebSocketFrame.text(), not(renderedBeforeChange));
+        assertThat(channelTwo.textWebSocketFrame.text(), containsString("messageFormatOne"));
+        assertThat(channelTwo.textWebSocketFrame.text(), containsString("messageFormatTwo"));
+    }
+
     private void shouldRenderFilteredLogEntriesCorrectly(boolean contains, RequestDefinition requestFilter, List<LogEntry> logEntries, List<Expectation> expectations, String... renderListSections) throws InterruptedException {
         // given
         MockServerLogger mockServerLogger = new MockServerLogger(DashboardWebSocketHandlerTest.class);
@@ -0,0 +1,78 @@
+package org.mockserver.netty.integration.proxy.direct;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.netty.MockServer;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.exception.ExceptionHandling.swallowThrowable;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+public class NettyStreamingBinaryForwardingIntegrationTest {
+
+    private final AtomicInteger upstreamConnectionCounter = new AtomicInteger(0);
+    private ServerSocket upstream;
+    private MockServer mockServer;
+
+    @Before
+    public void startUpstreamAndMockServer() throws IOException {
+        upstream = new ServerSocket(0);
+        // created before the upstream thread uses ExceptionHandling, so MockServerLogger and ConfigurationProperties are
+        // initialised on this thread, otherwise the two threads can deadlock initialising them
+        mockServer = new MockServer(Configuration.configuration().forwardBinaryRequestsAsStream(true), upstream.getLocalPort(), "127.0.0.1", 0);
+        // echoes each line received back to the client
+        new Thread(() -> {
+            while (!upstream.isClosed()) {
+                swallowThrowable(() -> {
+                    Socket socket = upstream.accept();
+                    upstreamConnectionCounter.incrementAndGet();
+                    new Thread(() -> swallowThrowable(() -> {
+                        try (BufferedReader input = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8))) {
+                            OutputStream output = socket.getOutputStream();
+                            String line;
+                            while ((line = input.readLine()) != null) {
+                                output.write(("echo " + line + "\n").getBytes(UTF_8));
+                                output.flush();
+                            }
+                        }
+                    })).start();
+                });
+            }
+        }).start();
+    }
+
+    @After
+    public void stopUpstreamAndMockServer() throws IOException {
+        stopQuietly(mockServer);
+        upstream.close();
+    }
+
+    @Test
+    public void shouldStreamBinaryRequestsAndResponsesOverSingleUpstreamConnection() throws Exception {
+        try (Socket clientSocket = new Socket("127.0.0.1", mockServer.getLocalPort())) {
+            clientSocket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(10));
+            OutputStream output = clientSocket.getOutputStream();
+            BufferedReader input = new BufferedReader(new InputStreamReader(clientSocket.getInputStream(), UTF_8));
+
+            for (int i = 0; i < 3; i++) {
+                // when
+                output.write(("message " + i + "\n").getBytes(UTF_8));
+                output.flush();
+
+                // then
+                assertThat(input.readLine(), is("echo message " + i));
+            }
+        }
+        assertThat(upstreamConnectionCounter.get(), is(1));
+    }
+}
@@ -132,7 +132,7 @@ public class DirectProxyUnificationHandlerTest {
                 "HttpServerCodec#0",
                 "HttpContentDecompressor#0",
                 "HttpContentLengthRemover#0",
-                "HttpObjectAggregator#0",
+                "MockServerHttpObjectAggregator#0",
                 "CallbackWebSocketServerHandler#0",
                 "DashboardWebSocketHandler#0",
                 "MockServerHttpServerCodec#0",
@@ -145,7 +145,7 @@ public class DirectProxyUnificationHandlerTest {
                 "PreserveHeadersNettyRemoves#0",
                 "HttpContentDecompressor#0",
                 "HttpContentLengthRemover#0",
-                "HttpObjectAggregator#0",
+                "MockServerHttpObjectAggregator#0",
                 "CallbackWebSocketServerHandler#0",
                 "DashboardWebSocketHandler#0",
                 "MockServerHttpServerCodec#0",
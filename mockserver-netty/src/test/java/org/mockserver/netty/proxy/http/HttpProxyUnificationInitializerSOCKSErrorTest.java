@@ -25,6 +25,7 @@ import org.mockserver.netty.proxy.socks.Socks5ProxyHandler;
 import org.mockserver.scheduler.Scheduler;
 
 import java.math.BigInteger;
+import java.net.InetSocketAddress;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -34,6 +35,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.mock.action.http.HttpActionHandler.REMOTE_SOCKET;
 import static org.slf4j.event.Level.TRACE;
 
 public class HttpProxyUnificationInitializerSOCKSErrorTest {
@@ -46,6 +48,9 @@ public class HttpProxyUnificationInitializerSOCKSErrorTest {
         when(lifeCycle.getScheduler()).thenReturn(mock(Scheduler.class));
         EmbeddedChannel embeddedChannel = new EmbeddedChannel(new MockServerUnificationInitializer(configuration(), lifeCycle, new HttpState(configuration(), new MockServerLogger(), mock(Scheduler.class)), mock(HttpActionHandler.class), null));
 
+        // and - relaying to a remote address that can't be connected to
+        embeddedChannel.attr(REMOTE_SOCKET).set(new InetSocketAddress("127.0.0.1", localPort));
+
         // and - no SOCKS handlers
         assertThat(embeddedChannel.pipeline().get(Socks5ProxyHandler.class), is(nullValue()));
         assertThat(embeddedChannel.pipeline().get(SocksMessageEncoder.class), is(nullValue()));
@@ -139,7 +144,7 @@ public class HttpProxyUnificationInitializerSOCKSErrorTest {
                 "HttpServerCodec#0",
                 "HttpContentDecompressor#0",
                 "HttpContentLengthRemover#0",
-                "HttpObjectAggregator#0",
+                "MockServerHttpObjectAggregator#0",
                 "CallbackWebSocketServerHandler#0",
                 "DashboardWebSocketHandler#0",
                 "MockServerHttpServerCodec#0",
@@ -152,7 +157,7 @@ public class HttpProxyUnificationInitializerSOCKSErrorTest {
                 "PreserveHeadersNettyRemoves#0",
                 "HttpContentDecompressor#0",
                 "HttpContentLengthRemover#0",
-                "HttpObjectAggregator#0",
+                "MockServerHttpObjectAggregator#0",
                 "CallbackWebSocketServerHandler#0",
                 "DashboardWebSocketHandler#0",
                 "MockServerHttpServerCodec#0",
@@ -20,13 +20,17 @@ import org.mockserver.netty.MockServerUnificationInitializer;
 import org.mockserver.netty.proxy.socks.Socks5ProxyHandler;
 import org.mockserver.scheduler.Scheduler;
 
+import java.net.InetSocketAddress;
+
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.mock.action.http.HttpActionHandler.REMOTE_SOCKET;
 
 public class HttpProxyUnificationInitializerTest {
 
@@ -90,6 +94,68 @@ public class HttpProxyUnificationInitializerTest {
         ));
     }
 
+    @Test
+    public void shouldTunnelSOCKSConnectionOnSameChannel() {
+        // given - embedded channel
+        LifeCycle lifeCycle = mock(LifeCycle.class);
+        when(lifeCycle.getScheduler()).thenReturn(mock(Scheduler.class));
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new MockServerUnificationInitializer(configuration(), lifeCycle, new HttpState(configuration(), new MockServerLogger(), mock(Scheduler.class)), mock(HttpActionHandler.class), null));
+
+        // and - SOCKS INIT message
+        embeddedChannel.writeInbound(Unpooled.wrappedBuffer(new byte[]{
+            (byte) 0x05,                                        // SOCKS5
+            (byte) 0x01,                                        // 1 authentication method
+            (byte) 0x00,                                        // NO_AUTH
+        }));
+        embeddedChannel.readOutbound();
+
+        // when - SOCKS CONNECT command
+        embeddedChannel.writeInbound(Unpooled.wrappedBuffer(new byte[]{
+            (byte) 0x05,                                        // SOCKS5
+            (byte) 0x01,                                        // command type CONNECT
+            (byte) 0x00,                                        // reserved (must be 0x00)
+            (byte) 0x01,                                        // address type IPv4
+            (byte) 0x7f, (byte) 0x00, (byte) 0x00, (byte) 0x01, // ip address
+            (byte) 0x04, (byte) 0xd2                            // port
+        }));
+
+        // then - CONNECT response
+        assertThat(ByteBufUtil.hexDump((ByteBuf) embeddedChannel.readOutbound()), is(Hex.encodeHexString(new byte[]{
+            (byte) 0x05,                                        // SOCKS5
+            (byte) 0x00,                                        // success
+            (byte) 0x00,                                        // reserved (must be 0x00)
+            (byte) 0x03,                                        // address type domain
+            (byte) 0x09,                                        // domain length
+        }) + Hex.encodeHexString("127.0.0.1".getBytes(UTF_8)) + "04d2"));
+
+        // and then - tunnel is unified on the same channel and proxied to the CONNECT address
+        assertThat(embeddedChannel.isOpen(), is(true));
+        assertThat(embeddedChannel.attr(REMOTE_SOCKET).get(), is(new InetSocketAddress("127.0.0.1", 1234)));
+        assertThat(String.valueOf(embeddedChannel.pipeline().names()), embeddedChannel.pipeline().names(), contains(
+            "Socks5CommandRequestDecoder#0",
+            "PortUnificationHandler#0",
+            "DefaultChannelPipeline$TailContext#0"
+        ));
+
+        // when - tunnelled HTTP request
+        embeddedChannel.writeInbound(Unpooled.wrappedBuffer("GET /somePath HTTP/1.1\r\nHost: 127.0.0.1:1234\r\n\r\n".getBytes(UTF_8)));
+
+        // then - should add HTTP handlers once
+        assertThat(String.valueOf(embeddedChannel.pipeline().names()), embeddedChannel.pipeline().names(), contains(
+            "Socks5CommandRequestDecoder#0",
+            "HttpServerCodec#0",
+            "PreserveHeadersNettyRemoves#0",
+            "HttpContentDecompressor#0",
+            "HttpContentLengthRemover#0",
+            "MockServerHttpObjectAggregator#0",
+            "CallbackWebSocketServerHandler#0",
+            "DashboardWebSocketHandler#0",
+            "MockServerHttpServerCodec#0",
+            "HttpRequestHandler#0",
+            "DefaultChannelPipeline$TailContext#0"
+        ));
+    }
+
     @Test
     public void shouldSwitchToHttp() {
         // given
@@ -110,7 +176,7 @@ public class HttpProxyUnificationInitializerTest {
             "PreserveHeadersNettyRemoves#0",
             "HttpContentDecompressor#0",
             "HttpContentLengthRemover#0",
-            "HttpObjectAggregator#0",
+            "MockServerHttpObjectAggregator#0",
             "CallbackWebSocketServerHandler#0",
             "DashboardWebSocketHandler#0",
             "MockServerHttpServerCodec#0",
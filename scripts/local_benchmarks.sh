@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+
+set -e
+
+echo
+java -version
+echo
+./mvnw -version
+echo
+
+# to run specific benchmarks use a regex argument in quotes "RequestMatchersBenchmark" or "RequestMatchersBenchmark.lastExpectationMatches"
+./mvnw -T 1C clean install -DskipTests=true -DskipAssembly=true -pl mockserver-benchmarks -am
+
+# results are written as json, named by commit, so they can be compared between versions
+java -jar mockserver-benchmarks/target/benchmarks.jar -rf json -rff "mockserver-benchmarks/target/jmh-result-$(git rev-parse --short HEAD).json" $1